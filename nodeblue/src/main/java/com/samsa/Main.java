@@ -1,7 +1,76 @@
 package com.samsa;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import com.samsa.pipeline.FlowLauncher;
+import com.samsa.pipeline.JsonToPipeline;
+import com.samsa.pipeline.PipelineManager;
+import com.samsa.pipeline.StartupReport;
+import com.samsa.pipeline.scheduler.NodeScheduler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 플로우 하나를 실행하는 런타임의 시작점입니다.
+ *
+ * <pre>
+ * java -cp nodeblue.jar com.samsa.Main &lt;flow.img|flow.json&gt; [--trigger] [--exit-after-first-message] [--threads N]
+ * </pre>
+ *
+ * <p>기동하면 첫 메시지를 처리할 때까지의 시간을 {@link StartupReport}로 기록합니다.
+ * {@code --exit-after-first-message}는 첫 메시지를 처리하면 파이프라인을 정리하고 종료하므로,
+ * 기동 시간 측정과 클래스 데이터 공유(AppCDS) 아카이브를 만드는 학습 실행에 사용합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
 public class Main {
-    public static void main(String[] args) {
-        System.out.println("Hello world!");
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path flow = null;
+        boolean trigger = false;
+        boolean exitAfterFirstMessage = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--trigger":
+                    trigger = true;
+                    break;
+                case "--exit-after-first-message":
+                    exitAfterFirstMessage = true;
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    flow = Path.of(args[i]);
+            }
+        }
+        if (flow == null) {
+            log.error("사용법: Main <flow.img|flow.json> [--trigger] [--exit-after-first-message] [--threads N]");
+            throw new IllegalArgumentException("Flow file is required");
+        }
+
+        NodeScheduler scheduler = new NodeScheduler(threads);
+        PipelineManager manager = new PipelineManager(scheduler);
+        StartupReport report = new FlowLauncher(new JsonToPipeline(), manager).launch(flow, trigger,
+                FlowLauncher.DEFAULT_FIRST_MESSAGE_TIMEOUT);
+
+        if (exitAfterFirstMessage) {
+            manager.shutdownAll(PipelineManager.DEFAULT_SHUTDOWN_TIMEOUT);
+            scheduler.close();
+            System.exit(report.isFirstMessageProcessed() ? 0 : 1);
+        }
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            manager.shutdownAll(PipelineManager.DEFAULT_SHUTDOWN_TIMEOUT);
+            scheduler.close();
+            stopped.countDown();
+        }, "nodeblue-shutdown"));
+        stopped.await();
     }
-}
\ No newline at end of file
+}
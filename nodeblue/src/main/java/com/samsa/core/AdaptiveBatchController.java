@@ -0,0 +1,188 @@
+package com.samsa.core;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 지연 시간 목표를 지키는 범위에서 배치 크기를 정하는 조절기입니다.
+ * 노드가 한 차례에 처리할 메시지 수나 싱크가 한 번에 기록할 메시지 수처럼, 크게 묶을수록 처리량이 늘고 지연이 커지는 값에 사용합니다.
+ *
+ * <p>배치를 하나 마칠 때마다 걸린 시간과 입력 파이프에 남은 메시지 수를 {@link #record}로 알리면,
+ * 최근 {@value #WINDOW_SIZE}개 배치의 p99 지연과 도착 속도를 보고 {@value #DECISION_INTERVAL}개 배치마다 크기를 조정합니다.</p>
+ * <ul>
+ *   <li>p99가 목표를 넘으면 크기를 절반으로 줄입니다.</li>
+ *   <li>입력에 한 배치 이상 쌓여 있고 p99에 여유가 있으면 크기를 4분의 1씩 늘립니다.</li>
+ *   <li>입력에 쌓인 메시지가 배치의 4분의 1도 안 되면 부하가 적은 것으로 보고 4분의 1씩 줄입니다.</li>
+ *   <li>쌓인 메시지로 채울 수 없는 배치는 목표 시간 동안 도착하는 메시지 수보다 크게 묶지 않아,
+ *       배치를 채우느라 앞선 메시지가 목표보다 오래 기다리지 않게 합니다.</li>
+ * </ul>
+ *
+ * <p>한 노드의 배치는 한 번에 한 스레드에서만 처리되므로 잠금 경합은 없습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class AdaptiveBatchController {
+
+    /** p99를 계산하는 최근 배치 수 */
+    public static final int WINDOW_SIZE = 64;
+
+    /** 크기를 다시 정하는 배치 간격 */
+    public static final int DECISION_INTERVAL = 16;
+
+    /** p99가 목표의 이 비율보다 낮아야 크기를 늘림 */
+    private static final double GROW_HEADROOM = 0.75;
+
+    /** 도착 속도 이동 평균의 가중치 */
+    private static final double RATE_ALPHA = 0.2;
+
+    private final int minBatch;
+    private final int maxBatch;
+    private final long targetNanos;
+
+    private volatile int batchSize;
+    private volatile long p99Nanos;
+
+    // 이하 필드는 잠금을 잡은 상태에서만 사용
+    private final long[] samples = new long[WINDOW_SIZE];
+    private final long[] sorted = new long[WINDOW_SIZE];
+    private int sampleCount;
+    private int sinceDecision;
+    private long lastRecordNanos;
+    private int lastBacklog;
+
+    /** 나노초당 도착한 메시지 수의 이동 평균 */
+    private volatile double arrivalPerNano;
+
+    /**
+     * 조절기를 생성합니다.
+     *
+     * @param target       배치 지연의 p99 목표
+     * @param minBatch     가장 작은 배치 크기
+     * @param maxBatch     가장 큰 배치 크기
+     * @param initialBatch 처음 배치 크기, 범위를 벗어나면 범위 안으로 맞춤
+     * @throws IllegalArgumentException 목표가 null이거나 0 이하이거나, 크기 범위가 유효하지 않은 경우
+     */
+    public AdaptiveBatchController(Duration target, int minBatch, int maxBatch, int initialBatch) {
+        if (Objects.isNull(target) || target.isNegative() || target.isZero() || minBatch < 1
+                || maxBatch < minBatch) {
+            log.error("배치 조절 설정이 유효하지 않습니다. Target: {}, MinBatch: {}, MaxBatch: {}", target, minBatch,
+                    maxBatch);
+            throw new IllegalArgumentException("Target must be positive and 1 <= minBatch <= maxBatch");
+        }
+        this.targetNanos = target.toNanos();
+        this.minBatch = minBatch;
+        this.maxBatch = maxBatch;
+        this.batchSize = Math.max(minBatch, Math.min(maxBatch, initialBatch));
+    }
+
+    /**
+     * 배치 하나를 마친 결과를 알립니다.
+     *
+     * @param processed    배치에서 처리한 메시지 수
+     * @param latencyNanos 배치의 지연 시간(나노초). 노드의 차례라면 차례의 길이, 싱크라면 첫 메시지를 받은 뒤 기록을 마칠 때까지의 시간
+     * @param backlog      배치를 마친 뒤 입력에 남은 메시지 수
+     */
+    public synchronized void record(int processed, long latencyNanos, int backlog) {
+        long now = System.nanoTime();
+        if (lastRecordNanos != 0) {
+            long elapsed = now - lastRecordNanos;
+            // 남은 메시지의 변화와 처리한 수로 그사이 도착한 메시지 수를 구함
+            long arrived = Math.max(0, (long) backlog - lastBacklog + processed);
+            if (elapsed > 0) {
+                double rate = (double) arrived / elapsed;
+                arrivalPerNano = arrivalPerNano == 0 ? rate : arrivalPerNano + RATE_ALPHA * (rate - arrivalPerNano);
+            }
+        }
+        lastRecordNanos = now;
+        lastBacklog = backlog;
+
+        samples[sampleCount % WINDOW_SIZE] = latencyNanos;
+        sampleCount++;
+        if (++sinceDecision >= DECISION_INTERVAL) {
+            sinceDecision = 0;
+            adjust(backlog);
+        }
+    }
+
+    private void adjust(int backlog) {
+        int filled = Math.min(sampleCount, WINDOW_SIZE);
+        System.arraycopy(samples, 0, sorted, 0, filled);
+        Arrays.sort(sorted, 0, filled);
+        long p99 = sorted[Math.max(0, (int) Math.ceil(filled * 0.99) - 1)];
+        p99Nanos = p99;
+
+        int current = batchSize;
+        int next = current;
+        int step = Math.max(1, current / 4);
+        if (p99 > targetNanos) {
+            next = current / 2;
+        } else if (backlog >= current && p99 < targetNanos * GROW_HEADROOM) {
+            next = current + step;
+        } else if ((long) backlog * 4 < current) {
+            next = current - step;
+        }
+        double rate = arrivalPerNano;
+        if (rate > 0 && backlog < next) {
+            // 쌓인 메시지로 채울 수 없는 배치는 새로 도착하는 메시지로 채워야 하므로,
+            // 목표 시간 동안 도착하는 수보다 크게 묶으면 앞선 메시지가 목표보다 오래 기다림
+            next = (int) Math.min(next, Math.max(minBatch, rate * targetNanos));
+        }
+        next = Math.max(minBatch, Math.min(maxBatch, next));
+        if (next != current) {
+            batchSize = next;
+            if (log.isDebugEnabled()) {
+                log.debug("배치 크기 조정. {} -> {}, p99: {}us, 남은 메시지: {}", current, next, p99 / 1000, backlog);
+            }
+        }
+    }
+
+    /**
+     * 지금 사용할 배치 크기를 반환합니다.
+     *
+     * @return 배치 크기
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getMinBatch() {
+        return minBatch;
+    }
+
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    public Duration getTarget() {
+        return Duration.ofNanos(targetNanos);
+    }
+
+    /**
+     * 마지막으로 크기를 정할 때 계산한 배치 지연의 p99를 반환합니다.
+     *
+     * @return p99(나노초), 아직 계산하지 않았으면 0
+     */
+    public long getLatencyP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * 입력에 도착하는 메시지 속도의 이동 평균을 반환합니다.
+     *
+     * @return 초당 메시지 수
+     */
+    public double getArrivalRate() {
+        return arrivalPerNano * 1_000_000_000d;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptiveBatchController[batch=%d, range=%d..%d, target=%dus, p99=%dus]", batchSize,
+                minBatch, maxBatch, targetNanos / 1000, p99Nanos / 1000);
+    }
+}
@@ -0,0 +1,334 @@
+package com.samsa.core;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.samsa.core.error.ErrorRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메시지를 비동기로 처리하는 노드의 추상 클래스입니다. 파일, 네트워크처럼 기다리는 시간이 긴 작업을 하는 노드는
+ * {@link #onMessageAsync(Message)}에서 작업을 시작하고 완료를 나타내는 {@link CompletionStage}를 곧바로 반환합니다.
+ * 작업이 끝나기를 기다리지 않으므로 스케줄러의 워커는 그동안 다른 노드를 실행합니다.
+ *
+ * <p>작업이 끝나면 결과 메시지를 다음 노드로 전달하며, 결과가 null이면 아무것도 전달하지 않습니다.
+ * 작업이 실패하면 {@link #handleError(Message, Throwable)}와 같이 처리하므로 오류 라우터의 재시도와 오류 출력을 그대로 사용합니다.
+ * 회로 차단기에는 작업이 끝난 결과로 성공과 실패를 기록합니다.</p>
+ *
+ * <p>동시에 진행 중인 작업 수는 {@code maxInFlight}로 제한됩니다. 제한에 이르면 {@link #processNext()}가 메시지를 꺼내지 않고
+ * false를 반환하여 워커를 놓아주며, 작업 하나가 끝나면 입력 파이프의 알림을 다시 보내 노드가 다시 실행되게 합니다.
+ * 결과를 전달할 때 출력 파이프가 가득 차 버려지지 않도록, 출력 파이프의 남은 용량이 진행 중인 작업 수보다 많을 때만 새 작업을 시작합니다.</p>
+ *
+ * <p>순서 보장을 켜면 결과는 작업이 끝난 순서가 아니라 메시지를 받은 순서대로 전달됩니다. 먼저 받은 메시지의 작업이
+ * 늦게 끝나면 뒤의 결과는 그때까지 기다립니다. 끄면 끝나는 대로 곧바로 전달합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public abstract class AsyncInOutNode extends InOutNode {
+
+    /** 기본 최대 동시 작업 수 */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    /** 중지할 때 진행 중인 작업을 기다리는 최대 시간(초) */
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private final int maxInFlight;
+    private final boolean ordered;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** 진행 중인 작업이 모두 끝났을 때 알림 */
+    private final Condition drained = lock.newCondition();
+
+    /** 순서를 보장할 때 받은 순서대로 놓인 진행 중인 작업. lock을 잡은 상태에서만 사용 */
+    private final ArrayDeque<InFlight> pending = new ArrayDeque<>();
+
+    /**
+     * 기본 최대 동시 작업 수로 결과를 끝나는 대로 전달하는 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     * @throws IllegalArgumentException 입력 또는 출력 포트가 null인 경우
+     */
+    public AsyncInOutNode(InPort inPort, OutPort outPort) {
+        this(inPort, outPort, DEFAULT_MAX_IN_FLIGHT, false);
+    }
+
+    /**
+     * 노드를 생성합니다.
+     *
+     * @param inPort      입력 포트
+     * @param outPort     출력 포트
+     * @param maxInFlight 최대 동시 작업 수
+     * @param ordered     결과를 메시지를 받은 순서대로 전달할지 여부
+     * @throws IllegalArgumentException 포트가 null이거나 최대 동시 작업 수가 1보다 작은 경우
+     */
+    public AsyncInOutNode(InPort inPort, OutPort outPort, int maxInFlight, boolean ordered) {
+        super(inPort, outPort);
+        this.maxInFlight = validateMaxInFlight(maxInFlight);
+        this.ordered = ordered;
+    }
+
+    /**
+     * ID를 지정하여 노드를 생성합니다.
+     *
+     * @param id          노드의 고유 식별자
+     * @param inPort      입력 포트
+     * @param outPort     출력 포트
+     * @param maxInFlight 최대 동시 작업 수
+     * @param ordered     결과를 메시지를 받은 순서대로 전달할지 여부
+     * @throws IllegalArgumentException ID나 포트가 null이거나 최대 동시 작업 수가 1보다 작은 경우
+     */
+    public AsyncInOutNode(UUID id, InPort inPort, OutPort outPort, int maxInFlight, boolean ordered) {
+        super(id, inPort, outPort);
+        this.maxInFlight = validateMaxInFlight(maxInFlight);
+        this.ordered = ordered;
+    }
+
+    private static int validateMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            log.error("최대 동시 작업 수가 유효하지 않습니다: {}", maxInFlight);
+            throw new IllegalArgumentException("최대 동시 작업 수는 1 이상이어야 합니다");
+        }
+        return maxInFlight;
+    }
+
+    /**
+     * 메시지의 처리를 시작하고 곧바로 반환합니다. 호출한 스레드를 붙잡지 않도록 기다리는 작업은 다른 스레드나
+     * 비동기 I/O에 맡겨야 합니다. 메시지는 반환한 작업이 끝날 때까지 풀로 돌아가지 않습니다.
+     *
+     * @param message 처리할 메시지
+     * @return 다음 노드로 전달할 결과 메시지로 끝나는 작업, 결과가 null이면 전달하지 않음
+     */
+    protected abstract CompletionStage<Message> onMessageAsync(Message message);
+
+    /**
+     * 진행 중인 작업이 제한에 이르렀거나 출력 파이프에 결과를 받을 자리가 부족하면 메시지를 꺼내지 않고 false를 반환합니다.
+     * 작업 하나가 끝나면 입력에 남은 메시지의 알림을 다시 보냅니다.
+     */
+    @Override
+    public boolean processNext() {
+        int current = inFlight.get();
+        if (current >= maxInFlight || getOutPort().getRemainingCapacity() <= current) {
+            return false;
+        }
+        return super.processNext();
+    }
+
+    /**
+     * 메시지의 처리를 시작합니다. 작업은 {@code onMessage}가 반환한 뒤에 끝나므로 오류 라우터에 성공과 실패를
+     * 여기서 기록하지 않고 작업이 끝날 때 기록합니다. 회로가 열려 있으면 작업을 시작하지 않고 데드레터로 보냅니다.
+     *
+     * @param message 처리할 메시지
+     */
+    @Override
+    protected void dispatch(Message message) {
+        markDispatched();
+        ErrorRouter router = getErrorRouter();
+        if (router != null && !router.allow()) {
+            router.shed(this, message);
+            return;
+        }
+        onMessage(message);
+    }
+
+    /**
+     * {@link #onMessageAsync(Message)}로 처리를 시작하고, 작업이 끝나면 결과를 전달하도록 등록합니다.
+     */
+    @Override
+    public final void onMessage(Message message) {
+        Objects.requireNonNull(message, "Input message cannot be null");
+        InFlight task = new InFlight(message);
+        // 작업이 끝날 때까지 메시지가 풀로 돌아가지 않도록 참조를 늘려 둠
+        message.retain();
+        inFlight.incrementAndGet();
+        if (ordered) {
+            lock.lock();
+            try {
+                pending.addLast(task);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        CompletionStage<Message> stage;
+        try {
+            stage = Objects.requireNonNull(onMessageAsync(message), "onMessageAsync must not return null");
+        } catch (RuntimeException e) {
+            complete(task, null, e);
+            return;
+        }
+        stage.whenComplete((result, error) -> complete(task, result, error));
+    }
+
+    private void complete(InFlight task, Message result, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!ordered) {
+            finish(task.message, result, cause);
+            return;
+        }
+        lock.lock();
+        try {
+            task.result = result;
+            task.error = cause;
+            task.done = true;
+            // 앞선 작업이 끝나야 뒤의 결과를 전달함
+            while (!pending.isEmpty() && pending.peekFirst().done) {
+                InFlight head = pending.pollFirst();
+                finish(head.message, head.result, head.error);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void finish(Message message, Message result, Throwable error) {
+        try {
+            if (error != null) {
+                failed.increment();
+                log.warn("비동기 처리 실패. NodeId: {}, MessageId: {}", getId(), message.getId(), error);
+                routeFailure(message, error);
+            } else {
+                completed.increment();
+                ErrorRouter router = getErrorRouter();
+                if (router != null) {
+                    router.onSuccess();
+                }
+                if (result != null) {
+                    emit(result);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("비동기 처리 결과 전달 실패. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
+        } finally {
+            message.release();
+            if (inFlight.decrementAndGet() == 0) {
+                lock.lock();
+                try {
+                    drained.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            // 자리가 났으므로 남겨 둔 메시지를 처리하도록 다시 알림
+            getInPort().signalReady();
+        }
+    }
+
+    /**
+     * 진행 중인 작업이 모두 끝나기를 기다립니다.
+     *
+     * @param timeout 최대 대기 시간
+     * @param unit    대기 시간의 단위
+     * @return 제한 시간 안에 모두 끝났으면 true
+     * @throws InterruptedException 기다리는 중에 인터럽트된 경우
+     */
+    public boolean awaitInFlight(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (inFlight.get() > 0) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = drained.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 체크포인트 배리어가 진행 중인 작업의 결과를 앞지르지 않도록, 작업이 모두 끝난 뒤 배리어를 정렬합니다.
+     */
+    @Override
+    protected boolean alignBarrier(CheckpointBarrier barrier, int inputCount) {
+        waitForInFlight("체크포인트");
+        return super.alignBarrier(barrier, inputCount);
+    }
+
+    /**
+     * 진행 중인 작업이 끝나기를 기다린 뒤 노드를 중지합니다. 작업의 결과는 중지하기 전에 다음 노드로 전달됩니다.
+     */
+    @Override
+    public void stop() {
+        waitForInFlight("중지");
+        super.stop();
+    }
+
+    private void waitForInFlight(String reason) {
+        try {
+            if (!awaitInFlight(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("{} 전 비동기 작업이 제한 시간 내에 끝나지 않았습니다. NodeId: {}, 진행 중: {}", reason, getId(),
+                        inFlight.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 진행 중인 작업 수를 반환합니다.
+     *
+     * @return 작업 수
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * 성공한 작업 수를 반환합니다.
+     *
+     * @return 작업 수
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * 실패한 작업 수를 반환합니다.
+     *
+     * @return 작업 수
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * 진행 중인 작업 하나입니다. 순서를 보장할 때는 끝난 결과를 앞선 작업이 끝날 때까지 보관합니다.
+     */
+    private static final class InFlight {
+        private final Message message;
+        private Message result;
+        private Throwable error;
+        private boolean done;
+
+        private InFlight(Message message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.samsa.core;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체크포인트 경계를 표시하는 특수 메시지입니다.
+ * 소스 노드에서 주입되어 일반 메시지와 같은 파이프를 따라 흐르며,
+ * 각 노드는 모든 입력 파이프에서 배리어를 받으면 상태를 스냅샷하고 배리어를 다음 노드로 전달합니다.
+ * 나머지 입력의 배리어를 기다리는 동안 배리어를 먼저 보낸 입력은 읽지 않으며, 제한 시간이 지난 배리어는 정렬을 포기합니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public class CheckpointBarrier extends Message {
+
+    /** 배리어 메시지를 구분하는 메타데이터 키 */
+    public static final String METADATA_KEY = "checkpoint.barrier";
+
+    /** 체크포인트 번호 */
+    private final long checkpointId;
+
+    /** 스냅샷 완료를 통보받을 대상 */
+    private final Acknowledger acknowledger;
+
+    /** 배리어를 만든 시각({@link System#nanoTime()} 기준) */
+    private final long createdAtNanos = System.nanoTime();
+
+    /** 정렬을 기다리는 최대 시간(나노초), 제한이 없으면 0 */
+    private final long timeoutNanos;
+
+    /**
+     * 지정된 체크포인트 번호의 배리어를 생성합니다. 정렬을 기다리는 시간에 제한이 없습니다.
+     *
+     * @param checkpointId 체크포인트 번호
+     * @param acknowledger 스냅샷 완료를 통보받을 대상
+     * @throws IllegalArgumentException acknowledger가 null인 경우
+     */
+    public CheckpointBarrier(long checkpointId, Acknowledger acknowledger) {
+        this(checkpointId, acknowledger, 0);
+    }
+
+    /**
+     * 정렬 제한 시간이 있는 배리어를 생성합니다. 제한 시간이 지나도록 모든 입력에서 배리어가 모이지 않으면
+     * 노드는 정렬을 포기하고 막아 둔 입력을 다시 읽습니다.
+     *
+     * @param checkpointId  체크포인트 번호
+     * @param acknowledger  스냅샷 완료를 통보받을 대상
+     * @param timeoutMillis 정렬을 기다리는 최대 시간(밀리초), 0 이하이면 제한 없음
+     * @throws IllegalArgumentException acknowledger가 null인 경우
+     */
+    public CheckpointBarrier(long checkpointId, Acknowledger acknowledger, long timeoutMillis) {
+        super(checkpointId, Map.of(METADATA_KEY, true));
+        if (acknowledger == null) {
+            throw new IllegalArgumentException("Acknowledger cannot be null");
+        }
+        this.checkpointId = checkpointId;
+        this.acknowledger = acknowledger;
+        this.timeoutNanos = Math.max(0, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    public long getCheckpointId() {
+        return checkpointId;
+    }
+
+    /**
+     * 정렬 제한 시간이 지났는지 확인합니다.
+     *
+     * @return 제한 시간이 있고 지났으면 true
+     */
+    public boolean isExpired() {
+        return timeoutNanos > 0 && System.nanoTime() - createdAtNanos > timeoutNanos;
+    }
+
+    /**
+     * 노드가 이 배리어에 대한 스냅샷을 마쳤음을 통보합니다.
+     *
+     * @param node  스냅샷을 마친 노드
+     * @param state 노드의 상태, 상태가 없는 노드이면 null
+     */
+    public void acknowledge(Node node, byte[] state) {
+        acknowledger.acknowledge(checkpointId, node, state);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CheckpointBarrier[checkpointId=%d]", checkpointId);
+    }
+
+    /**
+     * 노드별 스냅샷 완료 통보를 받는 인터페이스입니다.
+     */
+    @FunctionalInterface
+    public interface Acknowledger {
+
+        /**
+         * @param checkpointId 체크포인트 번호
+         * @param node         스냅샷을 마친 노드
+         * @param state        노드의 상태, 상태가 없는 노드이면 null
+         */
+        void acknowledge(long checkpointId, Node node, byte[] state);
+    }
+}
@@ -0,0 +1,22 @@
+package com.samsa.core;
+
+/**
+ * 자기 스레드에서 메시지를 내보내는 소스 노드의 체크포인트 계약입니다.
+ *
+ * <p>체크포인트 조율자가 다른 스레드에서 소스의 상태를 스냅샷하고 배리어를 보내면, 그사이 소스가 내보낸 메시지가
+ * 스냅샷과 배리어의 어느 쪽에 속하는지 정해지지 않아 복원할 때 메시지가 중복되거나 빠집니다. 이 계약을 구현한 소스는
+ * 받은 배리어를 메시지를 내보내는 스레드에서 두 메시지 사이에 주입합니다. 그 자리에서 상태를 스냅샷하여 통보하고
+ * 배리어를 출력 포트로 보내므로, 스냅샷에 반영된 메시지는 모두 배리어 앞에, 나머지는 모두 뒤에 놓입니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public interface CheckpointSource {
+
+    /**
+     * 배리어의 주입을 요청하고 곧바로 반환합니다. 지금 메시지를 내보내는 중이 아니면 호출한 스레드에서 주입할 수 있습니다.
+     *
+     * @param barrier 주입할 배리어
+     */
+    void injectBarrier(CheckpointBarrier barrier);
+}
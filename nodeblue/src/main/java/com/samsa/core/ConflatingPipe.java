@@ -0,0 +1,306 @@
+package com.samsa.core;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메타데이터 키마다 가장 최근 메시지 하나만 담는 파이프입니다. 장비별 상태나 설정값처럼 최신 값만 의미 있는 메시지에 사용합니다.
+ *
+ * <p>대기 중인 메시지와 같은 키의 메시지가 들어오면 대기열의 자리는 그대로 두고 메시지만 바꾸므로,
+ * 소비자는 키가 처음 들어온 순서대로 각 키의 최신 메시지를 받습니다. 교체는 키로 자리를 찾아 바로 바꾸므로
+ * 대기열 길이와 관계없이 일정한 시간이 걸리며, 밀려난 메시지는 {@link Message#release()}로 반납합니다.</p>
+ *
+ * <p>용량은 대기할 수 있는 키의 수입니다. 이미 대기 중인 키의 메시지는 용량이 차도 항상 받으므로, 메모리는 메시지 속도가 아니라
+ * 키의 수에 비례하고 생산자는 최신 값을 버리지 않습니다. 키 메타데이터가 없는 메시지는 합치지 않고 각각 한 자리를 차지합니다.</p>
+ *
+ * <p>체크포인트 배리어보다 앞선 자리는 바꾸지 않습니다. 배리어 뒤에 들어온 메시지가 배리어를 앞질러 스냅샷에 섞이지 않도록,
+ * 그 키의 메시지는 배리어 뒤에 새 자리를 하나 더 차지하고 이후의 같은 키 메시지는 그 새 자리를 바꿉니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class ConflatingPipe extends Pipe {
+
+    private final String keyMetadata;
+    private final int maxKeys;
+    private final MemoryBudget budget;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    /** 대기 자리, 들어온 순서. lock을 잡은 상태에서만 사용 */
+    private final ArrayDeque<Slot> queue = new ArrayDeque<>();
+
+    /** 키별로 가장 나중에 들어온 대기 자리. lock을 잡은 상태에서만 사용 */
+    private final Map<Object, Slot> latest = new HashMap<>();
+
+    /** 다음 자리의 순번과 가장 최근 배리어의 순번. lock을 잡은 상태에서만 사용 */
+    private long nextOrder;
+    private long barrierOrder = -1;
+
+    private volatile int count;
+    private long reservedBytes;
+
+    /** 같은 키의 새 메시지로 교체되어 전달되지 않은 메시지 수 */
+    private final LongAdder conflated = new LongAdder();
+
+    /**
+     * 기본 용량만큼의 키를 담는 파이프를 생성합니다.
+     *
+     * @param keyMetadata 메시지를 합칠 기준 메타데이터 키
+     * @throws IllegalArgumentException 키가 null이거나 비어 있는 경우
+     */
+    public ConflatingPipe(String keyMetadata) {
+        this(keyMetadata, DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * 파이프를 생성합니다.
+     *
+     * @param keyMetadata 메시지를 합칠 기준 메타데이터 키
+     * @param maxKeys     대기할 수 있는 최대 키 수
+     * @param budget      여러 파이프가 공유하는 메모리 예산, null이면 키 수로만 제한
+     * @throws IllegalArgumentException 키가 null이거나 비어 있거나 최대 키 수가 1보다 작은 경우
+     */
+    public ConflatingPipe(String keyMetadata, int maxKeys, MemoryBudget budget) {
+        super(maxKeys, budget);
+        if (Objects.isNull(keyMetadata) || keyMetadata.isEmpty()) {
+            log.error("합칠 기준 메타데이터 키가 비어 있습니다");
+            throw new IllegalArgumentException("Key metadata cannot be empty");
+        }
+        this.keyMetadata = keyMetadata;
+        this.maxKeys = maxKeys;
+        this.budget = budget;
+    }
+
+    /**
+     * 메시지를 넣습니다. 같은 키의 메시지가 대기 중이면 그 자리의 메시지를 바꾸며 항상 성공합니다.
+     * 그 자리가 대기 중인 배리어보다 앞서 있으면 바꾸지 않고 배리어 뒤에 새 자리를 만듭니다.
+     * 새 키는 최대 키 수에 이르렀거나 메모리 예산이 부족하면 false를 반환합니다.
+     */
+    @Override
+    public boolean offer(Message message) {
+        if (Objects.isNull(message)) {
+            throw new IllegalArgumentException("Message cannot be null");
+        }
+        Object metadataKey = message.getMetadata(keyMetadata);
+        // 키가 없는 메시지는 메시지 자체를 키로 하여 합치지 않음
+        Object key = metadataKey != null ? metadataKey : message;
+        int size = budget == null ? 0 : MessageSizeEstimator.estimate(message);
+
+        Message replaced;
+        lock.lock();
+        try {
+            Slot slot = latest.get(key);
+            if (slot == null) {
+                if (count >= maxKeys) {
+                    return false;
+                }
+                if (budget != null && !budget.tryReserve(size, count < CHUNK_SIZE)) {
+                    return false;
+                }
+                append(key, message, size);
+                replaced = null;
+            } else if (slot.order < barrierOrder) {
+                // 배리어 앞의 자리는 배리어 이전 상태이므로 그대로 두고, 이미 대기 중인 키처럼 용량과 관계없이 받음
+                if (budget != null) {
+                    budget.tryReserve(size, true);
+                }
+                append(key, message, size);
+                replaced = null;
+            } else {
+                if (budget != null) {
+                    // 교체는 키 수를 늘리지 않으므로 예산과 관계없이 받음
+                    budget.release(slot.size);
+                    budget.tryReserve(size, true);
+                    reservedBytes += size - slot.size;
+                }
+                replaced = slot.message;
+                slot.message = message;
+                slot.size = size;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (replaced == null) {
+            signalReady();
+        } else {
+            conflated.increment();
+            replaced.release();
+        }
+        return true;
+    }
+
+    /**
+     * 배리어는 합치지 않고 최대 키 수와 메모리 예산과 관계없이 대기열 끝에 한 자리를 차지합니다.
+     */
+    @Override
+    public boolean offerBarrier(CheckpointBarrier barrier) {
+        if (Objects.isNull(barrier)) {
+            throw new IllegalArgumentException("Barrier cannot be null");
+        }
+        lock.lock();
+        try {
+            barrierOrder = nextOrder;
+            queue.addLast(new Slot(null, barrier, 0, nextOrder++));
+            count++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        signalReady();
+        return true;
+    }
+
+    @Override
+    public Message poll() {
+        if (count == 0) {
+            return null;
+        }
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Message poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기열 끝에 자리를 만듭니다. lock을 잡은 상태에서 호출합니다.
+     */
+    private void append(Object key, Message message, int size) {
+        Slot slot = new Slot(key, message, size, nextOrder++);
+        queue.addLast(slot);
+        latest.put(key, slot);
+        reservedBytes += size;
+        count++;
+        notEmpty.signal();
+    }
+
+    private Message dequeue() {
+        Slot slot = queue.removeFirst();
+        if (slot.key != null && latest.get(slot.key) == slot) {
+            latest.remove(slot.key);
+        }
+        count--;
+        if (budget != null) {
+            reservedBytes -= slot.size;
+            budget.release(slot.size);
+        }
+        return slot.message;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * 대기 중인 키가 최대 키 수에 이르렀는지 확인합니다. 가득 차도 대기 중인 키의 메시지는 받습니다.
+     */
+    @Override
+    public boolean isFull() {
+        return count >= maxKeys;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, maxKeys - count);
+    }
+
+    /**
+     * 대기 중인 키의 수를 반환합니다.
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public long getReservedBytes() {
+        lock.lock();
+        try {
+            return reservedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 키인지 확인합니다.
+     *
+     * @param key 메타데이터 키의 값
+     * @return 그 키의 메시지가 대기 중이면 true
+     */
+    public boolean isPending(Object key) {
+        lock.lock();
+        try {
+            return latest.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getKeyMetadata() {
+        return keyMetadata;
+    }
+
+    /**
+     * 같은 키의 새 메시지로 교체되어 전달되지 않은 메시지 수를 반환합니다.
+     *
+     * @return 교체된 메시지 수
+     */
+    public long getConflatedCount() {
+        return conflated.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConflatingPipe[id=%s, key=%s, size=%d, maxKeys=%d, conflated=%d]", getId(),
+                keyMetadata, count, maxKeys, conflated.sum());
+    }
+
+    /**
+     * 키 하나의 대기 자리입니다. 교체할 때는 자리를 그대로 두고 내용만 바꿉니다. 배리어의 자리는 키가 없습니다.
+     */
+    private static final class Slot {
+        private final Object key;
+        private final long order;
+        private Message message;
+        private int size;
+
+        private Slot(Object key, Message message, int size, long order) {
+            this.key = key;
+            this.message = message;
+            this.size = size;
+            this.order = order;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.samsa.core;
 
 import java.util.UUID;
+
+import com.samsa.core.error.ErrorRouter;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -27,6 +30,7 @@ public abstract class InNode extends Node {
             throw new IllegalArgumentException("입력 포트는 null일 수 없습니다");
         }
         this.port = port;
+        port.attach(this);
     }
 
     /**
@@ -43,6 +47,7 @@ public abstract class InNode extends Node {
             throw new IllegalArgumentException("입력 포트는 null일 수 없습니다");
         }
         this.port = port;
+        port.attach(this);
     }
 
     /**
@@ -60,8 +65,8 @@ public abstract class InNode extends Node {
 
         try {
             log.debug("메시지 수신 시도. NodeId: {}", getId());
-            Message message = port.consume();
-            if (message != null) {
+            Message message = receiveAligned(port, null);
+            if (message != null && log.isDebugEnabled()) {
                 log.debug("메시지 수신 완료. NodeId: {}, MessageId: {}", getId(), message.getId());
             }
             return message;
@@ -70,4 +75,43 @@ public abstract class InNode extends Node {
             throw new RuntimeException("메시지 수신 중 오류가 발생했습니다", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 입력 포트에서 메시지 하나를 받아 처리한 뒤 받은 메시지의 참조를 해제합니다.
+     * 처리 중에 메시지를 보관하거나 다른 스레드로 넘기는 노드는 {@link Message#retain()}으로 참조를 늘려야 합니다.
+     *
+     * @return 처리한 메시지가 있으면 true, 받을 메시지가 없으면 false
+     */
+    public boolean processNext() {
+        Message message = receive();
+        if (message == null) {
+            return false;
+        }
+        try {
+            dispatch(message);
+        } finally {
+            message.release();
+        }
+        return true;
+    }
+
+    /**
+     * 오류 라우터를 연결하고, 재시도한 메시지를 받도록 라우터의 재시도 파이프를 입력 포트에 연결합니다.
+     *
+     * @param router 연결할 오류 라우터
+     */
+    @Override
+    public void setErrorRouter(ErrorRouter router) {
+        super.setErrorRouter(router);
+        port.addPipe(router.getRetryPipe());
+    }
+
+    /**
+     * 이 노드의 입력 포트를 반환합니다.
+     *
+     * @return 입력 포트
+     */
+    public InPort getInPort() {
+        return port;
+    }
+}
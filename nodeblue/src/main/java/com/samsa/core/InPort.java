@@ -3,7 +3,9 @@ package com.samsa.core;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 노드의 입력 포트를 나타내며, 여러 파이프와 연결되어 메시지를 소비합니다.
@@ -25,6 +27,30 @@ public class InPort {
      */
     private List<Pipe> pipes;
 
+    /**
+     * 체크포인트 정렬 중 배리어를 먼저 보낸 파이프입니다. 나머지 파이프의 배리어가 모두 도착할 때까지 읽지 않습니다.
+     */
+    private final Set<Pipe> blockedPipes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 정렬 중인 배리어, 정렬 중이 아니면 null입니다.
+     */
+    private volatile CheckpointBarrier aligning;
+
+    /**
+     * 마지막으로 메시지를 꺼낸 파이프입니다. 소유 노드의 처리 스레드에서만 사용합니다.
+     */
+    private Pipe lastPipe;
+
+    /**
+     * 소유 노드 없이 InPort를 생성합니다.
+     * 포트를 먼저 만들고 노드를 나중에 생성하는 경우에 사용하며, 노드 생성자에 전달되면 그 노드가 소유자가 됩니다.
+     */
+    public InPort() {
+        this.id = UUID.randomUUID();
+        this.pipes = new ArrayList<>();
+    }
+
     /**
      * 랜덤하게 생성된 ID와 지정된 소유 노드를 사용하여 InPort를 생성합니다.
      *
@@ -51,19 +77,33 @@ public class InPort {
         this.pipes = new ArrayList<>();
     }
 
+    /**
+     * 소유 노드가 없는 포트에 소유 노드를 지정합니다. 이미 소유 노드가 있으면 무시됩니다.
+     *
+     * @param node 소유 노드
+     */
+    void attach(Node node) {
+        if (owner == null) {
+            owner = node;
+        }
+    }
+
     /**
      * 연결된 파이프들로부터 데이터를 소비합니다.
      * 여러 파이프에 데이터가 있는 경우 라운드 로빈 방식으로 데이터를 읽습니다.
+     * 체크포인트 정렬 중 막아 둔 파이프는 읽지 않습니다.
      *
      * @return 소비된 메시지, 또는 데이터가 없을 경우 {@code null}
      */
     public Message consume() {
+        boolean aligningNow = !blockedPipes.isEmpty();
         for (Pipe pipe : pipes) {
-            if (Objects.isNull(pipe)) {
+            if (Objects.isNull(pipe) || (aligningNow && blockedPipes.contains(pipe))) {
                 continue;
             }
             Message message = pipe.poll();
             if (message != null) {
+                lastPipe = pipe;
                 return message;
             }
         }
@@ -71,12 +111,50 @@ public class InPort {
     }
 
     /**
-     * 연결된 파이프들 중 데이터가 있는지 확인합니다.
+     * 연결된 파이프들 중 데이터가 있는지 확인합니다. 체크포인트 정렬 중 막아 둔 파이프는 제외합니다.
      *
      * @return 데이터가 있으면 {@code true}, 그렇지 않으면 {@code false}
      */
     public boolean hasAvailableData() {
-        return pipes.stream().anyMatch(pipe -> pipe != null && !pipe.isEmpty());
+        return pipes.stream().anyMatch(pipe -> pipe != null && !pipe.isEmpty() && !blockedPipes.contains(pipe));
+    }
+
+    /**
+     * 마지막으로 꺼낸 배리어를 보낸 파이프를 정렬이 끝날 때까지 막습니다.
+     *
+     * @param barrier 정렬 중인 배리어
+     */
+    void block(CheckpointBarrier barrier) {
+        if (lastPipe != null) {
+            blockedPipes.add(lastPipe);
+        }
+        aligning = barrier;
+    }
+
+    /**
+     * 정렬이 끝났거나 포기하여 막아 둔 파이프를 모두 풉니다.
+     */
+    void unblock() {
+        blockedPipes.clear();
+        aligning = null;
+    }
+
+    /**
+     * 정렬 중인 배리어를 반환합니다.
+     *
+     * @return 정렬 중인 배리어, 정렬 중이 아니면 null
+     */
+    CheckpointBarrier getAligning() {
+        return aligning;
+    }
+
+    /**
+     * 체크포인트 정렬 중 막아 둔 파이프 수를 반환합니다.
+     *
+     * @return 막아 둔 파이프 수
+     */
+    public int getBlockedCount() {
+        return blockedPipes.size();
     }
 
     /**
@@ -103,6 +181,7 @@ public class InPort {
             throw new IllegalArgumentException("Pipe cannot be null");
         }
         pipes.remove(pipe);
+        blockedPipes.remove(pipe);
     }
 
     /**
@@ -123,6 +202,32 @@ public class InPort {
         return owner;
     }
 
+    /**
+     * 연결된 파이프에 쌓인 메시지 수의 합을 반환합니다. 목록을 복사하지 않으므로 모니터링에서 자주 호출해도 됩니다.
+     *
+     * @return 대기 중인 메시지 수
+     */
+    public int getQueuedCount() {
+        int queued = 0;
+        for (int i = 0; i < pipes.size(); i++) {
+            queued += pipes.get(i).size();
+        }
+        return queued;
+    }
+
+    /**
+     * 메시지가 남아 있는 입력 파이프의 알림을 다시 보냅니다.
+     * 처리할 수 있는 자리가 없어 메시지를 남겨 둔 노드가 자리가 났을 때 다시 실행되도록 호출합니다.
+     */
+    void signalReady() {
+        for (int i = 0; i < pipes.size(); i++) {
+            Pipe pipe = pipes.get(i);
+            if (!pipe.isEmpty()) {
+                pipe.signalReady();
+            }
+        }
+    }
+
     /**
      * 연결된 파이프들의 목록을 반환합니다.
      *
@@ -0,0 +1,146 @@
+package com.samsa.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+
+import com.samsa.core.codec.JsonPayloadCodec;
+import com.samsa.core.codec.PayloadCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 원본 바이트와 코덱으로 이루어진, 처음 읽을 때 값으로 바뀌는 페이로드입니다.
+ *
+ * <p>메시지의 페이로드로 넣으면 {@link Message#getPayload()}를 처음 호출할 때 코덱으로 바꾸고 결과를 보관합니다.
+ * 필드 하나만 필요한 노드는 {@link Message#getPayloadField(String)}로 원본에서 그 필드만 읽을 수 있고,
+ * 그대로 전달하거나 기록하는 노드는 {@link Message#getRawPayload()}로 원본을 넘겨 값으로 바꾸지 않습니다.</p>
+ *
+ * <p>원본 배열은 복사하지 않고 공유하므로 만든 뒤에 수정하지 않아야 합니다. 여러 스레드에서 처음 읽으면
+ * 값으로 여러 번 바뀔 수 있지만 결과는 같습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public final class LazyPayload {
+
+    private static final Object UNDECODED = new Object();
+
+    private final byte[] raw;
+    private final PayloadCodec codec;
+    private volatile Object value = UNDECODED;
+
+    /**
+     * 페이로드를 생성합니다.
+     *
+     * @param raw   원본 바이트
+     * @param codec 원본을 값으로 바꿀 코덱
+     * @throws IllegalArgumentException 인자가 null인 경우
+     */
+    public LazyPayload(byte[] raw, PayloadCodec codec) {
+        if (Objects.isNull(raw) || Objects.isNull(codec)) {
+            log.error("원본 바이트 또는 코덱이 null입니다");
+            throw new IllegalArgumentException("Raw bytes and codec cannot be null");
+        }
+        this.raw = raw;
+        this.codec = codec;
+    }
+
+    /**
+     * UTF-8 JSON 원본의 페이로드를 생성합니다.
+     *
+     * @param raw JSON 바이트
+     * @return 페이로드
+     */
+    public static LazyPayload json(byte[] raw) {
+        return new LazyPayload(raw, JsonPayloadCodec.INSTANCE);
+    }
+
+    /**
+     * JSON 문자열의 페이로드를 생성합니다.
+     *
+     * @param text JSON 문자열
+     * @return 페이로드
+     */
+    public static LazyPayload json(String text) {
+        return json(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 값을 반환합니다. 처음 호출할 때 원본을 값으로 바꾸고 이후에는 보관한 값을 반환합니다.
+     *
+     * @return 값
+     * @throws IllegalArgumentException 원본이 코덱의 형식이 아닌 경우
+     */
+    public Object get() {
+        Object decoded = value;
+        if (decoded == UNDECODED) {
+            decoded = codec.decode(raw);
+            value = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * 최상위 필드 하나의 값을 반환합니다. 이미 값으로 바뀌었으면 값에서, 아니면 원본에서 그 필드만 읽습니다.
+     *
+     * @param field 필드 이름
+     * @return 필드 값, 없으면 null
+     */
+    public Object getField(String field) {
+        Object decoded = value;
+        if (decoded == UNDECODED) {
+            return codec.readField(raw, field);
+        }
+        return decoded instanceof Map<?, ?> map ? map.get(field) : null;
+    }
+
+    /**
+     * 원본을 문자열로 반환합니다. JSON은 값으로 바꾸지 않고 원본을 그대로 문자열로 만듭니다.
+     *
+     * @return 문자열 표현
+     */
+    public String toText() {
+        return codec.toText(raw);
+    }
+
+    /**
+     * 원본 바이트를 반환합니다. 복사하지 않으므로 수정하지 않아야 합니다.
+     *
+     * @return 원본 바이트
+     */
+    public byte[] getRaw() {
+        return raw;
+    }
+
+    public PayloadCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * 원본이 값으로 바뀌었는지 반환합니다.
+     *
+     * @return 값으로 바뀌었으면 true
+     */
+    public boolean isDecoded() {
+        return value != UNDECODED;
+    }
+
+    /**
+     * 메시지에 저장된 페이로드가 이 타입이면 값으로 바꿔 반환하고, 아니면 그대로 반환합니다.
+     *
+     * @param payload 메시지에 저장된 페이로드
+     * @return 페이로드의 값
+     */
+    static Object resolve(Object payload) {
+        return payload instanceof LazyPayload lazy ? lazy.get() : payload;
+    }
+
+    @Override
+    public String toString() {
+        Object decoded = value;
+        return decoded == UNDECODED ? "LazyPayload[" + codec.getName() + ", " + raw.length + " bytes]"
+                : String.valueOf(decoded);
+    }
+}
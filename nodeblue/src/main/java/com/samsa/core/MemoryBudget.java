@@ -0,0 +1,124 @@
+package com.samsa.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 {@link Pipe}가 나누어 쓰는 메모리 예산입니다.
+ * 파이프는 메시지를 넣을 때 추정 크기만큼 예산을 예약하고 메시지가 빠져나갈 때 돌려줍니다.
+ *
+ * <p>예산은 정확한 힙 사용량이 아니라 {@link MessageSizeEstimator}의 추정치를 기준으로 하므로,
+ * 실제 한도는 여유를 두고 정해야 합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class MemoryBudget {
+
+    private volatile long limitBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 지정된 한도의 예산을 생성합니다.
+     *
+     * @param limitBytes 모든 파이프가 함께 사용할 수 있는 최대 바이트 수
+     * @throws IllegalArgumentException 한도가 1보다 작은 경우
+     */
+    public MemoryBudget(long limitBytes) {
+        if (limitBytes < 1) {
+            log.error("메모리 예산이 유효하지 않습니다: {}", limitBytes);
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.limitBytes = limitBytes;
+    }
+
+    /**
+     * 예산을 예약합니다.
+     *
+     * @param bytes 예약할 바이트 수
+     * @param force true이면 한도를 넘더라도 예약합니다. 파이프가 보장된 최소 분량을 받을 때 사용합니다.
+     * @return 예약했으면 true, 한도를 넘어 거절했으면 false
+     */
+    public boolean tryReserve(long bytes, boolean force) {
+        if (force) {
+            usedBytes.addAndGet(bytes);
+            return true;
+        }
+        long current;
+        do {
+            current = usedBytes.get();
+            if (current + bytes > limitBytes) {
+                rejected.increment();
+                return false;
+            }
+        } while (!usedBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    /**
+     * 예약했던 예산을 돌려줍니다.
+     *
+     * @param bytes 돌려줄 바이트 수
+     */
+    public void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * 예산이 모두 사용되었는지 확인합니다.
+     *
+     * @return 사용량이 한도 이상이면 true
+     */
+    public boolean isExhausted() {
+        return usedBytes.get() >= limitBytes;
+    }
+
+    /**
+     * 한도를 바꿉니다. 줄인 한도보다 이미 많이 사용 중이면 새 예약만 거절하며, 사용 중인 예산은 메시지가 빠져나가며 돌아옵니다.
+     *
+     * @param limitBytes 새 한도
+     * @throws IllegalArgumentException 한도가 1보다 작은 경우
+     */
+    public void setLimitBytes(long limitBytes) {
+        if (limitBytes < 1) {
+            log.error("메모리 예산이 유효하지 않습니다: {}", limitBytes);
+            throw new IllegalArgumentException("Memory budget must be positive");
+        }
+        this.limitBytes = limitBytes;
+    }
+
+    public long getLimitBytes() {
+        return limitBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * 남은 예산을 반환합니다.
+     *
+     * @return 남은 바이트 수, 한도를 넘게 사용 중이면 0
+     */
+    public long getAvailableBytes() {
+        return Math.max(0, limitBytes - usedBytes.get());
+    }
+
+    /**
+     * 예산 부족으로 거절된 예약 횟수를 반환합니다.
+     *
+     * @return 거절 횟수
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MemoryBudget[used=%d, limit=%d]", usedBytes.get(), limitBytes);
+    }
+}
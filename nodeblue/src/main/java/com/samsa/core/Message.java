@@ -1,5 +1,6 @@
 package com.samsa.core;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -8,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * 노드 간에 전달되는 메시지를 나타내는 클래스입니다.
  * 각 메시지는 고유한 ID와 페이로드를 가지며, 노드 간 통신의 기본 단위가 됩니다.
+ * 페이로드로 {@link LazyPayload}를 넣으면 처음 읽을 때까지 원본 바이트로 유지됩니다.
  * 
  * @author samsa
  * @since 1.0
@@ -23,6 +25,16 @@ public class Message {
     /** 메시지의 부가 정보 */
     private final Map<String, Object> metadata;
 
+    /**
+     * 필드를 직접 관리하는 하위 클래스를 위한 생성자입니다.
+     * 하위 클래스는 이 클래스의 모든 접근 메서드를 재정의해야 합니다.
+     */
+    protected Message() {
+        this.id = null;
+        this.payload = null;
+        this.metadata = null;
+    }
+
     /**
      * 기본 메시지를 생성합니다.
      *
@@ -95,14 +107,85 @@ public class Message {
         return id;
     }
 
+    /**
+     * 페이로드를 반환합니다. 페이로드가 {@link LazyPayload}이면 처음 호출할 때 값으로 바꿔 반환합니다.
+     *
+     * @return 페이로드
+     */
     public Object getPayload() {
+        return LazyPayload.resolve(payload);
+    }
+
+    /**
+     * 저장된 페이로드를 그대로 반환합니다. {@link LazyPayload}도 값으로 바꾸지 않으므로,
+     * 페이로드를 들여다보지 않고 새 메시지에 옮기거나 기록하는 경우에 사용합니다.
+     *
+     * @return 저장된 페이로드
+     */
+    public Object getRawPayload() {
         return payload;
     }
 
+    /**
+     * 페이로드의 최상위 필드 하나를 반환합니다. 페이로드가 아직 값으로 바뀌지 않은 {@link LazyPayload}이면
+     * 원본에서 그 필드만 읽으므로, 필드 하나로 경로를 정하거나 거르는 노드는 페이로드 전체를 만들지 않습니다.
+     *
+     * @param field 필드 이름
+     * @return 필드 값, 페이로드가 맵이 아니거나 필드가 없으면 null
+     */
+    public Object getPayloadField(String field) {
+        Object raw = getRawPayload();
+        if (raw instanceof LazyPayload lazy) {
+            return lazy.getField(field);
+        }
+        return raw instanceof Map<?, ?> map ? map.get(field) : null;
+    }
+
     public Map<String, Object> getMetadata() {
         return new HashMap<>(metadata); // 방어적 복사
     }
 
+    /**
+     * 메타데이터의 읽기 전용 뷰를 반환합니다.
+     * 복사하지 않으므로 직렬화처럼 메타데이터 전체를 읽기만 하는 경우에 사용합니다.
+     *
+     * @return 수정할 수 없는 메타데이터 뷰
+     */
+    public Map<String, Object> getMetadataView() {
+        return Collections.unmodifiableMap(metadata);
+    }
+
+    /**
+     * 지정된 키의 메타데이터 값을 반환합니다.
+     * 맵 전체를 복사하지 않으므로 값 하나만 필요한 경우 {@link #getMetadata()}보다 가볍습니다.
+     *
+     * @param key 메타데이터 키
+     * @return 메타데이터 값, 키가 없으면 null
+     */
+    public Object getMetadata(String key) {
+        return metadata.get(key);
+    }
+
+    /**
+     * 참조 수를 하나 늘립니다. {@link MessagePool}에서 얻은 메시지가 아니면 아무 일도 하지 않습니다.
+     * 메시지를 onMessage가 끝난 뒤에도 보관하거나 다른 스레드에 넘길 때 호출하고, 다 쓰면 {@link #release()}합니다.
+     *
+     * @return 이 메시지
+     */
+    public Message retain() {
+        return this;
+    }
+
+    /**
+     * 참조 수를 하나 줄입니다. {@link MessagePool}에서 얻은 메시지가 아니면 아무 일도 하지 않습니다.
+     * 마지막 참조가 해제된 메시지는 풀로 돌아가 다시 사용되므로 이후에는 접근하지 않아야 합니다.
+     *
+     * @return 마지막 참조가 해제되어 풀로 돌아갔으면 true
+     */
+    public boolean release() {
+        return false;
+    }
+
     @Override
     public String toString() {
         return String.format("Message[id=%s, payload=%s, metadata=%s]", id, payload, metadata);
@@ -0,0 +1,240 @@
+package com.samsa.core;
+
+import java.lang.ref.Cleaner;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 높은 빈도로 메시지를 만드는 노드가 {@link PooledMessage}를 재사용할 수 있게 하는 풀입니다.
+ *
+ * <p>메시지 객체와 메타데이터 맵을 재사용하고 ID는 필요할 때만 만들므로, 대부분의 메시지가 곧바로 버려지는
+ * 소스 노드의 할당량과 그로 인한 GC 정지를 줄입니다. 사용은 선택 사항이며, 풀을 쓰는 노드는 다음 순서를 따릅니다.</p>
+ * <pre>
+ * PooledMessage message = pool.acquire(payload);
+ * emit(message);       // 파이프마다 참조가 하나씩 늘어남
+ * message.release();   // 획득한 노드의 참조 해제
+ * </pre>
+ *
+ * <p>스레드마다 작은 캐시를 두고, 캐시가 비거나 넘칠 때만 공유 저장소와 절반씩 주고받으므로
+ * 생산자와 소비자가 다른 스레드여도 잠금은 가끔만 일어납니다. 공유 저장소가 가득 차면 남는 메시지는 GC에 맡깁니다.</p>
+ *
+ * <p>누수 감지를 켜면 획득 위치를 기록해 두었다가, 해제되지 않은 메시지가 GC로 수거될 때 그 위치를 오류로 기록합니다.
+ * 기록 비용이 크므로 디버깅에만 사용하며, {@value #LEAK_DETECTION_PROPERTY} 시스템 속성으로 기본값을 켤 수 있습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class MessagePool {
+
+    /** 누수 감지 기본값을 지정하는 시스템 속성 */
+    public static final String LEAK_DETECTION_PROPERTY = "nodeblue.message.leakDetection";
+
+    /** 공유 저장소의 기본 용량 */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** 스레드별 캐시의 크기 */
+    private static final int MAGAZINE_SIZE = 64;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final boolean leakDetection;
+    private final long idPrefix;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** 스레드 사이에서 주고받는 메시지 저장소 */
+    private final PooledMessage[] shared;
+    private int sharedCount;
+
+    private final ThreadLocal<Magazine> magazines = ThreadLocal.withInitial(Magazine::new);
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder leaked = new LongAdder();
+
+    /**
+     * 기본 용량의 풀을 생성합니다. 누수 감지는 시스템 속성을 따릅니다.
+     */
+    public MessagePool() {
+        this(DEFAULT_CAPACITY, Boolean.getBoolean(LEAK_DETECTION_PROPERTY));
+    }
+
+    /**
+     * 용량과 누수 감지 여부를 지정하여 풀을 생성합니다.
+     *
+     * @param capacity      스레드 사이에서 보관할 최대 메시지 수
+     * @param leakDetection 해제되지 않은 메시지를 추적할지 여부
+     * @throws IllegalArgumentException 용량이 1보다 작은 경우
+     */
+    public MessagePool(int capacity, boolean leakDetection) {
+        if (capacity < 1) {
+            log.error("메시지 풀 용량이 유효하지 않습니다: {}", capacity);
+            throw new IllegalArgumentException("Pool capacity must be positive");
+        }
+        this.shared = new PooledMessage[capacity];
+        this.leakDetection = leakDetection;
+        this.idPrefix = ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * 메타데이터가 비어 있는 메시지를 빌립니다.
+     *
+     * @param payload 메시지 내용
+     * @return 참조 수가 1인 메시지
+     * @throws IllegalArgumentException payload가 null인 경우
+     */
+    public PooledMessage acquire(Object payload) {
+        if (payload == null) {
+            log.error("페이로드가 null입니다");
+            throw new IllegalArgumentException("페이로드는 null일 수 없습니다");
+        }
+
+        Magazine magazine = magazines.get();
+        PooledMessage message = magazine.count > 0 ? magazine.pop() : refill(magazine);
+        if (message == null) {
+            message = new PooledMessage(this);
+            created.increment();
+        } else {
+            reused.increment();
+        }
+
+        message.reset(sequence.incrementAndGet(), payload);
+        if (leakDetection) {
+            LeakTrace trace = new LeakTrace(this);
+            message.track(trace, CLEANER.register(message, trace));
+        }
+        return message;
+    }
+
+    /**
+     * 메타데이터를 복사한 메시지를 빌립니다.
+     *
+     * @param payload  메시지 내용
+     * @param metadata 복사할 메타데이터
+     * @return 참조 수가 1인 메시지
+     * @throws IllegalArgumentException payload 또는 metadata가 null인 경우
+     */
+    public PooledMessage acquire(Object payload, Map<String, Object> metadata) {
+        if (metadata == null) {
+            log.error("메타데이터가 null입니다");
+            throw new IllegalArgumentException("메타데이터는 null일 수 없습니다");
+        }
+        PooledMessage message = acquire(payload);
+        metadata.forEach(message::putMetadata);
+        return message;
+    }
+
+    /**
+     * 참조가 모두 해제된 메시지를 돌려받습니다.
+     */
+    void recycle(PooledMessage message) {
+        Magazine magazine = magazines.get();
+        if (magazine.count == MAGAZINE_SIZE) {
+            spill(magazine);
+        }
+        magazine.push(message);
+    }
+
+    private PooledMessage refill(Magazine magazine) {
+        synchronized (shared) {
+            int moved = Math.min(sharedCount, MAGAZINE_SIZE / 2);
+            for (int i = 0; i < moved; i++) {
+                magazine.push(shared[--sharedCount]);
+                shared[sharedCount] = null;
+            }
+        }
+        return magazine.count > 0 ? magazine.pop() : null;
+    }
+
+    private void spill(Magazine magazine) {
+        synchronized (shared) {
+            int moved = Math.min(shared.length - sharedCount, MAGAZINE_SIZE / 2);
+            for (int i = 0; i < moved; i++) {
+                shared[sharedCount++] = magazine.pop();
+            }
+        }
+        // 공유 저장소가 가득 찬 경우 절반을 버려 캐시에 자리를 만듦
+        while (magazine.count > MAGAZINE_SIZE / 2) {
+            magazine.pop();
+        }
+    }
+
+    long getIdPrefix() {
+        return idPrefix;
+    }
+
+    /**
+     * 새로 만든 메시지 수를 반환합니다.
+     *
+     * @return 풀에 재사용할 메시지가 없어 새로 만든 횟수
+     */
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    /**
+     * 재사용한 메시지 수를 반환합니다.
+     *
+     * @return 풀에서 꺼내 재사용한 횟수
+     */
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    /**
+     * 누수 감지가 켜진 동안 해제되지 않고 수거된 메시지 수를 반환합니다.
+     *
+     * @return 감지된 누수 수
+     */
+    public long getLeakCount() {
+        return leaked.sum();
+    }
+
+    public boolean isLeakDetection() {
+        return leakDetection;
+    }
+
+    /**
+     * 한 번의 획득에 대한 누수 추적 정보입니다. 메시지를 참조하지 않아야 메시지가 수거될 수 있습니다.
+     */
+    static final class LeakTrace implements Runnable {
+        private final MessagePool pool;
+        private final Throwable acquiredAt;
+        volatile boolean released;
+
+        private LeakTrace(MessagePool pool) {
+            this.pool = pool;
+            this.acquiredAt = new Throwable("메시지 획득 위치");
+        }
+
+        @Override
+        public void run() {
+            if (!released) {
+                pool.leaked.increment();
+                log.error("해제되지 않은 풀 메시지가 GC로 수거되었습니다. release() 호출이 누락되었습니다", acquiredAt);
+            }
+        }
+    }
+
+    /**
+     * 스레드별 메시지 캐시입니다.
+     */
+    private static final class Magazine {
+        private final PooledMessage[] items = new PooledMessage[MAGAZINE_SIZE];
+        private int count;
+
+        private void push(PooledMessage message) {
+            items[count++] = message;
+        }
+
+        private PooledMessage pop() {
+            PooledMessage message = items[--count];
+            items[count] = null;
+            return message;
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package com.samsa.core;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.samsa.core.error.ErrorRouter;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,9 +26,44 @@ public abstract class Node implements Runnable {
     protected UUID id;
 
     /**
-     * 노드의 현재 상태
+     * 노드의 현재 상태. 모니터링 스레드에서도 읽으므로 {@link #transitionTo(NodeStatus)}로만 바꿉니다.
+     */
+    private final AtomicReference<NodeStatus> status = new AtomicReference<>(NodeStatus.CREATED);
+
+    /**
+     * {@link #restart()} 중에만 true. 끝 상태인 STOPPED에서 RUNNING으로의 전이를 이때만 허용함
+     */
+    private volatile boolean restarting;
+
+    /**
+     * 상태 변경 리스너
+     */
+    private final List<NodeStatusListener> statusListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 마지막으로 메시지 처리를 시작한 시각({@link System#nanoTime()}), 처리한 적이 없으면 0
      */
-    protected NodeStatus status = NodeStatus.CREATED;
+    private final AtomicLong lastMessageNanos = new AtomicLong();
+
+    /**
+     * 처리를 시작한 메시지 수
+     */
+    private final AtomicLong processedCount = new AtomicLong();
+
+    /**
+     * 체크포인트 번호별로 지금까지 도착한 배리어 수
+     */
+    private final Map<Long, Integer> arrivedBarriers = new HashMap<>();
+
+    /**
+     * 처리에 실패한 메시지를 재시도하거나 오류 출력으로 보내는 라우터, 없으면 null
+     */
+    private ErrorRouter errorRouter;
+
+    /**
+     * 현재 처리 중인 메시지의 실패가 이미 라우터로 보내졌는지 여부. {@link #dispatch(Message)}를 실행하는 스레드에서만 사용
+     */
+    private boolean failureRouted;
 
     /**
      * 기본 생성자로, 랜덤하게 생성된 ID를 사용하여 노드를 초기화합니다.
@@ -58,7 +101,7 @@ public abstract class Node implements Runnable {
      */
     public void start() {
         try {
-            status = NodeStatus.RUNNING;
+            transitionTo(NodeStatus.RUNNING);
             log.info("Node[{}] started", id);
         } catch (Exception e) {
             log.error("Failed to start Node[{}]", id, e);
@@ -66,6 +109,19 @@ public abstract class Node implements Runnable {
         }
     }
 
+    /**
+     * 중지된 노드를 다시 시작합니다. {@link NodeStatus#STOPPED}는 끝 상태이므로 {@link #start()}만으로는 다시 시작되지 않고
+     * 이 메서드 안에서 호출한 {@link #start()}로만 다시 시작합니다. 중지되지 않은 노드는 {@link #start()}와 같습니다.
+     */
+    public void restart() {
+        restarting = true;
+        try {
+            start();
+        } finally {
+            restarting = false;
+        }
+    }
+
     /**
      * Runnable 인터페이스의 run 메서드를 구현하여 노드를 시작합니다.
      * 상태 변경 중 에러가 발생하면 handleError 메서드가 호출됩니다.
@@ -86,7 +142,7 @@ public abstract class Node implements Runnable {
      */
     public void stop() {
         try {
-            status = NodeStatus.STOPPED;
+            transitionTo(NodeStatus.STOPPED);
             log.info("Node[{}] stopped", id);
         } catch (Exception e) {
             log.error("Failed to stop Node[{}]", id, e);
@@ -106,57 +162,288 @@ public abstract class Node implements Runnable {
             log.error("Error cannot be null in Node[{}]", id);
             throw new IllegalArgumentException("Error cannot be null");
         }
-        status = NodeStatus.ERROR;
+        transitionTo(NodeStatus.ERROR);
         log.error("Error in Node[{}]: ", id, error);
     }
 
     /**
-     * 노드의 고유 ID를 반환합니다.
+     * 처리에 실패한 메시지를 특정하여 에러를 처리합니다.
+     * 오류 라우터가 연결되어 있으면 메시지를 재시도하거나 오류 출력으로 보내고, 없으면 {@link #handleError(Throwable)}와 같습니다.
      *
-     * @return 노드의 고유 ID
+     * @param message 처리에 실패한 메시지
+     * @param error   발생한 에러 객체
+     * @throws IllegalArgumentException 메시지나 에러 객체가 null인 경우
      */
-    public UUID getId() {
-        return id;
+    public void handleError(Message message, Throwable error) {
+        if (message == null || error == null) {
+            log.error("Message and error cannot be null in Node[{}]", id);
+            throw new IllegalArgumentException("Message and error cannot be null");
+        }
+        failureRouted = true;
+        routeFailure(message, error);
     }
 
     /**
-     * 노드의 ID를 문자열로 설정합니다.
+     * 실패한 메시지를 오류 라우터로 보내고, 라우터가 없으면 {@link #handleError(Throwable)}로 처리합니다.
+     * {@link #dispatch(Message)} 밖의 스레드에서 실패를 알리는 노드가 사용하며, 처리 중인 메시지의 실패 여부는 바꾸지 않습니다.
      *
-     * @param id 설정할 ID 문자열
-     * @throws IllegalArgumentException 잘못된 형식의 문자열인 경우
+     * @param message 처리에 실패한 메시지
+     * @param error   발생한 에러 객체
      */
-    public void setId(String id) {
+    void routeFailure(Message message, Throwable error) {
+        ErrorRouter router = errorRouter;
+        if (router == null) {
+            handleError(error);
+            return;
+        }
+        router.onFailure(this, message, error);
+    }
+
+    /**
+     * 메시지를 처리하기 시작한 시각과 처리 수를 기록합니다.
+     */
+    void markDispatched() {
+        // 처리하는 스레드만 기록하고 모니터링 스레드는 가끔 읽으므로 순서 보장이 약한 쓰기로 충분함
+        lastMessageNanos.lazySet(System.nanoTime());
+        processedCount.lazySet(processedCount.get() + 1);
+    }
+
+    /**
+     * 오류 라우터를 거쳐 메시지를 처리합니다.
+     * 회로가 열려 있으면 처리하지 않고 데드레터로 보내며, {@code onMessage}가 던진 예외는 라우터로 보냅니다.
+     * 라우터가 없으면 {@code onMessage}를 그대로 호출합니다.
+     *
+     * @param message 처리할 메시지
+     */
+    protected void dispatch(Message message) {
+        markDispatched();
+        if (errorRouter == null) {
+            onMessage(message);
+            return;
+        }
+        if (!errorRouter.allow()) {
+            errorRouter.shed(this, message);
+            return;
+        }
+        failureRouted = false;
         try {
-            this.id = UUID.fromString(id);
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid UUID string: {}", id, e);
-            throw new IllegalArgumentException("Invalid UUID string", e);
+            onMessage(message);
+        } catch (RuntimeException e) {
+            log.warn("Node[{}] failed to process message {}", id, message.getId(), e);
+            failureRouted = true;
+            errorRouter.onFailure(this, message, e);
+        }
+        if (!failureRouted) {
+            errorRouter.onSuccess();
         }
     }
-}
 
-/**
- * 노드의 상태를 나타내는 열거형입니다.
- */
-enum NodeStatus {
+    /**
+     * 오류 라우터를 연결합니다. 입력 포트가 있는 노드는 라우터의 재시도 파이프를 입력으로 연결하므로
+     * 스케줄러에 등록하기 전에 호출해야 합니다.
+     *
+     * @param router 연결할 오류 라우터
+     * @throws IllegalArgumentException 라우터가 null인 경우
+     * @throws IllegalStateException    이미 라우터가 연결된 경우
+     */
+    public void setErrorRouter(ErrorRouter router) {
+        if (router == null) {
+            log.error("Error router cannot be null in Node[{}]", id);
+            throw new IllegalArgumentException("Error router cannot be null");
+        }
+        if (errorRouter != null) {
+            log.error("Node[{}] already has an error router", id);
+            throw new IllegalStateException("Error router is already set");
+        }
+        router.bind(this);
+        errorRouter = router;
+    }
 
     /**
-     * 노드가 생성된 초기 상태
+     * 연결된 오류 라우터를 반환합니다.
+     *
+     * @return 오류 라우터, 없으면 null
      */
-    CREATED,
+    public ErrorRouter getErrorRouter() {
+        return errorRouter;
+    }
 
     /**
-     * 노드가 실행 중인 상태
+     * 배리어를 정렬할 입력 파이프 수를 반환합니다. 배리어가 지나가지 않는 재시도 파이프는 제외합니다.
+     *
+     * @param pipeCount 입력 포트에 연결된 파이프 수
+     * @return 배리어가 도착해야 하는 파이프 수
      */
-    RUNNING,
+    protected int barrierInputCount(int pipeCount) {
+        return errorRouter == null ? pipeCount : pipeCount - 1;
+    }
 
     /**
-     * 노드가 중지된 상태
+     * 입력 파이프로 도착한 체크포인트 배리어를 정렬합니다.
+     * 모든 입력 파이프에서 같은 번호의 배리어가 도착하면 상태를 스냅샷하여 통보하고 true를 반환합니다.
+     * 호출한 노드는 true가 반환된 경우에만 배리어를 다음 노드로 전달해야 합니다.
+     *
+     * @param barrier    도착한 배리어
+     * @param inputCount 노드에 연결된 입력 파이프 수
+     * @return 배리어 정렬이 완료되었으면 true
      */
-    STOPPED,
+    protected boolean alignBarrier(CheckpointBarrier barrier, int inputCount) {
+        synchronized (arrivedBarriers) {
+            int arrived = arrivedBarriers.merge(barrier.getCheckpointId(), 1, Integer::sum);
+            if (arrived < Math.max(1, inputCount)) {
+                return false;
+            }
+            arrivedBarriers.remove(barrier.getCheckpointId());
+        }
+
+        try {
+            byte[] state = this instanceof StatefulNode ? ((StatefulNode) this).snapshot() : null;
+            barrier.acknowledge(this, state);
+            log.debug("Node[{}] checkpoint {} aligned", id, barrier.getCheckpointId());
+        } catch (Exception e) {
+            log.error("Failed to snapshot Node[{}] for checkpoint {}", id, barrier.getCheckpointId(), e);
+            handleError(e);
+        }
+        return true;
+    }
+
+    /**
+     * 입력 포트에서 배리어가 아닌 메시지 하나를 받습니다. 받은 배리어는 {@link #alignBarrier(CheckpointBarrier, int)}로 정렬하며,
+     * 정렬이 끝나기 전까지 배리어를 보낸 파이프는 막아 두어 배리어 뒤의 메시지가 스냅샷보다 먼저 처리되지 않게 합니다.
+     * 정렬이 끝나면 막아 둔 파이프를 풀고 배리어를 출력 포트로 전달하며, 제한 시간이 지난 정렬은 포기합니다.
+     *
+     * @param inPort  메시지를 받을 입력 포트
+     * @param outPort 정렬을 마친 배리어를 전달할 출력 포트, 출력이 없으면 null
+     * @return 받은 메시지, 받을 메시지가 없으면 null
+     */
+    Message receiveAligned(InPort inPort, OutPort outPort) {
+        CheckpointBarrier aligning = inPort.getAligning();
+        if (aligning != null && aligning.isExpired()) {
+            synchronized (arrivedBarriers) {
+                arrivedBarriers.remove(aligning.getCheckpointId());
+            }
+            inPort.unblock();
+            log.warn("Node[{}] gave up aligning checkpoint {}, resuming blocked inputs", id,
+                    aligning.getCheckpointId());
+        }
+        Message message = inPort.consume();
+        while (message instanceof CheckpointBarrier barrier) {
+            if (alignBarrier(barrier, barrierInputCount(inPort.getPipes().size()))) {
+                inPort.unblock();
+                if (outPort != null) {
+                    outPort.propagate(barrier);
+                }
+            } else {
+                inPort.block(barrier);
+            }
+            message = inPort.consume();
+        }
+        return message;
+    }
+
+    /**
+     * 노드의 상태를 바꿉니다. 바꿀 수 없는 상태이면 바꾸지 않고 false를 반환하며,
+     * 같은 상태로의 전이는 리스너를 호출하지 않고 true를 반환합니다.
+     *
+     * @param next 바꿀 상태
+     * @return 바꾸었거나 이미 그 상태이면 true
+     * @see NodeStatus
+     */
+    protected boolean transitionTo(NodeStatus next) {
+        NodeStatus previous;
+        do {
+            previous = status.get();
+            if (previous == next) {
+                return true;
+            }
+            boolean restart = restarting && previous == NodeStatus.STOPPED && next == NodeStatus.RUNNING;
+            if (!restart && !previous.canTransitionTo(next)) {
+                log.warn("Node[{}] cannot change status from {} to {}", id, previous, next);
+                return false;
+            }
+        } while (!status.compareAndSet(previous, next));
+
+        for (NodeStatusListener listener : statusListeners) {
+            try {
+                listener.onStatusChanged(this, previous, next);
+            } catch (RuntimeException e) {
+                log.warn("Status listener failed in Node[{}]", id, e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 노드의 현재 상태를 반환합니다. 어느 스레드에서나 호출할 수 있습니다.
+     *
+     * @return 현재 상태
+     */
+    public NodeStatus getStatus() {
+        return status.get();
+    }
+
+    /**
+     * 상태 변경 리스너를 등록합니다.
+     *
+     * @param listener 등록할 리스너
+     * @throws IllegalArgumentException 리스너가 null인 경우
+     */
+    public void addStatusListener(NodeStatusListener listener) {
+        if (listener == null) {
+            log.error("Status listener cannot be null in Node[{}]", id);
+            throw new IllegalArgumentException("Status listener cannot be null");
+        }
+        statusListeners.add(listener);
+    }
+
+    /**
+     * 상태 변경 리스너를 제거합니다.
+     *
+     * @param listener 제거할 리스너
+     */
+    public void removeStatusListener(NodeStatusListener listener) {
+        statusListeners.remove(listener);
+    }
+
+    /**
+     * 마지막으로 메시지 처리를 시작한 시각을 반환합니다. {@link System#nanoTime()} 기준이므로 경과 시간 계산에만 사용합니다.
+     *
+     * @return 마지막 처리 시작 시각, 처리한 적이 없으면 0
+     */
+    public long getLastMessageNanos() {
+        return lastMessageNanos.get();
+    }
+
+    /**
+     * 처리를 시작한 메시지 수를 반환합니다. 회로가 열려 처리하지 않은 메시지도 포함합니다.
+     *
+     * @return 처리한 메시지 수
+     */
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    /**
+     * 노드의 고유 ID를 반환합니다.
+     *
+     * @return 노드의 고유 ID
+     */
+    public UUID getId() {
+        return id;
+    }
 
     /**
-     * 노드에 에러가 발생한 상태
+     * 노드의 ID를 문자열로 설정합니다.
+     *
+     * @param id 설정할 ID 문자열
+     * @throws IllegalArgumentException 잘못된 형식의 문자열인 경우
      */
-    ERROR
+    public void setId(String id) {
+        try {
+            this.id = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid UUID string: {}", id, e);
+            throw new IllegalArgumentException("Invalid UUID string", e);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.samsa.core;
+
+/**
+ * 노드의 상태를 나타내는 열거형입니다.
+ *
+ * <p>상태는 다음과 같이 바뀔 수 있으며, 같은 상태로의 전이는 아무것도 바꾸지 않습니다.</p>
+ * <ul>
+ *   <li>{@code CREATED} → {@code RUNNING}, {@code STOPPED}, {@code ERROR}</li>
+ *   <li>{@code RUNNING} → {@code STOPPED}, {@code ERROR}</li>
+ *   <li>{@code ERROR} → {@code RUNNING}, {@code STOPPED}</li>
+ *   <li>{@code STOPPED}: 끝 상태. {@link Node#restart()}로 명시적으로 다시 시작할 때만 {@code RUNNING}으로 바뀝니다.</li>
+ * </ul>
+ * <p>한 번 생성된 노드는 {@code CREATED}로 돌아가지 않으며, 중지한 뒤 늦게 보고된 오류로 {@code ERROR}가 되지 않습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public enum NodeStatus {
+
+    /**
+     * 노드가 생성된 초기 상태
+     */
+    CREATED,
+
+    /**
+     * 노드가 실행 중인 상태
+     */
+    RUNNING,
+
+    /**
+     * 노드가 중지된 상태
+     */
+    STOPPED,
+
+    /**
+     * 노드에 에러가 발생한 상태
+     */
+    ERROR;
+
+    /**
+     * 이 상태에서 지정된 상태로 바뀔 수 있는지 확인합니다.
+     *
+     * @param next 바꿀 상태
+     * @return 바뀔 수 있으면 true
+     */
+    public boolean canTransitionTo(NodeStatus next) {
+        if (next == null) {
+            return false;
+        }
+        return switch (this) {
+            case CREATED -> next != CREATED;
+            case RUNNING -> next == STOPPED || next == ERROR;
+            case ERROR -> next == RUNNING || next == STOPPED;
+            case STOPPED -> false;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.samsa.core;
+
+/**
+ * 노드의 상태가 바뀔 때 통보받는 리스너입니다.
+ * 상태를 바꾼 스레드에서 호출되므로 오래 걸리는 작업을 하지 않아야 합니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface NodeStatusListener {
+
+    /**
+     * 노드의 상태가 바뀌었을 때 호출됩니다.
+     *
+     * @param node     상태가 바뀐 노드
+     * @param previous 이전 상태
+     * @param current  바뀐 상태
+     */
+    void onStatusChanged(Node node, NodeStatus previous, NodeStatus current);
+}
@@ -17,11 +17,17 @@ public abstract class OutNode extends Node {
     public OutNode(OutPort port) {
         super();
         this.port = port;
+        if (port != null) {
+            port.attach(this);
+        }
     }
 
     public OutNode(UUID id, OutPort port) {
         super(id);
         this.port = port;
+        if (port != null) {
+            port.attach(this);
+        }
     }
 
     /**
@@ -43,9 +49,13 @@ public abstract class OutNode extends Node {
         }
 
         try {
-            log.debug("메시지 전송 시작. NodeId: {}, MessageId: {}", getId(), message.getId());
+            if (log.isDebugEnabled()) {
+                log.debug("메시지 전송 시작. NodeId: {}, MessageId: {}", getId(), message.getId());
+            }
             port.propagate(message);
-            log.debug("메시지 전송 완료. NodeId: {}, MessageId: {}", getId(), message.getId());
+            if (log.isDebugEnabled()) {
+                log.debug("메시지 전송 완료. NodeId: {}, MessageId: {}", getId(), message.getId());
+            }
         } catch (Exception e) {
             log.error("메시지 전송 중 오류 발생. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
             throw new RuntimeException("메시지 전송 중 오류가 발생했습니다", e);
@@ -64,4 +74,13 @@ public abstract class OutNode extends Node {
         log.warn("출력 노드에서 메시지 수신 시도됨. NodeId: {}", getId());
         throw new UnsupportedOperationException("출력 노드는 메시지를 수신할 수 없습니다");
     }
-}
\ No newline at end of file
+
+    /**
+     * 이 노드의 출력 포트를 반환합니다.
+     *
+     * @return 출력 포트
+     */
+    public OutPort getOutPort() {
+        return port;
+    }
+}
@@ -14,10 +14,22 @@ public class OutPort {
     /** 출력 포트의 고유 식별자 */
     private final UUID id;
     /** 이 출력 포트의 소유 노드 */
-    private final Node owner;
+    private Node owner;
     /** 연결된 파이프들의 목록 */
     private final List<Pipe> pipes;
 
+    /** 내보내는 속도의 제한, 없으면 null */
+    private volatile RateLimiter rateLimiter;
+
+    /**
+     * 소유 노드 없이 OutPort를 생성합니다.
+     * 포트를 먼저 만들고 노드를 나중에 생성하는 경우에 사용하며, 노드 생성자에 전달되면 그 노드가 소유자가 됩니다.
+     */
+    public OutPort() {
+        this.id = UUID.randomUUID();
+        this.pipes = new ArrayList<>();
+    }
+
     /**
      * 랜덤하게 생성된 ID와 지정된 소유 노드를 사용하여 OutPort를 생성합니다.
      *
@@ -46,7 +58,20 @@ public class OutPort {
     }
 
     /**
-     * 메시지를 연결된 모든 파이프로 전파합니다.
+     * 소유 노드가 없는 포트에 소유 노드를 지정합니다. 이미 소유 노드가 있으면 무시됩니다.
+     *
+     * @param node 소유 노드
+     */
+    void attach(Node node) {
+        if (owner == null) {
+            owner = node;
+        }
+    }
+
+    /**
+     * 메시지를 연결된 모든 파이프로 전파합니다. 속도 제한이 지정되어 있으면 허가를 얻을 때까지 기다린 뒤 전파합니다.
+     * 스케줄러의 워커에서 여러 메시지를 내보내는 노드는 메시지마다 {@link #isRateLimited()}를 확인하고
+     * 제한에 걸리면 차례를 넘겨, 허가를 기다리며 워커를 붙잡지 않아야 합니다.
      *
      * @param message 전파할 메시지
      * @throws IllegalArgumentException 메시지가 null인 경우
@@ -57,15 +82,52 @@ public class OutPort {
             throw new IllegalArgumentException("Message cannot be null");
         }
 
-        log.debug("메시지 전파 시작. OutPortId: {}, MessageId: {}", id, message.getId());
-        pipes.forEach(pipe -> {
+        if (message instanceof CheckpointBarrier barrier) {
+            propagateBarrier(barrier);
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("메시지 전파 시작. OutPortId: {}, MessageId: {}", id, message.getId());
+        }
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            limiter.acquire();
+        }
+        // 파이프마다 참조를 하나씩 넘기므로, 풀 메시지는 마지막 소비자가 해제할 때 풀로 돌아감
+        for (Pipe pipe : pipes) {
+            message.retain();
             try {
-                pipe.offer(message);
-                log.debug("파이프로 메시지 전송 완료. PipeId: {}", pipe.getId());
+                if (pipe.offer(message)) {
+                    log.debug("파이프로 메시지 전송 완료. PipeId: {}", pipe.getId());
+                } else {
+                    message.release();
+                }
             } catch (Exception e) {
+                message.release();
                 log.error("파이프로 메시지 전송 실패. PipeId: {}", pipe.getId(), e);
             }
-        });
+        }
+    }
+
+    /**
+     * 체크포인트 배리어를 연결된 모든 파이프로 전파합니다. 배압이 걸린 중에도 체크포인트가 완료되도록
+     * 속도 제한을 거치지 않고 {@link Pipe#offerBarrier(CheckpointBarrier)}로 용량과 관계없이 넣습니다.
+     */
+    private void propagateBarrier(CheckpointBarrier barrier) {
+        for (Pipe pipe : pipes) {
+            barrier.retain();
+            try {
+                if (!pipe.offerBarrier(barrier)) {
+                    barrier.release();
+                    log.error("체크포인트 배리어를 전달하지 못했습니다. PipeId: {}, CheckpointId: {}", pipe.getId(),
+                            barrier.getCheckpointId());
+                }
+            } catch (Exception e) {
+                barrier.release();
+                log.error("체크포인트 배리어 전달 실패. PipeId: {}, CheckpointId: {}", pipe.getId(),
+                        barrier.getCheckpointId(), e);
+            }
+        }
     }
 
     /**
@@ -77,6 +139,58 @@ public class OutPort {
         return pipes.stream().anyMatch(pipe -> !pipe.isFull());
     }
 
+    /**
+     * 연결된 모든 파이프가 데이터를 수용할 수 있는지 확인합니다.
+     * 가득 찬 파이프가 있으면 전파한 메시지가 그 파이프에서 버려지므로, 스케줄러가 노드를 실행하기 전에 확인합니다.
+     *
+     * @return 가득 찬 파이프가 없으면 true
+     */
+    public boolean canAcceptAll() {
+        for (Pipe pipe : pipes) {
+            if (pipe.isFull()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 연결된 파이프 중 가장 적게 남은 용량을 반환합니다.
+     *
+     * @return 남은 용량, 연결된 파이프가 없으면 {@link Integer#MAX_VALUE}
+     */
+    public int getRemainingCapacity() {
+        int remaining = Integer.MAX_VALUE;
+        for (Pipe pipe : pipes) {
+            remaining = Math.min(remaining, pipe.remainingCapacity());
+        }
+        return remaining;
+    }
+
+    /**
+     * 속도 제한 때문에 지금 전파하면 기다려야 하는지 확인합니다.
+     * 스케줄러가 워커를 붙잡지 않도록 노드를 실행하기 전에 확인합니다.
+     *
+     * @return 속도 제한이 있고 지금 허가를 얻을 수 없으면 true
+     */
+    public boolean isRateLimited() {
+        RateLimiter limiter = rateLimiter;
+        return limiter != null && !limiter.isAvailable();
+    }
+
+    /**
+     * 내보내는 속도의 제한을 지정합니다. 여러 포트에 같은 제한기를 지정하면 포트들의 속도 합이 제한됩니다.
+     *
+     * @param rateLimiter 속도 제한기, null이면 제한하지 않음
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
     /**
      * 이 OutPort에 파이프를 추가합니다.
      *
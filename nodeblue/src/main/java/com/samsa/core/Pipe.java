@@ -1,14 +1,64 @@
 package com.samsa.core;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 노드 사이에서 메시지를 전달하는 유한 큐입니다.
+ *
+ * <p>메시지를 담는 공간은 {@value #CHUNK_SIZE}칸 단위의 청크로 필요할 때 할당하고, 비워진 청크는 하나만 남기고
+ * 반납하므로 쉬고 있는 파이프는 거의 메모리를 차지하지 않습니다. 용량은 담을 수 있는 최대 메시지 수이며
+ * 미리 할당되지 않습니다.</p>
+ *
+ * <p>{@link MemoryBudget}을 지정하면 같은 예산을 쓰는 모든 파이프가 메시지의 추정 크기만큼 예산을 나누어 씁니다.
+ * 예산이 바닥나면 각 파이프는 한 청크 분량까지만 더 받을 수 있고 그 이상은 가득 찬 것으로 취급되어
+ * 생산자에게 배압이 걸립니다. 한 청크를 항상 보장하므로 뜨거운 파이프가 예산을 모두 차지해도
+ * 하류 파이프가 막혀 전체가 멈추지는 않습니다.</p>
+ */
 public class Pipe {
+   public static final int DEFAULT_CAPACITY = 1024;
+
+   /** 한 번에 할당하는 메시지 칸 수 */
+   public static final int CHUNK_SIZE = 64;
+
+   private static final VarHandle COUNT;
+
+   static {
+       try {
+           COUNT = MethodHandles.lookup().findVarHandle(Pipe.class, "count", int.class);
+       } catch (ReflectiveOperationException e) {
+           throw new ExceptionInInitializerError(e);
+       }
+   }
+
    private final UUID id;
-   private final BlockingQueue<Message> queue;
-   private static final int DEFAULT_CAPACITY = 1024;
+   private final int capacity;
+   private final MemoryBudget budget;
+
+   private final ReentrantLock lock = new ReentrantLock();
+   private final Condition notEmpty = lock.newCondition();
+
+   // 이하 필드는 lock을 잡은 상태에서만 사용
+   private Chunk head;
+   private Chunk tail;
+   private int headIndex;
+   private int tailIndex;
+   private Chunk spare;
+   private long reservedBytes;
+
+   /** 현재 메시지 수. lock 안에서 release로 쓰고, 잠금 없이 읽을 때는 acquire로 읽음 */
+   private int count;
+
+   /** 최근 메시지의 추정 크기, 남은 용량을 어림하는 데만 사용 */
+   private int lastEstimate = MessageSizeEstimator.MESSAGE_OVERHEAD;
+
+   /** 메시지가 들어올 때마다 호출할 소비 측 알림, 없으면 null */
+   private volatile Runnable readyListener;
 
    /**
     * 기본 용량의 파이프를 생성합니다.
@@ -21,46 +71,256 @@ public class Pipe {
     * 지정된 용량의 파이프를 생성합니다.
     */
    public Pipe(int capacity) {
+       this(capacity, null);
+   }
+
+   /**
+    * 지정된 용량과 메모리 예산을 사용하는 파이프를 생성합니다.
+    *
+    * @param capacity 담을 수 있는 최대 메시지 수
+    * @param budget   여러 파이프가 공유하는 메모리 예산, null이면 용량만으로 제한
+    * @throws IllegalArgumentException 용량이 1보다 작은 경우
+    */
+   public Pipe(int capacity, MemoryBudget budget) {
+       if (capacity < 1) {
+           throw new IllegalArgumentException("Capacity must be positive");
+       }
        this.id = UUID.randomUUID();
-       this.queue = new ArrayBlockingQueue<>(capacity);
+       this.capacity = capacity;
+       this.budget = budget;
    }
 
    /**
-    * 메시지를 파이프에 넣습니다. 큐가 가득 찬 경우 false를 반환합니다.
+    * 메시지를 파이프에 넣습니다. 큐가 가득 찼거나 메모리 예산이 부족한 경우 false를 반환합니다.
     */
    public boolean offer(Message message) {
        if (Objects.isNull(message)) {
            throw new IllegalArgumentException("Message cannot be null");
        }
-       return queue.offer(message);
+       if (!enqueue(message, false)) {
+           return false;
+       }
+       // 잠금을 푼 뒤에 알려야 소비 노드가 곧바로 메시지를 가져갈 수 있음
+       signalReady();
+       return true;
+   }
+
+   /**
+    * 체크포인트 배리어를 넣습니다. 배리어가 버려지면 체크포인트가 완료되지 못하므로 용량과 메모리 예산과 관계없이 넣으며,
+    * 배압이 걸린 파이프에서도 배리어 한 개만큼 용량을 넘을 수 있습니다. 메시지를 따로 담는 하위 클래스는 재정의해야 합니다.
+    *
+    * @param barrier 넣을 배리어
+    * @return 넣었으면 true
+    */
+   public boolean offerBarrier(CheckpointBarrier barrier) {
+       if (Objects.isNull(barrier)) {
+           throw new IllegalArgumentException("Barrier cannot be null");
+       }
+       enqueue(barrier, true);
+       signalReady();
+       return true;
+   }
+
+   /**
+    * 메시지가 들어왔음을 소비 측에 알립니다. {@link #offer(Message)}를 재정의하는 하위 클래스는 메시지를 넣은 뒤 호출해야 합니다.
+    */
+   protected void signalReady() {
+       Runnable listener = readyListener;
+       if (listener != null) {
+           listener.run();
+       }
+   }
+
+   private boolean enqueue(Message message, boolean force) {
+       int size = budget == null || force ? 0 : MessageSizeEstimator.estimate(message);
+
+       lock.lock();
+       try {
+           if (!force && count >= capacity) {
+               return false;
+           }
+           if (budget != null && !force) {
+               // 한 청크 분량은 예산과 관계없이 받아 하류가 막히지 않도록 함
+               if (!budget.tryReserve(size, count < CHUNK_SIZE)) {
+                   return false;
+               }
+               reservedBytes += size;
+               lastEstimate = size;
+           }
+
+           if (tail == null) {
+               head = tail = newChunk();
+               headIndex = tailIndex = 0;
+           } else if (tailIndex == CHUNK_SIZE) {
+               Chunk chunk = newChunk();
+               tail.next = chunk;
+               tail = chunk;
+               tailIndex = 0;
+           }
+           tail.messages[tailIndex] = message;
+           tail.sizes[tailIndex] = size;
+           tailIndex++;
+           COUNT.setRelease(this, count + 1);
+           notEmpty.signal();
+           return true;
+       } finally {
+           lock.unlock();
+       }
    }
 
    /**
     * 파이프에서 메시지를 가져옵니다. 큐가 비어있는 경우 null을 반환합니다.
     */
    public Message poll() {
-       return queue.poll();
+       if (currentCount() == 0) {
+           return null;
+       }
+       lock.lock();
+       try {
+           return count == 0 ? null : dequeue();
+       } finally {
+           lock.unlock();
+       }
+   }
+
+   /**
+    * 파이프에서 메시지를 가져옵니다. 큐가 비어있으면 지정된 시간까지 기다리며, 그래도 없으면 null을 반환합니다.
+    */
+   public Message poll(long timeout, TimeUnit unit) throws InterruptedException {
+       long nanos = unit.toNanos(timeout);
+       lock.lockInterruptibly();
+       try {
+           while (count == 0) {
+               if (nanos <= 0) {
+                   return null;
+               }
+               nanos = notEmpty.awaitNanos(nanos);
+           }
+           return dequeue();
+       } finally {
+           lock.unlock();
+       }
+   }
+
+   private Message dequeue() {
+       Message message = head.messages[headIndex];
+       int size = head.sizes[headIndex];
+       head.messages[headIndex] = null;
+       headIndex++;
+       COUNT.setRelease(this, count - 1);
+
+       if (count == 0) {
+           // 비었으면 청크 하나만 남겨 처음부터 다시 사용
+           recycle(head);
+           head = tail = null;
+       } else if (headIndex == CHUNK_SIZE) {
+           Chunk drained = head;
+           head = head.next;
+           headIndex = 0;
+           recycle(drained);
+       }
+
+       if (budget != null) {
+           reservedBytes -= size;
+           budget.release(size);
+       }
+       return message;
+   }
+
+   private Chunk newChunk() {
+       Chunk chunk = spare;
+       if (chunk == null) {
+           return new Chunk();
+       }
+       spare = null;
+       return chunk;
+   }
+
+   private void recycle(Chunk chunk) {
+       chunk.next = null;
+       if (spare == null) {
+           spare = chunk;
+       }
    }
 
    /**
     * 파이프가 비어있는지 확인합니다.
     */
    public boolean isEmpty() {
-       return queue.isEmpty();
+       return currentCount() == 0;
    }
 
    /**
-    * 파이프가 가득 찼는지 확인합니다.
+    * 파이프가 가득 찼는지 확인합니다. 메모리 예산이 바닥나 더 받을 수 없는 경우도 가득 찬 것으로 봅니다.
     */
    public boolean isFull() {
-       return queue.remainingCapacity() == 0;
+       int current = currentCount();
+       return current >= capacity || (budget != null && current >= CHUNK_SIZE && budget.isExhausted());
+   }
+
+   /**
+    * 파이프에 더 넣을 수 있는 메시지 수를 반환합니다.
+    * 메모리 예산을 사용하면 남은 예산을 최근 메시지 크기로 나눈 값으로 제한됩니다.
+    */
+   public int remainingCapacity() {
+       int current = currentCount();
+       int remaining = Math.max(0, capacity - current);
+       if (budget == null) {
+           return remaining;
+       }
+       long byBudget = budget.getAvailableBytes() / Math.max(1, lastEstimate);
+       long guaranteed = Math.max(0, CHUNK_SIZE - current);
+       return (int) Math.min(remaining, Math.max(byBudget, guaranteed));
    }
 
    /**
     * 현재 파이프에 있는 메시지 수를 반환합니다.
     */
    public int size() {
-       return queue.size();
+       return currentCount();
+   }
+
+   private int currentCount() {
+       return (int) COUNT.getAcquire(this);
+   }
+
+   /**
+    * 파이프가 담을 수 있는 최대 메시지 수를 반환합니다.
+    */
+   public int getCapacity() {
+       return capacity;
+   }
+
+   /**
+    * 파이프에 있는 메시지들이 차지하는 것으로 추정되는 바이트 수를 반환합니다.
+    * 메모리 예산을 사용하지 않으면 0입니다.
+    */
+   public long getReservedBytes() {
+       lock.lock();
+       try {
+           return reservedBytes;
+       } finally {
+           lock.unlock();
+       }
+   }
+
+   /**
+    * 메시지가 들어올 때마다 호출할 알림을 지정합니다. 스케줄러가 소비 노드를 깨우는 데 사용하며,
+    * 알림은 메시지를 넣은 스레드에서 실행되므로 짧게 끝나야 합니다.
+    *
+    * @param listener 호출할 알림, null이면 알림을 해제
+    */
+   public void setReadyListener(Runnable listener) {
+       this.readyListener = listener;
+   }
+
+   /**
+    * 파이프가 사용하는 메모리 예산을 반환합니다.
+    *
+    * @return 메모리 예산, 사용하지 않으면 null
+    */
+   public MemoryBudget getBudget() {
+       return budget;
    }
 
    /**
@@ -74,7 +334,10 @@ public class Pipe {
     * 파이프를 비웁니다.
     */
    public void clear() {
-       queue.clear();
+       Message message;
+       while ((message = poll()) != null) {
+           message.release();
+       }
    }
 
    /**
@@ -82,7 +345,16 @@ public class Pipe {
     */
    @Override
    public String toString() {
-       return String.format("Pipe[id=%s, size=%d, capacity=%d]", 
-           id, queue.size(), queue.size() + queue.remainingCapacity());
+       return String.format("Pipe[id=%s, size=%d, capacity=%d]",
+           id, currentCount(), capacity);
+   }
+
+   /**
+    * 메시지를 담는 고정 크기 배열과 각 메시지의 추정 크기입니다.
+    */
+   private static final class Chunk {
+       private final Message[] messages = new Message[CHUNK_SIZE];
+       private final int[] sizes = new int[CHUNK_SIZE];
+       private Chunk next;
    }
-}
\ No newline at end of file
+}
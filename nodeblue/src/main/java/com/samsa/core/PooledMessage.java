@@ -0,0 +1,167 @@
+package com.samsa.core;
+
+import java.lang.ref.Cleaner;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * {@link MessagePool}에서 빌려 쓰는 메시지입니다.
+ *
+ * <p>참조 수를 가지며, 획득 시 1로 시작합니다. {@link OutPort}는 메시지를 넣은 파이프마다 참조를 하나씩 늘리고,
+ * 각 소비 노드는 처리를 마치면 참조를 하나씩 해제합니다. 마지막 참조가 해제되면 메시지는 풀로 돌아가
+ * 메타데이터 맵과 함께 다음 획득에서 재사용됩니다. 해제된 메시지에 접근하면 {@link IllegalStateException}이
+ * 발생합니다.</p>
+ *
+ * <p>ID는 풀마다 임의로 정한 상위 64비트와 획득 순번으로 만들며, {@link #getId()}를 처음 호출할 때 생성됩니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class PooledMessage extends Message {
+
+    private static final AtomicIntegerFieldUpdater<PooledMessage> REF_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(PooledMessage.class, "refCount");
+
+    private final MessagePool pool;
+    private final Map<String, Object> metadata = new HashMap<>();
+
+    private volatile int refCount;
+    private long sequence;
+    private UUID id;
+    private Object payload;
+
+    /** 누수 감지가 켜진 경우 이번 획득의 추적 정보 */
+    private MessagePool.LeakTrace leakTrace;
+    private Cleaner.Cleanable cleanable;
+
+    PooledMessage(MessagePool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 풀에서 꺼낸 메시지를 새 내용으로 초기화합니다.
+     */
+    void reset(long sequence, Object payload) {
+        this.sequence = sequence;
+        this.id = null;
+        this.payload = payload;
+        REF_COUNT.set(this, 1);
+    }
+
+    void track(MessagePool.LeakTrace leakTrace, Cleaner.Cleanable cleanable) {
+        this.leakTrace = leakTrace;
+        this.cleanable = cleanable;
+    }
+
+    @Override
+    public UUID getId() {
+        ensureAccessible();
+        if (id == null) {
+            id = new UUID(pool.getIdPrefix(), sequence);
+        }
+        return id;
+    }
+
+    @Override
+    public Object getPayload() {
+        ensureAccessible();
+        return LazyPayload.resolve(payload);
+    }
+
+    @Override
+    public Object getRawPayload() {
+        ensureAccessible();
+        return payload;
+    }
+
+    @Override
+    public Map<String, Object> getMetadata() {
+        ensureAccessible();
+        return new HashMap<>(metadata);
+    }
+
+    @Override
+    public Map<String, Object> getMetadataView() {
+        ensureAccessible();
+        return Collections.unmodifiableMap(metadata);
+    }
+
+    @Override
+    public Object getMetadata(String key) {
+        ensureAccessible();
+        return metadata.get(key);
+    }
+
+    /**
+     * 메타데이터를 추가합니다. 메시지를 획득한 노드가 전송하기 전에만 호출해야 합니다.
+     *
+     * @param key   메타데이터 키
+     * @param value 메타데이터 값
+     * @return 이 메시지
+     */
+    public PooledMessage putMetadata(String key, Object value) {
+        ensureAccessible();
+        metadata.put(key, value);
+        return this;
+    }
+
+    @Override
+    public PooledMessage retain() {
+        int count;
+        do {
+            count = refCount;
+            if (count <= 0) {
+                throw new IllegalStateException("Message has already been released");
+            }
+        } while (!REF_COUNT.compareAndSet(this, count, count + 1));
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        int count = REF_COUNT.decrementAndGet(this);
+        if (count > 0) {
+            return false;
+        }
+        if (count < 0) {
+            REF_COUNT.incrementAndGet(this);
+            throw new IllegalStateException("Message has already been released");
+        }
+
+        payload = null;
+        id = null;
+        metadata.clear();
+        if (cleanable != null) {
+            leakTrace.released = true;
+            cleanable.clean();
+            leakTrace = null;
+            cleanable = null;
+        }
+        pool.recycle(this);
+        return true;
+    }
+
+    /**
+     * 현재 참조 수를 반환합니다.
+     *
+     * @return 참조 수, 풀로 돌아간 메시지는 0
+     */
+    public int refCount() {
+        return refCount;
+    }
+
+    private void ensureAccessible() {
+        if (refCount <= 0) {
+            throw new IllegalStateException("Message has already been released");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PooledMessage[id=%s, payload=%s, metadata=%s, refCount=%d]",
+                refCount > 0 ? getId() : null, payload, metadata, refCount);
+    }
+}
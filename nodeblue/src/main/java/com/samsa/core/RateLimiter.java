@@ -0,0 +1,167 @@
+package com.samsa.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 초당 메시지 수를 제한하는 토큰 버킷입니다. {@link OutPort}에 지정하면 소스가 내보내는 속도를 제한합니다.
+ *
+ * <p>다음 허가가 나오는 이론적인 시각 하나만 원자적으로 갱신하므로 잠금 없이 여러 스레드가 함께 사용할 수 있습니다.
+ * 한동안 쓰지 않은 허가는 {@code burst}개까지 모였다가 한꺼번에 나갈 수 있습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long permitsPerSecond;
+    private final int burst;
+
+    /** 허가 하나의 간격(나노초) */
+    private final long intervalNanos;
+
+    /** 한꺼번에 나갈 수 있는 허가만큼 앞당겨 줄 수 있는 시간 */
+    private final long toleranceNanos;
+
+    /** 다음 허가가 나오는 이론적인 시각 */
+    private final AtomicLong nextPermitAt = new AtomicLong(System.nanoTime());
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder throttledNanos = new LongAdder();
+
+    /**
+     * 0.1초 분량까지 몰아서 내보낼 수 있는 제한기를 생성합니다.
+     *
+     * @param permitsPerSecond 초당 허가 수
+     * @throws IllegalArgumentException 초당 허가 수가 1보다 작은 경우
+     */
+    public RateLimiter(long permitsPerSecond) {
+        this(permitsPerSecond, (int) Math.max(1, Math.min(Integer.MAX_VALUE, permitsPerSecond / 10)));
+    }
+
+    /**
+     * 제한기를 생성합니다.
+     *
+     * @param permitsPerSecond 초당 허가 수
+     * @param burst            모아 두었다가 한꺼번에 내줄 수 있는 최대 허가 수
+     * @throws IllegalArgumentException 인자가 1보다 작은 경우
+     */
+    public RateLimiter(long permitsPerSecond, int burst) {
+        if (permitsPerSecond < 1 || burst < 1) {
+            log.error("속도 제한 설정이 유효하지 않습니다. PermitsPerSecond: {}, Burst: {}", permitsPerSecond, burst);
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, NANOS_PER_SECOND / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    /**
+     * 허가를 기다리지 않고 얻습니다.
+     *
+     * @return 허가를 얻었으면 true
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long next = nextPermitAt.get();
+            long base = next - now > 0 ? next : now;
+            if (base - toleranceNanos - now > 0) {
+                return false;
+            }
+            if (nextPermitAt.compareAndSet(next, base + intervalNanos)) {
+                acquired.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 허가를 얻을 때까지 기다립니다. 허가는 요청한 순서대로 예약되므로 여러 스레드가 기다려도 초당 허가 수를 넘지 않습니다.
+     * 기다리는 중에 인터럽트되면 인터럽트 상태를 남기고 곧바로 돌아와, 종료 중인 소스가 멈추지 않게 합니다.
+     */
+    public void acquire() {
+        long now = System.nanoTime();
+        long next;
+        long base;
+        do {
+            next = nextPermitAt.get();
+            base = next - now > 0 ? next : now;
+        } while (!nextPermitAt.compareAndSet(next, base + intervalNanos));
+        acquired.increment();
+
+        long wait = base - toleranceNanos - now;
+        if (wait <= 0) {
+            return;
+        }
+        throttled.increment();
+        throttledNanos.add(wait);
+        long deadline = now + wait;
+        while (!Thread.currentThread().isInterrupted()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    /**
+     * 지금 허가를 얻을 수 있는지 확인합니다. 허가를 예약하지는 않습니다.
+     *
+     * @return 기다리지 않고 허가를 얻을 수 있으면 true
+     */
+    public boolean isAvailable() {
+        return nextPermitAt.get() - toleranceNanos - System.nanoTime() <= 0;
+    }
+
+    public long getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * 내준 허가 수를 반환합니다.
+     *
+     * @return 허가 수
+     */
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    /**
+     * 허가를 얻기 위해 기다려야 했던 횟수를 반환합니다.
+     *
+     * @return 기다린 횟수
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * 허가를 얻기 위해 기다린 시간의 합을 반환합니다.
+     *
+     * @return 기다린 시간(나노초)
+     */
+    public long getThrottledNanos() {
+        return throttledNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RateLimiter[rate=%d/s, burst=%d, acquired=%d, throttled=%d]", permitsPerSecond, burst,
+                acquired.sum(), throttled.sum());
+    }
+}
@@ -0,0 +1,40 @@
+package com.samsa.core;
+
+import java.util.UUID;
+
+/**
+ * 재시작 시 복원할 상태를 가지는 노드의 계약입니다.
+ * 체크포인트 시점에 {@link #snapshot()}으로 상태를 직렬화하고,
+ * 재시작 시 {@link #restore(byte[])}로 마지막 체크포인트의 상태를 되살립니다.
+ *
+ * <p>{@code snapshot()}은 처리 스레드에서 호출되므로 상태 복사만 수행하고
+ * 디스크 쓰기 같은 무거운 작업은 하지 않아야 합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public interface StatefulNode {
+
+    /**
+     * 상태를 복원할 때 노드를 식별하는 ID를 반환합니다.
+     * 재시작 후에도 같은 노드에 같은 ID가 부여되어야 합니다.
+     *
+     * @return 노드의 고유 ID
+     */
+    UUID getId();
+
+    /**
+     * 현재 노드의 상태를 바이트 배열로 직렬화합니다.
+     *
+     * @return 직렬화된 상태, 저장할 상태가 없으면 빈 배열
+     */
+    byte[] snapshot();
+
+    /**
+     * 직렬화된 상태로 노드를 복원합니다.
+     *
+     * @param state {@link #snapshot()}이 반환했던 바이트 배열
+     * @throws IllegalArgumentException 상태를 해석할 수 없는 경우
+     */
+    void restore(byte[] state);
+}
@@ -0,0 +1,354 @@
+package com.samsa.core.codec;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsa.core.LazyPayload;
+import com.samsa.core.Message;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 작은 크기와 빠른 변환을 목표로 하는 이진 메시지 코덱입니다.
+ *
+ * <p>형식은 다음과 같습니다.</p>
+ * <pre>
+ * byte      형식 버전
+ * long×2    메시지 ID
+ * value     페이로드
+ * varint    메타데이터 개수
+ * (key, value)*
+ *
+ * key   := varint (사전 번호 &lt;&lt; 1 | 1) 또는 varint (UTF-8 길이 &lt;&lt; 1) + UTF-8 바이트
+ * value := byte 타입 태그 + 타입별 본문
+ * </pre>
+ *
+ * <p>자주 쓰는 메타데이터 키는 생성 시 사전으로 등록해 두면 문자열 대신 번호 하나로 기록됩니다.
+ * 사전에 없는 키는 문자열로 기록되므로 메시지는 항상 스스로 해석 가능하며,
+ * 인코딩과 디코딩 양쪽은 같은 사전을 사용해야 합니다.
+ * 문자열, 정수, 실수, 불리언, 바이트 배열은 고유 태그로 기록하고,
+ * 그 밖의 타입(맵, 리스트 등)은 JSON으로 기록합니다. JSON {@link LazyPayload} 페이로드는 원본을 그대로 기록하고,
+ * JSON으로 기록된 페이로드는 {@link LazyPayload}로 복원하므로 그대로 전달되는 메시지는 값으로 바뀌지 않습니다.</p>
+ *
+ * <p>인코딩은 호출자의 버퍼에 바로 기록하며 중간 배열을 만들지 않습니다.
+ * 디코딩은 복원되는 값 외의 객체를 만들지 않도록 내부 임시 배열을 재사용하므로,
+ * 인스턴스를 스레드 사이에서 공유하지 않아야 합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class BinaryMessageCodec implements MessageCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_FLOAT = 5;
+    private static final byte TYPE_BOOLEAN = 6;
+    private static final byte TYPE_BYTES = 7;
+    private static final byte TYPE_JSON = 8;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /** 사전 번호별 메타데이터 키 */
+    private final String[] dictionary;
+
+    /** 메타데이터 키별 사전 번호 */
+    private final Map<String, Integer> dictionaryIndex;
+
+    /** 직접 버퍼에서 문자열을 읽을 때 사용하는 임시 배열 */
+    private byte[] scratch = new byte[256];
+
+    /**
+     * 사전 없이 코덱을 생성합니다.
+     */
+    public BinaryMessageCodec() {
+        this(List.of());
+    }
+
+    /**
+     * 메타데이터 키 사전을 지정하여 코덱을 생성합니다.
+     *
+     * @param dictionaryKeys 번호로 기록할 메타데이터 키 목록. 순서가 곧 번호이므로 양쪽이 같은 순서를 사용해야 합니다.
+     * @throws IllegalArgumentException 키 목록이 null이거나 null 또는 중복된 키를 포함하는 경우
+     */
+    public BinaryMessageCodec(Collection<String> dictionaryKeys) {
+        if (dictionaryKeys == null) {
+            throw new IllegalArgumentException("Dictionary keys cannot be null");
+        }
+        this.dictionary = dictionaryKeys.toArray(new String[0]);
+        this.dictionaryIndex = new HashMap<>();
+        for (int i = 0; i < dictionary.length; i++) {
+            if (dictionary[i] == null || dictionaryIndex.put(dictionary[i], i) != null) {
+                throw new IllegalArgumentException("Dictionary keys must be unique and non-null");
+            }
+        }
+    }
+
+    @Override
+    public void encode(Message message, ByteBuffer target) {
+        UUID id = message.getId();
+        target.put(VERSION);
+        target.putLong(id.getMostSignificantBits());
+        target.putLong(id.getLeastSignificantBits());
+        writeValue(message.getRawPayload(), target);
+
+        Map<String, Object> metadata = message.getMetadataView();
+        writeVarint(metadata.size(), target);
+        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+            Integer index = dictionaryIndex.get(entry.getKey());
+            if (index != null) {
+                writeVarint(((long) index << 1) | 1, target);
+            } else {
+                writeString(entry.getKey(), target, 1);
+            }
+            writeValue(entry.getValue(), target);
+        }
+    }
+
+    @Override
+    public Message decode(ByteBuffer source) {
+        try {
+            byte version = source.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary message version: " + version);
+            }
+            UUID id = new UUID(source.getLong(), source.getLong());
+            Object payload = readPayload(source);
+
+            int count = (int) readVarint(source);
+            Map<String, Object> metadata = new HashMap<>(Math.max(4, count * 2));
+            for (int i = 0; i < count; i++) {
+                long keyRef = readVarint(source);
+                String key;
+                if ((keyRef & 1) == 1) {
+                    int index = (int) (keyRef >>> 1);
+                    if (index >= dictionary.length) {
+                        throw new IllegalArgumentException("Unknown dictionary key index: " + index);
+                    }
+                    key = dictionary[index];
+                } else {
+                    key = readString(source, (int) (keyRef >>> 1));
+                }
+                metadata.put(key, readValue(source));
+            }
+            return new Message(id, payload, metadata);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated binary message", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "binary";
+    }
+
+    private void writeValue(Object value, ByteBuffer target) {
+        if (value instanceof String text) {
+            target.put(TYPE_STRING);
+            writeString(text, target, 0);
+        } else if (value instanceof Integer number) {
+            target.put(TYPE_INT);
+            writeVarint(zigzag(number), target);
+        } else if (value instanceof Long number) {
+            target.put(TYPE_LONG);
+            writeVarint(zigzag(number), target);
+        } else if (value instanceof Double number) {
+            target.put(TYPE_DOUBLE);
+            target.putDouble(number);
+        } else if (value instanceof Float number) {
+            target.put(TYPE_FLOAT);
+            target.putFloat(number);
+        } else if (value instanceof Boolean flag) {
+            target.put(TYPE_BOOLEAN);
+            target.put((byte) (flag ? 1 : 0));
+        } else if (value instanceof byte[] bytes) {
+            target.put(TYPE_BYTES);
+            writeVarint(bytes.length, target);
+            target.put(bytes);
+        } else if (value instanceof LazyPayload lazy) {
+            if (lazy.getCodec() != JsonPayloadCodec.INSTANCE) {
+                writeValue(lazy.get(), target);
+                return;
+            }
+            // JSON 원본은 값으로 바꾸지 않고 그대로 기록
+            byte[] json = lazy.getRaw();
+            target.put(TYPE_JSON);
+            writeVarint(json.length, target);
+            target.put(json);
+        } else {
+            byte[] json;
+            try {
+                json = JSON.writeValueAsBytes(value);
+            } catch (IOException e) {
+                log.error("JSON으로 변환할 수 없는 값입니다. 타입: {}", value == null ? null : value.getClass(), e);
+                throw new IllegalArgumentException("Value cannot be encoded", e);
+            }
+            target.put(TYPE_JSON);
+            writeVarint(json.length, target);
+            target.put(json);
+        }
+    }
+
+    /**
+     * 페이로드를 읽습니다. JSON 페이로드는 값으로 바꾸지 않고 {@link LazyPayload}로 복원합니다.
+     */
+    private Object readPayload(ByteBuffer source) {
+        if (source.get(source.position()) != TYPE_JSON) {
+            return readValue(source);
+        }
+        source.get();
+        byte[] json = new byte[(int) readVarint(source)];
+        source.get(json);
+        return LazyPayload.json(json);
+    }
+
+    private Object readValue(ByteBuffer source) {
+        byte type = source.get();
+        switch (type) {
+            case TYPE_STRING:
+                return readString(source, (int) readVarint(source));
+            case TYPE_INT:
+                return (int) unzigzag(readVarint(source));
+            case TYPE_LONG:
+                return unzigzag(readVarint(source));
+            case TYPE_DOUBLE:
+                return source.getDouble();
+            case TYPE_FLOAT:
+                return source.getFloat();
+            case TYPE_BOOLEAN:
+                return source.get() != 0;
+            case TYPE_BYTES: {
+                byte[] bytes = new byte[(int) readVarint(source)];
+                source.get(bytes);
+                return bytes;
+            }
+            case TYPE_JSON: {
+                int length = (int) readVarint(source);
+                try {
+                    if (source.hasArray()) {
+                        Object value = JSON.readValue(source.array(), source.arrayOffset() + source.position(), length,
+                                Object.class);
+                        source.position(source.position() + length);
+                        return value;
+                    }
+                    byte[] bytes = new byte[length];
+                    source.get(bytes);
+                    return JSON.readValue(bytes, Object.class);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Malformed JSON value", e);
+                }
+            }
+            default:
+                throw new IllegalArgumentException("Unknown value type: " + type);
+        }
+    }
+
+    /**
+     * 문자열을 UTF-8 길이 접두사와 함께 기록합니다. 길이는 {@code shift}만큼 왼쪽으로 밀어서 기록합니다.
+     */
+    private static void writeString(String text, ByteBuffer target, int shift) {
+        int length = text.length();
+        writeVarint((long) utf8Length(text) << shift, target);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                target.put((byte) c);
+            } else if (c < 0x800) {
+                target.put((byte) (0xc0 | (c >> 6)));
+                target.put((byte) (0x80 | (c & 0x3f)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                target.put((byte) (0xf0 | (codePoint >> 18)));
+                target.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                target.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                target.put((byte) (0x80 | (codePoint & 0x3f)));
+            } else if (Character.isSurrogate(c)) {
+                target.put((byte) '?');
+            } else {
+                target.put((byte) (0xe0 | (c >> 12)));
+                target.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+                target.put((byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    private static int utf8Length(String text) {
+        int length = text.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private String readString(ByteBuffer source, int length) {
+        if (length > source.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String text;
+        if (source.hasArray()) {
+            text = new String(source.array(), source.arrayOffset() + source.position(), length,
+                    StandardCharsets.UTF_8);
+            source.position(source.position() + length);
+        } else {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            source.get(scratch, 0, length);
+            text = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+    static void writeVarint(long value, ByteBuffer target) {
+        while ((value & ~0x7fL) != 0) {
+            target.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    static long readVarint(ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = source.get();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
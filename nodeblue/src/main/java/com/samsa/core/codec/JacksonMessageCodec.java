@@ -0,0 +1,162 @@
+package com.samsa.core.codec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.samsa.core.LazyPayload;
+import com.samsa.core.Message;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Jackson을 이용해 메시지를 {@code {"id", "payload", "metadata"}} 객체로 기록하는 코덱입니다.
+ * 사람이 읽을 수 있는 JSON이 필요하거나 이진 코덱이 다루지 못하는 타입을 옮길 때 사용하며,
+ * 같은 구조를 CBOR로 기록하는 이진 변형도 제공합니다.
+ *
+ * <p>버퍼 하나에 여러 메시지를 이어 쓸 수 있도록 각 메시지 앞에 4바이트 길이를 기록합니다.
+ * 페이로드와 메타데이터 값은 Jackson의 기본 매핑으로 복원되므로 숫자 타입이나 바이트 배열처럼
+ * 원래 타입이 보존되지 않을 수 있습니다. 인스턴스는 스레드 사이에서 공유할 수 있습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class JacksonMessageCodec implements MessageCodec {
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper mapper;
+    private final String name;
+
+    /** JSON 원본 페이로드를 그대로 쓸 수 있는 텍스트 JSON 형식인지 여부 */
+    private final boolean rawJson;
+
+    /**
+     * JSON 코덱을 생성합니다.
+     */
+    public JacksonMessageCodec() {
+        this(new ObjectMapper(), "json");
+    }
+
+    /**
+     * 지정된 ObjectMapper를 사용하는 코덱을 생성합니다.
+     *
+     * @param mapper 메시지를 기록할 ObjectMapper
+     * @param name   코덱 이름
+     * @throws IllegalArgumentException 인자가 null인 경우
+     */
+    public JacksonMessageCodec(ObjectMapper mapper, String name) {
+        if (Objects.isNull(mapper) || Objects.isNull(name)) {
+            throw new IllegalArgumentException("Mapper and name cannot be null");
+        }
+        this.mapper = mapper;
+        this.name = name;
+        this.rawJson = JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName());
+    }
+
+    /**
+     * CBOR 형식으로 기록하는 코덱을 생성합니다.
+     *
+     * @return CBOR 코덱
+     */
+    public static JacksonMessageCodec cbor() {
+        return new JacksonMessageCodec(new ObjectMapper(new CBORFactory()), "cbor");
+    }
+
+    @Override
+    public void encode(Message message, ByteBuffer target) {
+        int lengthPosition = target.position();
+        target.putInt(0);
+        int start = target.position();
+
+        try (JsonGenerator generator = mapper.createGenerator(new ByteBufferBackedOutputStream(target))) {
+            generator.writeStartObject();
+            generator.writeStringField("id", message.getId().toString());
+            if (rawJson && message.getRawPayload() instanceof LazyPayload lazy && lazy.getCodec() == JsonPayloadCodec.INSTANCE) {
+                // JSON 원본은 값으로 바꾸지 않고 그대로 기록
+                generator.writeFieldName("payload");
+                generator.writeRawValue(lazy.toText());
+            } else {
+                generator.writeObjectField("payload", message.getPayload());
+            }
+            generator.writeObjectField("metadata", message.getMetadataView());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            log.error("메시지 인코딩 실패. MessageId: {}", message.getId(), e);
+            throw new UncheckedIOException(e);
+        }
+
+        target.putInt(lengthPosition, target.position() - start);
+    }
+
+    @Override
+    public Message decode(ByteBuffer source) {
+        int length;
+        try {
+            length = source.getInt();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated message length", e);
+        }
+        if (length < 0 || length > source.remaining()) {
+            throw new IllegalArgumentException("Invalid message length: " + length);
+        }
+
+        ByteBuffer body = source.slice();
+        body.limit(length);
+        source.position(source.position() + length);
+
+        UUID id = null;
+        Object payload = null;
+        Map<String, Object> metadata = Map.of();
+        try (JsonParser parser = mapper.createParser(new ByteBufferBackedInputStream(body))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Message must be an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id":
+                        id = UUID.fromString(parser.getValueAsString());
+                        break;
+                    case "payload":
+                        payload = parser.readValueAs(Object.class);
+                        break;
+                    case "metadata":
+                        metadata = parser.readValueAs(METADATA_TYPE);
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed " + name + " message", e);
+        }
+
+        if (id == null || payload == null) {
+            throw new IllegalArgumentException("Message requires id and payload");
+        }
+        return new Message(id, payload, metadata == null ? Map.of() : metadata);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
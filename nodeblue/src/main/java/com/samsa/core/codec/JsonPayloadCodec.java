@@ -0,0 +1,68 @@
+package com.samsa.core.codec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * UTF-8 JSON 페이로드 코덱입니다.
+ *
+ * <p>필드 하나를 읽을 때는 스트리밍 파서로 최상위 필드 이름만 따라가며, 찾는 필드가 아닌 값은 객체를 만들지 않고
+ * 건너뛰고 찾는 필드를 읽으면 바로 멈춥니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class JsonPayloadCodec implements PayloadCodec {
+
+    /** 공유 인스턴스 */
+    public static final JsonPayloadCodec INSTANCE = new JsonPayloadCodec();
+
+    private static final ObjectReader READER = new ObjectMapper().readerFor(Object.class);
+
+    private JsonPayloadCodec() {
+    }
+
+    @Override
+    public Object decode(byte[] raw) {
+        try {
+            return READER.readValue(raw);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON payload", e);
+        }
+    }
+
+    @Override
+    public Object readField(byte[] raw, String field) {
+        try (JsonParser parser = READER.getFactory().createParser(raw)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean found = field.equals(parser.currentName());
+                parser.nextToken();
+                if (found) {
+                    return READER.readValue(parser);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON payload", e);
+        }
+    }
+
+    @Override
+    public String toText(byte[] raw) {
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String getName() {
+        return "json";
+    }
+}
@@ -0,0 +1,45 @@
+package com.samsa.core.codec;
+
+import java.nio.ByteBuffer;
+
+import com.samsa.core.Message;
+
+/**
+ * {@link Message}를 바이트로 변환하고 다시 복원하는 코덱입니다.
+ * 디스크 파이프, 체크포인트, 원격 전송처럼 메시지가 JVM 힙을 벗어나는 곳에서 사용합니다.
+ *
+ * <p>인코딩된 메시지는 스스로 길이를 알 수 있는 형식이어야 하므로,
+ * 하나의 버퍼에 여러 메시지를 이어서 기록하고 차례로 복원할 수 있습니다.
+ * 구현체는 호출자가 넘긴 버퍼를 재사용하며, 별도 표시가 없으면 스레드 안전하지 않습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public interface MessageCodec {
+
+    /**
+     * 메시지를 버퍼의 현재 위치부터 기록하고 위치를 기록한 만큼 이동합니다.
+     *
+     * @param message 기록할 메시지
+     * @param target  기록할 버퍼
+     * @throws java.nio.BufferOverflowException 버퍼의 남은 공간이 부족한 경우
+     * @throws IllegalArgumentException         메시지를 이 코덱으로 표현할 수 없는 경우
+     */
+    void encode(Message message, ByteBuffer target);
+
+    /**
+     * 버퍼의 현재 위치에서 메시지 하나를 읽고 위치를 읽은 만큼 이동합니다.
+     *
+     * @param source 읽을 버퍼
+     * @return 복원된 메시지
+     * @throws IllegalArgumentException 버퍼의 내용이 이 코덱의 형식이 아닌 경우
+     */
+    Message decode(ByteBuffer source);
+
+    /**
+     * 코덱의 이름을 반환합니다.
+     *
+     * @return 설정 등에서 코덱을 구분하는 이름
+     */
+    String getName();
+}
@@ -0,0 +1,55 @@
+package com.samsa.core.codec;
+
+import java.util.Map;
+
+import com.samsa.core.LazyPayload;
+
+/**
+ * {@link LazyPayload}의 원본 바이트를 값으로 바꾸는 코덱입니다.
+ * 메시지 전체가 아니라 페이로드 하나만 다루며, 구현체는 스레드 안전해야 합니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public interface PayloadCodec {
+
+    /**
+     * 원본 바이트 전체를 값으로 바꿉니다.
+     *
+     * @param raw 원본 바이트
+     * @return 변환된 값
+     * @throws IllegalArgumentException 원본이 이 코덱의 형식이 아닌 경우
+     */
+    Object decode(byte[] raw);
+
+    /**
+     * 원본에서 최상위 필드 하나의 값을 꺼냅니다. 기본 구현은 전체를 바꾼 뒤 맵에서 꺼내므로,
+     * 원본을 부분적으로 읽을 수 있는 코덱은 재정의하여 필요한 부분만 읽어야 합니다.
+     *
+     * @param raw   원본 바이트
+     * @param field 필드 이름
+     * @return 필드 값, 필드가 없거나 값이 객체가 아니면 null
+     * @throws IllegalArgumentException 원본이 이 코덱의 형식이 아닌 경우
+     */
+    default Object readField(byte[] raw, String field) {
+        Object value = decode(raw);
+        return value instanceof Map<?, ?> map ? map.get(field) : null;
+    }
+
+    /**
+     * 원본을 문자열로 나타냅니다. 파일에 기록하는 노드가 값으로 바꾸지 않고 그대로 쓸 때 사용합니다.
+     *
+     * @param raw 원본 바이트
+     * @return 문자열 표현
+     */
+    default String toText(byte[] raw) {
+        return String.valueOf(decode(raw));
+    }
+
+    /**
+     * 코덱의 이름을 반환합니다.
+     *
+     * @return 코덱 이름
+     */
+    String getName();
+}
@@ -0,0 +1,114 @@
+package com.samsa.core.error;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 연속으로 실패하는 노드에 메시지를 보내지 않도록 막는 회로 차단기입니다.
+ *
+ * <p>연속 실패가 {@code failureThreshold}번에 이르면 열림 상태가 되어 {@code openDuration} 동안 모든 메시지를 거부합니다.
+ * 시간이 지나면 반열림 상태가 되어 메시지 하나만 시험으로 통과시키고, 성공하면 닫히고 실패하면 다시 열립니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /**
+     * 차단기의 상태입니다.
+     */
+    public enum State {
+        /** 메시지를 통과시키는 상태 */
+        CLOSED,
+        /** 메시지를 거부하는 상태 */
+        OPEN,
+        /** 시험 메시지 하나의 결과를 기다리는 상태 */
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long rejectedCount;
+
+    /**
+     * 회로 차단기를 생성합니다.
+     *
+     * @param failureThreshold 열림 상태가 되는 연속 실패 횟수
+     * @param openDuration     열림 상태를 유지하는 시간
+     * @throws IllegalArgumentException 실패 횟수가 1보다 작거나 시간이 null 또는 음수인 경우
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1 || Objects.isNull(openDuration) || openDuration.isNegative()) {
+            log.error("회로 차단기 설정이 유효하지 않습니다. FailureThreshold: {}, OpenDuration: {}", failureThreshold,
+                    openDuration);
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * 메시지를 처리해도 되는지 확인합니다. 열림 시간이 지났으면 반열림 상태로 바꾸고 시험 메시지 하나를 허용합니다.
+     *
+     * @return 처리해도 되면 true
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+            log.info("회로 차단기 반열림, 시험 메시지를 허용합니다");
+        }
+        if (state == State.CLOSED || (state == State.HALF_OPEN && !trialInFlight)) {
+            trialInFlight = state == State.HALF_OPEN;
+            return true;
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    /**
+     * 처리 성공을 기록합니다. 반열림 상태였으면 닫습니다.
+     */
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            trialInFlight = false;
+            log.info("회로 차단기 닫힘");
+        }
+    }
+
+    /**
+     * 처리 실패를 기록합니다. 연속 실패가 기준에 이르거나 시험 메시지가 실패하면 엽니다.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialInFlight = false;
+            log.warn("회로 차단기 열림. 연속 실패: {}", consecutiveFailures);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 열림 상태에서 거부한 메시지 수를 반환합니다.
+     *
+     * @return 거부한 메시지 수
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+}
@@ -0,0 +1,517 @@
+package com.samsa.core.error;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.samsa.core.CheckpointBarrier;
+import com.samsa.core.Message;
+import com.samsa.core.Pipe;
+import com.samsa.core.codec.BinaryMessageCodec;
+import com.samsa.core.codec.MessageCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메시지를 파일에 기록하는 파이프입니다. 주로 {@link ErrorRouter}의 데드레터 파이프로 사용하여,
+ * 처리하지 못한 메시지를 메모리 대신 디스크에 쌓아 두고 재시작 후에도 다시 꺼낼 수 있게 합니다.
+ *
+ * <p>파일의 앞 8바이트에는 다음에 읽을 위치를 기록하고, 그 뒤로 길이와 코덱으로 인코딩한 메시지를 이어서 씁니다.
+ * 모두 읽으면 파일을 비우고 처음부터 다시 씁니다. 열 때 읽을 위치부터 메시지를 세어 복구하며,
+ * 마지막에 기록이 끊긴 메시지는 잘라냅니다.</p>
+ *
+ * <p>용량은 메시지 수가 아니라 파일에 쌓인 바이트 수로 제한합니다. 조금씩 꺼내기만 하여 파일이 비지 않더라도,
+ * 이미 읽은 앞부분이 남은 메시지보다 커지면 남은 메시지만 새 파일로 옮겨 교체하므로 파일은 최대 크기의 두 배 정도를 넘지 않습니다.</p>
+ *
+ * <p>기본으로는 운영체제 캐시까지만 기록하므로 프로세스 장애에는 안전하지만 전원 장애에는 마지막 기록이 사라질 수 있습니다.
+ * {@code sync}를 켜면 메시지마다 디스크에 내려 쓴 뒤에 {@link #offer(Message)}가 성공을 반환합니다.
+ * 읽을 위치는 내려 쓰지 않으므로 전원 장애 뒤에는 마지막으로 읽은 메시지 몇 개가 다시 나올 수 있지만 사라지지는 않습니다.
+ * 파일 교체는 설정과 관계없이 새 파일과 디렉터리를 내려 쓴 뒤에 하므로 교체 중의 장애로 메시지를 잃지 않습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class DiskBackedPipe extends Pipe implements AutoCloseable {
+
+    /** 기본 최대 저장 바이트 수 */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private static final int HEADER_BYTES = Long.BYTES;
+    private static final int MAX_MESSAGE_BYTES = 16 * 1024 * 1024;
+
+    /** 읽은 앞부분이 이만큼은 쌓여야 파일을 교체함. 최대 크기가 더 작으면 최대 크기를 사용 */
+    private static final long COMPACT_MIN_BYTES = 4L * 1024 * 1024;
+
+    private static final String COMPACT_SUFFIX = ".compact";
+
+    private final Path file;
+    private final long maxBytes;
+    private final MessageCodec codec;
+    private final boolean sync;
+    private final long compactThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    // 이하 필드는 lock을 잡은 상태에서만 사용
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    private final ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private long readOffset;
+    private long writeOffset;
+    private FileChannel channel;
+    private boolean closed;
+    private long compactions;
+
+    private volatile int count;
+    private volatile long storedBytes;
+
+    /**
+     * 기본 최대 크기와 이진 코덱을 사용하는 파이프를 생성합니다. 파일이 이미 있으면 남은 메시지를 복구합니다.
+     *
+     * @param file 메시지를 기록할 파일
+     * @throws IOException 파일을 열 수 없는 경우
+     */
+    public DiskBackedPipe(Path file) throws IOException {
+        this(file, DEFAULT_MAX_BYTES, new BinaryMessageCodec());
+    }
+
+    /**
+     * 파일에 메시지를 기록하는 파이프를 생성합니다. 파일이 이미 있으면 남은 메시지를 복구합니다.
+     *
+     * @param file     메시지를 기록할 파일
+     * @param maxBytes 쌓아 둘 최대 바이트 수
+     * @param codec    메시지 코덱
+     * @throws IllegalArgumentException 파일이나 코덱이 null이거나 최대 크기가 1보다 작은 경우
+     * @throws IOException              파일을 열 수 없는 경우
+     */
+    public DiskBackedPipe(Path file, long maxBytes, MessageCodec codec) throws IOException {
+        this(file, maxBytes, codec, false);
+    }
+
+    /**
+     * 파일에 메시지를 기록하는 파이프를 생성합니다. 파일이 이미 있으면 남은 메시지를 복구합니다.
+     *
+     * @param file     메시지를 기록할 파일
+     * @param maxBytes 쌓아 둘 최대 바이트 수
+     * @param codec    메시지 코덱
+     * @param sync     메시지마다 디스크에 내려 쓸지 여부
+     * @throws IllegalArgumentException 파일이나 코덱이 null이거나 최대 크기가 1보다 작은 경우
+     * @throws IOException              파일을 열 수 없는 경우
+     */
+    public DiskBackedPipe(Path file, long maxBytes, MessageCodec codec, boolean sync) throws IOException {
+        super(Integer.MAX_VALUE);
+        if (Objects.isNull(file) || Objects.isNull(codec) || maxBytes < 1) {
+            log.error("디스크 파이프 설정이 유효하지 않습니다. File: {}, MaxBytes: {}", file, maxBytes);
+            throw new IllegalArgumentException("File and codec cannot be null and max bytes must be positive");
+        }
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.codec = codec;
+        this.sync = sync;
+        this.compactThreshold = Math.min(COMPACT_MIN_BYTES, maxBytes);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // 교체 도중 중단되어 남은 새 파일은 원래 파일이 그대로 있으므로 버림
+        Files.deleteIfExists(compactFile());
+        this.channel = open(file);
+        recover();
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private Path compactFile() {
+        return file.resolveSibling(file.getFileName() + COMPACT_SUFFIX);
+    }
+
+    /**
+     * 파일에 남은 메시지 수를 세고, 기록이 끊긴 마지막 메시지를 잘라냅니다.
+     */
+    private void recover() throws IOException {
+        long size = channel.size();
+        if (size < HEADER_BYTES) {
+            reset();
+            return;
+        }
+        header.clear();
+        readFully(header, 0);
+        long position = header.getLong(0);
+        if (position < HEADER_BYTES || position > size) {
+            log.warn("디스크 파이프의 읽기 위치가 손상되어 처음부터 읽습니다. File: {}", file);
+            position = HEADER_BYTES;
+        }
+        readOffset = position;
+
+        int recovered = 0;
+        while (position + Integer.BYTES <= size) {
+            lengthBuffer.clear();
+            readFully(lengthBuffer, position);
+            int length = lengthBuffer.getInt(0);
+            if (length <= 0 || length > MAX_MESSAGE_BYTES || position + Integer.BYTES + length > size) {
+                break;
+            }
+            position += Integer.BYTES + length;
+            recovered++;
+        }
+        if (position < size) {
+            log.warn("디스크 파이프의 끊긴 기록을 잘라냅니다. File: {}, 잘라낸 바이트: {}", file, size - position);
+            channel.truncate(position);
+        }
+        writeOffset = position;
+        count = recovered;
+        storedBytes = writeOffset - readOffset;
+        if (recovered > 0) {
+            log.info("디스크 파이프 복구. File: {}, 메시지 수: {}", file, recovered);
+        }
+    }
+
+    /**
+     * 메시지를 파일 끝에 기록합니다. 최대 크기를 넘거나 코덱으로 표현할 수 없거나 기록에 실패하면 false를 반환합니다.
+     */
+    @Override
+    public boolean offer(Message message) {
+        if (Objects.isNull(message)) {
+            throw new IllegalArgumentException("Message cannot be null");
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            ByteBuffer frame = encode(message);
+            if (frame == null || writeOffset - readOffset + frame.remaining() > maxBytes) {
+                return false;
+            }
+            long position = writeOffset;
+            while (frame.hasRemaining()) {
+                position += channel.write(frame, position);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+            writeOffset = position;
+            storedBytes = writeOffset - readOffset;
+            count++;
+            notEmpty.signal();
+        } catch (IOException e) {
+            log.error("디스크 파이프 기록 실패. File: {}", file, e);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+        signalReady();
+        return true;
+    }
+
+    /**
+     * 배리어는 코덱으로 기록할 수 없고 재시작 뒤에는 의미가 없으므로 파일에 쓰지 않고 받은 것으로 처리합니다.
+     * 이 파이프 너머의 노드는 체크포인트에 참여하지 않습니다.
+     */
+    @Override
+    public boolean offerBarrier(CheckpointBarrier barrier) {
+        log.debug("디스크 파이프는 체크포인트 배리어를 기록하지 않습니다. File: {}, CheckpointId: {}", file,
+                barrier.getCheckpointId());
+        barrier.release();
+        return true;
+    }
+
+    private ByteBuffer encode(Message message) {
+        while (true) {
+            buffer.clear();
+            buffer.position(Integer.BYTES);
+            try {
+                codec.encode(message, buffer);
+                buffer.putInt(0, buffer.position() - Integer.BYTES);
+                buffer.flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                if (buffer.capacity() >= MAX_MESSAGE_BYTES) {
+                    log.error("메시지가 너무 커서 디스크 파이프에 기록할 수 없습니다. MessageId: {}", message.getId());
+                    return null;
+                }
+                buffer = ByteBuffer.allocate(Math.min(MAX_MESSAGE_BYTES, buffer.capacity() * 2));
+            } catch (IllegalArgumentException e) {
+                log.error("메시지를 인코딩할 수 없습니다. MessageId: {}, 원인: {}", message.getId(), e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public Message poll() {
+        if (count == 0) {
+            return null;
+        }
+        lock.lock();
+        try {
+            return count == 0 ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Message poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Message dequeue() {
+        if (closed) {
+            return null;
+        }
+        try {
+            lengthBuffer.clear();
+            readFully(lengthBuffer, readOffset);
+            int length = lengthBuffer.getInt(0);
+            if (buffer.capacity() < length) {
+                buffer = ByteBuffer.allocate(length);
+            }
+            buffer.clear().limit(length);
+            readFully(buffer, readOffset + Integer.BYTES);
+            buffer.flip();
+
+            readOffset += Integer.BYTES + length;
+            count--;
+            if (count == 0) {
+                reset();
+            } else {
+                writeHeader(readOffset);
+                storedBytes = writeOffset - readOffset;
+                if (readOffset - HEADER_BYTES >= compactThreshold && readOffset - HEADER_BYTES >= storedBytes) {
+                    compact();
+                }
+            }
+            return codec.decode(buffer);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("디스크 파이프 읽기 실패. File: {}, Offset: {}", file, readOffset, e);
+            return null;
+        }
+    }
+
+    /**
+     * 읽지 않은 메시지만 새 파일에 옮긴 뒤 원래 파일과 바꿉니다. 읽은 앞부분이 남은 부분보다 클 때만 하므로
+     * 옮기는 양은 그동안 읽은 양을 넘지 않습니다. 새 파일과 디렉터리를 내려 쓴 뒤에 바꾸므로, 어느 시점에 중단되어도
+     * 원래 파일이나 새 파일 중 하나가 온전히 남습니다.
+     */
+    private void compact() {
+        Path target = compactFile();
+        long remaining = writeOffset - readOffset;
+        try (FileChannel compacted = FileChannel.open(target, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+            header.clear();
+            header.putLong(0, HEADER_BYTES);
+            while (header.hasRemaining()) {
+                compacted.write(header, header.position());
+            }
+            compacted.position(HEADER_BYTES);
+            long copied = 0;
+            while (copied < remaining) {
+                copied += channel.transferTo(readOffset + copied, remaining - copied, compacted);
+            }
+            compacted.force(true);
+        } catch (IOException e) {
+            // 원래 파일은 그대로이므로 교체만 다음으로 미룸
+            log.warn("디스크 파이프 파일 교체 실패. File: {}", file, e);
+            deleteQuietly(target);
+            return;
+        }
+
+        boolean replaced = false;
+        try {
+            channel.close();
+            Files.move(target, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            replaced = true;
+            forceDirectory();
+        } catch (IOException e) {
+            log.warn("디스크 파이프 파일 교체 실패. File: {}", file, e);
+            deleteQuietly(target);
+        }
+        try {
+            channel = open(file);
+        } catch (IOException e) {
+            log.error("디스크 파이프 파일을 다시 열 수 없습니다. File: {}", file, e);
+            closed = true;
+            return;
+        }
+        if (replaced) {
+            log.debug("디스크 파이프 파일 교체. File: {}, 버린 바이트: {}, 남은 바이트: {}", file,
+                    readOffset - HEADER_BYTES, remaining);
+            readOffset = HEADER_BYTES;
+            writeOffset = HEADER_BYTES + remaining;
+            storedBytes = remaining;
+            compactions++;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("파일을 지울 수 없습니다. File: {}", path, e);
+        }
+    }
+
+    /**
+     * 파일 교체가 전원 장애 뒤에도 남도록 디렉터리를 내려 씁니다. 디렉터리를 열 수 없는 운영체제에서는 건너뜁니다.
+     */
+    private void forceDirectory() {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent == null) {
+            return;
+        }
+        try (FileChannel directory = FileChannel.open(parent, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            log.debug("디렉터리를 내려 쓸 수 없습니다. Directory: {}", parent);
+        }
+    }
+
+    /**
+     * 파일을 비우고 처음부터 다시 씁니다.
+     */
+    private void reset() throws IOException {
+        channel.truncate(HEADER_BYTES);
+        writeHeader(HEADER_BYTES);
+        readOffset = HEADER_BYTES;
+        writeOffset = HEADER_BYTES;
+        storedBytes = 0;
+    }
+
+    private void writeHeader(long position) throws IOException {
+        header.clear();
+        header.putLong(0, position);
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        long offset = position;
+        while (target.hasRemaining()) {
+            int read = channel.read(target, offset);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file: " + file);
+            }
+            offset += read;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return storedBytes >= maxBytes;
+    }
+
+    /**
+     * 최대 크기에 이르지 않았으면 메시지 수의 제한이 없으므로 {@link Integer#MAX_VALUE}를 반환합니다.
+     */
+    @Override
+    public int remainingCapacity() {
+        return isFull() ? 0 : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * 파일에 쌓인 메시지의 바이트 수를 반환합니다.
+     *
+     * @return 읽지 않은 메시지의 바이트 수
+     */
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 디스크에 있는 파일의 크기를 반환합니다. 이미 읽었지만 아직 교체되지 않은 앞부분을 포함합니다.
+     *
+     * @return 파일 크기(바이트)
+     */
+    public long getFileBytes() {
+        lock.lock();
+        try {
+            return writeOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 읽은 앞부분을 버리기 위해 파일을 교체한 횟수를 반환합니다.
+     *
+     * @return 교체 횟수
+     */
+    public long getCompactionCount() {
+        lock.lock();
+        try {
+            return compactions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isSync() {
+        return sync;
+    }
+
+    /**
+     * 파일을 닫습니다. 남은 메시지는 파일에 그대로 남아 다음에 같은 파일로 열 때 복구됩니다.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            channel.close();
+        } catch (IOException e) {
+            log.warn("디스크 파이프를 닫는 중 오류 발생. File: {}", file, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DiskBackedPipe[id=%s, file=%s, size=%d, storedBytes=%d]", getId(), file, count,
+                storedBytes);
+    }
+}
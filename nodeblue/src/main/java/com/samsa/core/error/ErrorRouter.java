@@ -0,0 +1,368 @@
+package com.samsa.core.error;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.samsa.core.Message;
+import com.samsa.core.Node;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 노드 하나에서 처리에 실패한 메시지를 재시도하거나 오류 출력으로 보내는 라우터입니다.
+ *
+ * <p>{@link Node#setErrorRouter(ErrorRouter)}로 노드에 연결하면, {@code onMessage}가 예외를 던지거나
+ * 노드가 {@link Node#handleError(Message, Throwable)}를 호출한 메시지가 다음과 같이 처리됩니다.</p>
+ * <ul>
+ *   <li>재시도 정책이 허용하면 간격만큼 기다린 뒤 노드의 재시도 파이프에 다시 넣습니다.
+ *       기다리는 동안 노드와 워커는 다른 메시지를 계속 처리합니다.</li>
+ *   <li>재시도를 모두 썼으면 예외 정보를 메타데이터로 붙여 오류 출력 포트로 보냅니다.</li>
+ *   <li>회로 차단기가 열려 있으면 노드를 호출하지 않고 곧바로 데드레터 파이프로 보냅니다.</li>
+ * </ul>
+ * <p>오류 출력 포트나 데드레터 파이프 중 하나가 없거나 받을 수 없으면 다른 쪽으로 보내며, 둘 다 없으면 기록 후 버립니다.
+ * 데드레터 파이프로 {@link DiskBackedPipe}를 사용하면 버려진 메시지가 재시작 후에도 남습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class ErrorRouter implements AutoCloseable {
+
+    /** 실패 원인 예외의 클래스 이름 메타데이터 키 */
+    public static final String ERROR_TYPE = "error.type";
+
+    /** 실패 원인 예외의 메시지 메타데이터 키 */
+    public static final String ERROR_MESSAGE = "error.message";
+
+    /** 실패한 노드 ID 메타데이터 키 */
+    public static final String ERROR_NODE = "error.node";
+
+    /** 지금까지 시도한 횟수 메타데이터 키 */
+    public static final String ATTEMPTS = "error.attempts";
+
+    /** 재시도 파이프의 기본 용량 */
+    public static final int DEFAULT_RETRY_CAPACITY = 1024;
+
+    private static final ScheduledThreadPoolExecutor RETRY_TIMER = createTimer();
+
+    private final OutPort errorPort;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final Pipe deadLetter;
+    private final Pipe retryPipe;
+
+    /** 재시도를 기다리는 메시지 */
+    private final Map<Long, PendingRetry> pending = new ConcurrentHashMap<>();
+    private final AtomicLong pendingSequence = new AtomicLong();
+
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Node node;
+    private volatile boolean closed;
+
+    /**
+     * 재시도와 회로 차단 없이 실패한 메시지를 오류 출력 포트로 보내는 라우터를 생성합니다.
+     *
+     * @param errorPort 실패한 메시지를 보낼 포트
+     * @throws IllegalArgumentException 포트가 null인 경우
+     */
+    public ErrorRouter(OutPort errorPort) {
+        this(errorPort, RetryPolicy.NONE, null, null);
+    }
+
+    /**
+     * 라우터를 생성합니다.
+     *
+     * @param errorPort      재시도를 모두 쓴 메시지를 보낼 포트, 없으면 null
+     * @param retryPolicy    재시도 정책
+     * @param circuitBreaker 회로 차단기, 없으면 null
+     * @param deadLetter     회로가 열린 동안의 메시지를 보낼 파이프, 없으면 null
+     * @throws IllegalArgumentException 재시도 정책이 null이거나 오류 포트와 데드레터 파이프가 모두 null인 경우
+     */
+    public ErrorRouter(OutPort errorPort, RetryPolicy retryPolicy, CircuitBreaker circuitBreaker, Pipe deadLetter) {
+        if (Objects.isNull(retryPolicy)) {
+            log.error("재시도 정책이 null입니다");
+            throw new IllegalArgumentException("Retry policy cannot be null");
+        }
+        if (Objects.isNull(errorPort) && Objects.isNull(deadLetter)) {
+            log.error("오류 출력 포트와 데드레터 파이프가 모두 null입니다");
+            throw new IllegalArgumentException("Either error port or dead letter pipe is required");
+        }
+        this.errorPort = errorPort;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.deadLetter = deadLetter;
+        this.retryPipe = new Pipe(DEFAULT_RETRY_CAPACITY);
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "node-retry-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * 라우터를 노드에 연결합니다. {@link Node#setErrorRouter(ErrorRouter)}에서 호출합니다.
+     *
+     * @param owner 라우터를 사용할 노드
+     * @throws IllegalStateException 이미 다른 노드에 연결된 경우
+     */
+    public synchronized void bind(Node owner) {
+        if (node != null && node != owner) {
+            throw new IllegalStateException("Error router is already bound to Node[" + node.getId() + "]");
+        }
+        node = owner;
+    }
+
+    /**
+     * 메시지를 처리해도 되는지 확인합니다. 회로 차단기가 열려 있으면 false를 반환합니다.
+     *
+     * @return 처리해도 되면 true
+     */
+    public boolean allow() {
+        return circuitBreaker == null || circuitBreaker.allowRequest();
+    }
+
+    /**
+     * 메시지 처리 성공을 기록합니다.
+     */
+    public void onSuccess() {
+        if (circuitBreaker != null) {
+            circuitBreaker.recordSuccess();
+        }
+    }
+
+    /**
+     * 처리에 실패한 메시지를 재시도하도록 예약하거나, 재시도할 수 없으면 오류 출력으로 보냅니다.
+     *
+     * @param source  실패한 노드
+     * @param message 실패한 메시지
+     * @param error   실패 원인
+     */
+    public void onFailure(Node source, Message message, Throwable error) {
+        int attempts = attemptsOf(message) + 1;
+        if (circuitBreaker != null) {
+            circuitBreaker.recordFailure();
+        }
+        boolean open = circuitBreaker != null && circuitBreaker.getState() == CircuitBreaker.State.OPEN;
+
+        if (!closed && !open && retryPolicy.canRetry(attempts)) {
+            scheduleRetry(source, copy(message, attempts, null, null), error, attempts);
+            return;
+        }
+        failed.increment();
+        log.warn("메시지 처리 실패, 오류 출력으로 보냅니다. NodeId: {}, MessageId: {}, 시도: {}, 원인: {}", source.getId(),
+                message.getId(), attempts, error.toString());
+        route(copy(message, attempts, source, error), false);
+    }
+
+    /**
+     * 회로가 열려 있어 처리하지 않은 메시지를 데드레터 파이프로 보냅니다.
+     *
+     * @param source  메시지를 받은 노드
+     * @param message 처리하지 않은 메시지
+     */
+    public void shed(Node source, Message message) {
+        shed.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("회로가 열려 메시지를 데드레터로 보냅니다. NodeId: {}, MessageId: {}", source.getId(), message.getId());
+        }
+        Message failure = copy(message, attemptsOf(message), source, null);
+        route(failure, true);
+    }
+
+    private void scheduleRetry(Node source, Message retry, Throwable error, int attempts) {
+        Duration delay = retryPolicy.backoff(attempts);
+        long key = pendingSequence.incrementAndGet();
+        PendingRetry entry = new PendingRetry(source, retry, error);
+        // 타이머 작업이 대기열에서 항목을 찾을 수 있도록 예약보다 먼저 등록함. 그 사이에 닫히면 close()가 항목을 꺼냄
+        pending.put(key, entry);
+        entry.future = RETRY_TIMER.schedule(() -> {
+            if (pending.remove(key) == null) {
+                return;
+            }
+            if (!retryPipe.offer(retry)) {
+                log.warn("재시도 파이프가 가득 차 메시지를 오류 출력으로 보냅니다. NodeId: {}", source.getId());
+                failed.increment();
+                route(copy(retry, attempts, source, error), false);
+            }
+        }, delay.toNanos(), TimeUnit.NANOSECONDS);
+        if (closed && pending.remove(key, entry)) {
+            // close()가 대기열을 훑은 뒤에 등록된 재시도는 남지 않도록 여기서 오류 출력으로 보냄
+            entry.future.cancel(false);
+            routeCancelled(entry);
+            return;
+        }
+        retried.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("메시지 재시도 예약. NodeId: {}, MessageId: {}, 시도: {}, 간격: {}ms", source.getId(),
+                    retry.getId(), attempts, delay.toMillis());
+        }
+    }
+
+    /**
+     * 메시지를 오류 출력 포트 또는 데드레터 파이프로 보냅니다. 선호하는 쪽이 없거나 받을 수 없으면 다른 쪽으로 보냅니다.
+     */
+    private void route(Message failure, boolean preferDeadLetter) {
+        boolean delivered = preferDeadLetter
+                ? offerDeadLetter(failure) || propagateError(failure)
+                : propagateError(failure) || offerDeadLetter(failure);
+        if (!delivered) {
+            dropped.increment();
+            log.error("실패한 메시지를 보낼 곳이 없어 버립니다. MessageId: {}", failure.getId());
+        }
+    }
+
+    private boolean propagateError(Message failure) {
+        if (errorPort == null || !errorPort.canAcceptAll() || errorPort.getPipes().isEmpty()) {
+            return false;
+        }
+        errorPort.propagate(failure);
+        return true;
+    }
+
+    private boolean offerDeadLetter(Message failure) {
+        return deadLetter != null && deadLetter.offer(failure);
+    }
+
+    private static int attemptsOf(Message message) {
+        Object attempts = message.getMetadata(ATTEMPTS);
+        return attempts instanceof Number number ? number.intValue() : 0;
+    }
+
+    /**
+     * 시도 횟수와, 원인이 있으면 실패 정보를 메타데이터에 담은 메시지를 만듭니다. 메시지 ID는 유지합니다.
+     */
+    private static Message copy(Message message, int attempts, Node source, Throwable error) {
+        Map<String, Object> metadata = new HashMap<>(message.getMetadata());
+        metadata.put(ATTEMPTS, attempts);
+        if (source != null) {
+            metadata.put(ERROR_NODE, source.getId().toString());
+            if (error != null) {
+                metadata.put(ERROR_TYPE, error.getClass().getName());
+                metadata.put(ERROR_MESSAGE, String.valueOf(error.getMessage()));
+            } else {
+                metadata.put(ERROR_TYPE, CircuitBreaker.class.getName());
+                metadata.put(ERROR_MESSAGE, "Circuit breaker is open");
+            }
+        }
+        return new Message(message.getId(), message.getRawPayload(), metadata);
+    }
+
+    /**
+     * 재시도를 기다리는 메시지를 모두 취소하고 오류 출력으로 보냅니다. 이후의 실패는 재시도하지 않습니다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Map.Entry<Long, PendingRetry> item : pending.entrySet()) {
+            PendingRetry entry = item.getValue();
+            // 아직 예약 중인 재시도도 꺼내며, 꺼낸 항목의 타이머 작업은 대기열에서 찾지 못해 아무것도 하지 않음.
+            // 취소하지 못한 재시도는 이미 실행 중이므로 그대로 둠
+            ScheduledFuture<?> future = entry.future;
+            if ((future == null || future.cancel(false)) && pending.remove(item.getKey(), entry)) {
+                routeCancelled(entry);
+            }
+        }
+    }
+
+    /**
+     * 취소한 재시도를 오류 출력으로 보냅니다.
+     */
+    private void routeCancelled(PendingRetry entry) {
+        failed.increment();
+        route(copy(entry.message, attemptsOf(entry.message), entry.source, entry.error), false);
+    }
+
+    /**
+     * 실패한 메시지가 노드로 다시 들어오는 파이프입니다. 노드의 입력 포트에 연결됩니다.
+     *
+     * @return 재시도 파이프
+     */
+    public Pipe getRetryPipe() {
+        return retryPipe;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * 재시도를 예약한 횟수를 반환합니다.
+     *
+     * @return 재시도 횟수
+     */
+    public long getRetriedCount() {
+        return retried.sum();
+    }
+
+    /**
+     * 재시도를 모두 쓰고 오류 출력으로 보낸 메시지 수를 반환합니다.
+     *
+     * @return 실패한 메시지 수
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * 회로가 열려 처리하지 않고 데드레터로 보낸 메시지 수를 반환합니다.
+     *
+     * @return 처리하지 않은 메시지 수
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    /**
+     * 보낼 곳이 없어 버린 메시지 수를 반환합니다.
+     *
+     * @return 버린 메시지 수
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 재시도를 기다리는 메시지 수를 반환합니다.
+     *
+     * @return 대기 중인 재시도 수
+     */
+    public int getPendingRetryCount() {
+        return pending.size();
+    }
+
+    private static final class PendingRetry {
+        private final Node source;
+        private final Message message;
+        private final Throwable error;
+        private volatile ScheduledFuture<?> future;
+
+        private PendingRetry(Node source, Message message, Throwable error) {
+            this.source = source;
+            this.message = message;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.samsa.core.error;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 처리에 실패한 메시지를 다시 시도할 횟수와 간격을 정합니다.
+ * 간격은 {@code initialBackoff}에서 시작해 시도할 때마다 {@code multiplier}배씩 늘어나며 {@code maxBackoff}를 넘지 않습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public final class RetryPolicy {
+
+    /** 다시 시도하지 않는 정책 */
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1.0);
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double multiplier;
+
+    /**
+     * 간격이 두 배씩 늘어나고 최대 30초인 정책을 생성합니다.
+     *
+     * @param maxAttempts    처음 시도를 포함한 최대 시도 횟수
+     * @param initialBackoff 첫 재시도까지의 간격
+     * @throws IllegalArgumentException 인자가 유효하지 않은 경우
+     */
+    public RetryPolicy(int maxAttempts, Duration initialBackoff) {
+        this(maxAttempts, initialBackoff, Duration.ofSeconds(30), 2.0);
+    }
+
+    /**
+     * 재시도 정책을 생성합니다.
+     *
+     * @param maxAttempts    처음 시도를 포함한 최대 시도 횟수
+     * @param initialBackoff 첫 재시도까지의 간격
+     * @param maxBackoff     재시도 간격의 상한
+     * @param multiplier     재시도마다 간격에 곱할 값
+     * @throws IllegalArgumentException 시도 횟수가 1보다 작거나, 간격이 null 또는 음수이거나, 배수가 1보다 작은 경우
+     */
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier) {
+        if (maxAttempts < 1 || Objects.isNull(initialBackoff) || Objects.isNull(maxBackoff)
+                || initialBackoff.isNegative() || maxBackoff.isNegative() || multiplier < 1.0) {
+            log.error("재시도 정책이 유효하지 않습니다. MaxAttempts: {}, InitialBackoff: {}, MaxBackoff: {}, Multiplier: {}",
+                    maxAttempts, initialBackoff, maxBackoff, multiplier);
+            throw new IllegalArgumentException("Invalid retry policy");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * 지금까지 시도한 횟수로 다시 시도할 수 있는지 확인합니다.
+     *
+     * @param attempts 지금까지 시도한 횟수
+     * @return 다시 시도할 수 있으면 true
+     */
+    public boolean canRetry(int attempts) {
+        return attempts < maxAttempts;
+    }
+
+    /**
+     * 다음 재시도까지 기다릴 간격을 반환합니다.
+     *
+     * @param attempts 지금까지 시도한 횟수, 1이면 첫 재시도
+     * @return 재시도 간격
+     */
+    public Duration backoff(int attempts) {
+        double nanos = initialBackoff.toNanos() * Math.pow(multiplier, Math.max(0, attempts - 1));
+        return nanos >= maxBackoff.toNanos() ? maxBackoff : Duration.ofNanos((long) nanos);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RetryPolicy[maxAttempts=%d, initialBackoff=%s, maxBackoff=%s, multiplier=%.1f]",
+                maxAttempts, initialBackoff, maxBackoff, multiplier);
+    }
+}
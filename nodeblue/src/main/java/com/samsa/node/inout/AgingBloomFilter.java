@@ -0,0 +1,107 @@
+package com.samsa.node.inout;
+
+import java.util.Arrays;
+
+/**
+ * 세대별 비트 배열을 돌려쓰며 오래된 키를 잊는 블룸 필터입니다.
+ * 유효 기간을 세대 수로 나눈 간격마다 가장 오래된 세대를 비우므로,
+ * 키는 유효 기간의 (세대 수 - 1) / 세대 수 이상, 유효 기간 이하 동안 기억되고
+ * 메모리 사용량은 입력 키의 수와 관계없이 고정됩니다.
+ * 스레드 안전하지 않습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class AgingBloomFilter {
+
+    private final long[][] generations;
+    private final long bitMask;
+    private final int hashCount;
+    private final long rotationNanos;
+
+    /** 현재 키를 기록하는 세대 */
+    private int current;
+
+    /** 마지막으로 세대를 교체한 시각(나노초) */
+    private long lastRotation;
+
+    /**
+     * @param expectedKeys      유효 기간 동안 들어올 것으로 예상되는 고유 키 수
+     * @param falsePositiveRate 허용할 오탐률
+     * @param generationCount   세대 수
+     * @param ttlNanos          키의 유효 기간(나노초)
+     * @param now               현재 시각(나노초)
+     * @throws IllegalArgumentException 인자가 올바르지 않은 경우
+     */
+    AgingBloomFilter(int expectedKeys, double falsePositiveRate, int generationCount, long ttlNanos, long now) {
+        if (expectedKeys < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1
+                || generationCount < 2 || ttlNanos <= 0) {
+            throw new IllegalArgumentException("Invalid bloom filter parameters");
+        }
+        double optimalBits = -expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bits = Long.highestOneBit(Math.max(64L, (long) Math.ceil(optimalBits)) - 1) << 1;
+        this.bitMask = bits - 1;
+        this.hashCount = Math.max(1, (int) Math.round(optimalBits / expectedKeys * Math.log(2)));
+        this.generations = new long[generationCount][(int) (bits >>> 6)];
+        this.rotationNanos = Math.max(1, ttlNanos / generationCount);
+        this.lastRotation = now;
+    }
+
+    /**
+     * 키가 유효 기간 안에 기록된 적이 있는지 확인하고 현재 세대에 기록합니다.
+     *
+     * @param hash 키의 64비트 해시
+     * @param now  현재 시각(나노초)
+     * @return 키가 기록된 적이 있을 가능성이 있으면 true, 확실히 없으면 false
+     */
+    boolean checkAndAdd(long hash, long now) {
+        rotate(now);
+
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean present = false;
+        for (long[] generation : generations) {
+            if (contains(generation, h1, h2)) {
+                present = true;
+                break;
+            }
+        }
+
+        long[] target = generations[current];
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + (long) i * h2) & bitMask;
+            target[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        return present;
+    }
+
+    /**
+     * 필터가 사용하는 비트 배열의 총 바이트 수를 반환합니다.
+     */
+    long memoryBytes() {
+        return (long) generations.length * generations[0].length * Long.BYTES;
+    }
+
+    private boolean contains(long[] generation, int h1, int h2) {
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + (long) i * h2) & bitMask;
+            if ((generation[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotate(long now) {
+        long elapsed = (now - lastRotation) / rotationNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        int steps = (int) Math.min(elapsed, generations.length);
+        for (int i = 0; i < steps; i++) {
+            current = (current + 1) % generations.length;
+            Arrays.fill(generations[current], 0L);
+        }
+        lastRotation += elapsed * rotationNanos;
+    }
+}
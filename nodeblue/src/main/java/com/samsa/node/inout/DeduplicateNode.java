@@ -0,0 +1,203 @@
+package com.samsa.node.inout;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 중복 메시지를 걸러내는 노드입니다.
+ * 메시지 ID 또는 지정된 메타데이터 값을 키로 사용하며, 이미 본 키의 메시지는 전송하지 않습니다.
+ *
+ * <p>두 가지 모드를 제공합니다.</p>
+ * <ul>
+ * <li>{@link Mode#EXACT}: 키의 64비트 해시를 고정 크기 LRU에 저장합니다. 용량 안의 키는 정확히 판별하며,
+ * 유효 기간이 지난 키는 새 키로 취급합니다.</li>
+ * <li>{@link Mode#APPROXIMATE}: 세대를 돌려쓰는 블룸 필터를 사용합니다. 같은 메모리로 더 많은 키를 다루지만
+ * 낮은 확률로 새 메시지를 중복으로 판단할 수 있습니다.</li>
+ * </ul>
+ * 두 모드 모두 메모리 사용량이 생성 시점에 고정되어, 유입되는 키의 수가 늘어도 증가하지 않습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class DeduplicateNode extends InOutNode {
+
+    /** 기본 키 용량 */
+    public static final int DEFAULT_CAPACITY = 100_000;
+
+    /** 근사 모드의 오탐률 */
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    /** 근사 모드의 세대 수 */
+    private static final int GENERATION_COUNT = 4;
+
+    /** 근사 모드에서 유효 기간을 지정하지 않았을 때 사용하는 유효 기간 */
+    private static final Duration DEFAULT_APPROXIMATE_TTL = Duration.ofHours(1);
+
+    /**
+     * 중복 판별 방식
+     */
+    public enum Mode {
+        /** 고정 크기 LRU를 이용한 정확한 판별 */
+        EXACT,
+        /** 블룸 필터를 이용한 근사 판별 */
+        APPROXIMATE
+    }
+
+    private final Mode mode;
+
+    /** 키로 사용할 메타데이터 이름, null이면 메시지 ID를 사용 */
+    private final String keyMetadata;
+
+    private final long ttlNanos;
+    private final LongLruSet recentKeys;
+    private final AgingBloomFilter filter;
+
+    /** 중복으로 판단되어 버려진 메시지 수 */
+    private final LongAdder hits = new LongAdder();
+
+    /** 처음 본 키로 판단되어 전송된 메시지 수 */
+    private final LongAdder misses = new LongAdder();
+
+    /** 키 메타데이터가 없어 판별 없이 전송된 메시지 수 */
+    private final LongAdder unkeyed = new LongAdder();
+
+    /**
+     * 메시지 ID를 키로 기본 용량의 정확 모드 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     */
+    public DeduplicateNode(InPort inPort, OutPort outPort) {
+        this(inPort, outPort, Mode.EXACT, null, DEFAULT_CAPACITY, Duration.ZERO);
+    }
+
+    /**
+     * 판별 방식과 키를 지정하여 노드를 생성합니다.
+     *
+     * @param inPort      입력 포트
+     * @param outPort     출력 포트
+     * @param mode        중복 판별 방식
+     * @param keyMetadata 키로 사용할 메타데이터 이름, null이면 메시지 ID를 사용
+     * @param capacity    정확 모드에서 기억할 최대 키 수, 근사 모드에서 유효 기간 동안 예상되는 고유 키 수
+     * @param ttl         키의 유효 기간, 0이면 정확 모드는 만료 없이 동작하고 근사 모드는 1시간을 사용
+     * @throws IllegalArgumentException 모드나 유효 기간이 null이거나 용량이 1보다 작은 경우
+     */
+    public DeduplicateNode(InPort inPort, OutPort outPort, Mode mode, String keyMetadata, int capacity,
+            Duration ttl) {
+        super(inPort, outPort);
+
+        if (mode == null || ttl == null || ttl.isNegative()) {
+            log.error("중복 제거 모드 또는 유효 기간이 올바르지 않습니다");
+            throw new IllegalArgumentException("모드와 유효 기간은 null이거나 음수일 수 없습니다");
+        }
+        if (capacity < 1) {
+            log.error("용량이 올바르지 않습니다: {}", capacity);
+            throw new IllegalArgumentException("용량은 1 이상이어야 합니다");
+        }
+
+        this.mode = mode;
+        this.keyMetadata = keyMetadata;
+        if (mode == Mode.EXACT) {
+            this.ttlNanos = ttl.toNanos();
+            this.recentKeys = new LongLruSet(capacity);
+            this.filter = null;
+        } else {
+            this.ttlNanos = (ttl.isZero() ? DEFAULT_APPROXIMATE_TTL : ttl).toNanos();
+            this.recentKeys = null;
+            this.filter = new AgingBloomFilter(capacity, FALSE_POSITIVE_RATE, GENERATION_COUNT, ttlNanos,
+                    System.nanoTime());
+        }
+    }
+
+    /**
+     * 처음 본 키의 메시지만 다음 노드로 전송합니다.
+     *
+     * @param message 입력 메시지
+     */
+    @Override
+    public void onMessage(Message message) {
+        Objects.requireNonNull(message, "Input message cannot be null");
+
+        Object key = keyMetadata == null ? message.getId() : message.getMetadata(keyMetadata);
+        if (key == null) {
+            unkeyed.increment();
+            emit(message);
+            return;
+        }
+
+        if (isDuplicate(hash(key))) {
+            hits.increment();
+            log.debug("중복 메시지 제거. NodeId: {}, MessageId: {}", getId(), message.getId());
+            return;
+        }
+        misses.increment();
+        emit(message);
+    }
+
+    private synchronized boolean isDuplicate(long hash) {
+        long now = System.nanoTime();
+        return mode == Mode.EXACT
+                ? recentKeys.checkAndAdd(hash, now, ttlNanos)
+                : filter.checkAndAdd(hash, now);
+    }
+
+    /**
+     * 키를 64비트 해시로 변환합니다. UUID는 두 부분을 섞고, 그 밖의 값은 문자열 표현을 FNV-1a로 해싱합니다.
+     */
+    private static long hash(Object key) {
+        if (key instanceof UUID uuid) {
+            return LongLruSet.mix(uuid.getMostSignificantBits() ^ LongLruSet.mix(uuid.getLeastSignificantBits()));
+        }
+        if (key instanceof Number number && !(key instanceof Double) && !(key instanceof Float)) {
+            return LongLruSet.mix(number.longValue());
+        }
+        String text = String.valueOf(key);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return LongLruSet.mix(hash);
+    }
+
+    /**
+     * 중복으로 판단되어 버려진 메시지 수를 반환합니다.
+     *
+     * @return 중복 적중 수
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 처음 본 키로 판단되어 전송된 메시지 수를 반환합니다.
+     *
+     * @return 중복 미적중 수
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 키 메타데이터가 없어 판별 없이 전송된 메시지 수를 반환합니다.
+     *
+     * @return 키가 없는 메시지 수
+     */
+    public long getUnkeyedCount() {
+        return unkeyed.sum();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+}
@@ -0,0 +1,419 @@
+package com.samsa.node.inout;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 빠르게 들어오는 센서 값을 줄여서 전달하는 노드입니다. 대시보드처럼 일부만 받을 수 있는 하류로 보내는 양을 크게 줄입니다.
+ *
+ * <ul>
+ * <li>{@link Mode#EVERY_NTH}: 키마다 {@code size}번째 메시지만 그대로 전달합니다.</li>
+ * <li>{@link Mode#TIME_BUCKET_AVERAGE}: 키마다 {@code window} 길이의 시간 구간에 들어온 값의 평균을 구간이 끝날 때 전달합니다.</li>
+ * <li>{@link Mode#RESERVOIR}: 키마다 시간 구간에 들어온 값 중 {@code size}개를 고르게 무작위로 골라 구간이 끝날 때 시각 순서로 전달합니다.</li>
+ * <li>{@link Mode#LTTB}: 키마다 시간 구간의 값을 Largest-Triangle-Three-Buckets로 {@code size}개로 줄여 전달합니다.
+ *     이웃한 점과 만드는 삼각형이 가장 큰 점을 남기므로 봉우리와 골짜기처럼 그래프의 모양을 만드는 점이 유지됩니다.</li>
+ * </ul>
+ *
+ * <p>키는 지정한 메타데이터에서, 시각은 시각 메타데이터(epoch 밀리초 또는 {@link Instant})에서 가져오며 시각이 없으면 받은 시각을 사용합니다.
+ * 시간 구간은 구간 길이의 배수에서 시작하며, 구간이 지난 뒤 같은 키의 메시지가 들어오거나 노드를 중지할 때 끝납니다.
+ * 평균, 표본, LTTB는 숫자 페이로드만 다루며 값과 시각만 담은 새 메시지를 전달하고, 숫자가 아닌 페이로드는
+ * {@link #handleError(Message, Throwable)}로 알립니다.</p>
+ *
+ * <p>키마다 크기가 제한된 기본형 배열만 사용하므로 메모리는 들어오는 속도와 관계없이 키의 수에 비례합니다.
+ * LTTB는 구간마다 최대 {@code maxWindowPoints}개의 점을 모으며, 구간이 끝나기 전에 가득 차면 그때까지의 점을 먼저 줄여 전달합니다.
+ * 점을 모으는 배열은 작게 시작하여 구간에 실제로 들어온 점 수만큼만 늘어납니다.
+ * 늦게 도착한 점도 현재 구간에 넣으므로 표본과 LTTB는 전달하기 전에 점을 시각 순서로 정렬합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class DownsampleNode extends InOutNode {
+
+    /**
+     * 줄이는 방식
+     */
+    public enum Mode {
+        EVERY_NTH, TIME_BUCKET_AVERAGE, RESERVOIR, LTTB
+    }
+
+    /** 기본 시각 메타데이터 */
+    public static final String DEFAULT_TIMESTAMP_METADATA = "timestamp";
+
+    /** LTTB가 한 구간에 모으는 기본 최대 점 수 */
+    public static final int DEFAULT_MAX_WINDOW_POINTS = 4096;
+
+    /** LTTB가 키마다 처음 잡는 배열 크기 */
+    private static final int INITIAL_WINDOW_CAPACITY = 64;
+
+    /** 평균을 구한 원래 값의 수를 담는 메타데이터 키 */
+    public static final String COUNT = "downsample.count";
+
+    /** 키 메타데이터를 지정하지 않았을 때 모든 메시지가 함께 쓰는 키 */
+    private static final Object SINGLE_KEY = new Object();
+
+    private final Mode mode;
+    private final int size;
+    private final long windowMillis;
+    private final String keyMetadata;
+    private final String timestampMetadata;
+    private final int maxWindowPoints;
+
+    /** 키별 상태. onMessage와 stop은 this로 동기화 */
+    private final Map<Object, Series> series = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+
+    private long inputCount;
+    private long outputCount;
+
+    /**
+     * 모든 메시지를 하나의 키로 보고 기본 시각 메타데이터를 사용하는 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     * @param mode    줄이는 방식
+     * @param size    {@code EVERY_NTH}는 전달 간격, {@code RESERVOIR}와 {@code LTTB}는 구간마다 전달할 점 수
+     * @param window  시간 구간의 길이, {@code EVERY_NTH}는 사용하지 않음
+     * @throws IllegalArgumentException 설정이 방식에 맞지 않는 경우
+     */
+    public DownsampleNode(InPort inPort, OutPort outPort, Mode mode, int size, Duration window) {
+        this(inPort, outPort, mode, size, window, null, DEFAULT_TIMESTAMP_METADATA, DEFAULT_MAX_WINDOW_POINTS);
+    }
+
+    /**
+     * 노드를 생성합니다.
+     *
+     * @param inPort            입력 포트
+     * @param outPort           출력 포트
+     * @param mode              줄이는 방식
+     * @param size              {@code EVERY_NTH}는 전달 간격, {@code RESERVOIR}와 {@code LTTB}는 구간마다 전달할 점 수
+     * @param window            시간 구간의 길이, {@code EVERY_NTH}는 사용하지 않음
+     * @param keyMetadata       키를 담은 메타데이터 키, null이면 모든 메시지를 하나의 키로 봄
+     * @param timestampMetadata 시각을 담은 메타데이터 키
+     * @param maxWindowPoints   LTTB가 한 구간에 모으는 최대 점 수
+     * @throws IllegalArgumentException 방식이나 시각 메타데이터 키가 null이거나, 크기와 구간이 방식에 맞지 않는 경우
+     */
+    public DownsampleNode(InPort inPort, OutPort outPort, Mode mode, int size, Duration window, String keyMetadata,
+            String timestampMetadata, int maxWindowPoints) {
+        super(inPort, outPort);
+        if (Objects.isNull(mode) || Objects.isNull(timestampMetadata) || timestampMetadata.isEmpty()) {
+            log.error("방식 또는 시각 메타데이터 키가 비어있습니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("Mode and timestamp metadata cannot be empty");
+        }
+        boolean windowed = mode != Mode.EVERY_NTH;
+        boolean sized = mode != Mode.TIME_BUCKET_AVERAGE;
+        if ((windowed && (Objects.isNull(window) || window.toMillis() < 1))
+                || (sized && size < (mode == Mode.LTTB ? 3 : 1))
+                || (mode == Mode.LTTB && maxWindowPoints < size)) {
+            log.error("줄이기 설정이 유효하지 않습니다. NodeId: {}, Mode: {}, Size: {}, Window: {}, MaxWindowPoints: {}",
+                    getId(), mode, size, window, maxWindowPoints);
+            throw new IllegalArgumentException("Invalid size or window for mode " + mode);
+        }
+        this.mode = mode;
+        this.size = size;
+        this.windowMillis = windowed ? window.toMillis() : 0;
+        this.keyMetadata = keyMetadata;
+        this.timestampMetadata = timestampMetadata;
+        this.maxWindowPoints = maxWindowPoints;
+    }
+
+    @Override
+    public synchronized void onMessage(Message message) {
+        Objects.requireNonNull(message, "Input message cannot be null");
+        inputCount++;
+        Object key = keyMetadata == null ? SINGLE_KEY : message.getMetadata(keyMetadata);
+        if (key == null) {
+            handleError(message, new IllegalArgumentException("Missing key metadata: " + keyMetadata));
+            return;
+        }
+        Series state = series.computeIfAbsent(key, this::newSeries);
+
+        if (mode == Mode.EVERY_NTH) {
+            // 키의 첫 메시지를 전달하고 이후 size개마다 하나씩 전달
+            if (state.seen++ % size == 0) {
+                output(message);
+            }
+            return;
+        }
+
+        Object payload = message.getPayload();
+        if (!(payload instanceof Number number)) {
+            handleError(message, new IllegalArgumentException("Payload is not numeric: "
+                    + (payload == null ? "null" : payload.getClass().getName())));
+            return;
+        }
+        long timestamp = timestampOf(message.getMetadata(timestampMetadata));
+        if (state.windowStart == Long.MIN_VALUE) {
+            state.windowStart = Math.floorDiv(timestamp, windowMillis) * windowMillis;
+        } else if (timestamp - state.windowStart >= windowMillis) {
+            // 늦게 도착한 이전 구간의 값은 현재 구간에 넣고, 구간이 지난 값이 들어오면 현재 구간을 끝냄
+            flush(key, state);
+            state.windowStart = Math.floorDiv(timestamp, windowMillis) * windowMillis;
+        }
+        add(key, state, timestamp, number.doubleValue());
+    }
+
+    private Series newSeries(Object key) {
+        return switch (mode) {
+            case EVERY_NTH, TIME_BUCKET_AVERAGE -> new Series(0);
+            case RESERVOIR -> new Series(size);
+            case LTTB -> new Series(Math.min(INITIAL_WINDOW_CAPACITY, maxWindowPoints));
+        };
+    }
+
+    private long timestampOf(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof Instant instant) {
+            return instant.toEpochMilli();
+        }
+        return System.currentTimeMillis();
+    }
+
+    private void add(Object key, Series state, long timestamp, double value) {
+        state.seen++;
+        switch (mode) {
+            case TIME_BUCKET_AVERAGE -> state.sum += value;
+            case RESERVOIR -> {
+                // Algorithm R: n번째 값은 size/n의 확률로 표본의 한 자리를 차지함
+                if (state.count < size) {
+                    state.times[state.count] = timestamp;
+                    state.values[state.count] = value;
+                    state.count++;
+                } else {
+                    long slot = random.nextLong(state.seen);
+                    if (slot < size) {
+                        state.times[(int) slot] = timestamp;
+                        state.values[(int) slot] = value;
+                    }
+                }
+            }
+            case LTTB -> {
+                if (state.count == state.times.length) {
+                    state.grow(Math.min(maxWindowPoints, state.times.length * 2));
+                }
+                state.times[state.count] = timestamp;
+                state.values[state.count] = value;
+                state.count++;
+                if (state.count == maxWindowPoints) {
+                    flush(key, state);
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected mode: " + mode);
+        }
+    }
+
+    /**
+     * 키의 현재 구간을 끝내고 줄인 값을 전달합니다.
+     */
+    private void flush(Object key, Series state) {
+        if (state.seen == 0) {
+            return;
+        }
+        switch (mode) {
+            case TIME_BUCKET_AVERAGE -> {
+                Map<String, Object> metadata = metadata(key, state.windowStart);
+                metadata.put(COUNT, state.seen);
+                output(new Message(state.sum / state.seen, metadata));
+            }
+            case RESERVOIR -> {
+                sortByTime(state.times, state.values, state.count);
+                for (int i = 0; i < state.count; i++) {
+                    output(point(key, state.times[i], state.values[i]));
+                }
+            }
+            case LTTB -> {
+                // LTTB는 첫 점과 마지막 점을 남기고 시각 순서로 구역을 나누므로 늦게 도착한 점을 먼저 제자리에 둠
+                sortByTime(state.times, state.values, state.count);
+                int[] selected = lttb(state.times, state.values, state.count, size);
+                for (int index : selected) {
+                    output(point(key, state.times[index], state.values[index]));
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected mode: " + mode);
+        }
+        state.seen = 0;
+        state.count = 0;
+        state.sum = 0;
+    }
+
+    private Message point(Object key, long timestamp, double value) {
+        return new Message(value, metadata(key, timestamp));
+    }
+
+    private Map<String, Object> metadata(Object key, long timestamp) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(timestampMetadata, timestamp);
+        if (key != SINGLE_KEY) {
+            metadata.put(keyMetadata, key);
+        }
+        return metadata;
+    }
+
+    private void output(Message message) {
+        outputCount++;
+        emit(message);
+    }
+
+    /**
+     * 두 배열을 함께 삽입 정렬합니다. 점은 대부분 시각 순서로 들어오므로 순서가 어긋난 점의 수에 비례하는 시간이 걸립니다.
+     */
+    private static void sortByTime(long[] times, double[] values, int count) {
+        for (int i = 1; i < count; i++) {
+            long time = times[i];
+            double value = values[i];
+            int j = i - 1;
+            while (j >= 0 && times[j] > time) {
+                times[j + 1] = times[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            times[j + 1] = time;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets로 남길 점의 위치를 고릅니다. 첫 점과 마지막 점은 항상 남기고,
+     * 나머지 점을 {@code threshold - 2}개의 구역으로 나누어 구역마다 앞서 고른 점과 다음 구역의 평균점과 함께
+     * 가장 큰 삼각형을 만드는 점을 고릅니다.
+     *
+     * @param times     시각, 오름차순
+     * @param values    값
+     * @param count     점 수
+     * @param threshold 남길 점 수, 3 이상
+     * @return 남길 점의 위치, 오름차순
+     */
+    static int[] lttb(long[] times, double[] values, int count, int threshold) {
+        if (count <= threshold) {
+            int[] all = new int[count];
+            for (int i = 0; i < count; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        int[] selected = new int[threshold];
+        double every = (double) (count - 2) / (threshold - 2);
+        int previous = 0;
+        selected[0] = 0;
+        for (int i = 0; i < threshold - 2; i++) {
+            // 다음 구역의 평균점
+            int nextStart = (int) Math.floor((i + 1) * every) + 1;
+            int nextEnd = Math.min((int) Math.floor((i + 2) * every) + 1, count);
+            double averageTime = 0;
+            double averageValue = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                averageTime += times[j];
+                averageValue += values[j];
+            }
+            int nextCount = nextEnd - nextStart;
+            averageTime /= nextCount;
+            averageValue /= nextCount;
+
+            // 현재 구역에서 앞서 고른 점, 평균점과 가장 큰 삼각형을 만드는 점
+            int start = (int) Math.floor(i * every) + 1;
+            int end = (int) Math.floor((i + 1) * every) + 1;
+            double previousTime = times[previous];
+            double previousValue = values[previous];
+            double maxArea = -1;
+            int chosen = start;
+            for (int j = start; j < end; j++) {
+                double area = Math.abs((previousTime - averageTime) * (values[j] - previousValue)
+                        - (previousTime - times[j]) * (averageValue - previousValue));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+            selected[i + 1] = chosen;
+            previous = chosen;
+        }
+        selected[threshold - 1] = count - 1;
+        return selected;
+    }
+
+    /**
+     * 모든 키의 진행 중인 구간을 끝내고 전달한 뒤 노드를 중지합니다.
+     */
+    @Override
+    public void stop() {
+        synchronized (this) {
+            if (mode != Mode.EVERY_NTH) {
+                series.forEach(this::flush);
+            }
+        }
+        super.stop();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 키가 점을 모으는 배열의 현재 크기를 반환합니다.
+     *
+     * @param key 키 메타데이터 값
+     * @return 배열 크기, 키가 없으면 0
+     */
+    synchronized int getWindowCapacity(Object key) {
+        Series state = series.get(key);
+        return state == null ? 0 : state.times.length;
+    }
+
+    /**
+     * 받은 메시지 수를 반환합니다.
+     *
+     * @return 메시지 수
+     */
+    public synchronized long getInputCount() {
+        return inputCount;
+    }
+
+    /**
+     * 전달한 메시지 수를 반환합니다.
+     *
+     * @return 메시지 수
+     */
+    public synchronized long getOutputCount() {
+        return outputCount;
+    }
+
+    /**
+     * 키 하나의 상태입니다. 방식마다 필요한 필드만 사용합니다.
+     */
+    private static final class Series {
+        private long seen;
+        private long windowStart = Long.MIN_VALUE;
+        private double sum;
+        private int count;
+        private long[] times;
+        private double[] values;
+
+        private Series(int capacity) {
+            this.times = new long[capacity];
+            this.values = new double[capacity];
+        }
+
+        private void grow(int capacity) {
+            times = Arrays.copyOf(times, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+}
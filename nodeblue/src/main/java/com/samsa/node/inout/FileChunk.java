@@ -0,0 +1,109 @@
+package com.samsa.node.inout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 파일의 일부 바이트 구간을 나타냅니다.
+ * {@link SplitFileNode}가 라인 경계에 맞춰 파일을 나눌 때 생성하며, 구간은 항상 온전한 라인들로만 구성됩니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class FileChunk {
+
+    private final Path file;
+    private final Charset charset;
+    private final long start;
+    private final long end;
+    private final int sequence;
+    private final int count;
+
+    /**
+     * @param file     원본 파일
+     * @param charset  파일의 문자 인코딩
+     * @param start    구간 시작 위치(포함)
+     * @param end      구간 끝 위치(제외)
+     * @param sequence 구간 순번 (0부터 시작)
+     * @param count    파일을 나눈 전체 구간 수
+     * @throws IllegalArgumentException 인자가 올바르지 않은 경우
+     */
+    public FileChunk(Path file, Charset charset, long start, long end, int sequence, int count) {
+        if (Objects.isNull(file) || Objects.isNull(charset) || start < 0 || end < start
+                || end - start > Integer.MAX_VALUE || sequence < 0 || sequence >= count) {
+            throw new IllegalArgumentException("Invalid file chunk");
+        }
+        this.file = file;
+        this.charset = charset;
+        this.start = start;
+        this.end = end;
+        this.sequence = sequence;
+        this.count = count;
+    }
+
+    /**
+     * 구간의 내용을 읽어 라인 단위로 나눕니다. 줄 끝의 {@code \r}은 제거됩니다.
+     *
+     * @return 구간에 속한 라인 목록
+     * @throws IOException 파일을 읽을 수 없는 경우
+     */
+    public List<String> readLines() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+        }
+
+        String text = new String(buffer.array(), 0, buffer.position(), charset);
+        List<String> lines = new ArrayList<>();
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            lines.add(text.substring(lineStart, contentEnd));
+            lineStart = lineEnd + 1;
+        }
+        return lines;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FileChunk[file=%s, range=%d-%d, sequence=%d/%d]", file, start, end, sequence, count);
+    }
+}
@@ -0,0 +1,100 @@
+package com.samsa.node.inout;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.node.inout.expression.Expression;
+import com.samsa.node.inout.expression.ExpressionCompiler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 표현식으로 메시지를 변환하는 노드입니다. 노드를 상속하여 다시 빌드하지 않고 플로우 정의만으로 변환을 지정할 수 있습니다.
+ *
+ * <p>표현식은 생성할 때 {@link ExpressionCompiler}로 한 번 컴파일하며, 같은 표현식을 쓰는 노드는 컴파일 결과를 공유합니다.
+ * 결과는 새 메시지의 페이로드가 되거나, 대상 메타데이터를 지정하면 그 키에 담기고 페이로드는 유지됩니다.
+ * 입력 메시지의 메타데이터는 그대로 이어집니다.</p>
+ *
+ * <p>결과가 null이면 메시지를 전송하지 않으므로, {@code payload.temp > 30 ? payload : null} 같은 표현식으로 걸러낼 수도 있습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ * @see ExpressionCompiler
+ */
+@Slf4j
+public class FunctionNode extends InOutNode {
+
+    private final String source;
+    private final Expression expression;
+
+    /** 결과를 담을 메타데이터 키, null이면 결과를 페이로드로 사용 */
+    private final String targetMetadata;
+
+    /** 결과가 null이어서 전송하지 않은 메시지 수 */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * 표현식의 결과를 페이로드로 전송하는 노드를 생성합니다.
+     *
+     * @param inPort     입력 포트
+     * @param outPort    출력 포트
+     * @param expression 표현식
+     * @throws IllegalArgumentException 표현식이 비어 있거나 문법이 잘못된 경우
+     */
+    public FunctionNode(InPort inPort, OutPort outPort, String expression) {
+        this(inPort, outPort, expression, null);
+    }
+
+    /**
+     * 표현식의 결과를 지정한 메타데이터에 담아 전송하는 노드를 생성합니다.
+     *
+     * @param inPort         입력 포트
+     * @param outPort        출력 포트
+     * @param expression     표현식
+     * @param targetMetadata 결과를 담을 메타데이터 키, null이면 결과를 페이로드로 사용
+     * @throws IllegalArgumentException 표현식이 비어 있거나 문법이 잘못된 경우
+     */
+    public FunctionNode(InPort inPort, OutPort outPort, String expression, String targetMetadata) {
+        super(inPort, outPort);
+        this.source = expression;
+        this.expression = ExpressionCompiler.compile(expression);
+        this.targetMetadata = targetMetadata;
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        Object result = expression.evaluate(message);
+        if (result == null) {
+            dropped.increment();
+            if (log.isDebugEnabled()) {
+                log.debug("표현식 결과가 null이어서 메시지를 전송하지 않습니다. NodeId: {}, MessageId: {}", getId(),
+                        message.getId());
+            }
+            return;
+        }
+        Map<String, Object> metadata = message.getMetadata();
+        if (targetMetadata == null) {
+            emit(new Message(result, metadata));
+        } else {
+            metadata.put(targetMetadata, result);
+            emit(new Message(message.getRawPayload(), metadata));
+        }
+    }
+
+    public String getExpression() {
+        return source;
+    }
+
+    /**
+     * 결과가 null이어서 전송하지 않은 메시지 수를 반환합니다.
+     *
+     * @return 전송하지 않은 메시지 수
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
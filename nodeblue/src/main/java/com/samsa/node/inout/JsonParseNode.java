@@ -0,0 +1,405 @@
+package com.samsa.node.inout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.LazyPayload;
+import com.samsa.core.Message;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 페이로드의 JSON을 맵, 목록, 문자열, 숫자 같은 자바 값으로 바꾸는 노드입니다.
+ *
+ * <p>페이로드는 문자열, 바이트 배열, {@link ByteBuffer}, Jackson 트리를 받습니다. 바이트 배열과 버퍼는 문자열로 바꾸지 않고
+ * 바로 파서에 넘기며, 버퍼의 위치는 바꾸지 않습니다. 모든 노드가 하나의 {@link ObjectReader}를 공유합니다.</p>
+ *
+ * <p>NDJSON 모드에서는 페이로드 하나에 이어진 여러 JSON 값을 하나의 스트리밍 파서로 차례로 읽어, 값마다 메시지를 전송하고
+ * 묶음 안의 순번을 {@link #INDEX} 메타데이터에 담습니다. 줄 단위로 문자열을 나누지 않습니다.
+ * 입력 파이프가 있어 스케줄러가 실행하는 노드는 출력 파이프가 가득 차거나 속도 제한에 걸리면 파서를 연 채로 돌아오고,
+ * 남은 값은 다음 {@link #processNext()}에서 이어서 보냅니다. 입력 파이프가 없어 직접 호출한 노드는 출력 파이프에 자리가 날 때까지
+ * 기다리므로 묶음이 출력 파이프보다 커도 값을 버리지 않습니다.</p>
+ *
+ * <p>필드를 지정하면 최상위 객체에서 그 필드만 값으로 만들고 나머지 필드는 파서에서 건너뛰어 객체를 만들지 않습니다.
+ * 객체가 아닌 값은 그대로 변환합니다.</p>
+ *
+ * <p>지연 모드에서는 문자열과 바이트 배열 페이로드를 파싱하지 않고 {@link LazyPayload}로 감싸 전송합니다.
+ * 뒤 노드가 페이로드를 읽을 때 값으로 바뀌며, 필드 하나만 읽거나 그대로 기록하는 노드는 값으로 바꾸지 않습니다.
+ * 이 모드에서는 JSON 오류를 이 노드가 아닌 페이로드를 읽는 노드에서 알게 됩니다.</p>
+ *
+ * <p>JSON 오류는 {@link #handleError(Message, Throwable)}로 알리며, NDJSON 묶음은 오류가 난 값 앞까지만 전송됩니다.
+ * JSON {@code null} 값은 전송하지 않습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class JsonParseNode extends InOutNode {
+
+    /** NDJSON 묶음 안에서 값의 순번을 담는 메타데이터 키 */
+    public static final String INDEX = "json.index";
+
+    private static final ObjectReader READER = new ObjectMapper().readerFor(Object.class);
+
+    /** 직접 호출한 노드가 출력 파이프에 자리가 나기를 기다리는 간격 */
+    private static final long OUTPUT_POLL_NANOS = 100_000;
+
+    private final boolean ndjson;
+
+    /** 남길 최상위 필드, null이면 모든 필드 */
+    private final Set<String> fields;
+
+    /** 파싱하지 않고 원본을 지연 페이로드로 전송할지 여부 */
+    private final boolean lazy;
+
+    private final LongAdder parsed = new LongAdder();
+
+    /** NDJSON 묶음을 읽는 동안 잡고 있는 잠금. 중지할 때 진행 중인 읽기가 멈추기를 기다리는 데 사용 */
+    private final ReentrantLock parseLock = new ReentrantLock();
+
+    /** 앞선 묶음이 끝나기를 기다리는 메시지. 이하 필드는 parseLock으로 보호 */
+    private final Deque<Message> pendingBatches = new ArrayDeque<>();
+
+    /** 읽고 있는 묶음의 파서와 메시지, 읽는 중이 아니면 null */
+    private JsonParser parser;
+    private Message current;
+    private Map<String, Object> metadata;
+    private int index;
+
+    /**
+     * 페이로드 하나를 JSON 값 하나로 변환하는 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     */
+    public JsonParseNode(InPort inPort, OutPort outPort) {
+        this(inPort, outPort, false, null);
+    }
+
+    /**
+     * 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     * @param ndjson  페이로드에 이어진 여러 JSON 값을 각각 전송할지 여부
+     * @param fields  남길 최상위 필드, null이면 모든 필드
+     */
+    public JsonParseNode(InPort inPort, OutPort outPort, boolean ndjson, Set<String> fields) {
+        this(inPort, outPort, ndjson, fields, false);
+    }
+
+    /**
+     * 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     * @param ndjson  페이로드에 이어진 여러 JSON 값을 각각 전송할지 여부
+     * @param fields  남길 최상위 필드, null이면 모든 필드
+     * @param lazy    파싱하지 않고 원본을 {@link LazyPayload}로 전송할지 여부
+     * @throws IllegalArgumentException 지연 모드에 NDJSON이나 필드를 함께 지정한 경우
+     */
+    public JsonParseNode(InPort inPort, OutPort outPort, boolean ndjson, Set<String> fields, boolean lazy) {
+        super(inPort, outPort);
+        if (lazy && (ndjson || fields != null)) {
+            log.error("지연 모드에는 NDJSON과 필드를 지정할 수 없습니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("Lazy mode cannot be combined with ndjson or fields");
+        }
+        this.ndjson = ndjson;
+        this.fields = fields == null ? null : Set.copyOf(fields);
+        this.lazy = lazy;
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        if (lazy && emitLazy(message)) {
+            return;
+        }
+        if (!ndjson) {
+            parseSingle(message);
+            return;
+        }
+        parseLock.lock();
+        try {
+            // 묶음을 다 읽을 때까지 페이로드를 보관하므로 참조를 늘림
+            message.retain();
+            pendingBatches.addLast(message);
+            pump();
+        } finally {
+            parseLock.unlock();
+        }
+    }
+
+    /**
+     * 출력을 기다리며 멈춘 NDJSON 묶음이 있으면 이어서 보내고, 없으면 입력 포트에서 다음 메시지를 받아 처리합니다.
+     *
+     * @return 이어 보냈거나 메시지를 처리했으면 true, 받을 메시지가 없으면 false
+     */
+    @Override
+    public boolean processNext() {
+        if (ndjson) {
+            parseLock.lock();
+            try {
+                if (parser != null || !pendingBatches.isEmpty()) {
+                    pump();
+                    return true;
+                }
+            } finally {
+                parseLock.unlock();
+            }
+        }
+        return super.processNext();
+    }
+
+    private void parseSingle(Message message) {
+        try (JsonParser single = createParser(message.getPayload())) {
+            if (single.nextToken() != null) {
+                Object value = readValue(single);
+                if (value != null) {
+                    emit(new Message(value, message.getMetadata()));
+                    parsed.increment();
+                }
+            }
+        } catch (IOException e) {
+            log.error("JSON 변환 실패. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
+            handleError(message, e);
+        }
+    }
+
+    /**
+     * 열린 묶음과 기다리는 묶음을 차례로 읽습니다. 출력을 기다려야 하거나 노드가 중지되면 돌아옵니다.
+     */
+    private void pump() {
+        while (parser != null || !pendingBatches.isEmpty()) {
+            if (parser == null && !open(pendingBatches.removeFirst())) {
+                continue;
+            }
+            if (!emitValues()) {
+                return;
+            }
+            closeParser();
+        }
+    }
+
+    /**
+     * 메시지의 페이로드로 파서를 엽니다. 열지 못하면 메시지의 참조를 반납합니다.
+     *
+     * @return 파서를 열었으면 true
+     * @throws IllegalArgumentException 지원하지 않는 페이로드 타입인 경우
+     */
+    private boolean open(Message message) {
+        try {
+            parser = createParser(message.getPayload());
+        } catch (IOException e) {
+            log.error("JSON 변환 실패. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
+            handleError(message, e);
+            message.release();
+            return false;
+        } catch (RuntimeException e) {
+            message.release();
+            throw e;
+        }
+        current = message;
+        metadata = message.getMetadata();
+        index = 0;
+        return true;
+    }
+
+    /**
+     * 열린 묶음의 남은 값을 보냅니다. JSON 오류가 나면 오류를 알리고 묶음을 끝냅니다.
+     *
+     * @return 묶음을 끝까지 읽었으면 true, 출력을 기다리거나 중지로 멈췄으면 false
+     */
+    private boolean emitValues() {
+        boolean resumable = !getInPort().getPipes().isEmpty();
+        try {
+            while (true) {
+                if (!awaitOutput(resumable)) {
+                    return false;
+                }
+                if (parser.nextToken() == null) {
+                    return true;
+                }
+                Object value = readValue(parser);
+                if (value != null) {
+                    metadata.put(INDEX, index);
+                    emit(new Message(value, metadata));
+                    parsed.increment();
+                }
+                index++;
+            }
+        } catch (IOException e) {
+            log.error("JSON 변환 실패. NodeId: {}, MessageId: {}, 순번: {}", getId(), current.getId(), index, e);
+            handleError(current, e);
+            return true;
+        }
+    }
+
+    /**
+     * 다음 값을 보낼 수 있는지 확인합니다. 직접 호출한 노드는 출력 파이프에 자리가 날 때까지 기다립니다.
+     *
+     * @param resumable 다음 차례에 이어 보낼 수 있는지 여부
+     * @return 보낼 수 있으면 true, 차례를 넘기거나 중지되어 멈춰야 하면 false
+     */
+    private boolean awaitOutput(boolean resumable) {
+        while (true) {
+            if (getStatus() == NodeStatus.STOPPED) {
+                log.info("노드가 중지되어 NDJSON 읽기를 멈춥니다. NodeId: {}, 보낸 순번: {}", getId(), index);
+                abandon();
+                return false;
+            }
+            boolean full = !getOutPort().canAcceptAll();
+            if (!full && !(resumable && getOutPort().isRateLimited())) {
+                return true;
+            }
+            if (resumable) {
+                return false;
+            }
+            LockSupport.parkNanos(OUTPUT_POLL_NANOS);
+        }
+    }
+
+    /**
+     * 열린 묶음과 기다리는 묶음을 버립니다.
+     */
+    private void abandon() {
+        closeParser();
+        Message pending;
+        while ((pending = pendingBatches.pollFirst()) != null) {
+            pending.release();
+        }
+    }
+
+    private void closeParser() {
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.warn("JSON 파서 닫기 실패. NodeId: {}", getId(), e);
+            }
+            parser = null;
+        }
+        if (current != null) {
+            current.release();
+            current = null;
+        }
+        metadata = null;
+    }
+
+    /**
+     * 노드를 중지합니다. 다른 스레드에서 NDJSON 묶음을 읽는 중이면 그 읽기가 다음 값에서 멈출 때까지 기다리므로,
+     * 반환된 뒤에는 이 노드가 메시지를 더 보내지 않습니다.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        parseLock.lock();
+        try {
+            abandon();
+        } finally {
+            parseLock.unlock();
+        }
+    }
+
+    /**
+     * 문자열이나 바이트 배열 페이로드를 파싱하지 않고 지연 페이로드로 전송합니다.
+     *
+     * @return 전송했으면 true, 그 밖의 페이로드 타입이면 false
+     */
+    private boolean emitLazy(Message message) {
+        Object payload = message.getRawPayload();
+        LazyPayload json;
+        if (payload instanceof LazyPayload already) {
+            json = already;
+        } else if (payload instanceof byte[] bytes) {
+            json = LazyPayload.json(bytes);
+        } else if (payload instanceof CharSequence text) {
+            json = LazyPayload.json(text.toString());
+        } else {
+            return false;
+        }
+        emit(new Message(json, message.getMetadata()));
+        parsed.increment();
+        return true;
+    }
+
+    private static JsonParser createParser(Object payload) throws IOException {
+        JsonFactory factory = READER.getFactory();
+        if (payload instanceof byte[] bytes) {
+            return factory.createParser(bytes);
+        }
+        if (payload instanceof ByteBuffer buffer) {
+            ByteBuffer view = buffer.duplicate();
+            if (view.hasArray()) {
+                return factory.createParser(view.array(), view.arrayOffset() + view.position(), view.remaining());
+            }
+            return factory.createParser(new ByteBufferBackedInputStream(view));
+        }
+        if (payload instanceof CharSequence text) {
+            return factory.createParser(text.toString());
+        }
+        if (payload instanceof TreeNode tree) {
+            return READER.treeAsTokens(tree);
+        }
+        throw new IllegalArgumentException("Unsupported JSON payload type: " + payload.getClass().getName());
+    }
+
+    /**
+     * 파서가 가리키는 값을 읽습니다. 필드가 지정되었으면 최상위 객체에서 그 필드만 읽습니다.
+     */
+    private Object readValue(JsonParser parser) throws IOException {
+        if (fields == null || parser.currentToken() != JsonToken.START_OBJECT) {
+            return READER.readValue(parser);
+        }
+        Map<String, Object> record = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (fields.contains(name)) {
+                record.put(name, READER.readValue(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return record;
+    }
+
+    public boolean isNdjson() {
+        return ndjson;
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * 변환하여 전송한 값의 수를 반환합니다.
+     *
+     * @return 전송한 값의 수
+     */
+    public long getParsedCount() {
+        return parsed.sum();
+    }
+}
@@ -0,0 +1,123 @@
+package com.samsa.node.inout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.LazyPayload;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.codec.JsonPayloadCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 페이로드를 JSON으로 바꾸는 노드입니다. 모든 노드가 하나의 {@link ObjectWriter}를 공유합니다.
+ *
+ * <p>출력은 문자열 또는 UTF-8 바이트 배열이며, 파일이나 네트워크로 바로 내보낼 때는 바이트 배열을 선택하여
+ * 문자열을 거치지 않게 할 수 있습니다.</p>
+ *
+ * <p>NDJSON 모드에서는 컬렉션 페이로드의 원소를 하나의 생성기로 한 줄에 하나씩 이어 써서 메시지 하나로 전송합니다.
+ * 컬렉션이 아닌 페이로드는 한 줄로 씁니다.</p>
+ *
+ * <p>JSON 원본 그대로인 {@link LazyPayload} 페이로드는 값으로 바꾸지 않고 원본을 그대로 출력합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class JsonStringifyNode extends InOutNode {
+
+    /**
+     * 출력 페이로드의 형식
+     */
+    public enum Output {
+        /** 문자열 */
+        STRING,
+        /** UTF-8 바이트 배열 */
+        BYTES
+    }
+
+    /** 줄바꿈은 직접 쓰므로 최상위 값 사이에 기본 구분자(공백)를 넣지 않음 */
+    private static final ObjectWriter WRITER = new ObjectMapper().writer().withRootValueSeparator("");
+
+    private final Output output;
+    private final boolean ndjson;
+
+    /** 처리 스레드 하나만 사용하므로 메시지마다 새로 만들지 않고 재사용 */
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+
+    /**
+     * 페이로드를 JSON 문자열로 바꾸는 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     */
+    public JsonStringifyNode(InPort inPort, OutPort outPort) {
+        this(inPort, outPort, Output.STRING, false);
+    }
+
+    /**
+     * 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     * @param output  출력 페이로드의 형식
+     * @param ndjson  컬렉션 페이로드를 원소마다 한 줄씩 쓸지 여부
+     * @throws IllegalArgumentException 출력 형식이 null인 경우
+     */
+    public JsonStringifyNode(InPort inPort, OutPort outPort, Output output, boolean ndjson) {
+        super(inPort, outPort);
+        if (output == null) {
+            log.error("출력 형식이 null입니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("Output cannot be null");
+        }
+        this.output = output;
+        this.ndjson = ndjson;
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        if (!ndjson && message.getRawPayload() instanceof LazyPayload lazy
+                && lazy.getCodec() == JsonPayloadCodec.INSTANCE) {
+            Object json = output == Output.BYTES ? lazy.getRaw() : lazy.toText();
+            emit(new Message(json, message.getMetadata()));
+            return;
+        }
+        Object payload = message.getPayload();
+        buffer.reset();
+        try (JsonGenerator generator = WRITER.createGenerator(buffer)) {
+            if (ndjson && payload instanceof Collection<?> records) {
+                for (Object record : records) {
+                    WRITER.writeValue(generator, record);
+                    generator.writeRaw('\n');
+                }
+            } else {
+                WRITER.writeValue(generator, payload);
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+            }
+        } catch (IOException e) {
+            log.error("JSON 직렬화 실패. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
+            handleError(message, e);
+            return;
+        }
+        Object json = output == Output.BYTES ? buffer.toByteArray() : buffer.toString(StandardCharsets.UTF_8);
+        emit(new Message(json, message.getMetadata()));
+    }
+
+    public Output getOutput() {
+        return output;
+    }
+
+    public boolean isNdjson() {
+        return ndjson;
+    }
+}
@@ -0,0 +1,177 @@
+package com.samsa.node.inout;
+
+import java.util.Arrays;
+
+/**
+ * 원시 long 키를 저장하는 고정 크기 LRU 집합입니다.
+ * 선형 탐사 해시 테이블과 배열 기반 이중 연결 리스트로 구현되어 키마다 객체를 할당하지 않으며,
+ * 용량을 넘으면 가장 오래 사용되지 않은 키를 내보냅니다.
+ * 스레드 안전하지 않습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class LongLruSet {
+
+    private static final int EMPTY = -1;
+
+    private final int capacity;
+    private final long[] keys;
+    private final long[] timestamps;
+    private final int[] prev;
+    private final int[] next;
+
+    /** 해시 위치별 슬롯 번호 */
+    private final int[] table;
+    private final int mask;
+
+    /** 가장 최근에 사용된 슬롯 */
+    private int head = EMPTY;
+
+    /** 가장 오래 사용되지 않은 슬롯 */
+    private int tail = EMPTY;
+
+    private int size;
+
+    /**
+     * @param capacity 저장할 최대 키 수
+     * @throws IllegalArgumentException 용량이 1보다 작거나 너무 큰 경우
+     */
+    LongLruSet(int capacity) {
+        if (capacity < 1 || capacity > (1 << 29)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^29");
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+        Arrays.fill(table, EMPTY);
+    }
+
+    /**
+     * 키가 유효 기간 안에 이미 존재하는지 확인하고, 키를 가장 최근 사용으로 기록합니다.
+     *
+     * @param key      확인할 키
+     * @param now      현재 시각(나노초)
+     * @param ttlNanos 키의 유효 기간(나노초), 0 이하이면 만료되지 않음
+     * @return 키가 유효 기간 안에 존재했으면 true
+     */
+    boolean checkAndAdd(long key, long now, long ttlNanos) {
+        int index = indexOf(key);
+        if (index != EMPTY) {
+            int slot = table[index];
+            boolean fresh = ttlNanos <= 0 || now - timestamps[slot] < ttlNanos;
+            timestamps[slot] = now;
+            moveToHead(slot);
+            return fresh;
+        }
+
+        int slot;
+        if (size < capacity) {
+            slot = size++;
+        } else {
+            slot = tail;
+            removeFromTable(indexOf(keys[slot]));
+            unlink(slot);
+        }
+        keys[slot] = key;
+        timestamps[slot] = now;
+        int position = home(key);
+        while (table[position] != EMPTY) {
+            position = (position + 1) & mask;
+        }
+        table[position] = slot;
+        linkHead(slot);
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int indexOf(long key) {
+        int position = home(key);
+        while (table[position] != EMPTY) {
+            if (keys[table[position]] == key) {
+                return position;
+            }
+            position = (position + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * 선형 탐사 체인이 끊기지 않도록 뒤따르는 항목을 당겨오며 삭제합니다.
+     */
+    private void removeFromTable(int hole) {
+        table[hole] = EMPTY;
+        int position = hole;
+        while (true) {
+            position = (position + 1) & mask;
+            if (table[position] == EMPTY) {
+                return;
+            }
+            int desired = home(keys[table[position]]);
+            boolean reachable = hole <= position
+                    ? hole < desired && desired <= position
+                    : hole < desired || desired <= position;
+            if (!reachable) {
+                table[hole] = table[position];
+                table[position] = EMPTY;
+                hole = position;
+            }
+        }
+    }
+
+    private int home(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    private void moveToHead(int slot) {
+        if (slot != head) {
+            unlink(slot);
+            linkHead(slot);
+        }
+    }
+
+    private void linkHead(int slot) {
+        prev[slot] = EMPTY;
+        next[slot] = head;
+        if (head != EMPTY) {
+            prev[head] = slot;
+        }
+        head = slot;
+        if (tail == EMPTY) {
+            tail = slot;
+        }
+    }
+
+    private void unlink(int slot) {
+        if (prev[slot] != EMPTY) {
+            next[prev[slot]] = next[slot];
+        } else {
+            head = next[slot];
+        }
+        if (next[slot] != EMPTY) {
+            prev[next[slot]] = prev[slot];
+        } else {
+            tail = prev[slot];
+        }
+    }
+
+    /**
+     * 64비트 값을 고르게 섞습니다(MurmurHash3 fmix64).
+     */
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
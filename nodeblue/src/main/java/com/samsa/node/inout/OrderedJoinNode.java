@@ -0,0 +1,118 @@
+package com.samsa.node.inout;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 병렬 처리로 순서가 뒤섞인 메시지를 원래 순서로 되돌리는 노드입니다.
+ * {@link SplitFileNode}가 붙인 {@link SplitFileNode#SPLIT_ID}, {@link SplitFileNode#SEQUENCE},
+ * {@link SplitFileNode#COUNT} 메타데이터를 기준으로, 분할마다 다음 순번이 도착할 때까지
+ * 앞서 도착한 메시지를 보관했다가 순서대로 전송합니다.
+ *
+ * <p>순서 복원을 끄면 도착한 순서대로 바로 전송합니다.
+ * 순번 메타데이터가 없는 메시지도 바로 전송됩니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class OrderedJoinNode extends InOutNode {
+
+    /** 순서 복원 여부 */
+    private final boolean ordered;
+
+    /** 분할 ID별 순서 복원 상태 */
+    private final Map<Object, Reorder> pending = new HashMap<>();
+
+    /**
+     * 순서를 복원하는 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     */
+    public OrderedJoinNode(InPort inPort, OutPort outPort) {
+        this(inPort, outPort, true);
+    }
+
+    /**
+     * 순서 복원 여부를 지정하여 노드를 생성합니다.
+     *
+     * @param inPort  입력 포트
+     * @param outPort 출력 포트
+     * @param ordered true이면 원래 순서로 복원하고, false이면 도착 순서대로 전송
+     */
+    public OrderedJoinNode(InPort inPort, OutPort outPort, boolean ordered) {
+        super(inPort, outPort);
+        this.ordered = ordered;
+    }
+
+    /**
+     * 다음 순번의 메시지이면 보관 중이던 후속 메시지와 함께 전송하고, 아니면 보관합니다.
+     *
+     * @param message 입력 메시지
+     */
+    @Override
+    public void onMessage(Message message) {
+        Objects.requireNonNull(message, "Input message cannot be null");
+
+        Object splitId = message.getMetadata(SplitFileNode.SPLIT_ID);
+        Object sequence = message.getMetadata(SplitFileNode.SEQUENCE);
+        Object count = message.getMetadata(SplitFileNode.COUNT);
+        if (!ordered || splitId == null || !(sequence instanceof Integer) || !(count instanceof Integer)) {
+            emit(message);
+            return;
+        }
+
+        synchronized (pending) {
+            Reorder reorder = pending.computeIfAbsent(splitId, id -> new Reorder((Integer) count));
+            // 순서를 기다리는 동안 보관하므로 참조를 늘려 둠
+            reorder.waiting.put((Integer) sequence, message.retain());
+
+            Message next;
+            while ((next = reorder.waiting.remove(reorder.nextSequence)) != null) {
+                try {
+                    emit(next);
+                } finally {
+                    next.release();
+                }
+                reorder.nextSequence++;
+            }
+            if (reorder.nextSequence >= reorder.count) {
+                pending.remove(splitId);
+                log.debug("분할 순서 복원 완료. NodeId: {}, SplitId: {}", getId(), splitId);
+            }
+        }
+    }
+
+    /**
+     * 순서를 기다리며 보관 중인 메시지 수를 반환합니다.
+     *
+     * @return 보관 중인 메시지 수
+     */
+    public int getWaitingCount() {
+        synchronized (pending) {
+            return pending.values().stream().mapToInt(reorder -> reorder.waiting.size()).sum();
+        }
+    }
+
+    /**
+     * 하나의 분할에 대한 순서 복원 상태입니다.
+     */
+    private static class Reorder {
+        private final int count;
+        private final Map<Integer, Message> waiting = new HashMap<>();
+        private int nextSequence;
+
+        private Reorder(int count) {
+            this.count = count;
+        }
+    }
+}
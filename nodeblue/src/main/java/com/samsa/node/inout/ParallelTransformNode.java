@@ -0,0 +1,124 @@
+package com.samsa.node.inout;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.samsa.core.AsyncInOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메시지 변환을 ForkJoin 풀의 여러 스레드에서 병렬로 수행하는 노드입니다.
+ * 변환 결과에는 입력 메시지의 메타데이터가 이어지므로 {@link SplitFileNode}의 순번 정보가 유지되며,
+ * 결과는 완료되는 순서대로 전송되므로 원래 순서가 필요하면 {@link OrderedJoinNode}를 뒤에 연결합니다.
+ *
+ * <p>동시에 처리 중인 메시지 수는 병렬도의 두 배로 제한됩니다. {@link AsyncInOutNode}를 따르므로 제한에 이르렀거나
+ * 출력 파이프에 결과를 받을 자리가 부족하면 스케줄러의 워커를 붙잡지 않고 메시지를 입력에 남겨 두어 상위 노드에 배압을 전달하며,
+ * 변환 스레드가 전송하는 결과가 가득 찬 출력 파이프에서 버려지지 않습니다.</p>
+ *
+ * <p>변환이 실패하면 예외 정보를 담은 메시지를 {@link #ERROR} 메타데이터와 함께 전송하여,
+ * 순서를 복원하는 하위 노드가 빠진 순번을 기다리며 멈추지 않도록 합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class ParallelTransformNode extends AsyncInOutNode {
+
+    /** 변환 실패 시 예외 클래스 이름을 담는 메타데이터 키 */
+    public static final String ERROR = "parallel.error";
+
+    private final Function<Message, Message> transform;
+    private final ForkJoinPool pool;
+
+    /**
+     * 사용 가능한 프로세서 수만큼의 스레드로 노드를 생성합니다.
+     *
+     * @param inPort    입력 포트
+     * @param outPort   출력 포트
+     * @param transform 메시지 변환 함수. 여러 스레드에서 동시에 호출됩니다.
+     */
+    public ParallelTransformNode(InPort inPort, OutPort outPort, Function<Message, Message> transform) {
+        this(inPort, outPort, transform, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 병렬도를 지정하여 노드를 생성합니다. 동시에 처리 중인 메시지는 병렬도의 두 배로 제한됩니다.
+     *
+     * @param inPort      입력 포트
+     * @param outPort     출력 포트
+     * @param transform   메시지 변환 함수. 여러 스레드에서 동시에 호출됩니다.
+     * @param parallelism 변환 스레드 수
+     * @throws IllegalArgumentException 변환 함수가 null이거나 병렬도가 1보다 작은 경우
+     */
+    public ParallelTransformNode(InPort inPort, OutPort outPort, Function<Message, Message> transform,
+            int parallelism) {
+        super(inPort, outPort, validateParallelism(parallelism) * 2, false);
+
+        if (transform == null) {
+            log.error("변환 함수가 null입니다");
+            throw new IllegalArgumentException("변환 함수는 null일 수 없습니다");
+        }
+
+        this.transform = transform;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    private static int validateParallelism(int parallelism) {
+        if (parallelism < 1) {
+            log.error("병렬도가 유효하지 않습니다: {}", parallelism);
+            throw new IllegalArgumentException("병렬도는 1 이상이어야 합니다");
+        }
+        return parallelism;
+    }
+
+    /**
+     * 메시지 변환을 풀에 맡기고 곧바로 반환합니다. 변환 결과는 작업이 끝나면 다음 노드로 전송됩니다.
+     *
+     * @param message 변환할 메시지
+     * @return 변환 결과 또는 실패 정보를 담은 메시지로 끝나는 작업
+     */
+    @Override
+    protected CompletionStage<Message> onMessageAsync(Message message) {
+        return CompletableFuture.supplyAsync(() -> transformSafely(message), pool);
+    }
+
+    private Message transformSafely(Message message) {
+        Map<String, Object> metadata = message.getMetadata();
+        try {
+            Message result = Objects.requireNonNull(transform.apply(message), "변환 결과는 null일 수 없습니다");
+            metadata.putAll(result.getMetadata());
+            return new Message(result.getPayload(), metadata);
+        } catch (Exception e) {
+            log.error("메시지 변환 중 오류 발생. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
+            metadata.put(ERROR, e.getClass().getName());
+            return new Message(String.valueOf(e.getMessage()), metadata);
+        }
+    }
+
+    /**
+     * 진행 중인 변환이 끝나 결과가 전송되기를 기다려 노드를 중지한 뒤 풀을 종료합니다.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("변환 작업이 제한 시간 내에 끝나지 않았습니다. NodeId: {}", getId());
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.samsa.node.inout;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 디렉터리에서 glob 패턴에 맞는 파일들을 차례로 읽어 각 라인을 메시지로 전송하는 노드입니다.
+ *
+ * <p>현재 파일의 라인을 전송하는 동안 다음 파일들을 {@link AsynchronousFileChannel}로 미리 읽어 두므로,
+ * 작은 파일이 많은 디렉터리에서도 파일 열기와 읽기를 기다리는 시간이 전송 시간 뒤로 숨겨집니다.
+ * 미리 읽기 한도보다 큰 파일은 차례가 왔을 때 스트림으로 읽습니다.</p>
+ *
+ * <p>각 메시지에는 파일 경계를 알 수 있도록 {@link #FILE_PATH}, {@link #FILE_INDEX}, {@link #LINE_NUMBER}
+ * 메타데이터가 붙고, 파일의 마지막 라인에는 {@link #LAST_LINE}이 true로 붙습니다.
+ * 전송을 마친 파일은 설정에 따라 삭제하거나 다른 디렉터리로 옮길 수 있습니다.</p>
+ *
+ * <p>출력 파이프에 자리가 없으면 라인을 버리지 않고 읽기를 멈추며, 읽던 파일과 라인 위치를 기억해 두었다가 이어서 보냅니다.
+ * 읽는 중에 노드가 중지되면 다음 라인을 보내기 전에 멈추고, 끝까지 보내지 못한 파일은 정리하지 않습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class ReadDirectoryNode extends InOutNode {
+
+    /** 원본 파일 경로 메타데이터 키 */
+    public static final String FILE_PATH = "file.path";
+
+    /** 이번 읽기에서 파일의 순번 메타데이터 키 */
+    public static final String FILE_INDEX = "file.index";
+
+    /** 파일 안에서의 라인 번호(1부터 시작) 메타데이터 키 */
+    public static final String LINE_NUMBER = "file.line";
+
+    /** 파일의 마지막 라인 여부 메타데이터 키 */
+    public static final String LAST_LINE = "file.last";
+
+    /** 기본으로 미리 읽어 둘 파일 수 */
+    public static final int DEFAULT_PREFETCH = 4;
+
+    /** 미리 읽을 수 있는 파일의 최대 크기(바이트) */
+    private static final long MAX_PREFETCH_BYTES = 16L * 1024 * 1024;
+
+    /** 직접 읽는 노드가 출력 파이프에 자리가 나기를 기다리는 간격 */
+    private static final long OUTPUT_POLL_NANOS = 100_000;
+
+    /**
+     * 전송을 마친 파일의 처리 방식
+     */
+    public enum CompletionAction {
+        /** 그대로 둠 */
+        NONE,
+        /** 삭제 */
+        DELETE,
+        /** 완료 디렉터리로 이동 */
+        MOVE
+    }
+
+    private final Path directory;
+    private final String glob;
+    private final Charset charset;
+    private final int prefetch;
+    private final CompletionAction completionAction;
+    private final Path completedDirectory;
+
+    /** 읽는 동안 잡고 있는 잠금. 중지할 때 진행 중인 읽기가 멈추기를 기다리는 데 사용 */
+    private final ReentrantLock readLock = new ReentrantLock();
+
+    /** 열려 있는 읽기의 파일 목록, 없으면 null. 이하 필드는 readLock으로 보호 */
+    private List<Path> files;
+
+    /** 보내고 있는 파일의 순번 */
+    private int fileIndex;
+
+    /** 다음에 미리 읽기 시작할 파일의 순번 */
+    private int nextToPrefetch;
+
+    /** 미리 읽는 중인 파일 내용 */
+    private final Deque<CompletableFuture<ByteBuffer>> prefetched = new ArrayDeque<>();
+
+    /** 보내고 있는 파일의 라인 커서, 파일을 열기 전이면 null */
+    private LineCursor cursor;
+
+    /** 보내고 있는 파일에서 마지막으로 보낸 라인 번호 */
+    private long lineNumber;
+
+    /** 앞선 읽기가 끝나기를 기다리는 읽기 수 */
+    private int pendingReads;
+
+    /**
+     * 파일을 그대로 두고 UTF-8로 읽는 노드를 생성합니다.
+     *
+     * @param inPort    입력 포트
+     * @param outPort   출력 포트
+     * @param directory 읽을 디렉터리
+     * @param glob      파일 이름 glob 패턴 (예: {@code *.csv})
+     * @throws IllegalArgumentException 디렉터리나 패턴이 null이거나 비어있는 경우
+     */
+    public ReadDirectoryNode(InPort inPort, OutPort outPort, String directory, String glob) {
+        this(inPort, outPort, directory, glob, StandardCharsets.UTF_8, DEFAULT_PREFETCH, CompletionAction.NONE,
+                null);
+    }
+
+    /**
+     * 인코딩, 미리 읽기 수, 완료 처리 방식을 지정하여 노드를 생성합니다.
+     *
+     * @param inPort             입력 포트
+     * @param outPort            출력 포트
+     * @param directory          읽을 디렉터리
+     * @param glob               파일 이름 glob 패턴 (예: {@code *.csv})
+     * @param charset            파일 읽기에 사용할 문자 인코딩
+     * @param prefetch           현재 파일 외에 미리 읽어 둘 파일 수
+     * @param completionAction   전송을 마친 파일의 처리 방식
+     * @param completedDirectory {@link CompletionAction#MOVE}일 때 파일을 옮길 디렉터리
+     * @throws IllegalArgumentException 인자가 올바르지 않거나 완료 디렉터리를 만들 수 없는 경우
+     */
+    public ReadDirectoryNode(InPort inPort, OutPort outPort, String directory, String glob, Charset charset,
+            int prefetch, CompletionAction completionAction, String completedDirectory) {
+        super(inPort, outPort);
+
+        if (directory == null || directory.trim().isEmpty() || glob == null || glob.trim().isEmpty()) {
+            log.error("디렉터리 또는 파일 패턴이 유효하지 않습니다");
+            throw new IllegalArgumentException("디렉터리와 파일 패턴은 비어있을 수 없습니다");
+        }
+        if (charset == null || completionAction == null) {
+            log.error("문자 인코딩 또는 완료 처리 방식이 null입니다");
+            throw new IllegalArgumentException("문자 인코딩과 완료 처리 방식은 null일 수 없습니다");
+        }
+        if (prefetch < 0) {
+            log.error("미리 읽기 수가 유효하지 않습니다: {}", prefetch);
+            throw new IllegalArgumentException("미리 읽기 수는 0 이상이어야 합니다");
+        }
+
+        this.directory = Paths.get(directory);
+        this.glob = glob;
+        this.charset = charset;
+        this.prefetch = prefetch;
+        this.completionAction = completionAction;
+
+        if (completionAction == CompletionAction.MOVE) {
+            if (completedDirectory == null || completedDirectory.trim().isEmpty()) {
+                log.error("완료 디렉터리가 지정되지 않았습니다");
+                throw new IllegalArgumentException("MOVE에는 완료 디렉터리가 필요합니다");
+            }
+            this.completedDirectory = Paths.get(completedDirectory);
+            try {
+                Files.createDirectories(this.completedDirectory);
+            } catch (IOException e) {
+                log.error("완료 디렉터리를 생성할 수 없습니다: {}", completedDirectory, e);
+                throw new IllegalArgumentException("완료 디렉터리를 생성할 수 없습니다", e);
+            }
+        } else {
+            this.completedDirectory = null;
+        }
+    }
+
+    /**
+     * 입력된 메시지에 관계없이 디렉터리의 파일들을 이름 순으로 읽어 전송합니다.
+     *
+     * <p>입력 파이프가 있어 스케줄러가 실행하는 노드는 출력 파이프가 가득 차거나 속도 제한에 걸리면 라인을 보내지 않고 돌아오며,
+     * 남은 라인은 다음 {@link #processNext()}에서 이어서 보냅니다. 입력 파이프가 없어 호출한 스레드가 직접 읽는 노드는
+     * 그 스레드에서 출력 파이프에 자리가 날 때까지 기다립니다. 어느 쪽이든 파일은 모든 라인을 보낸 뒤에만 삭제하거나 옮깁니다.</p>
+     *
+     * @param message 입력 메시지 (실제로는 사용되지 않음)
+     */
+    @Override
+    public void onMessage(Message message) {
+        readLock.lock();
+        try {
+            pendingReads++;
+            pump();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 출력을 기다리며 멈춘 읽기가 있으면 이어서 읽고, 없으면 입력 포트에서 다음 메시지를 받아 처리합니다.
+     *
+     * @return 이어 읽었거나 메시지를 처리했으면 true, 받을 메시지가 없으면 false
+     */
+    @Override
+    public boolean processNext() {
+        readLock.lock();
+        try {
+            if (files != null || pendingReads > 0) {
+                pump();
+                return true;
+            }
+        } finally {
+            readLock.unlock();
+        }
+        return super.processNext();
+    }
+
+    /**
+     * 열린 읽기와 기다리는 읽기를 차례로 진행합니다. 출력을 기다려야 하거나 노드가 중지되면 돌아옵니다.
+     */
+    private void pump() {
+        while (files != null || pendingReads > 0) {
+            if (files == null) {
+                pendingReads--;
+                try {
+                    files = listFiles();
+                } catch (IOException e) {
+                    log.error("디렉터리 목록 조회 중 오류 발생. 디렉터리: {}", directory, e);
+                    handleError(e);
+                    continue;
+                }
+                fileIndex = 0;
+                nextToPrefetch = 0;
+            }
+            if (!emitFiles()) {
+                return;
+            }
+            files = null;
+        }
+    }
+
+    /**
+     * 열린 읽기의 남은 파일들을 보냅니다.
+     *
+     * @return 모든 파일을 보냈으면 true, 출력을 기다리거나 중지로 멈췄으면 false
+     */
+    private boolean emitFiles() {
+        boolean resumable = !getInPort().getPipes().isEmpty();
+        while (fileIndex < files.size()) {
+            Path file = files.get(fileIndex);
+            try {
+                if (cursor == null) {
+                    while (nextToPrefetch < files.size() && nextToPrefetch <= fileIndex + prefetch) {
+                        prefetched.addLast(prefetch(files.get(nextToPrefetch++)));
+                    }
+                    cursor = new LineCursor(file, prefetched.removeFirst().get(), charset);
+                    lineNumber = 0;
+                }
+                String path = file.toString();
+                while (cursor.hasNext()) {
+                    if (!awaitOutput(resumable)) {
+                        return false;
+                    }
+                    String line = cursor.next();
+                    emit(lineMessage(line, path, fileIndex, ++lineNumber, !cursor.hasNext()));
+                }
+                closeCursor();
+                // 모든 라인을 보낸 뒤에만 원본 파일을 정리함
+                complete(file);
+            } catch (IOException | ExecutionException e) {
+                log.error("파일 읽기 중 오류 발생. 파일: {}", file, e);
+                closeCursor();
+                handleError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandon();
+                return false;
+            }
+            fileIndex++;
+        }
+        return true;
+    }
+
+    /**
+     * 다음 라인을 보낼 수 있는지 확인합니다. 직접 읽는 노드는 출력 파이프에 자리가 날 때까지 기다립니다.
+     *
+     * @param resumable 다음 차례에 이어 읽을 수 있는지 여부
+     * @return 보낼 수 있으면 true, 차례를 넘기거나 중지되어 멈춰야 하면 false
+     */
+    private boolean awaitOutput(boolean resumable) {
+        while (true) {
+            if (getStatus() == NodeStatus.STOPPED) {
+                log.info("노드가 중지되어 읽기를 멈춥니다. 디렉터리: {}", directory);
+                abandon();
+                return false;
+            }
+            boolean full = !getOutPort().canAcceptAll();
+            if (!full && !(resumable && getOutPort().isRateLimited())) {
+                return true;
+            }
+            if (resumable) {
+                return false;
+            }
+            LockSupport.parkNanos(OUTPUT_POLL_NANOS);
+        }
+    }
+
+    /**
+     * 열린 읽기와 기다리는 읽기를 버립니다. 모든 라인을 보내지 못한 파일은 정리하지 않고 남겨 두므로 다음 읽기에서 다시 보냅니다.
+     */
+    private void abandon() {
+        closeCursor();
+        prefetched.forEach(pending -> pending.cancel(true));
+        prefetched.clear();
+        files = null;
+        pendingReads = 0;
+    }
+
+    private void closeCursor() {
+        if (cursor == null) {
+            return;
+        }
+        try {
+            cursor.close();
+        } catch (IOException e) {
+            log.warn("파일 닫기 실패. 디렉터리: {}", directory, e);
+        }
+        cursor = null;
+    }
+
+    /**
+     * 노드를 중지합니다. 다른 스레드에서 읽는 중이면 그 읽기가 다음 라인에서 멈출 때까지 기다리므로,
+     * 반환된 뒤에는 이 노드가 메시지를 더 보내지 않습니다.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        readLock.lock();
+        try {
+            abandon();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<Path> listFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * 파일 전체를 비동기로 읽기 시작합니다. 한도보다 큰 파일은 읽지 않고 null을 결과로 돌려줍니다.
+     */
+    private CompletableFuture<ByteBuffer> prefetch(Path file) {
+        CompletableFuture<ByteBuffer> result = new CompletableFuture<>();
+        try {
+            long size = Files.size(file);
+            if (size > MAX_PREFETCH_BYTES) {
+                result.complete(null);
+                return result;
+            }
+
+            AsynchronousFileChannel channel = AsynchronousFileChannel.open(file, StandardOpenOption.READ);
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            channel.read(buffer, 0, buffer, new CompletionHandler<Integer, ByteBuffer>() {
+                @Override
+                public void completed(Integer read, ByteBuffer target) {
+                    if (read >= 0 && target.hasRemaining()) {
+                        channel.read(target, target.position(), target, this);
+                        return;
+                    }
+                    closeQuietly(channel);
+                    target.flip();
+                    result.complete(target);
+                }
+
+                @Override
+                public void failed(Throwable error, ByteBuffer target) {
+                    closeQuietly(channel);
+                    result.completeExceptionally(error);
+                }
+            });
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * 파일 하나의 라인을 차례로 꺼냅니다. 미리 읽은 내용이 있으면 그 내용에서, 없으면 스트림으로 읽습니다.
+     */
+    private static class LineCursor {
+        private final BufferedReader reader;
+        private final CharBuffer text;
+        private int lineStart;
+        private String lookahead;
+
+        private LineCursor(Path file, ByteBuffer content, Charset charset) throws IOException {
+            if (content == null) {
+                reader = Files.newBufferedReader(file, charset);
+                text = null;
+                lookahead = reader.readLine();
+            } else {
+                reader = null;
+                text = charset.decode(content);
+            }
+        }
+
+        private boolean hasNext() {
+            return text == null ? lookahead != null : lineStart < text.length();
+        }
+
+        private String next() throws IOException {
+            if (text == null) {
+                String line = lookahead;
+                lookahead = reader.readLine();
+                return line;
+            }
+            int length = text.length();
+            int lineEnd = lineStart;
+            while (lineEnd < length && text.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            String line = text.subSequence(lineStart, contentEnd).toString();
+            lineStart = lineEnd + 1;
+            return line;
+        }
+
+        private void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+
+    private static Message lineMessage(String line, String path, int index, long lineNumber, boolean last) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(FILE_PATH, path);
+        metadata.put(FILE_INDEX, index);
+        metadata.put(LINE_NUMBER, lineNumber);
+        metadata.put(LAST_LINE, last);
+        return new Message(line, metadata);
+    }
+
+    private void complete(Path file) throws IOException {
+        switch (completionAction) {
+            case DELETE:
+                Files.deleteIfExists(file);
+                log.debug("처리 완료된 파일 삭제: {}", file);
+                break;
+            case MOVE:
+                Files.move(file, completedDirectory.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                log.debug("처리 완료된 파일 이동: {} -> {}", file, completedDirectory);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("파일 채널을 닫는 중 오류 발생", e);
+        }
+    }
+}
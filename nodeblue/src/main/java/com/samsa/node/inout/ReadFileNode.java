@@ -5,25 +5,42 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
+import com.samsa.core.CheckpointBarrier;
+import com.samsa.core.CheckpointSource;
 import com.samsa.core.InOutNode;
 import com.samsa.core.InPort;
 import com.samsa.core.Message;
+import com.samsa.core.MessagePool;
+import com.samsa.core.NodeStatus;
 import com.samsa.core.OutPort;
+import com.samsa.core.PooledMessage;
+import com.samsa.core.StatefulNode;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * 파일에서 내용을 읽어 메시지로 변환하는 노드입니다.
  * 지정된 파일 경로, 인코딩을 사용하여 파일을 읽고 각 라인을 별도의 메시지로 전송합니다.
+ * 체크포인트에는 현재 읽기 중인 라인 위치와 읽기를 끝까지 마쳤는지가 저장되며, 복원 후 첫 읽기는 그 위치부터 이어서 전송합니다.
+ * 읽는 중에 노드가 중지되면 다음 라인을 보내기 전에 읽기를 멈추고, 스케줄러에서 실행될 때 속도 제한에 걸리면
+ * 워커를 붙잡지 않고 다음 차례에 이어서 읽습니다.
+ * 입력 파이프가 없는 소스로 쓰일 때 체크포인트 배리어는 읽는 스레드에서 두 라인 사이에 주입하므로,
+ * 저장된 위치까지의 라인은 모두 배리어 앞에, 그 뒤의 라인은 모두 배리어 뒤에 놓입니다.
  * 
  * @author samsa
  * @since 1.0
  */
 @Slf4j
-public class ReadFileNode extends InOutNode {
+public class ReadFileNode extends InOutNode implements StatefulNode, CheckpointSource {
+
+    /** 스냅샷 길이. 라인 번호와 완료 여부 */
+    private static final int STATE_BYTES = Long.BYTES + 1;
 
     /** 읽을 파일의 경로 */
     private final String filePath;
@@ -31,6 +48,33 @@ public class ReadFileNode extends InOutNode {
     /** 파일 읽기에 사용할 문자 인코딩 */
     private final Charset charset;
 
+    /** 라인 메시지를 빌려 올 풀, 풀을 사용하지 않으면 null */
+    private final MessagePool pool;
+
+    /** 현재 읽기에서 마지막으로 전송한 라인 번호, 읽기를 마친 뒤에는 마지막 읽기에서 전송한 라인 수 */
+    private volatile long position;
+
+    /** 마지막 읽기를 끝까지 마쳤는지 여부 */
+    private volatile boolean completed;
+
+    /** 복원된 상태에 따라 다음 읽기에서 건너뛸 라인 수 */
+    private volatile long resumePosition;
+
+    /** 읽는 동안 잡고 있는 잠금. 중지할 때 진행 중인 읽기가 멈추기를 기다리는 데 사용 */
+    private final ReentrantLock readLock = new ReentrantLock();
+
+    /** 주입을 기다리는 체크포인트 배리어 */
+    private final ConcurrentLinkedQueue<CheckpointBarrier> pendingBarriers = new ConcurrentLinkedQueue<>();
+
+    /** 열려 있는 읽기, 없으면 null. 이하 필드는 readLock으로 보호 */
+    private BufferedReader reader;
+
+    /** 열려 있는 읽기에서 마지막으로 읽은 라인 번호 */
+    private long lineNumber;
+
+    /** 앞선 읽기가 끝나기를 기다리는 읽기 수 */
+    private int pendingReads;
+
     /**
      * 기본 생성자. UTF-8 인코딩을 사용하여 파일을 읽습니다.
      * 
@@ -53,6 +97,21 @@ public class ReadFileNode extends InOutNode {
      * @throws IllegalArgumentException 파일 경로가 null이거나 비어있는 경우, 인코딩이 null인 경우
      */
     public ReadFileNode(InPort inPort, OutPort outPort, String filePath, Charset charset) {
+        this(inPort, outPort, filePath, charset, null);
+    }
+
+    /**
+     * 라인 메시지를 풀에서 빌려 쓰는 생성자.
+     * 한 번의 읽기에서 많은 라인을 전송하는 경우 메시지 할당을 줄일 수 있습니다.
+     *
+     * @param inPort   입력 포트
+     * @param outPort  출력 포트
+     * @param filePath 읽을 파일의 경로
+     * @param charset  파일 읽기에 사용할 문자 인코딩
+     * @param pool     라인 메시지를 빌려 올 풀, null이면 매번 새 메시지를 생성
+     * @throws IllegalArgumentException 파일 경로가 null이거나 비어있는 경우, 인코딩이 null인 경우
+     */
+    public ReadFileNode(InPort inPort, OutPort outPort, String filePath, Charset charset, MessagePool pool) {
         super(inPort, outPort);
         
         if (filePath == null || filePath.trim().isEmpty()) {
@@ -67,28 +126,240 @@ public class ReadFileNode extends InOutNode {
         
         this.filePath = filePath;
         this.charset = charset;
+        this.pool = pool;
     }
 
     /**
      * 노드의 메시지 처리 로직을 구현합니다.
      * 입력된 메시지에 관계없이 파일을 읽어 각 라인을 별도의 메시지로 전송합니다.
+     * 체크포인트에서 복원된 경우 저장된 위치 이후의 라인부터 전송합니다.
+     *
+     * <p>입력 파이프가 있어 스케줄러가 실행하는 노드는 출력 포트의 속도 제한에 걸리면 라인을 보내지 않고 돌아오며,
+     * 남은 라인은 다음 {@link #processNext()}에서 이어서 보냅니다. 허가를 기다리며 공유 워커를 붙잡지 않기 위함입니다.
+     * 입력 파이프가 없어 호출한 스레드가 직접 읽는 노드는 그 스레드에서 허가를 기다리며 끝까지 보냅니다.</p>
      * 
      * @param message 입력 메시지 (실제로는 사용되지 않음)
      */
     @Override
     public void onMessage(Message message) {
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(new FileInputStream(filePath), charset))) {
-            
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // 각 라인을 별도의 메시지로 전송
-                Message lineMessage = new Message(line);
-                emit(lineMessage);
+        readLock.lock();
+        try {
+            pendingReads++;
+            pump();
+        } finally {
+            readLock.unlock();
+        }
+        flushBarriers();
+    }
+
+    /**
+     * 속도 제한으로 멈춘 읽기가 있으면 이어서 읽고, 없으면 입력 포트에서 다음 메시지를 받아 처리합니다.
+     *
+     * @return 이어 읽었거나 메시지를 처리했으면 true, 받을 메시지가 없으면 false
+     */
+    @Override
+    public boolean processNext() {
+        boolean resumed = false;
+        readLock.lock();
+        try {
+            if (reader != null || pendingReads > 0) {
+                pump();
+                resumed = true;
+            }
+        } finally {
+            readLock.unlock();
+        }
+        if (resumed) {
+            flushBarriers();
+            return true;
+        }
+        return super.processNext();
+    }
+
+    /**
+     * 열린 읽기와 기다리는 읽기를 차례로 진행합니다. 속도 제한에 걸리거나 노드가 중지되면 돌아옵니다.
+     */
+    private void pump() {
+        while (reader != null || pendingReads > 0) {
+            try {
+                if (reader == null) {
+                    pendingReads--;
+                    open();
+                }
+                if (!emitLines()) {
+                    return;
+                }
+                // 끝까지 읽었음을 남겨 두어 이 뒤의 체크포인트에서 복원해도 다시 보내지 않게 함
+                closeReader();
+                completed = true;
+            } catch (IOException e) {
+                log.error("파일 읽기 중 오류 발생. 파일: {}", filePath, e);
+                closeReader();
+                handleError(e);
+            }
+        }
+    }
+
+    /**
+     * 파일을 열고 복원된 위치까지의 라인을 건너뜁니다.
+     */
+    private void open() throws IOException {
+        reader = new BufferedReader(new InputStreamReader(new FileInputStream(filePath), charset));
+        long skip = resumePosition;
+        resumePosition = 0;
+        lineNumber = 0;
+        while (lineNumber < skip && reader.readLine() != null) {
+            lineNumber++;
+        }
+        position = lineNumber;
+        completed = false;
+    }
+
+    /**
+     * 열린 읽기에서 라인을 보냅니다.
+     *
+     * @return 파일을 끝까지 읽었으면 true, 속도 제한이나 중지로 멈췄으면 false
+     */
+    private boolean emitLines() throws IOException {
+        boolean resumable = !getInPort().getPipes().isEmpty();
+        while (true) {
+            injectPendingBarriers();
+            if (getStatus() == NodeStatus.STOPPED) {
+                log.info("노드가 중지되어 읽기를 멈춥니다. 파일: {}, 라인: {}", filePath, position);
+                abandon();
+                return false;
+            }
+            if (resumable && getOutPort().isRateLimited()) {
+                return false;
+            }
+            String line = reader.readLine();
+            if (line == null) {
+                return true;
+            }
+            lineNumber++;
+            // 각 라인을 별도의 메시지로 전송
+            if (pool == null) {
+                emit(new Message(line));
+            } else {
+                PooledMessage lineMessage = pool.acquire(line);
+                try {
+                    emit(lineMessage);
+                } finally {
+                    lineMessage.release();
+                }
             }
+            position = lineNumber;
+        }
+    }
+
+    /**
+     * 열린 읽기와 기다리는 읽기를 버립니다. 마지막으로 보낸 위치를 남겨 두어 다시 시작하거나
+     * 체크포인트에서 복원하면 이어 읽게 합니다.
+     */
+    private void abandon() {
+        if (reader != null) {
+            resumePosition = position;
+            closeReader();
+        }
+        pendingReads = 0;
+    }
+
+    private void closeReader() {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
         } catch (IOException e) {
-            log.error("파일 읽기 중 오류 발생. 파일: {}", filePath, e);
-            handleError(e);
+            log.warn("파일 닫기 실패. 파일: {}", filePath, e);
+        }
+        reader = null;
+    }
+
+    /**
+     * 노드를 중지합니다. 다른 스레드에서 읽는 중이면 그 읽기가 다음 라인에서 멈출 때까지 기다리므로,
+     * 반환된 뒤에는 이 노드가 메시지를 더 보내지 않습니다. 속도 제한으로 멈춰 있던 읽기는 버립니다.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        readLock.lock();
+        try {
+            abandon();
+        } finally {
+            readLock.unlock();
+        }
+        // 중지한 위치로 남은 배리어를 주입하여 하류의 정렬이 끝나게 함
+        flushBarriers();
+    }
+
+    /**
+     * 배리어의 주입을 요청합니다. 읽는 중이면 읽는 스레드가 다음 라인을 보내기 전에 주입하고,
+     * 읽는 중이 아니면 호출한 스레드에서 곧바로 주입합니다.
+     *
+     * @param barrier 주입할 배리어
+     */
+    @Override
+    public void injectBarrier(CheckpointBarrier barrier) {
+        pendingBarriers.add(barrier);
+        flushBarriers();
+    }
+
+    /**
+     * 읽는 스레드가 없으면 기다리는 배리어를 주입합니다. 읽는 스레드가 마지막으로 확인한 뒤 들어온 배리어를 놓치지 않도록
+     * 잠금을 놓은 쪽에서도 호출합니다.
+     */
+    private void flushBarriers() {
+        while (!pendingBarriers.isEmpty() && readLock.tryLock()) {
+            try {
+                injectPendingBarriers();
+            } finally {
+                readLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 기다리는 배리어마다 현재 위치를 스냅샷하여 통보하고 배리어를 출력 포트로 보냅니다. readLock을 잡은 상태에서만 호출합니다.
+     */
+    private void injectPendingBarriers() {
+        CheckpointBarrier barrier;
+        while ((barrier = pendingBarriers.poll()) != null) {
+            barrier.acknowledge(this, snapshot());
+            getOutPort().propagate(barrier);
+            log.debug("체크포인트 배리어 주입. 파일: {}, CheckpointId: {}, 라인: {}", filePath, barrier.getCheckpointId(),
+                    position);
+        }
+    }
+
+    /**
+     * 현재 읽기 위치를 직렬화합니다.
+     *
+     * @return 마지막으로 전송한 라인 번호 8바이트와 읽기를 끝까지 마쳤는지를 나타내는 1바이트를 담은 배열
+     */
+    @Override
+    public byte[] snapshot() {
+        return ByteBuffer.allocate(STATE_BYTES).putLong(position).put((byte) (completed ? 1 : 0)).array();
+    }
+
+    /**
+     * 저장된 읽기 위치를 복원합니다. 다음 읽기는 해당 라인 다음부터 시작됩니다.
+     * 끝까지 마친 읽기의 상태이면 다음 읽기는 이미 보낸 라인을 모두 건너뛰고 그 뒤에 추가된 라인만 보냅니다.
+     * 완료 여부가 없는 8바이트 상태는 읽는 중이던 위치로 복원합니다.
+     *
+     * @param state {@link #snapshot()}이 반환했던 바이트 배열
+     * @throws IllegalArgumentException 상태의 길이가 올바르지 않은 경우
+     */
+    @Override
+    public void restore(byte[] state) {
+        if (state == null || (state.length != STATE_BYTES && state.length != Long.BYTES)) {
+            log.error("복원할 상태가 올바르지 않습니다. 파일: {}", filePath);
+            throw new IllegalArgumentException("ReadFileNode 상태는 9바이트여야 합니다");
         }
+        ByteBuffer buffer = ByteBuffer.wrap(state);
+        resumePosition = buffer.getLong();
+        position = resumePosition;
+        completed = buffer.hasRemaining() && buffer.get() == 1;
+        log.info("읽기 위치 복원됨. 파일: {}, 라인: {}, 완료: {}", filePath, resumePosition, completed);
     }
-}
\ No newline at end of file
+}
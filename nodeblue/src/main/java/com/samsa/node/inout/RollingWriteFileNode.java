@@ -0,0 +1,611 @@
+package com.samsa.node.inout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.LazyPayload;
+import com.samsa.core.Message;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.codec.JsonPayloadCodec;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 크기 또는 시간 기준으로 파일을 교체하며 메시지를 기록하는 노드입니다.
+ *
+ * <p>메시지는 메모리 버퍼에 쌓였다가 두 개의 버퍼를 번갈아 쓰는 방식으로 전용 쓰기 스레드에 넘겨집니다.
+ * 파일 교체, 압축, 오래된 파일 삭제는 모두 쓰기 스레드에서 수행되므로 {@link #onMessage(Message)}는
+ * 디스크 I/O를 기다리지 않습니다. 쓰기 스레드가 디스크 속도를 따라가지 못해 두 버퍼가 모두 차 있는 경우에만
+ * 버퍼가 비워질 때까지 대기합니다.</p>
+ *
+ * <p>쓰기 스레드는 {@link #start()}에서 시작하고 {@link #stop()}에서 남은 버퍼를 기록한 뒤 끝나므로,
+ * 중지한 노드도 {@link #restart()}로 다시 기록할 수 있습니다. 시작하지 않은 노드에 직접 메시지를 넣으면 그때 쓰기 스레드를 시작합니다.</p>
+ *
+ * <p>파일 이름 패턴에는 다음 치환자를 사용할 수 있습니다.</p>
+ * <ul>
+ * <li>{@code {time}}: 파일을 연 시각 (yyyyMMdd-HHmmss)</li>
+ * <li>{@code {index}}: 파일 일련번호</li>
+ * </ul>
+ * 압축을 사용하면 파일 이름 뒤에 압축 형식의 확장자가 붙습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class RollingWriteFileNode extends InOutNode {
+
+    /** 기본 버퍼 크기(바이트) */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final String TIME_TOKEN = "{time}";
+    private static final String INDEX_TOKEN = "{index}";
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+    private static final long HAND_OFF_POLL_MILLIS = 100;
+
+    /**
+     * 파일 압축 방식
+     */
+    public enum Compression {
+        /** 압축하지 않음 */
+        NONE(""),
+        /** gzip 압축 */
+        GZIP(".gz");
+
+        private final String extension;
+
+        Compression(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final Path directory;
+    private final String filePattern;
+    private final Pattern fileNameRegex;
+    private final long maxFileBytes;
+    private final long rotationIntervalMillis;
+    private final Compression compression;
+    private final int maxFiles;
+    private final Charset charset;
+    private final int bufferSize;
+
+    /** 메시지를 쌓고 있는 버퍼 */
+    private ByteArrayOutputStream active;
+
+    /** 쓰기 스레드가 비워서 돌려준 버퍼 */
+    private final BlockingQueue<ByteArrayOutputStream> freeBuffers = new ArrayBlockingQueue<>(2);
+
+    /** 쓰기 스레드에 넘겨진 버퍼 */
+    private final BlockingQueue<ByteArrayOutputStream> filledBuffers = new ArrayBlockingQueue<>(2);
+
+    private final ReentrantLock bufferLock = new ReentrantLock();
+
+    /** 실행 중인 쓰기 스레드, 시작 전이거나 중지된 뒤에는 null. bufferLock을 잡은 상태에서만 바꿈 */
+    private volatile Thread writerThread;
+    private volatile boolean closed;
+
+    // 이하 필드는 쓰기 스레드에서만 사용
+    private final Deque<Path> retainedFiles = new ArrayDeque<>();
+    private CountingOutputStream fileStream;
+    private OutputStream output;
+    private long openedAt;
+    private long nextIndex;
+
+    /**
+     * 크기 기준으로만 교체하고 압축하지 않는 노드를 생성합니다.
+     *
+     * @param inPort       입력 포트
+     * @param outPort      출력 포트
+     * @param directory    파일을 기록할 디렉터리
+     * @param filePattern  파일 이름 패턴
+     * @param maxFileBytes 파일 하나의 최대 크기(바이트)
+     */
+    public RollingWriteFileNode(InPort inPort, OutPort outPort, String directory, String filePattern,
+            long maxFileBytes) {
+        this(inPort, outPort, directory, filePattern, maxFileBytes, Duration.ZERO, Compression.NONE, 0,
+                StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 교체 조건, 압축, 보관 개수를 지정하여 노드를 생성합니다.
+     *
+     * @param inPort           입력 포트
+     * @param outPort          출력 포트
+     * @param directory        파일을 기록할 디렉터리
+     * @param filePattern      파일 이름 패턴
+     * @param maxFileBytes     파일 하나의 최대 크기(디스크에 기록된 바이트), 0이면 크기로 교체하지 않음
+     * @param rotationInterval 파일 교체 주기, 0이면 시간으로 교체하지 않음
+     * @param compression      압축 방식
+     * @param maxFiles         보관할 최대 파일 수, 0이면 삭제하지 않음
+     * @param charset          문자 인코딩
+     * @param bufferSize       버퍼 하나의 크기(바이트)
+     * @throws IllegalArgumentException 인자가 올바르지 않거나 디렉터리를 만들 수 없는 경우
+     */
+    public RollingWriteFileNode(InPort inPort, OutPort outPort, String directory, String filePattern,
+            long maxFileBytes, Duration rotationInterval, Compression compression, int maxFiles, Charset charset,
+            int bufferSize) {
+        super(inPort, outPort);
+
+        if (directory == null || directory.trim().isEmpty()) {
+            log.error("Invalid directory: null or empty");
+            throw new IllegalArgumentException("Directory cannot be null or empty");
+        }
+        if (filePattern == null || filePattern.trim().isEmpty() || filePattern.contains("/")) {
+            log.error("Invalid file pattern: {}", filePattern);
+            throw new IllegalArgumentException("File pattern must be a non-empty file name");
+        }
+        if (maxFileBytes < 0 || rotationInterval == null || rotationInterval.isNegative() || maxFiles < 0
+                || bufferSize < 1) {
+            log.error("Invalid rotation parameters");
+            throw new IllegalArgumentException("Rotation parameters cannot be negative");
+        }
+        if (compression == null || charset == null) {
+            log.error("Compression and charset cannot be null");
+            throw new IllegalArgumentException("Compression and charset cannot be null");
+        }
+
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            log.error("Cannot create directory: {}", this.directory, e);
+            throw new IllegalArgumentException("Cannot create directory", e);
+        }
+
+        this.filePattern = filePattern;
+        this.fileNameRegex = toRegex(filePattern + compression.getExtension());
+        this.maxFileBytes = maxFileBytes;
+        this.rotationIntervalMillis = rotationInterval.toMillis();
+        this.compression = compression;
+        this.maxFiles = maxFiles;
+        this.charset = charset;
+        this.bufferSize = bufferSize;
+        this.active = new ByteArrayOutputStream(bufferSize);
+        this.freeBuffers.add(new ByteArrayOutputStream(bufferSize));
+
+        scanExistingFiles();
+    }
+
+    /**
+     * 노드를 시작하고 쓰기 스레드를 시작합니다. 중지된 노드를 {@link #restart()}로 다시 시작하면 다시 메시지를 받습니다.
+     */
+    @Override
+    public void start() {
+        super.start();
+        if (getStatus() != NodeStatus.RUNNING) {
+            return;
+        }
+        bufferLock.lock();
+        try {
+            closed = false;
+            startWriter();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    /**
+     * 쓰기 스레드가 없으면 시작합니다. 이전 쓰기 스레드가 아직 끝나지 않았으면 그 스레드가 계속 기록합니다.
+     * bufferLock을 잡은 상태에서 호출해야 합니다.
+     */
+    private void startWriter() {
+        if (writerThread != null && writerThread.isAlive()) {
+            return;
+        }
+        Thread writer = new Thread(this::writeLoop, "rolling-writer-" + getId());
+        writer.setDaemon(true);
+        writerThread = writer;
+        writer.start();
+    }
+
+    private boolean isWriterAlive() {
+        Thread writer = writerThread;
+        return writer != null && writer.isAlive();
+    }
+
+    /**
+     * 메시지를 버퍼에 기록하고 다음 노드로 전송합니다.
+     *
+     * @param message 기록할 메시지
+     * @throws IllegalStateException 노드가 중지되었거나 쓰기 스레드가 멈춰 버퍼를 넘길 수 없는 경우
+     */
+    @Override
+    public void onMessage(Message message) {
+        Objects.requireNonNull(message, "Input message cannot be null");
+
+        byte[] line = toBytes(message.getRawPayload());
+        bufferLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Node is closed: " + getId());
+            }
+            if (writerThread == null) {
+                // 시작하지 않고 직접 호출한 노드
+                startWriter();
+            }
+            active.write(line, 0, line.length);
+            active.write('\n');
+            if (active.size() >= bufferSize) {
+                handOff();
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+        emit(message);
+    }
+
+    /**
+     * 페이로드를 한 줄의 바이트로 만듭니다. JSON 원본 페이로드는 값으로 바꾸지 않고 원본을 기록합니다.
+     */
+    private byte[] toBytes(Object payload) {
+        if (payload instanceof LazyPayload lazy) {
+            if (lazy.getCodec() == JsonPayloadCodec.INSTANCE && StandardCharsets.UTF_8.equals(charset)) {
+                return lazy.getRaw();
+            }
+            return lazy.toText().getBytes(charset);
+        }
+        return String.valueOf(payload).getBytes(charset);
+    }
+
+    /**
+     * 가득 찬 버퍼를 쓰기 스레드에 넘기고 빈 버퍼로 교체합니다. bufferLock을 잡은 상태에서 호출해야 합니다.
+     * 쓰기 스레드가 멈춰 빈 버퍼가 돌아오지 않으면 넘긴 버퍼를 되찾고 실패합니다.
+     *
+     * @throws IllegalStateException 쓰기 스레드가 멈췄거나 기다리는 중에 인터럽트된 경우
+     */
+    private void handOff() {
+        if (!isWriterAlive()) {
+            throw new IllegalStateException("Writer thread is not running: " + getId());
+        }
+        try {
+            // 버퍼는 두 개뿐이고 하나는 active이므로 대기열에는 항상 자리가 있음
+            filledBuffers.put(active);
+            ByteArrayOutputStream free;
+            while ((free = freeBuffers.poll(HAND_OFF_POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                if (!isWriterAlive()) {
+                    reclaimActive();
+                    throw new IllegalStateException("Writer thread stopped: " + getId());
+                }
+            }
+            active = free;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reclaimActive();
+            throw new IllegalStateException("Interrupted while handing off buffer", e);
+        }
+    }
+
+    /**
+     * 넘기지 못한 버퍼를 되찾습니다. 쓰기 스레드가 이미 가져간 뒤라면 그 버퍼는 돌아오지 않으므로 새 버퍼를 씁니다.
+     */
+    private void reclaimActive() {
+        if (!filledBuffers.remove(active)) {
+            ByteArrayOutputStream free = freeBuffers.poll();
+            active = free != null ? free : new ByteArrayOutputStream(bufferSize);
+        }
+    }
+
+    /**
+     * 지금까지 받은 메시지가 모두 파일에 기록될 때까지 기다립니다.
+     *
+     * @param timeout 최대 대기 시간
+     * @return 제한 시간 안에 모두 기록되었으면 true, 쓰기 스레드가 실행 중이 아니면 false
+     */
+    public boolean flush(Duration timeout) {
+        bufferLock.lock();
+        try {
+            if (!isWriterAlive()) {
+                return false;
+            }
+            if (active.size() > 0) {
+                handOff();
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (freeBuffers.isEmpty() || !filledBuffers.isEmpty()) {
+            if (System.nanoTime() > deadline || !isWriterAlive()) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 남은 메시지를 기록하고 파일을 닫은 뒤 쓰기 스레드와 노드를 중지합니다.
+     * 쓰기 스레드가 이미 멈춰 기록하지 못한 메시지는 버퍼에 남아 있다가 다시 시작하면 기록됩니다.
+     */
+    @Override
+    public void stop() {
+        Thread writer;
+        bufferLock.lock();
+        try {
+            writer = writerThread;
+            if (!closed && isWriterAlive()) {
+                try {
+                    // 비어 있더라도 버퍼를 넘겨 쓰기 스레드가 대기 없이 종료를 확인하도록 함
+                    handOff();
+                } catch (IllegalStateException e) {
+                    log.error("Cannot hand off remaining buffer on stop: {}", getId(), e);
+                }
+            }
+            closed = true;
+            writerThread = null;
+        } finally {
+            bufferLock.unlock();
+        }
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.stop();
+    }
+
+    private void writeLoop() {
+        while (true) {
+            try {
+                ByteArrayOutputStream buffer = filledBuffers.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (buffer == null) {
+                    buffer = takeIdleBuffer();
+                }
+                if (buffer != null) {
+                    writeAndRecycle(buffer);
+                } else {
+                    rotateIfExpired();
+                }
+                if (closed && filledBuffers.isEmpty()) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                // 예기치 못한 오류로 쓰기 스레드가 끝나면 버퍼를 넘기는 스레드가 멈추므로 보고하고 계속 기록함
+                log.error("Unexpected error in rolling writer for directory: {}", directory, e);
+                discardCurrent();
+                handleError(e);
+            }
+        }
+        closeCurrent();
+    }
+
+    /**
+     * 버퍼를 기록하고, 성공 여부와 관계없이 비워서 돌려줍니다. 기록에 실패하면 버퍼의 내용은 버리고
+     * 망가진 파일을 닫아 다음 버퍼가 새 파일에 기록되게 합니다.
+     */
+    private void writeAndRecycle(ByteArrayOutputStream buffer) {
+        try {
+            if (buffer.size() > 0) {
+                write(buffer);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Error writing rolling file in directory: {}, dropped bytes: {}", directory, buffer.size(), e);
+            discardCurrent();
+            handleError(e);
+        } finally {
+            buffer.reset();
+            freeBuffers.offer(buffer);
+        }
+    }
+
+    /**
+     * 메시지가 뜸해서 버퍼가 차지 않은 경우에도 주기적으로 기록되도록 현재 버퍼를 가져옵니다.
+     * 버퍼를 넘기는 중인 스레드를 기다리지 않도록 잠금을 얻지 못하면 건너뜁니다.
+     */
+    private ByteArrayOutputStream takeIdleBuffer() {
+        if (!bufferLock.tryLock()) {
+            return null;
+        }
+        try {
+            if (active.size() == 0) {
+                return null;
+            }
+            ByteArrayOutputStream spare = freeBuffers.poll();
+            if (spare == null) {
+                return null;
+            }
+            ByteArrayOutputStream buffer = active;
+            active = spare;
+            return buffer;
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    private void write(ByteArrayOutputStream buffer) throws IOException {
+        if (output == null || needsRotation()) {
+            rotate();
+        }
+        buffer.writeTo(output);
+        output.flush();
+    }
+
+    private boolean needsRotation() {
+        return (maxFileBytes > 0 && fileStream.count >= maxFileBytes)
+                || (rotationIntervalMillis > 0 && System.currentTimeMillis() - openedAt >= rotationIntervalMillis);
+    }
+
+    private void rotateIfExpired() {
+        if (output != null && rotationIntervalMillis > 0
+                && System.currentTimeMillis() - openedAt >= rotationIntervalMillis) {
+            closeCurrent();
+        }
+    }
+
+    private void rotate() throws IOException {
+        closeCurrent();
+
+        Path file = nextFile();
+        fileStream = new CountingOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE_NEW));
+        output = compression == Compression.GZIP ? new GZIPOutputStream(fileStream, 8192, true) : fileStream;
+        openedAt = System.currentTimeMillis();
+        retainedFiles.addLast(file);
+        log.info("Rolling file opened: {}", file);
+
+        while (maxFiles > 0 && retainedFiles.size() > maxFiles) {
+            Path oldest = retainedFiles.removeFirst();
+            Files.deleteIfExists(oldest);
+            log.info("Rolling file removed: {}", oldest);
+        }
+    }
+
+    private Path nextFile() {
+        String base = filePattern.replace(TIME_TOKEN, LocalDateTime.now().format(TIME_FORMAT));
+        if (base.contains(INDEX_TOKEN)) {
+            while (true) {
+                Path file = directory.resolve(base.replace(INDEX_TOKEN, Long.toString(nextIndex++))
+                        + compression.getExtension());
+                if (!Files.exists(file)) {
+                    return file;
+                }
+            }
+        }
+
+        Path file = directory.resolve(base + compression.getExtension());
+        for (int suffix = 1; Files.exists(file); suffix++) {
+            file = directory.resolve(base + "." + suffix + compression.getExtension());
+        }
+        return file;
+    }
+
+    private void closeCurrent() {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            log.error("Error closing rolling file in directory: {}", directory, e);
+            handleError(e);
+        }
+        output = null;
+        fileStream = null;
+    }
+
+    /**
+     * 기록에 실패한 파일을 닫습니다. 이미 보고한 실패이므로 닫을 때의 오류는 기록만 합니다.
+     */
+    private void discardCurrent() {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            log.warn("Error closing failed rolling file in directory: {}", directory, e);
+        }
+        output = null;
+        fileStream = null;
+    }
+
+    /**
+     * 재시작 시에도 보관 개수가 지켜지도록 패턴에 맞는 기존 파일을 오래된 순서로 등록하고 일련번호를 이어갑니다.
+     */
+    private void scanExistingFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> fileNameRegex.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(RollingWriteFileNode::lastModified))
+                    .forEach(file -> {
+                        retainedFiles.addLast(file);
+                        Matcher matcher = fileNameRegex.matcher(file.getFileName().toString());
+                        if (matcher.matches() && filePattern.contains(INDEX_TOKEN)) {
+                            nextIndex = Math.max(nextIndex, Long.parseLong(matcher.group("index")) + 1);
+                        }
+                    });
+        } catch (IOException e) {
+            log.error("Cannot list directory: {}", directory, e);
+            throw new IllegalArgumentException("Cannot list directory", e);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static Pattern toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        int position = 0;
+        boolean indexSeen = false;
+        while (position < pattern.length()) {
+            if (pattern.startsWith(TIME_TOKEN, position)) {
+                regex.append("\\d{8}-\\d{6}");
+                position += TIME_TOKEN.length();
+            } else if (pattern.startsWith(INDEX_TOKEN, position)) {
+                regex.append(indexSeen ? "\\d+" : "(?<index>\\d+)");
+                indexSeen = true;
+                position += INDEX_TOKEN.length();
+            } else {
+                regex.append(Pattern.quote(String.valueOf(pattern.charAt(position))));
+                position++;
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * 디스크에 실제로 기록된 바이트 수를 세는 스트림입니다.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.samsa.node.inout;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 큰 파일을 라인 경계에 맞춘 바이트 구간으로 나누어 구간마다 하나의 메시지로 전송하는 노드입니다.
+ * 파일 내용은 읽지 않고 {@link FileChunk}만 전송하므로, 실제 읽기와 변환은
+ * {@link ParallelTransformNode}에서 여러 스레드가 나누어 처리할 수 있습니다.
+ *
+ * <p>각 메시지에는 원래 순서를 복원할 수 있도록 {@link #SPLIT_ID}, {@link #SEQUENCE}, {@link #COUNT}
+ * 메타데이터가 붙으며, {@link OrderedJoinNode}가 이를 이용해 순서를 되돌립니다. 구간이 하나라도 빠지면 순서를 되돌리는 노드가
+ * 그 구간을 계속 기다리므로, 구간은 출력 파이프에 자리가 있을 때만 하나씩 전송합니다. 입력 파이프가 있어 스케줄러가 실행하는 노드는
+ * 출력 파이프가 가득 차거나 속도 제한에 걸리면 돌아오고 남은 구간은 다음 {@link #processNext()}에서 이어서 보내며,
+ * 입력 파이프가 없어 직접 호출한 노드는 자리가 날 때까지 기다립니다.</p>
+ *
+ * <p>줄바꿈을 바이트 단위로 찾으므로 UTF-8처럼 ASCII와 호환되는 인코딩에서만 사용할 수 있습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class SplitFileNode extends InOutNode {
+
+    /** 한 번의 분할을 식별하는 메타데이터 키 */
+    public static final String SPLIT_ID = "split.id";
+
+    /** 구간 순번 메타데이터 키 */
+    public static final String SEQUENCE = "split.sequence";
+
+    /** 전체 구간 수 메타데이터 키 */
+    public static final String COUNT = "split.count";
+
+    /** 기본 구간 크기(바이트) */
+    public static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    private static final int SCAN_BUFFER_SIZE = 4096;
+
+    /** 직접 호출한 노드가 출력 파이프에 자리가 나기를 기다리는 간격 */
+    private static final long OUTPUT_POLL_NANOS = 100_000;
+
+    /** 나눌 파일의 경로 */
+    private final Path filePath;
+
+    /** 파일의 문자 인코딩 */
+    private final Charset charset;
+
+    /** 구간 하나의 목표 크기 */
+    private final long chunkSize;
+
+    /** 구간을 보내는 동안 잡고 있는 잠금. 중지할 때 진행 중인 전송이 멈추기를 기다리는 데 사용 */
+    private final ReentrantLock splitLock = new ReentrantLock();
+
+    /** 보내고 있는 분할의 구간과 다음에 보낼 순번, 보내는 중이 아니면 null. 이하 필드는 splitLock으로 보호 */
+    private List<long[]> ranges;
+    private String splitId;
+    private int nextSequence;
+
+    /** 앞선 분할이 끝나기를 기다리는 요청 수 */
+    private int pendingSplits;
+
+    /**
+     * 기본 구간 크기와 UTF-8 인코딩으로 노드를 생성합니다.
+     *
+     * @param inPort   입력 포트
+     * @param outPort  출력 포트
+     * @param filePath 나눌 파일의 경로
+     * @throws IllegalArgumentException 파일 경로가 null이거나 비어있는 경우
+     */
+    public SplitFileNode(InPort inPort, OutPort outPort, String filePath) {
+        this(inPort, outPort, filePath, StandardCharsets.UTF_8, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 인코딩과 구간 크기를 지정하여 노드를 생성합니다.
+     *
+     * @param inPort    입력 포트
+     * @param outPort   출력 포트
+     * @param filePath  나눌 파일의 경로
+     * @param charset   파일의 문자 인코딩
+     * @param chunkSize 구간 하나의 목표 크기(바이트). 실제 구간은 다음 줄바꿈까지 늘어날 수 있습니다.
+     * @throws IllegalArgumentException 파일 경로가 비어있거나, 인코딩이 null이거나, 구간 크기가 0 이하인 경우
+     */
+    public SplitFileNode(InPort inPort, OutPort outPort, String filePath, Charset charset, long chunkSize) {
+        super(inPort, outPort);
+
+        if (filePath == null || filePath.trim().isEmpty()) {
+            log.error("파일 경로가 유효하지 않습니다");
+            throw new IllegalArgumentException("파일 경로는 비어있을 수 없습니다");
+        }
+        if (charset == null) {
+            log.error("문자 인코딩이 null입니다");
+            throw new IllegalArgumentException("문자 인코딩은 null일 수 없습니다");
+        }
+        if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
+            log.error("구간 크기가 유효하지 않습니다: {}", chunkSize);
+            throw new IllegalArgumentException("구간 크기는 1 이상 2GB 미만이어야 합니다");
+        }
+
+        this.filePath = Paths.get(filePath);
+        this.charset = charset;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 입력된 메시지에 관계없이 파일을 구간으로 나누어 전송합니다.
+     *
+     * @param message 입력 메시지 (실제로는 사용되지 않음)
+     */
+    @Override
+    public void onMessage(Message message) {
+        splitLock.lock();
+        try {
+            pendingSplits++;
+            pump();
+        } finally {
+            splitLock.unlock();
+        }
+    }
+
+    /**
+     * 출력을 기다리며 멈춘 분할이 있으면 이어서 보내고, 없으면 입력 포트에서 다음 메시지를 받아 처리합니다.
+     *
+     * @return 이어 보냈거나 메시지를 처리했으면 true, 받을 메시지가 없으면 false
+     */
+    @Override
+    public boolean processNext() {
+        splitLock.lock();
+        try {
+            if (ranges != null || pendingSplits > 0) {
+                pump();
+                return true;
+            }
+        } finally {
+            splitLock.unlock();
+        }
+        return super.processNext();
+    }
+
+    /**
+     * 열린 분할과 기다리는 분할을 차례로 진행합니다. 출력을 기다려야 하거나 노드가 중지되면 돌아옵니다.
+     */
+    private void pump() {
+        while (ranges != null || pendingSplits > 0) {
+            if (ranges == null) {
+                pendingSplits--;
+                try {
+                    ranges = split();
+                } catch (IOException e) {
+                    log.error("파일 분할 중 오류 발생. 파일: {}", filePath, e);
+                    handleError(e);
+                    continue;
+                }
+                splitId = UUID.randomUUID().toString();
+                nextSequence = 0;
+            }
+            if (!emitChunks()) {
+                return;
+            }
+            log.debug("파일 분할 완료. 파일: {}, 구간 수: {}", filePath, ranges.size());
+            ranges = null;
+        }
+    }
+
+    /**
+     * 열린 분할의 남은 구간을 보냅니다.
+     *
+     * @return 모든 구간을 보냈으면 true, 출력을 기다리거나 중지로 멈췄으면 false
+     */
+    private boolean emitChunks() {
+        boolean resumable = !getInPort().getPipes().isEmpty();
+        int count = ranges.size();
+        while (nextSequence < count) {
+            if (!awaitOutput(resumable)) {
+                return false;
+            }
+            long[] range = ranges.get(nextSequence);
+            FileChunk chunk = new FileChunk(filePath, charset, range[0], range[1], nextSequence, count);
+            emit(new Message(chunk, Map.of(SPLIT_ID, splitId, SEQUENCE, nextSequence, COUNT, count)));
+            nextSequence++;
+        }
+        return true;
+    }
+
+    /**
+     * 다음 구간을 보낼 수 있는지 확인합니다. 직접 호출한 노드는 출력 파이프에 자리가 날 때까지 기다립니다.
+     *
+     * @param resumable 다음 차례에 이어 보낼 수 있는지 여부
+     * @return 보낼 수 있으면 true, 차례를 넘기거나 중지되어 멈춰야 하면 false
+     */
+    private boolean awaitOutput(boolean resumable) {
+        while (true) {
+            if (getStatus() == NodeStatus.STOPPED) {
+                log.info("노드가 중지되어 분할 전송을 멈춥니다. 파일: {}, 보낸 구간: {}", filePath, nextSequence);
+                abandon();
+                return false;
+            }
+            boolean full = !getOutPort().canAcceptAll();
+            if (!full && !(resumable && getOutPort().isRateLimited())) {
+                return true;
+            }
+            if (resumable) {
+                return false;
+            }
+            LockSupport.parkNanos(OUTPUT_POLL_NANOS);
+        }
+    }
+
+    /**
+     * 열린 분할과 기다리는 분할을 버립니다.
+     */
+    private void abandon() {
+        ranges = null;
+        splitId = null;
+        pendingSplits = 0;
+    }
+
+    /**
+     * 노드를 중지합니다. 다른 스레드에서 구간을 보내는 중이면 그 전송이 다음 구간에서 멈출 때까지 기다리므로,
+     * 반환된 뒤에는 이 노드가 메시지를 더 보내지 않습니다.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        splitLock.lock();
+        try {
+            abandon();
+        } finally {
+            splitLock.unlock();
+        }
+    }
+
+    /**
+     * 파일을 목표 크기 단위로 나누되, 각 경계를 다음 줄바꿈 바로 뒤로 옮깁니다.
+     */
+    private List<long[]> split() throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            long start = 0;
+            while (start < size) {
+                long end = start + chunkSize >= size ? size : nextLineStart(channel, buffer, start + chunkSize, size);
+                ranges.add(new long[] { start, end });
+                start = end;
+            }
+        }
+        return ranges;
+    }
+
+    private static long nextLineStart(FileChannel channel, ByteBuffer buffer, long from, long size)
+            throws IOException {
+        long position = from - 1;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+}
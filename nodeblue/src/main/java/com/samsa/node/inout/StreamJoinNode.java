@@ -0,0 +1,369 @@
+package com.samsa.node.inout;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 두 입력 흐름의 메시지를 키와 시간으로 짝지어 하나의 메시지로 내보내는 노드입니다.
+ * 예를 들어 같은 장비의 Modbus 측정값과 MQTT 설정값을 묶을 수 있습니다.
+ *
+ * <p>입력 포트는 파이프를 구분하지 않으므로, 메시지가 어느 쪽인지는 쪽 메타데이터(기본 {@link #SIDE})의 값이
+ * {@link #LEFT}인지 {@link #RIGHT}인지로 정합니다. 상류에서 {@link FunctionNode}의 대상 메타데이터로 붙일 수 있습니다.
+ * 짝지은 메시지의 페이로드는 {@code left}, {@code right} 항목을 가진 맵이며, 메타데이터는 왼쪽 메시지의 것에
+ * 오른쪽에만 있는 항목을 더한 것입니다.</p>
+ *
+ * <ul>
+ * <li>{@link Mode#INNER}: 양쪽 메시지를 창 동안 보관하며, 도착 시각의 차이가 창 이내인 같은 키의 반대쪽 메시지와
+ * 모두 짝짓습니다.</li>
+ * <li>{@link Mode#LEFT}: 내부 조인과 같되, 한 번도 짝지어지지 않은 왼쪽 메시지는 보관에서 밀려날 때
+ * {@code right}가 null인 메시지로 내보냅니다.</li>
+ * <li>{@link Mode#LATEST}: 오른쪽은 키마다 가장 최근 메시지만 보관하고, 왼쪽 메시지는 보관하지 않고 도착하는 즉시
+ * 최근 값과 짝지어 내보냅니다. 최근 값이 없거나 창보다 오래되었으면 {@code right}가 null입니다.</li>
+ * </ul>
+ *
+ * <p>보관량은 쪽마다 키 수와 키당 메시지 수로 제한합니다. 한 키에 메시지가 몰려도 키당 상한을 넘으면 가장 오래된 것부터,
+ * 키가 많아지면 가장 오래전에 보관한 키부터 밀려나므로 메모리 사용량이 유입 분포와 관계없이 일정하게 유지됩니다.
+ * 창이 지난 메시지는 메시지가 도착할 때 정리하며, 노드를 중지하면 남은 왼쪽 메시지도 조인 방식에 따라 내보냅니다.
+ * 시간은 메시지가 이 노드에 도착한 시각을 기준으로 합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class StreamJoinNode extends InOutNode {
+
+    /** 메시지가 어느 쪽인지 담는 기본 메타데이터 키 */
+    public static final String SIDE = "join.side";
+
+    /** 왼쪽 메시지의 쪽 값 */
+    public static final String LEFT = "left";
+
+    /** 오른쪽 메시지의 쪽 값 */
+    public static final String RIGHT = "right";
+
+    /** 기본 키당 보관 메시지 수 */
+    public static final int DEFAULT_MAX_PER_KEY = 16;
+
+    /** 기본 쪽당 보관 키 수 */
+    public static final int DEFAULT_MAX_KEYS = 10_000;
+
+    /**
+     * 조인 방식
+     */
+    public enum Mode {
+        /** 양쪽 모두 짝이 있는 경우만 내보냄 */
+        INNER,
+        /** 짝이 없는 왼쪽 메시지도 내보냄 */
+        LEFT,
+        /** 왼쪽 메시지를 오른쪽의 최근 값과 짝지음 */
+        LATEST
+    }
+
+    private final Mode mode;
+    private final String keyMetadata;
+    private final String sideMetadata;
+    private final long windowNanos;
+    private final int maxPerKey;
+    private final int maxKeys;
+
+    /** 키별 보관 메시지, 가장 최근에 보관한 키가 뒤에 오도록 유지 */
+    private final Map<Object, ArrayDeque<Entry>> left = new LinkedHashMap<>();
+    private final Map<Object, ArrayDeque<Entry>> right = new LinkedHashMap<>();
+
+    private int bufferedCount;
+    private long joinedCount;
+    private long unmatchedCount;
+    private long expiredCount;
+    private long overflowCount;
+
+    /**
+     * 기본 보관 한도로 노드를 생성합니다.
+     *
+     * @param inPort      입력 포트
+     * @param outPort     출력 포트
+     * @param mode        조인 방식
+     * @param keyMetadata 짝지을 키를 담은 메타데이터 키
+     * @param window      짝지을 수 있는 도착 시각의 차이, {@link Mode#LATEST}에서 0이면 최근 값이 만료되지 않음
+     * @throws IllegalArgumentException 인자가 null이거나 창이 유효하지 않은 경우
+     */
+    public StreamJoinNode(InPort inPort, OutPort outPort, Mode mode, String keyMetadata, Duration window) {
+        this(inPort, outPort, mode, keyMetadata, SIDE, window, DEFAULT_MAX_PER_KEY, DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * 노드를 생성합니다.
+     *
+     * @param inPort       입력 포트
+     * @param outPort      출력 포트
+     * @param mode         조인 방식
+     * @param keyMetadata  짝지을 키를 담은 메타데이터 키
+     * @param sideMetadata 쪽을 담은 메타데이터 키
+     * @param window       짝지을 수 있는 도착 시각의 차이, {@link Mode#LATEST}에서 0이면 최근 값이 만료되지 않음
+     * @param maxPerKey    쪽마다 키당 보관할 최대 메시지 수
+     * @param maxKeys      쪽마다 보관할 최대 키 수
+     * @throws IllegalArgumentException 인자가 null이거나, 창이 음수이거나 {@link Mode#LATEST}가 아닌데 0이거나,
+     *                                  보관 한도가 1보다 작은 경우
+     */
+    public StreamJoinNode(InPort inPort, OutPort outPort, Mode mode, String keyMetadata, String sideMetadata,
+            Duration window, int maxPerKey, int maxKeys) {
+        super(inPort, outPort);
+        if (Objects.isNull(mode) || Objects.isNull(keyMetadata) || Objects.isNull(sideMetadata)
+                || Objects.isNull(window)) {
+            log.error("조인 방식, 키 또는 쪽 메타데이터, 창이 null입니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("Mode, key metadata, side metadata and window cannot be null");
+        }
+        if (window.isNegative() || (window.isZero() && mode != Mode.LATEST)) {
+            log.error("조인 창이 유효하지 않습니다. NodeId: {}, 창: {}", getId(), window);
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        if (maxPerKey < 1 || maxKeys < 1) {
+            log.error("보관 한도가 유효하지 않습니다. NodeId: {}, maxPerKey: {}, maxKeys: {}", getId(), maxPerKey,
+                    maxKeys);
+            throw new IllegalArgumentException("Buffer limits must be at least 1");
+        }
+        this.mode = mode;
+        this.keyMetadata = keyMetadata;
+        this.sideMetadata = sideMetadata;
+        this.windowNanos = window.toNanos();
+        this.maxPerKey = mode == Mode.LATEST ? 1 : maxPerKey;
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public synchronized void onMessage(Message message) {
+        Object side = message.getMetadata(sideMetadata);
+        Object key = message.getMetadata(keyMetadata);
+        boolean isLeft = LEFT.equals(side);
+        if ((!isLeft && !RIGHT.equals(side)) || key == null) {
+            handleError(message, new IllegalArgumentException("Join message needs " + sideMetadata + " of "
+                    + LEFT + " or " + RIGHT + " and " + keyMetadata + " metadata"));
+            return;
+        }
+        long now = System.nanoTime();
+        evictExpired(now);
+
+        if (mode == Mode.LATEST) {
+            if (isLeft) {
+                ArrayDeque<Entry> latest = right.get(key);
+                emitJoined(message, latest == null ? null : latest.peekLast().message);
+            } else {
+                store(right, key, message, now);
+            }
+            return;
+        }
+
+        Map<Object, ArrayDeque<Entry>> own = isLeft ? left : right;
+        Map<Object, ArrayDeque<Entry>> otherSide = isLeft ? right : left;
+        ArrayDeque<Entry> others = otherSide.get(key);
+        boolean matched = false;
+        if (others != null) {
+            trimExpired(otherSide, others, now);
+            for (Entry other : others) {
+                if (isLeft) {
+                    emitJoined(message, other.message);
+                } else {
+                    emitJoined(other.message, message);
+                    other.matched = true;
+                }
+                matched = true;
+            }
+        }
+        store(own, key, message, now).matched = matched;
+    }
+
+    /**
+     * 메시지를 보관합니다. 키당 한도나 키 수 한도를 넘으면 가장 오래된 것을 밀어냅니다.
+     */
+    private Entry store(Map<Object, ArrayDeque<Entry>> buffers, Object key, Message message, long now) {
+        ArrayDeque<Entry> entries = buffers.remove(key);
+        if (entries == null) {
+            if (buffers.size() >= maxKeys) {
+                Iterator<Map.Entry<Object, ArrayDeque<Entry>>> eldest = buffers.entrySet().iterator();
+                ArrayDeque<Entry> evicted = eldest.next().getValue();
+                eldest.remove();
+                for (Entry entry : evicted) {
+                    overflowCount++;
+                    discard(buffers, entry);
+                }
+            }
+            entries = new ArrayDeque<>(Math.min(maxPerKey, 4));
+        } else if (entries.size() >= maxPerKey) {
+            // 최근 값 조인은 값을 교체하는 것이므로 한도 초과로 세지 않음
+            if (mode != Mode.LATEST) {
+                overflowCount++;
+            }
+            discard(buffers, entries.pollFirst());
+        }
+        // 다시 넣어 가장 최근에 보관한 키로 옮김
+        buffers.put(key, entries);
+        // 창이 지날 때까지 보관하므로 참조를 늘려 둠
+        Entry entry = new Entry(message.retain(), now);
+        entries.addLast(entry);
+        bufferedCount++;
+        return entry;
+    }
+
+    /**
+     * 창이 지난 메시지를 정리합니다. 키를 마지막으로 보관한 순서로 두므로 앞쪽 키만 확인하면 됩니다.
+     */
+    private void evictExpired(long now) {
+        if (windowNanos == 0) {
+            return;
+        }
+        evictExpired(left, now);
+        evictExpired(right, now);
+    }
+
+    private void evictExpired(Map<Object, ArrayDeque<Entry>> buffers, long now) {
+        Iterator<ArrayDeque<Entry>> keys = buffers.values().iterator();
+        while (keys.hasNext()) {
+            ArrayDeque<Entry> entries = keys.next();
+            Entry newest = entries.peekLast();
+            if (newest != null && now - newest.arrivedAt <= windowNanos) {
+                // 이 키의 오래된 메시지만 정리하고 멈춤, 뒤쪽 키는 더 최근에 보관했음
+                trimExpired(buffers, entries, now);
+                return;
+            }
+            keys.remove();
+            for (Entry entry : entries) {
+                expiredCount++;
+                discard(buffers, entry);
+            }
+        }
+    }
+
+    private void trimExpired(Map<Object, ArrayDeque<Entry>> buffers, ArrayDeque<Entry> entries, long now) {
+        Entry oldest;
+        while ((oldest = entries.peekFirst()) != null && now - oldest.arrivedAt > windowNanos) {
+            entries.pollFirst();
+            expiredCount++;
+            discard(buffers, oldest);
+        }
+    }
+
+    /**
+     * 보관에서 밀려난 메시지를 내보내거나 버리고 참조를 해제합니다.
+     */
+    private void discard(Map<Object, ArrayDeque<Entry>> buffers, Entry entry) {
+        bufferedCount--;
+        try {
+            if (mode == Mode.LEFT && buffers == left && !entry.matched) {
+                unmatchedCount++;
+                emitJoined(entry.message, null);
+            }
+        } finally {
+            entry.message.release();
+        }
+    }
+
+    private void emitJoined(Message leftMessage, Message rightMessage) {
+        Map<String, Object> payload = new HashMap<>(4);
+        payload.put(LEFT, leftMessage.getPayload());
+        payload.put(RIGHT, rightMessage == null ? null : rightMessage.getPayload());
+        Map<String, Object> metadata = leftMessage.getMetadata();
+        if (rightMessage != null) {
+            rightMessage.getMetadataView().forEach(metadata::putIfAbsent);
+        }
+        metadata.remove(sideMetadata);
+        emit(new Message(payload, metadata));
+        joinedCount++;
+    }
+
+    /**
+     * 보관 중인 메시지를 조인 방식에 따라 내보내거나 버린 뒤 노드를 중지합니다.
+     */
+    @Override
+    public void stop() {
+        synchronized (this) {
+            for (Map<Object, ArrayDeque<Entry>> buffers : List.of(left, right)) {
+                for (ArrayDeque<Entry> entries : buffers.values()) {
+                    for (Entry entry : entries) {
+                        discard(buffers, entry);
+                    }
+                }
+                buffers.clear();
+            }
+        }
+        super.stop();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public String getKeyMetadata() {
+        return keyMetadata;
+    }
+
+    /**
+     * 보관 중인 메시지 수를 반환합니다.
+     *
+     * @return 보관 중인 메시지 수
+     */
+    public synchronized int getBufferedCount() {
+        return bufferedCount;
+    }
+
+    /**
+     * 내보낸 메시지 수를 반환합니다. 짝이 없어 내보낸 왼쪽 메시지도 포함합니다.
+     *
+     * @return 내보낸 메시지 수
+     */
+    public synchronized long getJoinedCount() {
+        return joinedCount;
+    }
+
+    /**
+     * {@link Mode#LEFT}에서 짝 없이 내보낸 왼쪽 메시지 수를 반환합니다.
+     *
+     * @return 짝 없이 내보낸 메시지 수
+     */
+    public synchronized long getUnmatchedCount() {
+        return unmatchedCount;
+    }
+
+    /**
+     * 창이 지나 보관에서 밀려난 메시지 수를 반환합니다.
+     *
+     * @return 창이 지난 메시지 수
+     */
+    public synchronized long getExpiredCount() {
+        return expiredCount;
+    }
+
+    /**
+     * 보관 한도를 넘어 창이 지나기 전에 밀려난 메시지 수를 반환합니다.
+     *
+     * @return 한도를 넘어 밀려난 메시지 수
+     */
+    public synchronized long getOverflowCount() {
+        return overflowCount;
+    }
+
+    /**
+     * 보관 중인 메시지와 도착 시각입니다.
+     */
+    private static class Entry {
+        private final Message message;
+        private final long arrivedAt;
+        private boolean matched;
+
+        private Entry(Message message, long arrivedAt) {
+            this.message = message;
+            this.arrivedAt = arrivedAt;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.samsa.node.inout;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+import com.samsa.node.inout.timeseries.TimeSeriesStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시계열 저장소에서 시간 범위의 점을 읽어 플로우로 다시 보내는 노드입니다.
+ *
+ * <p>{@link ReadFileNode}처럼 메시지를 받을 때마다 읽기를 시작합니다. 받은 메시지의 {@link #FROM}, {@link #TO}
+ * 메타데이터(epoch 밀리초)가 있으면 그 범위를, 없으면 노드에 지정한 범위를 읽습니다. 여러 시리즈는 시각 순으로 섞어
+ * 보내며, 점마다 값을 페이로드로, 시리즈 키와 시각을 {@link TimeSeriesWriteNode}와 같은 메타데이터 키로 담으므로
+ * 다시 기록하거나 같은 처리 노드에 넣을 수 있습니다.</p>
+ *
+ * <p>점은 블록에서 풀자마자 원래 간격을 기다리지 않고 바로 보냅니다. 출력 파이프에 자리가 없으면 점을 버리지 않고
+ * 읽던 위치에서 멈췄다가 이어서 보냅니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ * @see TimeSeriesWriteNode
+ */
+@Slf4j
+public class TimeSeriesReadNode extends InOutNode {
+
+    /** 읽을 범위의 시작 시각을 담는 메타데이터 키 */
+    public static final String FROM = "timeseries.from";
+
+    /** 읽을 범위의 끝 시각을 담는 메타데이터 키 */
+    public static final String TO = "timeseries.to";
+
+    /** 직접 읽는 노드가 출력 파이프에 자리가 나기를 기다리는 간격 */
+    private static final long OUTPUT_POLL_NANOS = 100_000;
+
+    private final Path directory;
+
+    /** 읽을 시리즈, null이면 모든 시리즈 */
+    private final Set<String> series;
+
+    private final long from;
+    private final long to;
+
+    /** 재생하는 동안 잡고 있는 잠금. 중지할 때 진행 중인 재생이 멈추기를 기다리는 데 사용 */
+    private final ReentrantLock replayLock = new ReentrantLock();
+
+    /** 앞선 재생이 끝나기를 기다리는 메시지. 이하 필드는 replayLock으로 보호 */
+    private final Deque<Message> pendingReplays = new ArrayDeque<>();
+
+    /** 재생 중에 열어 둔 저장소, 재생 중이 아니면 null */
+    private TimeSeriesStore store;
+
+    /** 재생 중인 읽기, 재생 중이 아니면 null */
+    private TimeSeriesStore.Scan scan;
+
+    private long rangeFrom;
+    private long rangeTo;
+
+    /** 재생 중인 범위에서 보낸 점의 수 */
+    private long rangeCount;
+
+    private volatile long replayedCount;
+
+    /**
+     * 모든 시리즈의 모든 점을 읽는 노드를 생성합니다.
+     *
+     * @param inPort    입력 포트
+     * @param outPort   출력 포트
+     * @param directory 저장 디렉터리
+     * @throws IllegalArgumentException 디렉터리가 null이거나 비어 있는 경우
+     */
+    public TimeSeriesReadNode(InPort inPort, OutPort outPort, String directory) {
+        this(inPort, outPort, directory, null, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 노드를 생성합니다.
+     *
+     * @param inPort    입력 포트
+     * @param outPort   출력 포트
+     * @param directory 저장 디렉터리
+     * @param series    읽을 시리즈 키, null이면 모든 시리즈
+     * @param from      기본 시작 시각(포함, epoch 밀리초)
+     * @param to        기본 끝 시각(포함, epoch 밀리초)
+     * @throws IllegalArgumentException 디렉터리가 null이거나 비어 있거나 시작 시각이 끝 시각보다 늦은 경우
+     */
+    public TimeSeriesReadNode(InPort inPort, OutPort outPort, String directory, Set<String> series, long from,
+            long to) {
+        super(inPort, outPort);
+        if (Objects.isNull(directory) || directory.trim().isEmpty()) {
+            log.error("저장 디렉터리가 null이거나 비어있습니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("Directory cannot be null or empty");
+        }
+        if (from > to) {
+            log.error("시작 시각이 끝 시각보다 늦습니다. NodeId: {}, from: {}, to: {}", getId(), from, to);
+            throw new IllegalArgumentException("From must not be after to");
+        }
+        this.directory = Paths.get(directory);
+        this.series = series == null ? null : Set.copyOf(series);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * 받은 메시지의 범위를 읽어 보냅니다. 앞선 재생이 남아 있으면 그 재생을 마친 뒤에 읽습니다.
+     *
+     * <p>입력 파이프가 있어 스케줄러가 실행하는 노드는 출력 파이프가 가득 차거나 속도 제한에 걸리면 점을 보내지 않고 돌아오며,
+     * 남은 점은 다음 {@link #processNext()}에서 이어서 보냅니다. 입력 파이프가 없어 호출한 스레드가 직접 읽는 노드는
+     * 그 스레드에서 출력 파이프에 자리가 날 때까지 기다립니다.</p>
+     *
+     * @param message 읽을 범위를 담은 메시지
+     */
+    @Override
+    public void onMessage(Message message) {
+        replayLock.lock();
+        try {
+            // 재생을 시작할 때까지 메시지를 보관하므로 참조를 늘림
+            message.retain();
+            pendingReplays.addLast(message);
+            pump();
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    /**
+     * 출력을 기다리며 멈춘 재생이 있으면 이어서 보내고, 없으면 입력 포트에서 다음 메시지를 받아 처리합니다.
+     *
+     * @return 이어 보냈거나 메시지를 처리했으면 true, 받을 메시지가 없으면 false
+     */
+    @Override
+    public boolean processNext() {
+        replayLock.lock();
+        try {
+            if (scan != null || !pendingReplays.isEmpty()) {
+                pump();
+                return true;
+            }
+        } finally {
+            replayLock.unlock();
+        }
+        return super.processNext();
+    }
+
+    /**
+     * 열린 재생과 기다리는 재생을 차례로 진행합니다. 출력을 기다려야 하거나 노드가 중지되면 돌아옵니다.
+     */
+    private void pump() {
+        while (scan != null || !pendingReplays.isEmpty()) {
+            if (scan == null && !open(pendingReplays.removeFirst())) {
+                continue;
+            }
+            if (!emitPoints()) {
+                return;
+            }
+            log.info("시계열 재생 완료. NodeId: {}, 범위: {} ~ {}, 점: {}", getId(), rangeFrom, rangeTo, rangeCount);
+            closeScan();
+        }
+    }
+
+    /**
+     * 메시지의 범위로 저장소를 열고 읽기를 시작합니다.
+     *
+     * @return 읽기를 시작했으면 true
+     */
+    private boolean open(Message message) {
+        try {
+            rangeFrom = longOf(message.getMetadata(FROM), from);
+            rangeTo = longOf(message.getMetadata(TO), to);
+            rangeCount = 0;
+            store = TimeSeriesStore.openReadOnly(directory);
+            scan = store.openScan(series, rangeFrom, rangeTo);
+            return true;
+        } catch (IOException e) {
+            log.error("시계열 읽기 실패. NodeId: {}, 디렉터리: {}", getId(), directory, e);
+            closeScan();
+            handleError(message, e);
+            return false;
+        } finally {
+            message.release();
+        }
+    }
+
+    /**
+     * 열린 읽기의 남은 점을 보냅니다.
+     *
+     * @return 모든 점을 보냈으면 true, 출력을 기다리거나 중지로 멈췄으면 false
+     */
+    private boolean emitPoints() {
+        boolean resumable = !getInPort().getPipes().isEmpty();
+        while (true) {
+            if (!awaitOutput(resumable)) {
+                return false;
+            }
+            if (!scan.next(this::emitPoint)) {
+                return true;
+            }
+            rangeCount++;
+            replayedCount++;
+        }
+    }
+
+    private void emitPoint(String key, long timestamp, double value) {
+        Map<String, Object> metadata = new HashMap<>(4);
+        metadata.put(TimeSeriesWriteNode.DEFAULT_SERIES_METADATA, key);
+        metadata.put(TimeSeriesWriteNode.DEFAULT_TIMESTAMP_METADATA, timestamp);
+        emit(new Message(value, metadata));
+    }
+
+    /**
+     * 다음 점을 보낼 수 있는지 확인합니다. 직접 읽는 노드는 출력 파이프에 자리가 날 때까지 기다립니다.
+     *
+     * @param resumable 다음 차례에 이어 보낼 수 있는지 여부
+     * @return 보낼 수 있으면 true, 차례를 넘기거나 중지되어 멈춰야 하면 false
+     */
+    private boolean awaitOutput(boolean resumable) {
+        while (true) {
+            if (getStatus() == NodeStatus.STOPPED) {
+                log.info("노드가 중지되어 재생을 멈춥니다. NodeId: {}, 보낸 점: {}", getId(), rangeCount);
+                abandon();
+                return false;
+            }
+            boolean full = !getOutPort().canAcceptAll();
+            if (!full && !(resumable && getOutPort().isRateLimited())) {
+                return true;
+            }
+            if (resumable) {
+                return false;
+            }
+            LockSupport.parkNanos(OUTPUT_POLL_NANOS);
+        }
+    }
+
+    /**
+     * 열린 재생과 기다리는 재생을 버립니다.
+     */
+    private void abandon() {
+        closeScan();
+        Message pending;
+        while ((pending = pendingReplays.pollFirst()) != null) {
+            pending.release();
+        }
+    }
+
+    private void closeScan() {
+        scan = null;
+        if (store == null) {
+            return;
+        }
+        try {
+            store.close();
+        } catch (IOException e) {
+            log.warn("시계열 저장소 닫기 실패. NodeId: {}, 디렉터리: {}", getId(), directory, e);
+        }
+        store = null;
+    }
+
+    /**
+     * 노드를 중지합니다. 다른 스레드에서 재생하는 중이면 그 재생이 다음 점에서 멈출 때까지 기다리므로,
+     * 반환된 뒤에는 이 노드가 메시지를 더 보내지 않습니다.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        replayLock.lock();
+        try {
+            abandon();
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    private static long longOf(Object value, long fallback) {
+        return value instanceof Number number ? number.longValue() : fallback;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Set<String> getSeries() {
+        return series;
+    }
+
+    /**
+     * 지금까지 보낸 점의 수를 반환합니다.
+     *
+     * @return 보낸 점의 수
+     */
+    public long getReplayedCount() {
+        return replayedCount;
+    }
+}
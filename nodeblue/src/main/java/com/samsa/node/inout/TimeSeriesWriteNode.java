@@ -0,0 +1,192 @@
+package com.samsa.node.inout;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+
+import com.samsa.core.InNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.node.inout.timeseries.TimeSeriesStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 센서 값 같은 숫자 메시지를 시계열 저장소에 기록하는 노드입니다.
+ *
+ * <p>시리즈 키는 지정한 메타데이터에서, 시각은 시각 메타데이터(epoch 밀리초 또는 {@link Instant})에서 가져오며
+ * 시각이 없으면 받은 시각을 사용합니다. 페이로드가 숫자이면 그 값을, 맵이면 숫자인 항목마다
+ * {@code 시리즈.항목} 시리즈로 기록합니다. 숫자가 아닌 페이로드와 시리즈 키가 없는 메시지는
+ * {@link #handleError(Message, Throwable)}로 알립니다.</p>
+ *
+ * <p>값은 시리즈마다 블록에 모였다가 압축되어 기록되므로, 텍스트 라인으로 쓰는 것보다 훨씬 작고
+ * {@link TimeSeriesReadNode}로 시간 범위를 빠르게 다시 읽을 수 있습니다. 채우는 중인 블록은 플러시 주기마다,
+ * 그리고 노드를 중지할 때 기록됩니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ * @see TimeSeriesStore
+ */
+@Slf4j
+public class TimeSeriesWriteNode extends InNode {
+
+    /** 기본 시리즈 키 메타데이터 */
+    public static final String DEFAULT_SERIES_METADATA = "series";
+
+    /** 기본 시각 메타데이터 */
+    public static final String DEFAULT_TIMESTAMP_METADATA = "timestamp";
+
+    private final Path directory;
+    private final String seriesMetadata;
+    private final String timestampMetadata;
+    private final int blockSize;
+    private final long segmentBytes;
+    private final long flushIntervalMillis;
+
+    private TimeSeriesStore store;
+    private long lastFlushMillis;
+    private long writtenCount;
+
+    /**
+     * 기본 설정으로 노드를 생성합니다. 채우는 중인 블록은 블록이 차거나 노드를 중지할 때 기록됩니다.
+     *
+     * @param inPort    입력 포트
+     * @param directory 저장 디렉터리
+     * @throws IllegalArgumentException 디렉터리가 null이거나 비어 있는 경우
+     */
+    public TimeSeriesWriteNode(InPort inPort, String directory) {
+        this(inPort, directory, DEFAULT_SERIES_METADATA, DEFAULT_TIMESTAMP_METADATA,
+                TimeSeriesStore.DEFAULT_BLOCK_SIZE, TimeSeriesStore.DEFAULT_SEGMENT_BYTES, Duration.ZERO);
+    }
+
+    /**
+     * 노드를 생성합니다.
+     *
+     * @param inPort            입력 포트
+     * @param directory         저장 디렉터리
+     * @param seriesMetadata    시리즈 키를 담은 메타데이터 키
+     * @param timestampMetadata 시각을 담은 메타데이터 키
+     * @param blockSize         블록당 점 수
+     * @param segmentBytes      세그먼트 크기(바이트)
+     * @param flushInterval     채우는 중인 블록을 기록할 주기, 0이면 블록이 차거나 중지할 때만 기록
+     * @throws IllegalArgumentException 디렉터리나 메타데이터 키가 null 또는 비어 있거나, 크기나 주기가 범위를 벗어난 경우
+     */
+    public TimeSeriesWriteNode(InPort inPort, String directory, String seriesMetadata, String timestampMetadata,
+            int blockSize, long segmentBytes, Duration flushInterval) {
+        super(inPort);
+        if (Objects.isNull(directory) || directory.trim().isEmpty()) {
+            log.error("저장 디렉터리가 null이거나 비어있습니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("Directory cannot be null or empty");
+        }
+        if (Objects.isNull(seriesMetadata) || seriesMetadata.isEmpty() || Objects.isNull(timestampMetadata)
+                || timestampMetadata.isEmpty()) {
+            log.error("시리즈 또는 시각 메타데이터 키가 비어있습니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("Series and timestamp metadata keys cannot be empty");
+        }
+        if (blockSize <= 0 || segmentBytes < TimeSeriesStore.MIN_SEGMENT_BYTES || segmentBytes > Integer.MAX_VALUE
+                || Objects.isNull(flushInterval) || flushInterval.isNegative()) {
+            log.error("블록 크기, 세그먼트 크기 또는 플러시 주기가 유효하지 않습니다. NodeId: {}", getId());
+            throw new IllegalArgumentException("Invalid block size, segment bytes or flush interval");
+        }
+        this.directory = Paths.get(directory);
+        this.seriesMetadata = seriesMetadata;
+        this.timestampMetadata = timestampMetadata;
+        this.blockSize = blockSize;
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalMillis = flushInterval.toMillis();
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        Object series = message.getMetadata(seriesMetadata);
+        if (series == null) {
+            handleError(message, new IllegalArgumentException("Missing series metadata: " + seriesMetadata));
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long timestamp = timestampOf(message.getMetadata(timestampMetadata), now);
+        try {
+            TimeSeriesStore target = store();
+            Object payload = message.getPayload();
+            if (payload instanceof Number number) {
+                target.append(series.toString(), timestamp, number.doubleValue());
+                writtenCount++;
+            } else if (payload instanceof Map<?, ?> fields) {
+                for (Map.Entry<?, ?> field : fields.entrySet()) {
+                    if (field.getValue() instanceof Number number) {
+                        target.append(series + "." + field.getKey(), timestamp, number.doubleValue());
+                        writtenCount++;
+                    }
+                }
+            } else {
+                handleError(message, new IllegalArgumentException("Payload is not numeric: "
+                        + payload.getClass().getName()));
+                return;
+            }
+            if (flushIntervalMillis > 0 && now - lastFlushMillis >= flushIntervalMillis) {
+                target.flush();
+                lastFlushMillis = now;
+            }
+        } catch (IOException e) {
+            log.error("시계열 기록 실패. NodeId: {}, MessageId: {}", getId(), message.getId(), e);
+            handleError(message, e);
+        }
+    }
+
+    private static long timestampOf(Object value, long fallback) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof Instant instant) {
+            return instant.toEpochMilli();
+        }
+        return fallback;
+    }
+
+    private TimeSeriesStore store() throws IOException {
+        if (store == null) {
+            store = TimeSeriesStore.open(directory, blockSize, segmentBytes);
+            lastFlushMillis = System.currentTimeMillis();
+        }
+        return store;
+    }
+
+    /**
+     * 채우는 중인 블록을 기록하고 세그먼트를 닫은 뒤 노드를 중지합니다.
+     * 입력을 모두 처리한 뒤에 호출해야 합니다.
+     */
+    @Override
+    public void stop() {
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                log.error("시계열 저장소 닫기 실패. NodeId: {}, 디렉터리: {}", getId(), directory, e);
+                handleError(e);
+            }
+            store = null;
+        }
+        super.stop();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public String getSeriesMetadata() {
+        return seriesMetadata;
+    }
+
+    /**
+     * 기록한 점의 수를 반환합니다. 채우는 중인 블록의 점도 포함합니다.
+     *
+     * @return 기록한 점의 수
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.samsa.node.inout.expression;
+
+import com.samsa.core.Message;
+
+/**
+ * 컴파일된 표현식입니다. {@link ExpressionCompiler}가 원본 문자열을 한 번 파싱하여 평가 함수의 트리로 만들며,
+ * 평가할 때는 파싱이나 리플렉션 없이 트리를 따라 함수를 호출하기만 합니다.
+ *
+ * <p>구현체는 상태를 갖지 않으므로 여러 노드와 스레드에서 공유할 수 있습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface Expression {
+
+    /**
+     * 메시지에 대해 표현식을 평가합니다.
+     *
+     * @param message 평가할 메시지
+     * @return 평가 결과, 참조한 값이 없으면 null
+     * @throws IllegalArgumentException 값의 형식이 연산에 맞지 않는 경우
+     */
+    Object evaluate(Message message);
+}
@@ -0,0 +1,78 @@
+package com.samsa.node.inout.expression;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 메시지의 페이로드와 메타데이터를 다루는 작은 표현식 언어를 컴파일합니다.
+ *
+ * <p>표현식은 다음 요소로 이루어집니다.</p>
+ * <ul>
+ *   <li>{@code payload}(또는 {@code $}), {@code metadata}, {@code id}와 {@code payload.a.b}, {@code payload.items[0]},
+ *       {@code metadata['x-key']} 같은 경로. 페이로드가 맵, 목록, 배열, JSON 노드이면 경로를 따라 값을 꺼내며,
+ *       없는 경로는 null입니다.</li>
+ *   <li>숫자, 문자열({@code 'a'} 또는 {@code "a"}), {@code true}, {@code false}, {@code null} 리터럴</li>
+ *   <li>산술, 비교, 논리, 조건 연산자와 괄호</li>
+ *   <li>객체 {@code {name: payload.n, 'unit': 'C'}}와 목록 {@code [payload.a, payload.b]} 생성</li>
+ *   <li>내장 함수 {@code upper, lower, trim, length, string, number, exists, contains, startsWith, substring,
+ *       abs, round, floor, ceil, min, max, coalesce, now}</li>
+ * </ul>
+ *
+ * <p>컴파일한 결과는 원본 문자열을 키로 캐시하여, 같은 표현식을 쓰는 여러 노드가 한 번만 컴파일합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public final class ExpressionCompiler {
+
+    /** 캐시할 최대 표현식 수. 넘으면 캐시하지 않고 컴파일합니다. */
+    public static final int MAX_CACHE_SIZE = 1024;
+
+    private static final Map<String, Expression> CACHE = new ConcurrentHashMap<>();
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * 표현식을 컴파일합니다. 같은 문자열을 이미 컴파일했으면 캐시된 결과를 반환합니다.
+     *
+     * @param source 표현식 문자열
+     * @return 컴파일된 표현식
+     * @throws IllegalArgumentException 표현식이 null이거나 비어 있거나 문법이 잘못된 경우
+     */
+    public static Expression compile(String source) {
+        if (Objects.isNull(source) || source.isBlank()) {
+            log.error("표현식이 비어 있습니다");
+            throw new IllegalArgumentException("Expression cannot be empty");
+        }
+        Expression cached = CACHE.get(source);
+        if (cached != null) {
+            return cached;
+        }
+        Expression compiled;
+        try {
+            compiled = ExpressionParser.parse(source);
+        } catch (IllegalArgumentException e) {
+            log.error("표현식 컴파일 실패: {}", e.getMessage());
+            throw e;
+        }
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+            return compiled;
+        }
+        Expression previous = CACHE.putIfAbsent(source, compiled);
+        return previous != null ? previous : compiled;
+    }
+
+    /**
+     * 캐시된 표현식 수를 반환합니다.
+     *
+     * @return 캐시된 표현식 수
+     */
+    public static int getCacheSize() {
+        return CACHE.size();
+    }
+}
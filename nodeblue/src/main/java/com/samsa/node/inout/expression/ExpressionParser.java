@@ -0,0 +1,501 @@
+package com.samsa.node.inout.expression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.samsa.core.LazyPayload;
+import com.samsa.core.Message;
+
+/**
+ * 표현식 문자열을 재귀 하강으로 파싱하여 평가 함수의 트리로 만듭니다.
+ *
+ * <p>연산자 우선순위는 낮은 것부터 다음과 같습니다.</p>
+ * <pre>
+ * 조건   a ? b : c
+ * 논리   ||, &amp;&amp;
+ * 비교   ==, !=, &lt;, &lt;=, &gt;, &gt;=
+ * 산술   +, - 다음 *, /, %
+ * 단항   !, -
+ * 접근   a.b, a[b], 함수 호출 f(x)
+ * </pre>
+ * <p>피연산자가 모두 상수인 연산은 파싱할 때 미리 계산합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class ExpressionParser {
+
+    /**
+     * 파싱할 때 값이 정해진 상수입니다.
+     */
+    private static final class Constant implements Expression {
+        private final Object value;
+
+        private Constant(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object evaluate(Message message) {
+            return value;
+        }
+    }
+
+    /** 메시지 페이로드 */
+    private static final Expression PAYLOAD = Message::getPayload;
+
+    /** 메시지 메타데이터 전체 */
+    private static final Expression METADATA = Message::getMetadataView;
+
+    /** 메시지 ID 문자열 */
+    private static final Expression ID = message -> message.getId().toString();
+
+    private final String source;
+    private int position;
+
+    private ExpressionParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * 표현식을 파싱합니다.
+     *
+     * @param source 표현식 문자열
+     * @return 컴파일된 표현식
+     * @throws IllegalArgumentException 문법이 잘못된 경우
+     */
+    static Expression parse(String source) {
+        ExpressionParser parser = new ExpressionParser(source);
+        Expression expression = parser.parseTernary();
+        parser.skipWhitespace();
+        if (parser.position < source.length()) {
+            throw parser.error("Unexpected '" + source.charAt(parser.position) + "'");
+        }
+        return expression;
+    }
+
+    private Expression parseTernary() {
+        Expression condition = parseOr();
+        if (!match("?")) {
+            return condition;
+        }
+        Expression whenTrue = parseTernary();
+        expect(":");
+        Expression whenFalse = parseTernary();
+        if (condition instanceof Constant constant) {
+            return Values.truthy(constant.value) ? whenTrue : whenFalse;
+        }
+        return message -> Values.truthy(condition.evaluate(message)) ? whenTrue.evaluate(message)
+                : whenFalse.evaluate(message);
+    }
+
+    private Expression parseOr() {
+        Expression left = parseAnd();
+        while (match("||")) {
+            Expression a = left;
+            Expression b = parseAnd();
+            left = fold(message -> Values.truthy(a.evaluate(message)) || Values.truthy(b.evaluate(message)), a, b);
+        }
+        return left;
+    }
+
+    private Expression parseAnd() {
+        Expression left = parseEquality();
+        while (match("&&")) {
+            Expression a = left;
+            Expression b = parseEquality();
+            left = fold(message -> Values.truthy(a.evaluate(message)) && Values.truthy(b.evaluate(message)), a, b);
+        }
+        return left;
+    }
+
+    private Expression parseEquality() {
+        Expression left = parseComparison();
+        while (true) {
+            Expression a = left;
+            if (match("==")) {
+                Expression b = parseComparison();
+                left = fold(message -> Values.equal(a.evaluate(message), b.evaluate(message)), a, b);
+            } else if (match("!=")) {
+                Expression b = parseComparison();
+                left = fold(message -> !Values.equal(a.evaluate(message), b.evaluate(message)), a, b);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression parseComparison() {
+        Expression left = parseAdditive();
+        while (true) {
+            String operator;
+            if (match("<=")) {
+                operator = "<=";
+            } else if (match(">=")) {
+                operator = ">=";
+            } else if (match("<")) {
+                operator = "<";
+            } else if (match(">")) {
+                operator = ">";
+            } else {
+                return left;
+            }
+            Expression a = left;
+            Expression b = parseAdditive();
+            left = fold(comparison(operator, a, b), a, b);
+        }
+    }
+
+    private static Expression comparison(String operator, Expression a, Expression b) {
+        switch (operator) {
+            case "<":
+                return message -> {
+                    Integer result = Values.compare(a.evaluate(message), b.evaluate(message), operator);
+                    return result != null && result < 0;
+                };
+            case "<=":
+                return message -> {
+                    Integer result = Values.compare(a.evaluate(message), b.evaluate(message), operator);
+                    return result != null && result <= 0;
+                };
+            case ">":
+                return message -> {
+                    Integer result = Values.compare(a.evaluate(message), b.evaluate(message), operator);
+                    return result != null && result > 0;
+                };
+            default:
+                return message -> {
+                    Integer result = Values.compare(a.evaluate(message), b.evaluate(message), operator);
+                    return result != null && result >= 0;
+                };
+        }
+    }
+
+    private Expression parseAdditive() {
+        Expression left = parseMultiplicative();
+        while (true) {
+            Expression a = left;
+            if (match("+")) {
+                Expression b = parseMultiplicative();
+                left = fold(message -> Values.add(a.evaluate(message), b.evaluate(message)), a, b);
+            } else if (match("-")) {
+                Expression b = parseMultiplicative();
+                left = fold(message -> Values.arithmetic('-', a.evaluate(message), b.evaluate(message)), a, b);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression parseMultiplicative() {
+        Expression left = parseUnary();
+        while (true) {
+            char operator;
+            if (match("*")) {
+                operator = '*';
+            } else if (match("/")) {
+                operator = '/';
+            } else if (match("%")) {
+                operator = '%';
+            } else {
+                return left;
+            }
+            Expression a = left;
+            Expression b = parseUnary();
+            left = fold(message -> Values.arithmetic(operator, a.evaluate(message), b.evaluate(message)), a, b);
+        }
+    }
+
+    private Expression parseUnary() {
+        if (match("!")) {
+            Expression operand = parseUnary();
+            return fold(message -> !Values.truthy(operand.evaluate(message)), operand);
+        }
+        if (match("-")) {
+            Expression operand = parseUnary();
+            return fold(message -> Values.negate(operand.evaluate(message)), operand);
+        }
+        return parsePostfix();
+    }
+
+    private Expression parsePostfix() {
+        Expression target = parsePrimary();
+        while (true) {
+            if (match(".")) {
+                target = access(target, new Constant(identifier()));
+            } else if (match("[")) {
+                Expression key = parseTernary();
+                expect("]");
+                target = access(target, key);
+            } else {
+                return target;
+            }
+        }
+    }
+
+    /**
+     * 필드 접근을 만듭니다. 키가 상수이면 평가할 때 키를 계산하지 않으며,
+     * 메타데이터의 상수 키는 메타데이터 맵을 거치지 않고 메시지에서 바로 꺼냅니다.
+     * 페이로드의 상수 키는 {@link LazyPayload} 페이로드이면 원본에서 그 필드만 읽습니다.
+     */
+    private static Expression access(Expression target, Expression key) {
+        if (key instanceof Constant constant) {
+            Object name = constant.value;
+            if (target == METADATA && name instanceof String metadataKey) {
+                return message -> message.getMetadata(metadataKey);
+            }
+            if (target == PAYLOAD && name instanceof String field) {
+                return message -> message.getRawPayload() instanceof LazyPayload
+                        ? message.getPayloadField(field)
+                        : Values.get(message.getPayload(), field);
+            }
+            return message -> Values.get(target.evaluate(message), name);
+        }
+        return message -> Values.get(target.evaluate(message), key.evaluate(message));
+    }
+
+    private Expression parsePrimary() {
+        skipWhitespace();
+        if (position >= source.length()) {
+            throw error("Unexpected end of expression");
+        }
+        char c = source.charAt(position);
+        if (match("(")) {
+            Expression inner = parseTernary();
+            expect(")");
+            return inner;
+        }
+        if (match("{")) {
+            return parseObject();
+        }
+        if (match("[")) {
+            return parseList();
+        }
+        if (c == '\'' || c == '"') {
+            return new Constant(string());
+        }
+        if (Character.isDigit(c)) {
+            return new Constant(number());
+        }
+        if (Character.isLetter(c) || c == '_' || c == '$') {
+            int start = position;
+            String name = identifier();
+            switch (name) {
+                case "true":
+                    return new Constant(Boolean.TRUE);
+                case "false":
+                    return new Constant(Boolean.FALSE);
+                case "null":
+                    return new Constant(null);
+                case "payload":
+                case "$":
+                    return PAYLOAD;
+                case "metadata":
+                    return METADATA;
+                case "id":
+                    return ID;
+                default:
+                    if (match("(")) {
+                        return parseCall(name, start);
+                    }
+                    position = start;
+                    throw error("Unknown identifier '" + name + "'");
+            }
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private Expression parseCall(String name, int start) {
+        Functions.Definition definition = Functions.find(name);
+        if (definition == null) {
+            position = start;
+            throw error("Unknown function '" + name + "'");
+        }
+        List<Expression> arguments = new ArrayList<>();
+        if (!match(")")) {
+            do {
+                arguments.add(parseTernary());
+            } while (match(","));
+            expect(")");
+        }
+        if (!definition.accepts(arguments.size())) {
+            position = start;
+            throw error("Function '" + name + "' does not accept " + arguments.size() + " arguments");
+        }
+        Functions.Function function = definition.function();
+        Expression[] args = arguments.toArray(new Expression[0]);
+        return message -> {
+            Object[] values = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                values[i] = args[i].evaluate(message);
+            }
+            return function.apply(values);
+        };
+    }
+
+    private Expression parseObject() {
+        Map<String, Expression> fields = new LinkedHashMap<>();
+        if (!match("}")) {
+            do {
+                skipWhitespace();
+                char c = position < source.length() ? source.charAt(position) : 0;
+                String key = c == '\'' || c == '"' ? string() : identifier();
+                expect(":");
+                fields.put(key, parseTernary());
+            } while (match(","));
+            expect("}");
+        }
+        String[] keys = fields.keySet().toArray(new String[0]);
+        Expression[] values = fields.values().toArray(new Expression[0]);
+        return message -> {
+            Map<String, Object> result = new LinkedHashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                result.put(keys[i], values[i].evaluate(message));
+            }
+            return result;
+        };
+    }
+
+    private Expression parseList() {
+        List<Expression> items = new ArrayList<>();
+        if (!match("]")) {
+            do {
+                items.add(parseTernary());
+            } while (match(","));
+            expect("]");
+        }
+        Expression[] elements = items.toArray(new Expression[0]);
+        return message -> {
+            List<Object> result = new ArrayList<>(elements.length);
+            for (Expression element : elements) {
+                result.add(element.evaluate(message));
+            }
+            return result;
+        };
+    }
+
+    /**
+     * 피연산자가 모두 상수이면 미리 계산한 상수를 반환합니다.
+     */
+    private Expression fold(Expression expression, Expression... operands) {
+        for (Expression operand : operands) {
+            if (!(operand instanceof Constant)) {
+                return expression;
+            }
+        }
+        try {
+            return new Constant(expression.evaluate(null));
+        } catch (IllegalArgumentException e) {
+            throw error(e.getMessage());
+        }
+    }
+
+    private String identifier() {
+        skipWhitespace();
+        int start = position;
+        if (position < source.length() && source.charAt(position) == '$') {
+            position++;
+            return "$";
+        }
+        while (position < source.length()
+                && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+            position++;
+        }
+        if (start == position || Character.isDigit(source.charAt(start))) {
+            throw error("Identifier expected");
+        }
+        return source.substring(start, position);
+    }
+
+    private String string() {
+        char quote = source.charAt(position++);
+        StringBuilder builder = new StringBuilder();
+        while (position < source.length()) {
+            char c = source.charAt(position++);
+            if (c == quote) {
+                return builder.toString();
+            }
+            if (c == '\\' && position < source.length()) {
+                char escaped = source.charAt(position++);
+                switch (escaped) {
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    default:
+                        builder.append(escaped);
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Object number() {
+        int start = position;
+        boolean decimal = false;
+        while (position < source.length()) {
+            char c = source.charAt(position);
+            if (c == '.' && !decimal && position + 1 < source.length()
+                    && Character.isDigit(source.charAt(position + 1))) {
+                decimal = true;
+            } else if (c == 'e' || c == 'E') {
+                decimal = true;
+                if (position + 1 < source.length()
+                        && (source.charAt(position + 1) == '-' || source.charAt(position + 1) == '+')) {
+                    position++;
+                }
+            } else if (!Character.isDigit(c)) {
+                break;
+            }
+            position++;
+        }
+        String text = source.substring(start, position);
+        try {
+            return decimal ? (Object) Double.parseDouble(text) : (Object) Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Invalid number '" + text + "'");
+        }
+    }
+
+    private boolean match(String token) {
+        skipWhitespace();
+        if (!source.startsWith(token, position)) {
+            return false;
+        }
+        // 한 글자 연산자가 두 글자 연산자의 앞부분과 겹치지 않도록 확인
+        int end = position + token.length();
+        if (token.length() == 1 && end < source.length()) {
+            char next = source.charAt(end);
+            char c = token.charAt(0);
+            if ((c == '<' || c == '>' || c == '!' || c == '=') && next == '='
+                    || c == '&' && next == '&' || c == '|' && next == '|') {
+                return false;
+            }
+        }
+        position = end;
+        return true;
+    }
+
+    private void expect(String token) {
+        if (!match(token)) {
+            throw error("'" + token + "' expected");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String reason) {
+        return new IllegalArgumentException(reason + " at position " + position + " in expression: " + source);
+    }
+}
@@ -0,0 +1,154 @@
+package com.samsa.node.inout.expression;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 표현식에서 호출할 수 있는 내장 함수입니다. 컴파일할 때 이름으로 찾아 호출 노드에 직접 연결하므로
+ * 평가할 때 이름을 찾거나 리플렉션을 사용하지 않습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class Functions {
+
+    /**
+     * 내장 함수의 구현입니다.
+     */
+    @FunctionalInterface
+    interface Function {
+        Object apply(Object[] args);
+    }
+
+    /**
+     * 인자 수 범위와 구현을 담은 함수 정의입니다.
+     */
+    static final class Definition {
+        private final String name;
+        private final int minArgs;
+        private final int maxArgs;
+        private final Function function;
+
+        private Definition(String name, int minArgs, int maxArgs, Function function) {
+            this.name = name;
+            this.minArgs = minArgs;
+            this.maxArgs = maxArgs;
+            this.function = function;
+        }
+
+        String name() {
+            return name;
+        }
+
+        boolean accepts(int count) {
+            return count >= minArgs && count <= maxArgs;
+        }
+
+        Function function() {
+            return function;
+        }
+    }
+
+    private static final int VARARGS = Integer.MAX_VALUE;
+
+    private static final Map<String, Definition> DEFINITIONS = new HashMap<>();
+
+    static {
+        define("upper", 1, 1, args -> args[0] == null ? null : args[0].toString().toUpperCase(Locale.ROOT));
+        define("lower", 1, 1, args -> args[0] == null ? null : args[0].toString().toLowerCase(Locale.ROOT));
+        define("trim", 1, 1, args -> args[0] == null ? null : args[0].toString().trim());
+        define("length", 1, 1, args -> Values.length(args[0]));
+        define("string", 1, 1, args -> args[0] == null ? null : args[0].toString());
+        define("number", 1, 1, args -> toNumber(args[0]));
+        define("exists", 1, 1, args -> args[0] != null);
+        define("contains", 2, 2, args -> args[0] != null && args[1] != null
+                && args[0].toString().contains(args[1].toString()));
+        define("startsWith", 2, 2, args -> args[0] != null && args[1] != null
+                && args[0].toString().startsWith(args[1].toString()));
+        define("substring", 2, 3, Functions::substring);
+        define("abs", 1, 1, args -> args[0] == null ? null
+                : Values.isIntegral(args[0]) ? (Object) Math.abs(((Number) args[0]).longValue())
+                        : (Object) Math.abs(Values.toNumber(args[0], "abs").doubleValue()));
+        define("round", 1, 1, args -> args[0] == null ? null
+                : (Object) Math.round(Values.toNumber(args[0], "round").doubleValue()));
+        define("floor", 1, 1, args -> args[0] == null ? null
+                : (Object) (long) Math.floor(Values.toNumber(args[0], "floor").doubleValue()));
+        define("ceil", 1, 1, args -> args[0] == null ? null
+                : (Object) (long) Math.ceil(Values.toNumber(args[0], "ceil").doubleValue()));
+        define("min", 1, VARARGS, args -> extreme(args, -1));
+        define("max", 1, VARARGS, args -> extreme(args, 1));
+        define("coalesce", 1, VARARGS, args -> {
+            for (Object arg : args) {
+                if (arg != null) {
+                    return arg;
+                }
+            }
+            return null;
+        });
+        define("now", 0, 0, args -> System.currentTimeMillis());
+    }
+
+    private Functions() {
+    }
+
+    private static void define(String name, int minArgs, int maxArgs, Function function) {
+        DEFINITIONS.put(name, new Definition(name, minArgs, maxArgs, function));
+    }
+
+    /**
+     * 이름으로 함수를 찾습니다.
+     *
+     * @return 함수 정의, 없으면 null
+     */
+    static Definition find(String name) {
+        return DEFINITIONS.get(name);
+    }
+
+    private static Object toNumber(Object value) {
+        if (value == null || value instanceof Number) {
+            return value;
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? 1L : 0L;
+        }
+        String text = value.toString().trim();
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException invalid) {
+                return null;
+            }
+        }
+    }
+
+    private static Object substring(Object[] args) {
+        if (args[0] == null) {
+            return null;
+        }
+        String text = args[0].toString();
+        int start = clamp(Values.toNumber(args[1], "substring").intValue(), text.length());
+        int end = args.length > 2 ? clamp(Values.toNumber(args[2], "substring").intValue(), text.length())
+                : text.length();
+        return start >= end ? "" : text.substring(start, end);
+    }
+
+    private static int clamp(int index, int length) {
+        return Math.max(0, Math.min(index, length));
+    }
+
+    private static Object extreme(Object[] args, int direction) {
+        Object best = null;
+        for (Object arg : args) {
+            if (arg == null) {
+                continue;
+            }
+            if (best == null || Values.compare(arg, best, direction < 0 ? "min" : "max") * direction > 0) {
+                best = arg;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,236 @@
+package com.samsa.node.inout.expression;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 표현식 평가에 쓰는 값 연산입니다.
+ *
+ * <p>정수끼리의 연산은 {@code long}으로, 실수가 섞이면 {@code double}로 계산하며 나눗셈은 항상 {@code double}입니다.
+ * 산술 연산의 피연산자가 null이면 결과도 null이 되어, 없는 값을 참조한 표현식은 오류 없이 null을 반환합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class Values {
+
+    private Values() {
+    }
+
+    /**
+     * 조건식에서 값을 참 거짓으로 해석합니다. null, false, 0, 빈 문자열은 거짓입니다.
+     */
+    static boolean truthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue() != 0;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() > 0;
+        }
+        return true;
+    }
+
+    /**
+     * 맵의 키, 목록이나 배열의 인덱스, JSON 노드의 필드로 값을 꺼냅니다. 없으면 null입니다.
+     * 형식마다 분기하여 꺼내므로 리플렉션을 사용하지 않습니다.
+     */
+    static Object get(Object target, Object key) {
+        if (target == null || key == null) {
+            return null;
+        }
+        if (target instanceof Map<?, ?> map) {
+            return map.get(key instanceof Number number && !map.containsKey(key) ? number.toString() : key);
+        }
+        if (target instanceof JsonNode node) {
+            JsonNode child = key instanceof Number number ? node.get(number.intValue()) : node.get(key.toString());
+            return unwrap(child);
+        }
+        if (key instanceof Number number) {
+            int index = number.intValue();
+            if (target instanceof List<?> list) {
+                return index >= 0 && index < list.size() ? list.get(index) : null;
+            }
+            if (target instanceof Object[] array) {
+                return index >= 0 && index < array.length ? array[index] : null;
+            }
+            if (target instanceof long[] array) {
+                return index >= 0 && index < array.length ? (Object) array[index] : null;
+            }
+            if (target instanceof double[] array) {
+                return index >= 0 && index < array.length ? (Object) array[index] : null;
+            }
+            if (target instanceof int[] array) {
+                return index >= 0 && index < array.length ? (Object) (long) array[index] : null;
+            }
+            if (target instanceof CharSequence text) {
+                return index >= 0 && index < text.length() ? String.valueOf(text.charAt(index)) : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * JSON 값 노드를 자바 값으로 바꿉니다. 객체와 배열 노드는 그대로 두어 필요한 필드만 꺼내게 합니다.
+     */
+    static Object unwrap(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isIntegralNumber() && node.canConvertToLong()) {
+            return node.longValue();
+        }
+        if (node.isNumber()) {
+            return node.doubleValue();
+        }
+        return node;
+    }
+
+    static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    static Number toNumber(Object value, String operation) {
+        if (value instanceof Number number) {
+            return number;
+        }
+        throw new IllegalArgumentException("Operator '" + operation + "' requires numbers but got " + typeOf(value));
+    }
+
+    static Object add(Object left, Object right) {
+        if (left instanceof CharSequence || right instanceof CharSequence) {
+            return String.valueOf(left) + right;
+        }
+        return arithmetic('+', left, right);
+    }
+
+    static Object arithmetic(char operator, Object left, Object right) {
+        if (left == null || right == null) {
+            return null;
+        }
+        String operation = String.valueOf(operator);
+        Number a = toNumber(left, operation);
+        Number b = toNumber(right, operation);
+        if (operator != '/' && isIntegral(a) && isIntegral(b)) {
+            long x = a.longValue();
+            long y = b.longValue();
+            switch (operator) {
+                case '+':
+                    return x + y;
+                case '-':
+                    return x - y;
+                case '*':
+                    return x * y;
+                default:
+                    if (y == 0) {
+                        throw new IllegalArgumentException("Modulo by zero");
+                    }
+                    return x % y;
+            }
+        }
+        double x = a.doubleValue();
+        double y = b.doubleValue();
+        switch (operator) {
+            case '+':
+                return x + y;
+            case '-':
+                return x - y;
+            case '*':
+                return x * y;
+            case '/':
+                return x / y;
+            default:
+                return x % y;
+        }
+    }
+
+    static Object negate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Number number = toNumber(value, "-");
+        return isIntegral(number) ? (Object) (-number.longValue()) : (Object) (-number.doubleValue());
+    }
+
+    /**
+     * 숫자는 형식과 관계없이 값으로, 나머지는 {@link Objects#equals(Object, Object)}로 비교합니다.
+     */
+    static boolean equal(Object left, Object right) {
+        if (left instanceof Number a && right instanceof Number b) {
+            return isIntegral(a) && isIntegral(b) ? a.longValue() == b.longValue()
+                    : Double.compare(a.doubleValue(), b.doubleValue()) == 0;
+        }
+        return Objects.equals(left, right);
+    }
+
+    /**
+     * 크기를 비교합니다. 어느 쪽이 null이면 비교할 수 없으므로 false가 되도록 {@code null}을 반환합니다.
+     */
+    static Integer compare(Object left, Object right, String operation) {
+        if (left == null || right == null) {
+            return null;
+        }
+        if (left instanceof Number a && right instanceof Number b) {
+            return isIntegral(a) && isIntegral(b) ? Long.compare(a.longValue(), b.longValue())
+                    : Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        if (left instanceof CharSequence a && right instanceof CharSequence b) {
+            return a.toString().compareTo(b.toString());
+        }
+        throw new IllegalArgumentException("Operator '" + operation + "' cannot compare " + typeOf(left) + " and "
+                + typeOf(right));
+    }
+
+    /**
+     * 문자열, 컬렉션, 맵, 배열, JSON 컨테이너의 길이를 반환합니다.
+     */
+    static Object length(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof CharSequence text) {
+            return (long) text.length();
+        }
+        if (value instanceof Collection<?> collection) {
+            return (long) collection.size();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return (long) map.size();
+        }
+        if (value instanceof JsonNode node) {
+            return (long) node.size();
+        }
+        if (value instanceof Object[] array) {
+            return (long) array.length;
+        }
+        if (value instanceof long[] array) {
+            return (long) array.length;
+        }
+        if (value instanceof double[] array) {
+            return (long) array.length;
+        }
+        if (value instanceof int[] array) {
+            return (long) array.length;
+        }
+        throw new IllegalArgumentException("length() is not defined for " + typeOf(value));
+    }
+
+    static String typeOf(Object value) {
+        return value == null ? "null" : value.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,45 @@
+package com.samsa.node.inout.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link BitOutput}으로 쓴 비트를 버퍼의 절대 위치로 읽습니다. 버퍼의 위치는 바꾸지 않습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class BitInput {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private long bitPosition;
+
+    BitInput(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * 비트를 읽어 하위 비트에 담아 반환합니다.
+     *
+     * @param bits 읽을 비트 수(1~64)
+     * @return 읽은 값
+     */
+    long read(int bits) {
+        long value = 0;
+        while (bits > 0) {
+            int current = buffer.get(offset + (int) (bitPosition >>> 3)) & 0xFF;
+            int available = 8 - (int) (bitPosition & 7);
+            int take = Math.min(available, bits);
+            int chunk = (current >>> (available - take)) & ((1 << take) - 1);
+            value = (value << take) | chunk;
+            bits -= take;
+            bitPosition += take;
+        }
+        return value;
+    }
+
+    boolean readBit() {
+        return read(1) == 1;
+    }
+}
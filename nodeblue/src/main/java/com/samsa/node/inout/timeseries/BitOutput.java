@@ -0,0 +1,62 @@
+package com.samsa.node.inout.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * 비트 단위로 값을 이어 쓰는 버퍼입니다. 상위 비트부터 채웁니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class BitOutput {
+
+    private byte[] bytes;
+    private long bitCount;
+
+    BitOutput(int initialBytes) {
+        bytes = new byte[Math.max(16, initialBytes)];
+    }
+
+    /**
+     * 값의 하위 비트를 씁니다.
+     *
+     * @param value 쓸 값
+     * @param bits  쓸 비트 수(1~64)
+     */
+    void write(long value, int bits) {
+        ensureCapacity(bits);
+        while (bits > 0) {
+            int index = (int) (bitCount >>> 3);
+            int free = 8 - (int) (bitCount & 7);
+            int take = Math.min(free, bits);
+            int chunk = (int) (value >>> (bits - take)) & ((1 << take) - 1);
+            bytes[index] |= (byte) (chunk << (free - take));
+            bits -= take;
+            bitCount += take;
+        }
+    }
+
+    void writeBit(boolean bit) {
+        write(bit ? 1 : 0, 1);
+    }
+
+    private void ensureCapacity(int bits) {
+        long needed = (bitCount + bits + 7) >>> 3;
+        if (needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, (int) Math.max(needed, bytes.length * 2L));
+        }
+    }
+
+    int byteLength() {
+        return (int) ((bitCount + 7) >>> 3);
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    void reset() {
+        Arrays.fill(bytes, 0, byteLength(), (byte) 0);
+        bitCount = 0;
+    }
+}
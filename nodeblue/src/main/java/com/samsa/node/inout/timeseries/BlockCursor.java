@@ -0,0 +1,100 @@
+package com.samsa.node.inout.timeseries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link BlockEncoder}로 압축한 블록의 점을 차례로 풀어냅니다. 블록 전체를 한 번에 풀지 않으므로
+ * 여러 블록을 시각 순으로 합칠 때도 블록마다 현재 점 하나만 메모리에 둡니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class BlockCursor {
+
+    private final String series;
+    private final BitInput input;
+    private final int count;
+    private final int order;
+
+    private int position;
+    private long timestamp;
+    private long delta;
+    private long valueBits;
+    private int leading;
+    private int trailing;
+
+    BlockCursor(String series, ByteBuffer buffer, int offset, int count, int order) {
+        this.series = series;
+        this.input = new BitInput(buffer, offset);
+        this.count = count;
+        this.order = order;
+    }
+
+    /**
+     * 다음 점으로 이동합니다.
+     *
+     * @return 점이 있으면 true
+     */
+    boolean next() {
+        if (position >= count) {
+            return false;
+        }
+        if (position == 0) {
+            timestamp = input.read(64);
+            valueBits = input.read(64);
+        } else {
+            delta += readDeltaOfDelta();
+            timestamp += delta;
+            readValue();
+        }
+        position++;
+        return true;
+    }
+
+    private long readDeltaOfDelta() {
+        if (!input.readBit()) {
+            return 0;
+        }
+        if (!input.readBit()) {
+            return input.read(7) - 63;
+        }
+        if (!input.readBit()) {
+            return input.read(9) - 255;
+        }
+        if (!input.readBit()) {
+            return input.read(12) - 2047;
+        }
+        return input.read(64);
+    }
+
+    private void readValue() {
+        if (!input.readBit()) {
+            return;
+        }
+        if (input.readBit()) {
+            leading = (int) input.read(5);
+            int meaningful = (int) input.read(6) + 1;
+            trailing = 64 - leading - meaningful;
+        }
+        valueBits ^= input.read(64 - leading - trailing) << trailing;
+    }
+
+    String getSeries() {
+        return series;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * 같은 시각의 점을 합칠 때 사용할 블록의 순서를 반환합니다.
+     */
+    int getOrder() {
+        return order;
+    }
+
+    double getValue() {
+        return Double.longBitsToDouble(valueBits);
+    }
+}
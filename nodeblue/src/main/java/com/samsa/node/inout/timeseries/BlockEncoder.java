@@ -0,0 +1,122 @@
+package com.samsa.node.inout.timeseries;
+
+/**
+ * 한 시리즈의 점들을 하나의 블록으로 압축합니다.
+ *
+ * <p>시각은 첫 값만 그대로 쓰고 이후에는 간격의 변화량(delta-of-delta)을 크기에 따라 1~68비트로 씁니다.
+ * 일정한 주기로 들어오는 센서 값은 대부분 1비트가 됩니다. 값은 직전 값과의 XOR에서 앞뒤의 0을 뺀 가운데 비트만 쓰며,
+ * 직전과 같은 값은 1비트가 됩니다(Gorilla 방식).</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class BlockEncoder {
+
+    private final BitOutput output;
+
+    private int count;
+    private long minTimestamp;
+    private long maxTimestamp;
+
+    private long previousTimestamp;
+    private long previousDelta;
+    private long previousValue;
+    private int previousLeading = -1;
+    private int previousTrailing;
+
+    BlockEncoder(int blockSize) {
+        output = new BitOutput(blockSize * 2);
+    }
+
+    void append(long timestamp, double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        if (count == 0) {
+            output.write(timestamp, 64);
+            output.write(bits, 64);
+            minTimestamp = timestamp;
+            maxTimestamp = timestamp;
+        } else {
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(delta - previousDelta);
+            previousDelta = delta;
+            writeValue(bits ^ previousValue);
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+        previousTimestamp = timestamp;
+        previousValue = bits;
+        count++;
+    }
+
+    private void writeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            output.writeBit(false);
+        } else if (dod >= -63 && dod <= 64) {
+            output.write(0b10, 2);
+            output.write(dod + 63, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            output.write(0b110, 3);
+            output.write(dod + 255, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            output.write(0b1110, 4);
+            output.write(dod + 2047, 12);
+        } else {
+            output.write(0b1111, 4);
+            output.write(dod, 64);
+        }
+    }
+
+    private void writeValue(long xor) {
+        if (xor == 0) {
+            output.writeBit(false);
+            return;
+        }
+        output.writeBit(true);
+        int leading = Math.min(31, Long.numberOfLeadingZeros(xor));
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+            // 직전의 유효 비트 구간 안에 들어가면 구간 정보 없이 씀
+            output.writeBit(false);
+            output.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            return;
+        }
+        int meaningful = 64 - leading - trailing;
+        output.writeBit(true);
+        output.write(leading, 5);
+        output.write(meaningful - 1, 6);
+        output.write(xor >>> trailing, meaningful);
+        previousLeading = leading;
+        previousTrailing = trailing;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    int byteLength() {
+        return output.byteLength();
+    }
+
+    byte[] array() {
+        return output.array();
+    }
+
+    /**
+     * 다음 블록을 쓰기 위해 비웁니다.
+     */
+    void reset() {
+        output.reset();
+        count = 0;
+        previousDelta = 0;
+        previousLeading = -1;
+        previousTrailing = 0;
+    }
+}
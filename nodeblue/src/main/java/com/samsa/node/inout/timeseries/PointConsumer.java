@@ -0,0 +1,20 @@
+package com.samsa.node.inout.timeseries;
+
+/**
+ * 저장소에서 읽은 점을 받는 함수입니다. 값을 객체로 감싸지 않고 넘깁니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface PointConsumer {
+
+    /**
+     * 점 하나를 받습니다.
+     *
+     * @param series    시리즈 키
+     * @param timestamp 시각(epoch 밀리초)
+     * @param value     값
+     */
+    void accept(String series, long timestamp, double value);
+}
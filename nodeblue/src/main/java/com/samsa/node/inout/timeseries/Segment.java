@@ -0,0 +1,182 @@
+package com.samsa.node.inout.timeseries;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * 블록을 이어 쓰는 메모리 매핑 세그먼트 파일입니다.
+ *
+ * <p>파일은 만들 때 정한 크기로 미리 잡아 두고 매핑합니다. 앞 16바이트에는 식별 값, 버전, 기록이 끝난 위치를 두고,
+ * 그 뒤로 블록을 {@code [시리즈 길이][시리즈][최소 시각][최대 시각][점 수][데이터 길이][데이터]} 형식으로 씁니다.
+ * 블록을 모두 쓴 뒤에 끝 위치를 갱신하므로, 쓰다 끊긴 블록은 열 때 보이지 않습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class Segment implements AutoCloseable {
+
+    static final int HEADER_BYTES = 16;
+
+    private static final int MAGIC = 0x54534442;
+    private static final int VERSION = 1;
+    private static final int END_OFFSET = 8;
+    private static final int BLOCK_HEADER_BYTES = Short.BYTES + Long.BYTES * 2 + Integer.BYTES * 2;
+
+    /**
+     * 세그먼트에 있는 블록의 위치와 시간 범위입니다.
+     */
+    static final class BlockRef {
+        final Segment segment;
+        final String series;
+        final long minTimestamp;
+        final long maxTimestamp;
+        final int count;
+        final int dataOffset;
+
+        BlockRef(Segment segment, String series, long minTimestamp, long maxTimestamp, int count, int dataOffset) {
+            this.segment = segment;
+            this.series = series;
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+            this.count = count;
+            this.dataOffset = dataOffset;
+        }
+
+        boolean overlaps(long from, long to) {
+            return maxTimestamp >= from && minTimestamp <= to;
+        }
+
+        BlockCursor cursor(int order) {
+            return new BlockCursor(series, segment.buffer, dataOffset, count, order);
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int end;
+
+    private Segment(Path path, FileChannel channel, MappedByteBuffer buffer, int end) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.end = end;
+    }
+
+    /**
+     * 새 세그먼트를 만듭니다.
+     */
+    static Segment create(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(END_OFFSET, HEADER_BYTES);
+            return new Segment(path, channel, buffer, HEADER_BYTES);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 기존 세그먼트를 열고 블록마다 콜백을 호출합니다.
+     */
+    static Segment open(Path path, boolean writable, Consumer<BlockRef> blocks) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid segment size: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE
+                    : FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a time-series segment: " + path);
+            }
+            int end = (int) Math.min(Math.max(buffer.getLong(END_OFFSET), HEADER_BYTES), size);
+            Segment segment = new Segment(path, channel, buffer, end);
+            segment.index(blocks);
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void index(Consumer<BlockRef> blocks) {
+        int position = HEADER_BYTES;
+        while (position + BLOCK_HEADER_BYTES <= end) {
+            int keyLength = buffer.getShort(position) & 0xFFFF;
+            int header = position + Short.BYTES + keyLength;
+            if (header + BLOCK_HEADER_BYTES - Short.BYTES > end) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            buffer.get(position + Short.BYTES, key);
+            long min = buffer.getLong(header);
+            long max = buffer.getLong(header + 8);
+            int count = buffer.getInt(header + 16);
+            int length = buffer.getInt(header + 20);
+            int data = header + 24;
+            if (count <= 0 || length < 0 || data + length > end) {
+                break;
+            }
+            blocks.accept(new BlockRef(this, new String(key, StandardCharsets.UTF_8), min, max, count, data));
+            position = data + length;
+        }
+        end = position;
+    }
+
+    /**
+     * 블록을 씁니다.
+     *
+     * @return 쓴 블록, 남은 공간이 부족하면 null
+     */
+    BlockRef append(String series, byte[] key, BlockEncoder block) {
+        int length = block.byteLength();
+        int required = BLOCK_HEADER_BYTES + key.length + length;
+        if (end + required > buffer.capacity()) {
+            return null;
+        }
+        int position = end;
+        buffer.putShort(position, (short) key.length);
+        buffer.put(position + Short.BYTES, key);
+        int header = position + Short.BYTES + key.length;
+        buffer.putLong(header, block.getMinTimestamp());
+        buffer.putLong(header + 8, block.getMaxTimestamp());
+        buffer.putInt(header + 16, block.getCount());
+        buffer.putInt(header + 20, length);
+        int data = header + 24;
+        buffer.put(data, block.array(), 0, length);
+        end = data + length;
+        buffer.putLong(END_OFFSET, end);
+        return new BlockRef(this, series, block.getMinTimestamp(), block.getMaxTimestamp(), block.getCount(), data);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    int getEnd() {
+        return end;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,416 @@
+package com.samsa.node.inout.timeseries;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시리즈별 시계열 값을 압축하여 디렉터리에 저장하고 시간 범위로 다시 읽습니다.
+ *
+ * <p>값은 시리즈마다 메모리의 블록에 모았다가 블록이 차면 {@link BlockEncoder}로 압축된 상태 그대로 메모리 매핑된
+ * 세그먼트 파일에 이어 씁니다. 세그먼트가 차면 다음 번호의 세그먼트를 만듭니다. 블록마다 시리즈와 최소, 최대 시각을
+ * 함께 기록하므로 열 때 블록 머리만 훑어 시간 색인을 만들고, 읽을 때는 범위에 걸치는 블록만 풀어냅니다.</p>
+ *
+ * <p>아직 차지 않은 블록은 {@link #flush()}나 {@link #close()}를 호출해야 기록되며, 그 전에는 읽을 수 없습니다.
+ * 기록은 운영체제 캐시까지만 하고 {@link #flush()}에서 디스크에 반영합니다.</p>
+ *
+ * <p>한 디렉터리에는 쓰는 저장소를 하나만 열어야 하며, 읽기 전용 저장소는 연 시점까지 기록된 블록을 읽습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class TimeSeriesStore implements AutoCloseable {
+
+    /** 기본 블록당 점 수 */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /** 기본 세그먼트 크기(바이트) */
+    public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    /** 최소 세그먼트 크기(바이트) */
+    public static final long MIN_SEGMENT_BYTES = 64L * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".tsd";
+
+    private final Path directory;
+    private final boolean writable;
+    private final int blockSize;
+    private final int segmentBytes;
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    /** 시리즈별 기록된 블록 */
+    private final Map<String, List<Segment.BlockRef>> index = new HashMap<>();
+
+    /** 시리즈별 채우는 중인 블록 */
+    private final Map<String, BlockEncoder> open = new HashMap<>();
+
+    /** 시리즈 키의 UTF-8 바이트, 블록을 쓸 때마다 인코딩하지 않도록 보관 */
+    private final Map<String, byte[]> keys = new HashMap<>();
+
+    private long pointCount;
+    private boolean closed;
+
+    private TimeSeriesStore(Path directory, boolean writable, int blockSize, long segmentBytes) {
+        this.directory = directory;
+        this.writable = writable;
+        this.blockSize = blockSize;
+        this.segmentBytes = (int) segmentBytes;
+    }
+
+    /**
+     * 기본 블록 크기와 세그먼트 크기로 쓰기 저장소를 엽니다.
+     *
+     * @param directory 저장 디렉터리, 없으면 만듦
+     * @return 저장소
+     * @throws IOException 디렉터리나 세그먼트를 열 수 없는 경우
+     */
+    public static TimeSeriesStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_BLOCK_SIZE, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * 쓰기 저장소를 엽니다. 기존 세그먼트가 있으면 색인을 만들고 마지막 세그먼트에 이어 씁니다.
+     *
+     * @param directory    저장 디렉터리, 없으면 만듦
+     * @param blockSize    블록당 점 수
+     * @param segmentBytes 세그먼트 크기(바이트)
+     * @return 저장소
+     * @throws IllegalArgumentException 디렉터리가 null이거나 블록 크기 또는 세그먼트 크기가 범위를 벗어난 경우
+     * @throws IOException              디렉터리나 세그먼트를 열 수 없는 경우
+     */
+    public static TimeSeriesStore open(Path directory, int blockSize, long segmentBytes) throws IOException {
+        if (Objects.isNull(directory)) {
+            log.error("시계열 저장 디렉터리가 null입니다");
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (blockSize <= 0 || segmentBytes < MIN_SEGMENT_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            log.error("블록 크기 또는 세그먼트 크기가 유효하지 않습니다. blockSize: {}, segmentBytes: {}", blockSize,
+                    segmentBytes);
+            throw new IllegalArgumentException("Block size must be positive and segment bytes between "
+                    + MIN_SEGMENT_BYTES + " and " + Integer.MAX_VALUE);
+        }
+        Files.createDirectories(directory);
+        TimeSeriesStore store = new TimeSeriesStore(directory, true, blockSize, segmentBytes);
+        store.load();
+        return store;
+    }
+
+    /**
+     * 읽기 전용 저장소를 엽니다.
+     *
+     * @param directory 저장 디렉터리
+     * @return 저장소
+     * @throws IllegalArgumentException 디렉터리가 null인 경우
+     * @throws IOException              디렉터리가 없거나 세그먼트를 열 수 없는 경우
+     */
+    public static TimeSeriesStore openReadOnly(Path directory) throws IOException {
+        if (Objects.isNull(directory)) {
+            log.error("시계열 저장 디렉터리가 null입니다");
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("Directory does not exist: " + directory);
+        }
+        TimeSeriesStore store = new TimeSeriesStore(directory, false, DEFAULT_BLOCK_SIZE, DEFAULT_SEGMENT_BYTES);
+        store.load();
+        return store;
+    }
+
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+        try {
+            for (Path file : files) {
+                segments.add(Segment.open(file, writable, block -> {
+                    index.computeIfAbsent(block.series, key -> new ArrayList<>()).add(block);
+                    pointCount += block.count;
+                }));
+            }
+        } catch (IOException e) {
+            closeSegments();
+            throw e;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("시계열 저장소 열기. 디렉터리: {}, 세그먼트: {}, 시리즈: {}", directory, segments.size(), index.size());
+        }
+    }
+
+    /**
+     * 점을 추가합니다. 시리즈의 블록이 차면 세그먼트에 기록합니다.
+     *
+     * @param series    시리즈 키
+     * @param timestamp 시각(epoch 밀리초)
+     * @param value     값
+     * @throws IllegalArgumentException 시리즈 키가 null이거나 UTF-8로 65535바이트를 넘는 경우
+     * @throws IllegalStateException    읽기 전용이거나 닫힌 저장소인 경우
+     * @throws IOException              세그먼트를 만들 수 없는 경우
+     */
+    public synchronized void append(String series, long timestamp, double value) throws IOException {
+        checkWritable();
+        BlockEncoder block = open.get(series);
+        if (block == null) {
+            if (Objects.isNull(series) || encodedKey(series).length > 0xFFFF) {
+                log.error("시리즈 키가 유효하지 않습니다: {}", series);
+                throw new IllegalArgumentException("Series key must be non-null and at most 65535 bytes");
+            }
+            block = new BlockEncoder(blockSize);
+            open.put(series, block);
+        }
+        block.append(timestamp, value);
+        if (block.getCount() >= blockSize) {
+            write(series, block);
+        }
+    }
+
+    /**
+     * 채우는 중인 블록을 모두 기록하고 세그먼트를 디스크에 반영합니다.
+     *
+     * @throws IllegalStateException 읽기 전용이거나 닫힌 저장소인 경우
+     * @throws IOException           세그먼트를 만들 수 없는 경우
+     */
+    public synchronized void flush() throws IOException {
+        checkWritable();
+        for (Map.Entry<String, BlockEncoder> entry : open.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                write(entry.getKey(), entry.getValue());
+            }
+        }
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).force();
+        }
+    }
+
+    private void write(String series, BlockEncoder block) throws IOException {
+        byte[] key = encodedKey(series);
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        Segment.BlockRef ref = segment == null ? null : segment.append(series, key, block);
+        if (ref == null) {
+            if (segment != null) {
+                segment.force();
+            }
+            segment = Segment.create(directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segments.size(),
+                    SEGMENT_SUFFIX)), segmentBytes);
+            segments.add(segment);
+            ref = segment.append(series, key, block);
+            if (ref == null) {
+                throw new IOException("Block of " + block.byteLength() + " bytes does not fit in a segment of "
+                        + segmentBytes + " bytes");
+            }
+        }
+        index.computeIfAbsent(series, k -> new ArrayList<>()).add(ref);
+        pointCount += block.getCount();
+        block.reset();
+    }
+
+    private byte[] encodedKey(String series) {
+        return keys.computeIfAbsent(series, key -> key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void checkWritable() {
+        if (closed) {
+            throw new IllegalStateException("Store is closed");
+        }
+        if (!writable) {
+            throw new IllegalStateException("Store is read-only");
+        }
+    }
+
+    /**
+     * 기록된 점 중 시간 범위에 든 점을 시각 순으로 넘깁니다. 여러 시리즈는 시각 순으로 섞어 넘깁니다.
+     *
+     * @param series   읽을 시리즈 키, null이면 모든 시리즈
+     * @param from     시작 시각(포함, epoch 밀리초)
+     * @param to       끝 시각(포함, epoch 밀리초)
+     * @param consumer 점을 받을 함수
+     * @return 넘긴 점의 수
+     * @throws IllegalArgumentException 함수가 null인 경우
+     * @throws IllegalStateException    닫힌 저장소인 경우
+     */
+    public long scan(Collection<String> series, long from, long to, PointConsumer consumer) {
+        if (Objects.isNull(consumer)) {
+            log.error("점을 받을 함수가 null입니다");
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        Scan scan = openScan(series, from, to);
+        long count = 0;
+        while (scan.next(consumer)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 시간 범위에 든 점을 {@link #scan(Collection, long, long, PointConsumer)}와 같은 순서로 하나씩 꺼내는 읽기를 엽니다.
+     * 읽는 쪽이 원할 때 멈췄다가 이어 읽을 수 있으며, 저장소를 닫은 뒤에는 이어 읽을 수 없습니다.
+     *
+     * @param series 읽을 시리즈 키, null이면 모든 시리즈
+     * @param from   시작 시각(포함, epoch 밀리초)
+     * @param to     끝 시각(포함, epoch 밀리초)
+     * @return 열린 읽기
+     * @throws IllegalStateException 닫힌 저장소인 경우
+     */
+    public Scan openScan(Collection<String> series, long from, long to) {
+        // 범위에 걸치는 블록마다 커서를 두고, 현재 시각이 가장 이른 커서부터 꺼냄
+        // 시각이 같으면 먼저 기록된 블록부터 꺼내 같은 시리즈의 기록 순서를 지킴
+        PriorityQueue<BlockCursor> cursors = new PriorityQueue<>(Comparator.comparingLong(BlockCursor::getTimestamp)
+                .thenComparingInt(BlockCursor::getOrder));
+        int order = 0;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Store is closed");
+            }
+            for (String key : series == null ? index.keySet() : series) {
+                for (Segment.BlockRef block : index.getOrDefault(key, List.of())) {
+                    if (block.overlaps(from, to)) {
+                        BlockCursor cursor = block.cursor(order++);
+                        if (advance(cursor, from, to)) {
+                            cursors.add(cursor);
+                        }
+                    }
+                }
+            }
+        }
+        return new Scan(cursors, from, to);
+    }
+
+    /**
+     * 커서를 범위 안의 다음 점으로 옮깁니다.
+     */
+    private static boolean advance(BlockCursor cursor, long from, long to) {
+        while (cursor.next()) {
+            long timestamp = cursor.getTimestamp();
+            if (timestamp >= from && timestamp <= to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 기록된 블록이 있는 시리즈 키를 반환합니다.
+     *
+     * @return 정렬된 시리즈 키
+     */
+    public synchronized Set<String> getSeries() {
+        return new TreeSet<>(index.keySet());
+    }
+
+    /**
+     * 기록된 점의 수를 반환합니다. 채우는 중인 블록의 점은 포함하지 않습니다.
+     *
+     * @return 기록된 점의 수
+     */
+    public synchronized long getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * 세그먼트에 기록된 바이트 수를 반환합니다.
+     *
+     * @return 기록된 바이트 수
+     */
+    public synchronized long getStoredBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.getEnd() - Segment.HEADER_BYTES;
+        }
+        return bytes;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 쓰기 저장소이면 채우는 중인 블록을 기록한 뒤 세그먼트를 닫습니다.
+     *
+     * @throws IOException 블록을 기록하거나 세그먼트를 닫을 수 없는 경우
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (writable) {
+                flush();
+            }
+        } finally {
+            closed = true;
+            closeSegments();
+        }
+    }
+
+    private void closeSegments() throws IOException {
+        IOException failure = null;
+        for (Segment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 시간 범위의 점을 시각 순으로 하나씩 꺼내는 읽기입니다. 한 스레드에서만 사용해야 합니다.
+     */
+    public static final class Scan {
+        private final PriorityQueue<BlockCursor> cursors;
+        private final long from;
+        private final long to;
+
+        private Scan(PriorityQueue<BlockCursor> cursors, long from, long to) {
+            this.cursors = cursors;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * 다음 점 하나를 넘깁니다.
+         *
+         * @param consumer 점을 받을 함수
+         * @return 점을 넘겼으면 true, 남은 점이 없으면 false
+         */
+        public boolean next(PointConsumer consumer) {
+            BlockCursor cursor = cursors.poll();
+            if (cursor == null) {
+                return false;
+            }
+            consumer.accept(cursor.getSeries(), cursor.getTimestamp(), cursor.getValue());
+            if (advance(cursor, from, to)) {
+                cursors.add(cursor);
+            }
+            return true;
+        }
+    }
+}
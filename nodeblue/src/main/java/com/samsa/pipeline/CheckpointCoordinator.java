@@ -0,0 +1,250 @@
+package com.samsa.pipeline;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.samsa.core.CheckpointBarrier;
+import com.samsa.core.CheckpointSource;
+import com.samsa.core.InNode;
+import com.samsa.core.InOutNode;
+import com.samsa.core.Node;
+import com.samsa.core.OutNode;
+import com.samsa.core.OutPort;
+import com.samsa.core.StatefulNode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 파이프라인의 주기적인 체크포인트를 조율합니다.
+ *
+ * <p>체크포인트가 시작되면 입력 파이프가 없는 소스 노드의 상태를 스냅샷하고 출력 파이프로
+ * {@link CheckpointBarrier}를 흘려보냅니다. {@link CheckpointSource}를 구현한 소스는 배리어를 넘겨받아 메시지를 내보내는
+ * 자기 스레드에서 두 메시지 사이에 스냅샷과 배리어를 함께 주입하므로, 내보내는 중에도 스냅샷과 배리어의 위치가 어긋나지 않습니다.
+ * 구현하지 않은 소스는 이 조율자의 스레드에서 스냅샷하고 배리어를 보내므로 그동안 메시지를 내보내지 않는 소스여야 합니다.</p>
+ *
+ * <p>배리어를 받은 각 노드는 모든 입력의 배리어가 모일 때까지 배리어를 먼저 보낸 입력을 읽지 않고 기다렸다가
+ * 스냅샷 결과를 통보하며, 모든 노드의 통보가 모이면 {@link SnapshotStore}가 별도 스레드에서 디스크에 기록합니다.
+ * 제한 시간 안에 통보가 모이지 않은 체크포인트는 버려지며, 노드도 제한 시간이 지난 정렬은 포기하고 막아 둔 입력을 다시 읽습니다.
+ * 배리어는 속도 제한을 거치지 않고 가득 찬 파이프에도 들어가므로, 배압이 걸린 중에도 체크포인트가 완료됩니다.</p>
+ *
+ * <p>복원은 노드 ID로 상태를 찾으므로, 재시작 후에도 같은 노드에 같은 ID가 부여되어야 합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class CheckpointCoordinator implements CheckpointBarrier.Acknowledger, AutoCloseable {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 60_000;
+
+    private final Pipeline pipeline;
+    private final SnapshotStore store;
+    private final long intervalMillis;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong nextCheckpointId = new AtomicLong(1);
+
+    /** 통보를 기다리는 체크포인트 */
+    private final Map<Long, PendingCheckpoint> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 체크포인트 조율자를 생성합니다.
+     *
+     * @param pipeline       체크포인트 대상 파이프라인
+     * @param store          스냅샷 저장소
+     * @param intervalMillis 체크포인트 주기(밀리초)
+     * @throws IllegalArgumentException 파이프라인 또는 저장소가 null이거나 주기가 0 이하인 경우
+     */
+    public CheckpointCoordinator(Pipeline pipeline, SnapshotStore store, long intervalMillis) {
+        this(pipeline, store, intervalMillis, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * 체크포인트 조율자를 생성합니다.
+     *
+     * @param pipeline       체크포인트 대상 파이프라인
+     * @param store          스냅샷 저장소
+     * @param intervalMillis 체크포인트 주기(밀리초)
+     * @param timeoutMillis  체크포인트가 완료되기를 기다리는 최대 시간(밀리초)
+     * @throws IllegalArgumentException 파이프라인 또는 저장소가 null이거나 시간이 0 이하인 경우
+     */
+    public CheckpointCoordinator(Pipeline pipeline, SnapshotStore store, long intervalMillis, long timeoutMillis) {
+        if (Objects.isNull(pipeline) || Objects.isNull(store)) {
+            log.error("파이프라인 또는 스냅샷 저장소가 null입니다");
+            throw new IllegalArgumentException("Pipeline and store cannot be null");
+        }
+        if (intervalMillis <= 0 || timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Interval and timeout must be positive");
+        }
+        this.pipeline = pipeline;
+        this.store = store;
+        this.intervalMillis = intervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-" + pipeline.getId());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 마지막 체크포인트의 상태로 파이프라인의 상태 노드들을 복원합니다.
+     * 파이프라인을 시작하기 전에 호출해야 합니다.
+     *
+     * @return 복원된 노드 수
+     * @throws IOException 스냅샷을 읽을 수 없는 경우
+     */
+    public int restore() throws IOException {
+        store.latestCheckpointId().ifPresent(latest -> nextCheckpointId.set(latest + 1));
+        Map<UUID, byte[]> states = store.loadLatest();
+
+        int restored = 0;
+        for (Node node : pipeline.getNodes()) {
+            byte[] state = states.get(node.getId());
+            if (node instanceof StatefulNode stateful && state != null) {
+                stateful.restore(state);
+                restored++;
+            }
+        }
+        log.info("Pipeline[{}] restored {} stateful nodes", pipeline.getId(), restored);
+        return restored;
+    }
+
+    /**
+     * 주기적인 체크포인트를 시작합니다.
+     */
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::triggerSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Pipeline[{}] checkpointing every {} ms into {}", pipeline.getId(), intervalMillis,
+                store.getDirectory());
+    }
+
+    private void triggerSafely() {
+        try {
+            triggerCheckpoint();
+        } catch (Exception e) {
+            log.error("체크포인트 시작 실패. PipelineId: {}", pipeline.getId(), e);
+        }
+    }
+
+    /**
+     * 새 체크포인트를 시작하고 소스 노드에 배리어를 주입합니다.
+     *
+     * @return 시작된 체크포인트 번호
+     */
+    public long triggerCheckpoint() {
+        expireTimedOut();
+
+        long checkpointId = nextCheckpointId.getAndIncrement();
+        Set<UUID> expected = ConcurrentHashMap.newKeySet();
+        pipeline.getNodes().forEach(node -> expected.add(node.getId()));
+        pending.put(checkpointId, new PendingCheckpoint(expected, System.currentTimeMillis()));
+        log.debug("체크포인트 시작. PipelineId: {}, CheckpointId: {}", pipeline.getId(), checkpointId);
+
+        CheckpointBarrier barrier = new CheckpointBarrier(checkpointId, this, timeoutMillis);
+        for (Node node : pipeline.getNodes()) {
+            if (!isSource(node)) {
+                continue;
+            }
+            if (node instanceof CheckpointSource source) {
+                // 소스가 메시지를 내보내는 스레드에서 두 메시지 사이에 스냅샷과 배리어를 주입함
+                source.injectBarrier(barrier);
+                continue;
+            }
+            byte[] state = node instanceof StatefulNode stateful ? stateful.snapshot() : null;
+            acknowledge(checkpointId, node, state);
+            OutPort outPort = outPortOf(node);
+            if (outPort != null) {
+                outPort.propagate(barrier);
+            }
+        }
+        return checkpointId;
+    }
+
+    @Override
+    public void acknowledge(long checkpointId, Node node, byte[] state) {
+        PendingCheckpoint checkpoint = pending.get(checkpointId);
+        if (checkpoint == null) {
+            log.debug("만료된 체크포인트 통보 무시. CheckpointId: {}, NodeId: {}", checkpointId, node.getId());
+            return;
+        }
+        if (state != null) {
+            checkpoint.states.put(node.getId(), state);
+        }
+        checkpoint.remaining.remove(node.getId());
+        if (checkpoint.remaining.isEmpty() && pending.remove(checkpointId, checkpoint)) {
+            store.writeAsync(checkpointId, checkpoint.states).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    log.error("체크포인트 기록 실패. PipelineId: {}, CheckpointId: {}",
+                            pipeline.getId(), checkpointId, error);
+                }
+            });
+        }
+    }
+
+    private void expireTimedOut() {
+        long now = System.currentTimeMillis();
+        pending.entrySet().removeIf(entry -> {
+            boolean expired = now - entry.getValue().startedAt > timeoutMillis;
+            if (expired) {
+                log.warn("체크포인트 시간 초과로 폐기. PipelineId: {}, CheckpointId: {}, 미응답 노드: {}",
+                        pipeline.getId(), entry.getKey(), entry.getValue().remaining);
+            }
+            return expired;
+        });
+    }
+
+    private static boolean isSource(Node node) {
+        if (node instanceof OutNode) {
+            return true;
+        }
+        if (node instanceof InOutNode inOutNode) {
+            return inOutNode.getInPort().getPipes().isEmpty();
+        }
+        if (node instanceof InNode inNode) {
+            return inNode.getInPort().getPipes().isEmpty();
+        }
+        return true;
+    }
+
+    private static OutPort outPortOf(Node node) {
+        if (node instanceof OutNode outNode) {
+            return outNode.getOutPort();
+        }
+        if (node instanceof InOutNode inOutNode) {
+            return inOutNode.getOutPort();
+        }
+        return null;
+    }
+
+    /**
+     * 주기적인 체크포인트를 멈추고 남은 스냅샷 쓰기를 마칩니다.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        store.close();
+    }
+
+    /**
+     * 통보를 기다리는 체크포인트의 진행 상태입니다.
+     */
+    private static class PendingCheckpoint {
+        private final Set<UUID> remaining;
+        private final Map<UUID, byte[]> states = new ConcurrentHashMap<>();
+        private final long startedAt;
+
+        private PendingCheckpoint(Set<UUID> remaining, long startedAt) {
+            this.remaining = remaining;
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package com.samsa.pipeline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * 검증을 마친 플로우의 노드와 연결을 담은 이진 이미지입니다.
+ *
+ * <p>{@link JsonToPipeline#compile(String)}로 플로우 JSON을 한 번 검증하여 만들고 {@link #write(Path)}로 저장해 두면,
+ * 런타임은 {@link #read(Path)}와 {@link JsonToPipeline#convert(FlowImage)}로 JSON 해석 없이 파이프라인을 만듭니다.
+ * 노드는 등록된 생성 함수로 만들며 리플렉션을 쓰지 않습니다.</p>
+ *
+ * <p>이미지는 매직 번호와 버전 뒤에 파이프라인 ID, 메모리 예산, 워커 주소, 노드 종류 표, 노드, 연결 순으로 기록합니다.
+ * 노드 ID는 UUID 두 개의 long으로, 노드 종류는 표의 번호로, 연결의 양 끝은 노드의 순번으로 기록하며,
+ * 노드 속성은 타입 태그를 붙인 값으로 기록하여 읽을 때 JSON 트리를 직접 만듭니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class FlowImage {
+
+    /** 이미지 파일의 매직 번호 ("NBFI") */
+    public static final int MAGIC = 0x4E424649;
+
+    /** 이미지 형식 버전. 버전 2에서 연결의 합침 키가 추가됨 */
+    public static final int VERSION = 2;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte TEXT = 6;
+    private static final byte BIG_INTEGER = 7;
+    private static final byte DECIMAL = 8;
+    private static final byte ARRAY = 9;
+    private static final byte OBJECT = 10;
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final UUID id;
+    private final Long memoryBudgetBytes;
+    private final Map<String, WorkerAddress> workers;
+    private final List<NodeSpec> nodes;
+    private final List<WireSpec> wires;
+
+    FlowImage(UUID id, Long memoryBudgetBytes, Map<String, WorkerAddress> workers, List<NodeSpec> nodes,
+            List<WireSpec> wires) {
+        this.id = id;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.workers = Collections.unmodifiableMap(new LinkedHashMap<>(workers));
+        this.nodes = List.copyOf(nodes);
+        this.wires = List.copyOf(wires);
+    }
+
+    /**
+     * 파일이 플로우 이미지인지 매직 번호로 확인합니다.
+     *
+     * @param path 확인할 파일
+     * @return 플로우 이미지이면 true
+     * @throws IOException 파일을 읽을 수 없는 경우
+     */
+    public static boolean isImage(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return in.readInt() == MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 파일에서 이미지를 읽습니다.
+     *
+     * @param path 이미지 파일
+     * @return 읽은 이미지
+     * @throws IOException 파일을 읽을 수 없거나 이미지 형식이 아닌 경우
+     */
+    public static FlowImage read(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * 스트림에서 이미지를 읽습니다. 스트림은 닫지 않습니다.
+     *
+     * @param stream 이미지를 읽을 스트림
+     * @return 읽은 이미지
+     * @throws IOException 읽을 수 없거나 이미지 형식이 아닌 경우
+     */
+    public static FlowImage read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a flow image");
+        }
+        int version = in.readUnsignedShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported flow image version: " + version);
+        }
+
+        UUID id = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+        Long budget = in.readBoolean() ? in.readLong() : null;
+
+        int workerCount = in.readInt();
+        Map<String, WorkerAddress> workers = new LinkedHashMap<>();
+        for (int i = 0; i < workerCount; i++) {
+            workers.put(readString(in), new WorkerAddress(readString(in), in.readInt()));
+        }
+
+        int typeCount = in.readInt();
+        String[] types = new String[typeCount];
+        for (int i = 0; i < typeCount; i++) {
+            types[i] = readString(in);
+        }
+
+        int nodeCount = in.readInt();
+        List<NodeSpec> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            UUID nodeId = new UUID(in.readLong(), in.readLong());
+            String type = types[checkIndex(in.readInt(), typeCount)];
+            String worker = in.readBoolean() ? readString(in) : null;
+            JsonNode properties = readValue(in);
+            if (!properties.isObject()) {
+                throw new IOException("Node properties must be an object: " + nodeId);
+            }
+            nodes.add(new NodeSpec(nodeId, type, worker, (ObjectNode) properties));
+        }
+
+        int wireCount = in.readInt();
+        List<WireSpec> wires = new ArrayList<>(wireCount);
+        for (int i = 0; i < wireCount; i++) {
+            NodeSpec from = nodes.get(checkIndex(in.readInt(), nodeCount));
+            NodeSpec to = nodes.get(checkIndex(in.readInt(), nodeCount));
+            int capacity = in.readInt();
+            String conflateBy = version >= 2 && in.readBoolean() ? readString(in) : null;
+            wires.add(new WireSpec(from.getId(), to.getId(), capacity, conflateBy));
+        }
+        return new FlowImage(id, budget, workers, nodes, wires);
+    }
+
+    /**
+     * 이미지를 파일에 씁니다. 임시 파일에 모두 쓴 뒤 교체하므로 중간에 실패해도 기존 파일은 남습니다.
+     *
+     * @param path 이미지 파일
+     * @throws IOException 쓸 수 없는 경우
+     */
+    public void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            write(out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 이미지를 스트림에 씁니다. 스트림은 닫지 않고 비우기만 합니다.
+     *
+     * @param stream 이미지를 쓸 스트림
+     * @throws IOException 쓸 수 없는 경우
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        out.writeBoolean(id != null);
+        if (id != null) {
+            out.writeLong(id.getMostSignificantBits());
+            out.writeLong(id.getLeastSignificantBits());
+        }
+        out.writeBoolean(memoryBudgetBytes != null);
+        if (memoryBudgetBytes != null) {
+            out.writeLong(memoryBudgetBytes);
+        }
+
+        out.writeInt(workers.size());
+        for (Map.Entry<String, WorkerAddress> worker : workers.entrySet()) {
+            writeString(out, worker.getKey());
+            writeString(out, worker.getValue().getHost());
+            out.writeInt(worker.getValue().getPort());
+        }
+
+        Map<String, Integer> types = new LinkedHashMap<>();
+        nodes.forEach(node -> types.putIfAbsent(node.getType(), types.size()));
+        out.writeInt(types.size());
+        for (String type : types.keySet()) {
+            writeString(out, type);
+        }
+
+        Map<UUID, Integer> indexes = new HashMap<>();
+        out.writeInt(nodes.size());
+        for (NodeSpec node : nodes) {
+            indexes.put(node.getId(), indexes.size());
+            out.writeLong(node.getId().getMostSignificantBits());
+            out.writeLong(node.getId().getLeastSignificantBits());
+            out.writeInt(types.get(node.getType()));
+            out.writeBoolean(node.getWorker() != null);
+            if (node.getWorker() != null) {
+                writeString(out, node.getWorker());
+            }
+            writeValue(out, node.getProperties());
+        }
+
+        out.writeInt(wires.size());
+        for (WireSpec wire : wires) {
+            out.writeInt(indexes.get(wire.getFrom()));
+            out.writeInt(indexes.get(wire.getTo()));
+            out.writeInt(wire.getCapacity());
+            out.writeBoolean(wire.getConflateBy() != null);
+            if (wire.getConflateBy() != null) {
+                writeString(out, wire.getConflateBy());
+            }
+        }
+        out.flush();
+    }
+
+    private static void writeValue(DataOutputStream out, JsonNode value) throws IOException {
+        if (value == null || value.isNull() || value.isMissingNode()) {
+            out.writeByte(NULL);
+        } else if (value.isBoolean()) {
+            out.writeByte(value.booleanValue() ? TRUE : FALSE);
+        } else if (value.isInt()) {
+            out.writeByte(INT);
+            out.writeInt(value.intValue());
+        } else if (value.isLong()) {
+            out.writeByte(LONG);
+            out.writeLong(value.longValue());
+        } else if (value.isBigInteger()) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.bigIntegerValue().toString());
+        } else if (value.isBigDecimal()) {
+            out.writeByte(DECIMAL);
+            writeString(out, value.decimalValue().toString());
+        } else if (value.isNumber()) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(value.doubleValue());
+        } else if (value.isArray()) {
+            out.writeByte(ARRAY);
+            out.writeInt(value.size());
+            for (JsonNode element : value) {
+                writeValue(out, element);
+            }
+        } else if (value.isObject()) {
+            out.writeByte(OBJECT);
+            out.writeInt(value.size());
+            for (Iterator<Map.Entry<String, JsonNode>> it = value.fields(); it.hasNext();) {
+                Map.Entry<String, JsonNode> field = it.next();
+                writeString(out, field.getKey());
+                writeValue(out, field.getValue());
+            }
+        } else {
+            out.writeByte(TEXT);
+            writeString(out, value.asText());
+        }
+    }
+
+    private static JsonNode readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return NODES.nullNode();
+            case FALSE:
+                return NODES.booleanNode(false);
+            case TRUE:
+                return NODES.booleanNode(true);
+            case INT:
+                return NODES.numberNode(in.readInt());
+            case LONG:
+                return NODES.numberNode(in.readLong());
+            case DOUBLE:
+                return NODES.numberNode(in.readDouble());
+            case TEXT:
+                return NODES.textNode(readString(in));
+            case BIG_INTEGER:
+                return NODES.numberNode(new BigInteger(readString(in)));
+            case DECIMAL:
+                return NODES.numberNode(new BigDecimal(readString(in)));
+            case ARRAY: {
+                int size = in.readInt();
+                ArrayNode array = NODES.arrayNode(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readValue(in));
+                }
+                return array;
+            }
+            case OBJECT: {
+                int size = in.readInt();
+                ObjectNode object = NODES.objectNode();
+                for (int i = 0; i < size; i++) {
+                    object.set(readString(in), readValue(in));
+                }
+                return object;
+            }
+            default:
+                throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checkIndex(int index, int size) throws IOException {
+        if (index < 0 || index >= size) {
+            throw new IOException("Index out of range: " + index);
+        }
+        return index;
+    }
+
+    /**
+     * 파이프라인 ID를 반환합니다.
+     *
+     * @return 파이프라인 ID, 플로우에 없으면 null
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * 파이프들이 공유할 메모리 예산을 반환합니다.
+     *
+     * @return 메모리 예산(바이트), 플로우에 없으면 null
+     */
+    public Long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    public Map<String, WorkerAddress> getWorkers() {
+        return workers;
+    }
+
+    public List<NodeSpec> getNodes() {
+        return nodes;
+    }
+
+    public List<WireSpec> getWires() {
+        return wires;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FlowImage[id=%s, nodes=%d, wires=%d, workers=%d]", id, nodes.size(), wires.size(),
+                workers.size());
+    }
+
+    /**
+     * 노드 하나의 정의입니다.
+     */
+    public static final class NodeSpec {
+        private final UUID id;
+        private final String type;
+        private final String worker;
+        private final ObjectNode properties;
+
+        NodeSpec(UUID id, String type, String worker, ObjectNode properties) {
+            this.id = id;
+            this.type = type;
+            this.worker = worker;
+            this.properties = properties;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * 노드가 배정된 워커 이름을 반환합니다.
+         *
+         * @return 워커 이름, 배정되지 않았으면 null
+         */
+        public String getWorker() {
+            return worker;
+        }
+
+        /**
+         * 노드 속성을 반환합니다. 생성 함수에 그대로 전달되므로 수정하지 않아야 합니다.
+         *
+         * @return 노드 속성, 없으면 빈 객체
+         */
+        public ObjectNode getProperties() {
+            return properties;
+        }
+    }
+
+    /**
+     * 두 노드를 잇는 연결의 정의입니다.
+     */
+    public static final class WireSpec {
+        private final UUID from;
+        private final UUID to;
+        private final int capacity;
+        private final String conflateBy;
+
+        WireSpec(UUID from, UUID to, int capacity, String conflateBy) {
+            this.from = from;
+            this.to = to;
+            this.capacity = capacity;
+            this.conflateBy = conflateBy;
+        }
+
+        public UUID getFrom() {
+            return from;
+        }
+
+        public UUID getTo() {
+            return to;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * 키마다 최신 메시지만 전달할 때 기준이 되는 메타데이터 키를 반환합니다.
+         *
+         * @return 메타데이터 키, 합치지 않으면 null
+         * @see com.samsa.core.ConflatingPipe
+         */
+        public String getConflateBy() {
+            return conflateBy;
+        }
+    }
+
+    /**
+     * 다른 런타임의 주소입니다.
+     */
+    public static final class WorkerAddress {
+        private final String host;
+        private final int port;
+
+        WorkerAddress(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+    }
+}
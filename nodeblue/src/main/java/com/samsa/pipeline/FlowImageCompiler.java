@@ -0,0 +1,56 @@
+package com.samsa.pipeline;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 플로우 JSON을 검증하여 {@link FlowImage} 파일로 만드는 도구입니다. 장비에 배포하기 전에 한 번 실행합니다.
+ *
+ * <pre>
+ * java -cp nodeblue.jar com.samsa.pipeline.FlowImageCompiler flow.json flow.img
+ * </pre>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public final class FlowImageCompiler {
+
+    private FlowImageCompiler() {
+    }
+
+    /**
+     * 플로우 JSON 파일을 검증하여 이미지 파일로 씁니다.
+     *
+     * @param converter 노드 종류가 등록된 변환기
+     * @param flow      플로우 JSON 파일
+     * @param image     쓸 이미지 파일
+     * @return 만든 이미지
+     * @throws IOException 파일을 읽거나 쓸 수 없는 경우
+     * @throws IllegalArgumentException 플로우가 올바르지 않은 경우
+     */
+    public static FlowImage compile(JsonToPipeline converter, Path flow, Path image) throws IOException {
+        FlowImage compiled = converter.compile(Files.readString(flow));
+        compiled.write(image);
+        log.info("플로우 이미지 생성 완료. {} -> {}, 노드 수: {}, 크기: {} bytes", flow, image,
+                compiled.getNodes().size(), Files.size(image));
+        return compiled;
+    }
+
+    /**
+     * 기본 노드 종류로 플로우를 검증하여 이미지로 만듭니다.
+     *
+     * @param args 플로우 JSON 파일과 쓸 이미지 파일
+     * @throws IOException 파일을 읽거나 쓸 수 없는 경우
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            log.error("사용법: FlowImageCompiler <flow.json> <flow.img>");
+            throw new IllegalArgumentException("Usage: FlowImageCompiler <flow.json> <flow.img>");
+        }
+        compile(new JsonToPipeline(), Path.of(args[0]), Path.of(args[1]));
+    }
+}
@@ -0,0 +1,139 @@
+package com.samsa.pipeline;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.Node;
+import com.samsa.core.Pipe;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 플로우 파일을 읽어 파이프라인을 시작하고, 첫 메시지를 처리할 때까지의 기동 시간을 {@link StartupReport}로 알립니다.
+ *
+ * <p>플로우 파일은 {@link FlowImage}이거나 JSON일 수 있으며, 이미지는 JSON 해석 없이 바로 파이프라인으로 만듭니다.
+ * 들어오는 연결이 없는 노드는 메시지를 받아야 동작하므로, 시작 신호를 보내도록 지정하면 그런 노드마다
+ * 현재 시각을 페이로드로 하는 메시지를 하나씩 넣어 줍니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class FlowLauncher {
+
+    /** 첫 메시지를 기다리는 기본 제한 시간 */
+    public static final Duration DEFAULT_FIRST_MESSAGE_TIMEOUT = Duration.ofSeconds(30);
+
+    /** 첫 메시지를 기다리며 노드의 처리 수를 확인하는 간격 */
+    private static final long POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final JsonToPipeline converter;
+    private final PipelineManager manager;
+
+    /**
+     * 기동기를 생성합니다.
+     *
+     * @param converter 노드 종류가 등록된 변환기
+     * @param manager   파이프라인을 등록하고 시작할 매니저
+     * @throws IllegalArgumentException 인자가 null인 경우
+     */
+    public FlowLauncher(JsonToPipeline converter, PipelineManager manager) {
+        if (Objects.isNull(converter) || Objects.isNull(manager)) {
+            log.error("변환기 또는 매니저가 null입니다");
+            throw new IllegalArgumentException("Converter and manager cannot be null");
+        }
+        this.converter = converter;
+        this.manager = manager;
+    }
+
+    /**
+     * 플로우를 읽어 파이프라인을 시작하고 첫 메시지를 처리할 때까지 기다립니다.
+     *
+     * @param flow    플로우 이미지 또는 JSON 파일
+     * @param trigger 들어오는 연결이 없는 노드에 시작 메시지를 넣을지 여부
+     * @param timeout 첫 메시지를 기다릴 최대 시간
+     * @return 기동 결과, 제한 시간 안에 처리하지 못했으면 첫 메시지 시간이 비어 있음
+     * @throws IOException 플로우 파일을 읽을 수 없는 경우
+     * @throws IllegalArgumentException 플로우가 올바르지 않은 경우
+     */
+    public StartupReport launch(Path flow, boolean trigger, Duration timeout) throws IOException {
+        long jvmStartupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        long loadStarted = System.nanoTime();
+        boolean fromImage = FlowImage.isImage(flow);
+        Pipeline pipeline = fromImage ? converter.convert(FlowImage.read(flow)) : converter.convert(flow);
+        long loaded = System.nanoTime();
+
+        manager.addPipeline(pipeline);
+        if (trigger) {
+            int triggered = trigger(pipeline);
+            log.info("시작 메시지를 넣었습니다. PipelineId: {}, 노드 수: {}", pipeline.getId(), triggered);
+        }
+        manager.startPipeline(pipeline.getId());
+        long started = System.nanoTime();
+
+        long first = awaitFirstMessage(pipeline, timeout);
+        StartupReport report = new StartupReport(pipeline.getId(), fromImage, Duration.ofMillis(jvmStartupMillis),
+                Duration.ofNanos(loaded - loadStarted), Duration.ofNanos(started - loaded),
+                first < 0 ? null : Duration.ofNanos(Math.max(0, first - started)));
+        if (report.isFirstMessageProcessed()) {
+            log.info("기동 완료. {}", report);
+        } else {
+            log.warn("제한 시간 안에 첫 메시지를 처리하지 못했습니다. {}", report);
+        }
+        return report;
+    }
+
+    public PipelineManager getManager() {
+        return manager;
+    }
+
+    /**
+     * 들어오는 연결이 없는 입력 포트에 파이프를 연결하고 시작 메시지를 하나씩 넣습니다.
+     *
+     * @return 시작 메시지를 넣은 노드 수
+     */
+    static int trigger(Pipeline pipeline) {
+        int triggered = 0;
+        for (Node node : pipeline.getNodes()) {
+            InPort inPort = Pipeline.inPortOf(node);
+            if (inPort != null && inPort.getPipes().isEmpty()) {
+                Pipe pipe = pipeline.connect(pipeline.createPipe(1), inPort);
+                pipe.offer(new Message(System.currentTimeMillis()));
+                triggered++;
+            }
+        }
+        return triggered;
+    }
+
+    /**
+     * 파이프라인의 노드 중 하나가 메시지를 처리할 때까지 기다립니다.
+     *
+     * @return 처리를 확인한 시각({@link System#nanoTime()} 기준), 제한 시간이 지나면 -1
+     */
+    private static long awaitFirstMessage(Pipeline pipeline, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long first = Long.MAX_VALUE;
+            for (Node node : pipeline.getNodes()) {
+                long last = node.getLastMessageNanos();
+                if (node.getProcessedCount() > 0 && last != 0) {
+                    first = Math.min(first, last);
+                }
+            }
+            if (first != Long.MAX_VALUE) {
+                return first;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return -1;
+            }
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+    }
+}
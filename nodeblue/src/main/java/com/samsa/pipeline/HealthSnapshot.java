@@ -0,0 +1,97 @@
+package com.samsa.pipeline;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.samsa.core.NodeStatus;
+
+/**
+ * 여러 노드의 확인 결과를 모은 스냅샷입니다. 개수는 생성할 때 미리 세어 두므로 조회에 비용이 들지 않습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class HealthSnapshot {
+
+    private final long takenAtNanos;
+    private final List<NodeHealth> nodes;
+    private final int errorCount;
+    private final int stalledCount;
+    private final long totalBacklog;
+
+    /**
+     * 스냅샷을 생성합니다.
+     *
+     * @param takenAtNanos 확인한 시각({@link System#nanoTime()})
+     * @param nodes        노드별 확인 결과
+     */
+    public HealthSnapshot(long takenAtNanos, List<NodeHealth> nodes) {
+        this.takenAtNanos = takenAtNanos;
+        this.nodes = Collections.unmodifiableList(nodes);
+        int errors = 0;
+        int stalls = 0;
+        long backlog = 0;
+        for (NodeHealth node : nodes) {
+            if (node.getStatus() == NodeStatus.ERROR) {
+                errors++;
+            }
+            if (node.isStalled()) {
+                stalls++;
+            }
+            backlog += node.getBacklog();
+        }
+        this.errorCount = errors;
+        this.stalledCount = stalls;
+        this.totalBacklog = backlog;
+    }
+
+    public long getTakenAtNanos() {
+        return takenAtNanos;
+    }
+
+    public List<NodeHealth> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 에러 상태인 노드 수를 반환합니다.
+     *
+     * @return 에러 상태인 노드 수
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * 입력이 있는데 처리가 진행되지 않는 노드 수를 반환합니다.
+     *
+     * @return 멈춘 노드 수
+     */
+    public int getStalledCount() {
+        return stalledCount;
+    }
+
+    /**
+     * 모든 노드의 입력에 쌓인 메시지 수의 합을 반환합니다.
+     *
+     * @return 대기 중인 메시지 수
+     */
+    public long getTotalBacklog() {
+        return totalBacklog;
+    }
+
+    /**
+     * 모든 노드가 정상인지 반환합니다.
+     *
+     * @return 에러 상태이거나 멈춘 노드가 없으면 true
+     */
+    public boolean isHealthy() {
+        return errorCount == 0 && stalledCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HealthSnapshot[nodes=%d, errors=%d, stalled=%d, backlog=%d]", nodes.size(), errorCount,
+                stalledCount, totalBacklog);
+    }
+}
@@ -1,5 +1,427 @@
 package com.samsa.pipeline;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.samsa.core.InPort;
+import com.samsa.core.MemoryBudget;
+import com.samsa.core.MessagePool;
+import com.samsa.core.Node;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.core.codec.BinaryMessageCodec;
+import com.samsa.node.inout.DeduplicateNode;
+import com.samsa.node.inout.DownsampleNode;
+import com.samsa.node.inout.FunctionNode;
+import com.samsa.node.inout.JsonParseNode;
+import com.samsa.node.inout.JsonStringifyNode;
+import com.samsa.node.inout.OrderedJoinNode;
+import com.samsa.node.inout.ReadDirectoryNode;
+import com.samsa.node.inout.ReadFileNode;
+import com.samsa.node.inout.RollingWriteFileNode;
+import com.samsa.node.inout.SplitFileNode;
+import com.samsa.node.inout.StreamJoinNode;
+import com.samsa.node.inout.TimeSeriesReadNode;
+import com.samsa.node.inout.TimeSeriesWriteNode;
+import com.samsa.node.inout.WriteFileNode;
+import com.samsa.node.inout.timeseries.TimeSeriesStore;
+import com.samsa.pipeline.remote.RemotePipe;
+import com.samsa.pipeline.remote.RemotePipeServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JSON으로 기술된 플로우를 {@link Pipeline}으로 변환합니다.
+ *
+ * <p>플로우의 형식은 다음과 같습니다.</p>
+ * <pre>
+ * {
+ *   "id": "파이프라인 UUID (생략 가능)",
+ *   "memoryBudgetBytes": 파이프들이 공유할 메모리 예산 (생략 가능),
+ *   "workers": { "edge": { "host": "10.0.0.2", "port": 7100 } },
+ *   "nodes": [
+ *     { "id": "노드 UUID", "type": "ReadFileNode", "worker": "edge", "properties": { "filePath": "in.txt" } }
+ *   ],
+ *   "wires": [ { "from": "노드 UUID", "to": "노드 UUID", "capacity": 1024, "conflateBy": "device (생략 가능)" } ]
+ * }
+ * </pre>
+ *
+ * <p>노드 종류별 생성 방법은 {@link #register(String, NodeFactory)}로 추가할 수 있으며
+ * 기본으로 {@code node.inout} 패키지의 파일 노드들이 등록되어 있습니다.</p>
+ *
+ * <p>여러 런타임에 나누어 실행할 때는 각 노드의 {@code worker}에 {@code workers}에 정의된 이름을 지정하고,
+ * 런타임마다 자기 이름으로 {@link #convert(String, String, RemotePipeServer)}를 호출합니다.
+ * 그러면 자기에게 배정된 노드만 생성되고, 다른 런타임의 노드로 이어지는 연결은
+ * {@link RemotePipe}로, 다른 런타임에서 들어오는 연결은 서버에 등록된 로컬 파이프로 바뀝니다.</p>
+ *
+ * <p>플로우는 먼저 {@link FlowImage}로 검증한 뒤 파이프라인으로 만듭니다. {@link #compile(String)}로 만든 이미지를
+ * 저장해 두면 기동할 때 {@link #load(Path)}가 JSON을 해석하지 않고 이미지에서 바로 파이프라인을 만듭니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
 public class JsonToPipeline {
-    
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 플로우의 노드 정의로부터 노드를 생성하는 함수입니다.
+     */
+    @FunctionalInterface
+    public interface NodeFactory {
+
+        /**
+         * 노드를 생성합니다. 출력만 있는 노드는 입력 포트를 사용하지 않아도 됩니다.
+         *
+         * @param inPort     노드의 입력 포트
+         * @param outPort    노드의 출력 포트
+         * @param properties 노드 정의의 {@code properties} 객체, 없으면 빈 객체
+         * @return 생성된 노드
+         */
+        Node create(InPort inPort, OutPort outPort, JsonNode properties);
+    }
+
+    /** 노드 종류별 생성 함수 */
+    private final Map<String, NodeFactory> factories = new HashMap<>();
+
+    /**
+     * 기본 노드 종류가 등록된 변환기를 생성합니다.
+     */
+    public JsonToPipeline() {
+        register("ReadFileNode", (in, out, p) -> new ReadFileNode(in, out, required(p, "filePath"),
+                Charset.forName(p.path("charset").asText("UTF-8")),
+                p.path("pooled").asBoolean(false) ? new MessagePool() : null));
+        register("WriteFileNode", (in, out, p) -> new WriteFileNode(in, out, required(p, "filePath"),
+                Charset.forName(p.path("charset").asText("UTF-8")), p.path("append").asBoolean(false),
+                p.path("flushLatencyTargetMillis").asLong(0) > 0
+                        ? Duration.ofMillis(p.path("flushLatencyTargetMillis").asLong()) : null));
+        register("ReadDirectoryNode", (in, out, p) -> new ReadDirectoryNode(in, out, required(p, "directory"),
+                required(p, "glob"), Charset.forName(p.path("charset").asText("UTF-8")),
+                p.path("prefetch").asInt(ReadDirectoryNode.DEFAULT_PREFETCH),
+                ReadDirectoryNode.CompletionAction.valueOf(p.path("completionAction").asText("NONE")),
+                p.path("completedDirectory").asText(null)));
+        register("RollingWriteFileNode", (in, out, p) -> new RollingWriteFileNode(in, out, required(p, "directory"),
+                required(p, "filePattern"), p.path("maxFileBytes").asLong(0),
+                Duration.ofMillis(p.path("rotationIntervalMillis").asLong(0)),
+                RollingWriteFileNode.Compression.valueOf(p.path("compression").asText("NONE")),
+                p.path("maxFiles").asInt(0), Charset.forName(p.path("charset").asText("UTF-8")),
+                p.path("bufferSize").asInt(RollingWriteFileNode.DEFAULT_BUFFER_SIZE)));
+        register("DeduplicateNode", (in, out, p) -> new DeduplicateNode(in, out,
+                DeduplicateNode.Mode.valueOf(p.path("mode").asText("EXACT")), p.path("keyMetadata").asText(null),
+                p.path("capacity").asInt(DeduplicateNode.DEFAULT_CAPACITY),
+                Duration.ofMillis(p.path("ttlMillis").asLong(0))));
+        register("SplitFileNode", (in, out, p) -> new SplitFileNode(in, out, required(p, "filePath"),
+                Charset.forName(p.path("charset").asText("UTF-8")),
+                p.path("chunkSize").asLong(SplitFileNode.DEFAULT_CHUNK_SIZE)));
+        register("OrderedJoinNode", (in, out, p) -> new OrderedJoinNode(in, out, p.path("ordered").asBoolean(true)));
+        register("FunctionNode", (in, out, p) -> new FunctionNode(in, out, required(p, "expression"),
+                p.path("target").asText(null)));
+        register("JsonParseNode", (in, out, p) -> new JsonParseNode(in, out, p.path("ndjson").asBoolean(false),
+                p.has("fields") ? stringSet(p.get("fields")) : null, p.path("lazy").asBoolean(false)));
+        register("JsonStringifyNode", (in, out, p) -> new JsonStringifyNode(in, out,
+                JsonStringifyNode.Output.valueOf(p.path("output").asText("STRING")), p.path("ndjson").asBoolean(false)));
+        register("StreamJoinNode", (in, out, p) -> new StreamJoinNode(in, out,
+                StreamJoinNode.Mode.valueOf(p.path("mode").asText("INNER")), required(p, "keyMetadata"),
+                p.path("sideMetadata").asText(StreamJoinNode.SIDE), Duration.ofMillis(p.path("windowMillis").asLong(0)),
+                p.path("maxPerKey").asInt(StreamJoinNode.DEFAULT_MAX_PER_KEY),
+                p.path("maxKeys").asInt(StreamJoinNode.DEFAULT_MAX_KEYS)));
+        register("TimeSeriesWriteNode", (in, out, p) -> new TimeSeriesWriteNode(in, required(p, "directory"),
+                p.path("seriesMetadata").asText(TimeSeriesWriteNode.DEFAULT_SERIES_METADATA),
+                p.path("timestampMetadata").asText(TimeSeriesWriteNode.DEFAULT_TIMESTAMP_METADATA),
+                p.path("blockSize").asInt(TimeSeriesStore.DEFAULT_BLOCK_SIZE),
+                p.path("segmentBytes").asLong(TimeSeriesStore.DEFAULT_SEGMENT_BYTES),
+                Duration.ofMillis(p.path("flushIntervalMillis").asLong(0))));
+        register("TimeSeriesReadNode", (in, out, p) -> new TimeSeriesReadNode(in, out, required(p, "directory"),
+                p.has("series") ? stringSet(p.get("series")) : null, p.path("from").asLong(Long.MIN_VALUE),
+                p.path("to").asLong(Long.MAX_VALUE)));
+        register("DownsampleNode", (in, out, p) -> new DownsampleNode(in, out,
+                DownsampleNode.Mode.valueOf(p.path("mode").asText("EVERY_NTH")), p.path("size").asInt(1),
+                Duration.ofMillis(p.path("windowMillis").asLong(0)), p.path("keyMetadata").asText(null),
+                p.path("timestampMetadata").asText(DownsampleNode.DEFAULT_TIMESTAMP_METADATA),
+                p.path("maxWindowPoints").asInt(DownsampleNode.DEFAULT_MAX_WINDOW_POINTS)));
+    }
+
+    /**
+     * 노드 종류의 생성 함수를 등록합니다. 같은 종류가 이미 있으면 교체합니다.
+     *
+     * @param type    플로우의 {@code type} 값
+     * @param factory 노드 생성 함수
+     * @throws IllegalArgumentException 인자가 null인 경우
+     */
+    public void register(String type, NodeFactory factory) {
+        if (Objects.isNull(type) || Objects.isNull(factory)) {
+            log.error("등록할 노드 종류 또는 생성 함수가 null입니다");
+            throw new IllegalArgumentException("Type and factory cannot be null");
+        }
+        factories.put(type, factory);
+    }
+
+    /**
+     * 플로우 파일을 읽어 모든 노드를 이 런타임에 생성합니다.
+     *
+     * @param path 플로우 JSON 파일
+     * @return 변환된 파이프라인
+     * @throws IOException 파일을 읽을 수 없는 경우
+     */
+    public Pipeline convert(Path path) throws IOException {
+        return convert(Files.readString(path));
+    }
+
+    /**
+     * 플로우의 모든 노드를 이 런타임에 생성합니다. 노드의 {@code worker} 지정은 무시됩니다.
+     *
+     * @param json 플로우 JSON
+     * @return 변환된 파이프라인
+     * @throws IllegalArgumentException 플로우가 올바르지 않은 경우
+     */
+    public Pipeline convert(String json) {
+        return convert(json, null, null);
+    }
+
+    /**
+     * 플로우에서 지정된 워커에 배정된 노드만 생성합니다.
+     *
+     * @param json   플로우 JSON
+     * @param worker 이 런타임의 워커 이름, null이면 모든 노드를 생성
+     * @param server 다른 런타임에서 들어오는 연결을 받을 서버, 들어오는 연결이 없으면 null 가능
+     * @return 변환된 파이프라인
+     * @throws IllegalArgumentException 플로우가 올바르지 않거나 워커 배정이 맞지 않는 경우
+     */
+    public Pipeline convert(String json, String worker, RemotePipeServer server) {
+        return convert(parse(json), worker, server);
+    }
+
+    /**
+     * 플로우 이미지의 모든 노드를 이 런타임에 생성합니다. JSON을 해석하지 않습니다.
+     *
+     * @param image 플로우 이미지
+     * @return 변환된 파이프라인
+     * @throws IllegalArgumentException 이미지의 노드 종류가 등록되지 않은 경우
+     */
+    public Pipeline convert(FlowImage image) {
+        return convert(image, null, null);
+    }
+
+    /**
+     * 플로우 이미지에서 지정된 워커에 배정된 노드만 생성합니다.
+     *
+     * @param image  플로우 이미지
+     * @param worker 이 런타임의 워커 이름, null이면 모든 노드를 생성
+     * @param server 다른 런타임에서 들어오는 연결을 받을 서버, 들어오는 연결이 없으면 null 가능
+     * @return 변환된 파이프라인
+     * @throws IllegalArgumentException 노드 종류가 등록되지 않았거나 워커 배정이 맞지 않는 경우
+     */
+    public Pipeline convert(FlowImage image, String worker, RemotePipeServer server) {
+        if (Objects.isNull(image)) {
+            log.error("변환할 플로우 이미지가 null입니다");
+            throw new IllegalArgumentException("Flow image cannot be null");
+        }
+        MemoryBudget budget = image.getMemoryBudgetBytes() != null ? new MemoryBudget(image.getMemoryBudgetBytes())
+                : null;
+        Pipeline pipeline = new Pipeline(image.getId() != null ? image.getId() : UUID.randomUUID(), budget);
+
+        Map<UUID, String> assignments = new HashMap<>();
+        Map<UUID, NodePorts> localNodes = new HashMap<>();
+        for (FlowImage.NodeSpec definition : image.getNodes()) {
+            String assigned = definition.getWorker();
+            assignments.put(definition.getId(), assigned == null ? "" : assigned);
+            if (worker != null && assigned == null) {
+                throw new IllegalArgumentException("Node is not assigned to a worker: " + definition.getId());
+            }
+            if (worker == null || worker.equals(assigned)) {
+                localNodes.put(definition.getId(), createNode(pipeline, definition));
+            }
+        }
+
+        for (FlowImage.WireSpec wire : image.getWires()) {
+            NodePorts source = localNodes.get(wire.getFrom());
+            NodePorts target = localNodes.get(wire.getTo());
+            String channel = wire.getFrom() + "->" + wire.getTo();
+
+            if (source != null && target != null) {
+                pipeline.connect(source.outPort, target.inPort, createPipe(pipeline, wire));
+            } else if (source != null) {
+                FlowImage.WorkerAddress address = image.getWorkers().get(assignments.get(wire.getTo()));
+                if (address == null) {
+                    throw new IllegalArgumentException("Unknown worker address: " + assignments.get(wire.getTo()));
+                }
+                pipeline.connect(source.outPort, new RemotePipe(address.getHost(), address.getPort(), channel,
+                        wire.getCapacity(), RemotePipe.DEFAULT_BATCH_SIZE, new BinaryMessageCodec()));
+            } else if (target != null) {
+                if (server == null) {
+                    throw new IllegalArgumentException("Remote input requires a server: " + channel);
+                }
+                Pipe pipe = createPipe(pipeline, wire);
+                server.register(channel, pipe);
+                pipeline.connect(pipe, target.inPort);
+            }
+        }
+
+        log.info("플로우 변환 완료. PipelineId: {}, Worker: {}, 노드 수: {}", pipeline.getId(), worker,
+                localNodes.size());
+        return pipeline;
+    }
+
+    /**
+     * 플로우 JSON을 검증하여 이미지로 만듭니다. 구조와 함께 모든 노드의 종류가 이 변환기에 등록되어 있는지 확인하며,
+     * 노드를 생성하지는 않으므로 파일이나 포트를 열지 않습니다.
+     *
+     * @param json 플로우 JSON
+     * @return 플로우 이미지
+     * @throws IllegalArgumentException 플로우가 올바르지 않거나 등록되지 않은 노드 종류가 있는 경우
+     * @see FlowImage#write(Path)
+     */
+    public FlowImage compile(String json) {
+        FlowImage image = parse(json);
+        for (FlowImage.NodeSpec node : image.getNodes()) {
+            if (!factories.containsKey(node.getType())) {
+                log.error("알 수 없는 노드 종류입니다: {}", node.getType());
+                throw new IllegalArgumentException("Unknown node type: " + node.getType());
+            }
+        }
+        return image;
+    }
+
+    /**
+     * 플로우 파일을 읽어 파이프라인을 만듭니다. 파일이 {@link FlowImage}이면 이미지로, 아니면 JSON으로 읽습니다.
+     *
+     * @param path 플로우 이미지 또는 JSON 파일
+     * @return 변환된 파이프라인
+     * @throws IOException 파일을 읽을 수 없거나 손상된 이미지인 경우
+     */
+    public Pipeline load(Path path) throws IOException {
+        return FlowImage.isImage(path) ? convert(FlowImage.read(path)) : convert(path);
+    }
+
+    /**
+     * 플로우 JSON의 구조를 검증하여 이미지로 만듭니다. 노드 종류는 확인하지 않습니다.
+     */
+    private FlowImage parse(String json) {
+        JsonNode flow;
+        try {
+            flow = MAPPER.readTree(json);
+        } catch (IOException e) {
+            log.error("플로우 JSON을 해석할 수 없습니다", e);
+            throw new IllegalArgumentException("Malformed flow JSON", e);
+        }
+        if (flow == null || !flow.isObject()) {
+            throw new IllegalArgumentException("Flow must be a JSON object");
+        }
+
+        UUID id = flow.hasNonNull("id") ? parseId(flow.get("id").asText()) : null;
+        Long budget = flow.hasNonNull("memoryBudgetBytes") ? flow.get("memoryBudgetBytes").asLong() : null;
+
+        Map<String, FlowImage.WorkerAddress> workers = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = flow.path("workers").fields(); it.hasNext();) {
+            Map.Entry<String, JsonNode> worker = it.next();
+            JsonNode address = worker.getValue();
+            // 주소가 불완전한 워커는 그 워커로 가는 연결을 만들 때 오류로 알림
+            if (address.hasNonNull("host") && address.hasNonNull("port")) {
+                workers.put(worker.getKey(),
+                        new FlowImage.WorkerAddress(address.get("host").asText(), address.get("port").asInt()));
+            }
+        }
+
+        List<FlowImage.NodeSpec> nodes = new ArrayList<>();
+        Map<String, UUID> ids = new HashMap<>();
+        for (JsonNode definition : flow.path("nodes")) {
+            String nodeId = required(definition, "id");
+            String type = required(definition, "type");
+            UUID uuid = parseId(nodeId);
+            if (ids.put(nodeId, uuid) != null) {
+                throw new IllegalArgumentException("Duplicate node id: " + nodeId);
+            }
+            JsonNode properties = definition.path("properties");
+            nodes.add(new FlowImage.NodeSpec(uuid, type, definition.path("worker").asText(null),
+                    properties.isObject() ? (ObjectNode) properties : MAPPER.createObjectNode()));
+        }
+
+        List<FlowImage.WireSpec> wires = new ArrayList<>();
+        for (JsonNode wire : flow.path("wires")) {
+            String from = required(wire, "from");
+            String to = required(wire, "to");
+            if (!ids.containsKey(from) || !ids.containsKey(to)) {
+                throw new IllegalArgumentException("Wire references unknown node: " + from + " -> " + to);
+            }
+            int capacity = wire.path("capacity").asInt(Pipe.DEFAULT_CAPACITY);
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Wire capacity must be positive: " + from + " -> " + to);
+            }
+            wires.add(new FlowImage.WireSpec(ids.get(from), ids.get(to), capacity,
+                    wire.path("conflateBy").asText(null)));
+        }
+        return new FlowImage(id, budget, workers, nodes, wires);
+    }
+
+    private static Pipe createPipe(Pipeline pipeline, FlowImage.WireSpec wire) {
+        return wire.getConflateBy() == null ? pipeline.createPipe(wire.getCapacity())
+                : pipeline.createConflatingPipe(wire.getConflateBy(), wire.getCapacity());
+    }
+
+    private NodePorts createNode(Pipeline pipeline, FlowImage.NodeSpec definition) {
+        NodeFactory factory = factories.get(definition.getType());
+        if (factory == null) {
+            log.error("알 수 없는 노드 종류입니다: {}", definition.getType());
+            throw new IllegalArgumentException("Unknown node type: " + definition.getType());
+        }
+
+        InPort inPort = new InPort();
+        OutPort outPort = new OutPort();
+        Node node = factory.create(inPort, outPort, definition.getProperties());
+        node.setId(definition.getId().toString());
+        pipeline.addNode(node);
+        return new NodePorts(inPort, outPort);
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid UUID: " + id, e);
+        }
+    }
+
+    private static String required(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull() || value.asText().isEmpty()) {
+            throw new IllegalArgumentException("Missing required field: " + field);
+        }
+        return value.asText();
+    }
+
+    private static Set<String> stringSet(JsonNode array) {
+        Set<String> values = new HashSet<>();
+        array.forEach(value -> values.add(value.asText()));
+        return values;
+    }
+
+    /**
+     * 생성된 노드에 전달한 포트입니다.
+     */
+    private static class NodePorts {
+        private final InPort inPort;
+        private final OutPort outPort;
+
+        private NodePorts(InPort inPort, OutPort outPort) {
+            this.inPort = inPort;
+            this.outPort = outPort;
+        }
+    }
 }
@@ -0,0 +1,97 @@
+package com.samsa.pipeline;
+
+import java.util.UUID;
+
+import com.samsa.core.NodeStatus;
+
+/**
+ * 한 노드의 상태와 활동을 확인한 결과입니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class NodeHealth {
+
+    private final UUID pipelineId;
+    private final UUID nodeId;
+    private final NodeStatus status;
+    private final int backlog;
+    private final long processedCount;
+    private final long idleNanos;
+    private final boolean stalled;
+
+    /**
+     * 노드 확인 결과를 생성합니다.
+     *
+     * @param pipelineId     노드가 속한 파이프라인 ID
+     * @param nodeId         노드 ID
+     * @param status         노드 상태
+     * @param backlog        입력에 쌓인 메시지 수
+     * @param processedCount 처리한 메시지 수
+     * @param idleNanos      마지막 메시지 처리 이후 지난 시간(나노초), 처리한 적이 없으면 -1
+     * @param stalled        입력이 있는데 처리가 진행되지 않는지 여부
+     */
+    public NodeHealth(UUID pipelineId, UUID nodeId, NodeStatus status, int backlog, long processedCount,
+            long idleNanos, boolean stalled) {
+        this.pipelineId = pipelineId;
+        this.nodeId = nodeId;
+        this.status = status;
+        this.backlog = backlog;
+        this.processedCount = processedCount;
+        this.idleNanos = idleNanos;
+        this.stalled = stalled;
+    }
+
+    public UUID getPipelineId() {
+        return pipelineId;
+    }
+
+    public UUID getNodeId() {
+        return nodeId;
+    }
+
+    public NodeStatus getStatus() {
+        return status;
+    }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    /**
+     * 마지막 메시지 처리 이후 지난 시간을 반환합니다.
+     *
+     * @return 지난 시간(나노초), 처리한 적이 없으면 -1
+     */
+    public long getIdleNanos() {
+        return idleNanos;
+    }
+
+    /**
+     * 입력에 메시지가 쌓여 있는데 처리가 진행되지 않는지 반환합니다.
+     *
+     * @return 멈췄으면 true
+     */
+    public boolean isStalled() {
+        return stalled;
+    }
+
+    /**
+     * 에러 상태도 아니고 멈추지도 않았는지 반환합니다.
+     *
+     * @return 정상이면 true
+     */
+    public boolean isHealthy() {
+        return status != NodeStatus.ERROR && !stalled;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NodeHealth[nodeId=%s, status=%s, backlog=%d, processed=%d, idle=%dms, stalled=%s]",
+                nodeId, status, backlog, processedCount, idleNanos < 0 ? -1 : idleNanos / 1_000_000, stalled);
+    }
+}
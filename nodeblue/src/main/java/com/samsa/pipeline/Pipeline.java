@@ -1,5 +1,330 @@
 package com.samsa.pipeline;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.samsa.core.ConflatingPipe;
+import com.samsa.core.InNode;
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.MemoryBudget;
+import com.samsa.core.Node;
+import com.samsa.core.OutNode;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.pipeline.remote.RemotePipe;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 노드와 노드 사이를 잇는 파이프로 구성된 하나의 플로우를 나타냅니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
 public class Pipeline {
-    
+
+    /** 파이프라인의 고유 식별자 */
+    private final UUID id;
+
+    /** 파이프라인에 속한 노드 목록 */
+    private final List<Node> nodes;
+
+    /** 노드 사이를 연결하는 파이프 목록 */
+    private final List<Pipe> pipes;
+
+    /** 파이프들이 공유하는 메모리 예산, 없으면 null */
+    private final MemoryBudget memoryBudget;
+
+    /**
+     * 랜덤하게 생성된 ID로 빈 파이프라인을 생성합니다.
+     */
+    public Pipeline() {
+        this(UUID.randomUUID());
+    }
+
+    /**
+     * 지정된 ID로 빈 파이프라인을 생성합니다.
+     *
+     * @param id 파이프라인의 고유 식별자
+     * @throws IllegalArgumentException ID가 null인 경우
+     */
+    public Pipeline(UUID id) {
+        this(id, null);
+    }
+
+    /**
+     * 지정된 ID와 메모리 예산으로 빈 파이프라인을 생성합니다.
+     * 이 파이프라인이 만드는 파이프는 각자의 용량 대신 예산을 나누어 쓰며, 예산이 바닥나면 생산자에게 배압이 걸립니다.
+     *
+     * @param id           파이프라인의 고유 식별자
+     * @param memoryBudget 파이프들이 공유할 메모리 예산, null이면 파이프별 용량만 사용
+     * @throws IllegalArgumentException ID가 null인 경우
+     */
+    public Pipeline(UUID id, MemoryBudget memoryBudget) {
+        if (Objects.isNull(id)) {
+            log.error("파이프라인 ID가 null입니다");
+            throw new IllegalArgumentException("Pipeline ID cannot be null");
+        }
+        this.id = id;
+        this.nodes = new ArrayList<>();
+        this.pipes = new ArrayList<>();
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * 파이프라인에 노드를 추가합니다.
+     *
+     * @param node 추가할 노드
+     * @throws IllegalArgumentException 노드가 null인 경우
+     */
+    public void addNode(Node node) {
+        if (Objects.isNull(node)) {
+            log.error("추가할 노드가 null입니다. PipelineId: {}", id);
+            throw new IllegalArgumentException("Node cannot be null");
+        }
+        nodes.add(node);
+        log.debug("노드 추가됨. PipelineId: {}, NodeId: {}", id, node.getId());
+    }
+
+    /**
+     * 기본 용량의 파이프로 출력 포트와 입력 포트를 연결합니다.
+     *
+     * @param outPort 메시지를 내보내는 포트
+     * @param inPort  메시지를 받는 포트
+     * @return 생성된 파이프
+     */
+    public Pipe connect(OutPort outPort, InPort inPort) {
+        return connect(outPort, inPort, createPipe(Pipe.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * 이 파이프라인의 메모리 예산을 사용하는 파이프를 생성합니다. 생성만 하며 연결하지는 않습니다.
+     *
+     * @param capacity 파이프가 담을 수 있는 최대 메시지 수
+     * @return 생성된 파이프
+     */
+    public Pipe createPipe(int capacity) {
+        return new Pipe(capacity, memoryBudget);
+    }
+
+    /**
+     * 이 파이프라인의 메모리 예산을 사용하며 키마다 최신 메시지 하나만 담는 파이프를 생성합니다. 생성만 하며 연결하지는 않습니다.
+     *
+     * @param keyMetadata 메시지를 합칠 기준 메타데이터 키
+     * @param maxKeys     대기할 수 있는 최대 키 수
+     * @return 생성된 파이프
+     * @see ConflatingPipe
+     */
+    public ConflatingPipe createConflatingPipe(String keyMetadata, int maxKeys) {
+        return new ConflatingPipe(keyMetadata, maxKeys, memoryBudget);
+    }
+
+    /**
+     * 지정된 파이프로 출력 포트와 입력 포트를 연결합니다.
+     *
+     * @param outPort 메시지를 내보내는 포트
+     * @param inPort  메시지를 받는 포트
+     * @param pipe    두 포트를 잇는 파이프
+     * @return 연결에 사용된 파이프
+     * @throws IllegalArgumentException 인자 중 하나라도 null인 경우
+     */
+    public Pipe connect(OutPort outPort, InPort inPort, Pipe pipe) {
+        if (Objects.isNull(outPort) || Objects.isNull(inPort) || Objects.isNull(pipe)) {
+            log.error("연결할 포트 또는 파이프가 null입니다. PipelineId: {}", id);
+            throw new IllegalArgumentException("Ports and pipe cannot be null");
+        }
+        outPort.addPipe(pipe);
+        inPort.addPipe(pipe);
+        pipes.add(pipe);
+        log.debug("파이프 연결됨. PipelineId: {}, PipeId: {}", id, pipe.getId());
+        return pipe;
+    }
+
+    /**
+     * 다른 런타임으로 메시지를 보내는 파이프처럼 입력 포트가 이 파이프라인 밖에 있는 파이프를 출력 포트에 연결합니다.
+     *
+     * @param outPort 메시지를 내보내는 포트
+     * @param pipe    연결할 파이프
+     * @return 연결에 사용된 파이프
+     * @throws IllegalArgumentException 인자 중 하나라도 null인 경우
+     */
+    public Pipe connect(OutPort outPort, Pipe pipe) {
+        if (Objects.isNull(outPort) || Objects.isNull(pipe)) {
+            log.error("연결할 포트 또는 파이프가 null입니다. PipelineId: {}", id);
+            throw new IllegalArgumentException("Port and pipe cannot be null");
+        }
+        outPort.addPipe(pipe);
+        pipes.add(pipe);
+        log.debug("출력 파이프 연결됨. PipelineId: {}, PipeId: {}", id, pipe.getId());
+        return pipe;
+    }
+
+    /**
+     * 다른 런타임에서 메시지를 받는 파이프처럼 출력 포트가 이 파이프라인 밖에 있는 파이프를 입력 포트에 연결합니다.
+     *
+     * @param pipe   연결할 파이프
+     * @param inPort 메시지를 받는 포트
+     * @return 연결에 사용된 파이프
+     * @throws IllegalArgumentException 인자 중 하나라도 null인 경우
+     */
+    public Pipe connect(Pipe pipe, InPort inPort) {
+        if (Objects.isNull(pipe) || Objects.isNull(inPort)) {
+            log.error("연결할 포트 또는 파이프가 null입니다. PipelineId: {}", id);
+            throw new IllegalArgumentException("Port and pipe cannot be null");
+        }
+        inPort.addPipe(pipe);
+        pipes.add(pipe);
+        log.debug("입력 파이프 연결됨. PipelineId: {}, PipeId: {}", id, pipe.getId());
+        return pipe;
+    }
+
+    /**
+     * 파이프라인의 모든 노드를 시작합니다.
+     * 하류 노드부터 시작하므로 소스가 메시지를 내보낼 때는 받는 쪽이 이미 준비되어 있습니다.
+     */
+    public void start() {
+        List<Node> order = getTopologicalOrder();
+        Collections.reverse(order);
+        // 파이프라인을 시작하는 것은 명시적인 요청이므로 중지했던 노드도 다시 시작함
+        order.forEach(Node::restart);
+        log.info("Pipeline[{}] started", id);
+    }
+
+    /**
+     * 파이프라인의 모든 노드를 중지하고 다른 런타임으로 가는 원격 파이프를 닫습니다.
+     */
+    public void stop() {
+        nodes.forEach(Node::stop);
+        for (Pipe pipe : pipes) {
+            if (pipe instanceof RemotePipe) {
+                ((RemotePipe) pipe).close();
+            }
+        }
+        log.info("Pipeline[{}] stopped", id);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * 파이프들이 공유하는 메모리 예산을 반환합니다.
+     *
+     * @return 메모리 예산, 사용하지 않으면 null
+     */
+    public MemoryBudget getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * 파이프라인에 속한 노드 목록을 반환합니다.
+     *
+     * @return 노드 목록의 복사본
+     */
+    public List<Node> getNodes() {
+        return new ArrayList<>(nodes);
+    }
+
+    /**
+     * 파이프 연결을 따라 상류 노드가 하류 노드보다 앞에 오도록 정렬한 노드 목록을 반환합니다.
+     * 순환 연결에 속한 노드는 추가된 순서대로 맨 뒤에 놓입니다.
+     *
+     * @return 정렬된 노드 목록
+     */
+    public List<Node> getTopologicalOrder() {
+        Map<Pipe, Node> consumers = new IdentityHashMap<>();
+        for (Node node : nodes) {
+            InPort inPort = inPortOf(node);
+            if (inPort != null) {
+                inPort.getPipes().forEach(pipe -> consumers.put(pipe, node));
+            }
+        }
+
+        Map<Node, List<Node>> downstream = new IdentityHashMap<>();
+        Map<Node, Integer> indegree = new IdentityHashMap<>();
+        nodes.forEach(node -> indegree.put(node, 0));
+        for (Node node : nodes) {
+            List<Node> targets = new ArrayList<>();
+            OutPort outPort = outPortOf(node);
+            if (outPort != null) {
+                for (Pipe pipe : outPort.getPipes()) {
+                    Node target = consumers.get(pipe);
+                    if (target != null) {
+                        targets.add(target);
+                        indegree.merge(target, 1, Integer::sum);
+                    }
+                }
+            }
+            downstream.put(node, targets);
+        }
+
+        List<Node> order = new ArrayList<>();
+        Deque<Node> ready = new ArrayDeque<>();
+        nodes.stream().filter(node -> indegree.get(node) == 0).forEach(ready::add);
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            order.add(node);
+            for (Node target : downstream.get(node)) {
+                if (indegree.merge(target, -1, Integer::sum) == 0) {
+                    ready.add(target);
+                }
+            }
+        }
+        for (Node node : nodes) {
+            if (indegree.get(node) > 0) {
+                order.add(node);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * 노드의 입력 포트를 반환합니다.
+     *
+     * @param node 대상 노드
+     * @return 입력 포트, 입력이 없는 노드는 null
+     */
+    static InPort inPortOf(Node node) {
+        if (node instanceof InOutNode inOutNode) {
+            return inOutNode.getInPort();
+        }
+        if (node instanceof InNode inNode) {
+            return inNode.getInPort();
+        }
+        return null;
+    }
+
+    /**
+     * 노드의 출력 포트를 반환합니다.
+     *
+     * @param node 대상 노드
+     * @return 출력 포트, 출력이 없는 노드는 null
+     */
+    static OutPort outPortOf(Node node) {
+        if (node instanceof InOutNode inOutNode) {
+            return inOutNode.getOutPort();
+        }
+        if (node instanceof OutNode outNode) {
+            return outNode.getOutPort();
+        }
+        return null;
+    }
+
+    /**
+     * 파이프라인에 속한 파이프 목록을 반환합니다.
+     *
+     * @return 파이프 목록의 복사본
+     */
+    public List<Pipe> getPipes() {
+        return new ArrayList<>(pipes);
+    }
 }
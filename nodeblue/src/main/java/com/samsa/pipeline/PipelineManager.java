@@ -1,5 +1,549 @@
 package com.samsa.pipeline;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.samsa.core.InNode;
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.MemoryBudget;
+import com.samsa.core.Node;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.core.RateLimiter;
+import com.samsa.pipeline.remote.RemotePipe;
+import com.samsa.pipeline.scheduler.NodeScheduler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 파이프라인의 등록, 시작과 중지, 체크포인트를 관리합니다.
+ *
+ * <p>파이프라인은 하류 노드부터 시작하고, 종료할 때는 다음 순서로 메시지를 잃지 않도록 정리합니다.</p>
+ * <ol>
+ *   <li>입력이 없는 소스 노드를 중지하여 새 메시지가 들어오지 않게 합니다.</li>
+ *   <li>상류부터 하류 순서로 각 노드의 입력 파이프가 빌 때까지 기다린 뒤 노드를 중지합니다.
+ *       노드의 {@link Node#stop()}은 버퍼에 남은 내용을 기록하고 파일을 닫으므로, 하류 노드는 그 결과까지 받은 뒤 중지됩니다.</li>
+ *   <li>다른 런타임으로 가는 원격 파이프가 모두 전송될 때까지 기다린 뒤 닫습니다.</li>
+ *   <li>제한 시간이 지나면 남은 노드를 곧바로 중지하고, 비우지 못한 메시지 수를 {@link ShutdownReport}로 알립니다.</li>
+ * </ol>
+ *
+ * <p>{@link NodeScheduler}를 지정하면 파이프라인을 시작할 때 노드를 스케줄러에 등록하고, 종료 중에는 스케줄러가
+ * 메시지를 처리하며 실행 중인 차례가 끝나기를 기다립니다. 스케줄러가 없으면 종료하는 스레드가 남은 메시지를 직접 처리합니다.</p>
+ *
+ * <p>{@link #getHealth()}는 모든 노드의 상태와 입력에 쌓인 메시지 수, 마지막 처리 이후 지난 시간을 모아 반환하며,
+ * 입력이 있는데 처리가 진행되지 않는 노드를 {@link StallDetector}로 찾아 표시합니다.</p>
+ *
+ * <p>여러 고객의 파이프라인을 한 프로세스에서 실행할 때는 {@link #setQuota}로 파이프라인마다 CPU 몫, 대기 바이트,
+ * 소스 속도의 한도를 정합니다. 한도를 넘은 파이프라인만 느려지며, {@link #getUsage()}로 파이프라인별 사용량을 확인합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
 public class PipelineManager {
-    
+
+    /** 등록된 파이프라인 */
+    private final Map<UUID, Pipeline> pipelines = new ConcurrentHashMap<>();
+
+    /** 기본 종료 제한 시간 */
+    public static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    /** 종료 중 파이프가 비기를 기다리며 확인하는 간격 */
+    private static final long DRAIN_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    /** 체크포인트가 활성화된 파이프라인의 조율자 */
+    private final Map<UUID, CheckpointCoordinator> coordinators = new ConcurrentHashMap<>();
+
+    /** 파이프라인별 자원 한도 */
+    private final Map<UUID, PipelineQuota> quotas = new ConcurrentHashMap<>();
+
+    /** 소스 속도 한도가 있는 파이프라인의 소스들이 함께 쓰는 제한기 */
+    private final Map<UUID, RateLimiter> sourceLimiters = new ConcurrentHashMap<>();
+
+    /** 노드를 실행할 스케줄러, 없으면 null */
+    private final NodeScheduler scheduler;
+
+    /** 처리가 진행되지 않는 노드를 찾는 감지기 */
+    private final StallDetector stallDetector;
+
+    /**
+     * 스케줄러 없이 파이프라인을 관리하는 매니저를 생성합니다.
+     */
+    public PipelineManager() {
+        this(null);
+    }
+
+    /**
+     * 파이프라인의 노드를 지정된 스케줄러에서 실행하는 매니저를 생성합니다.
+     *
+     * @param scheduler 노드를 실행할 스케줄러, null이면 스케줄러를 사용하지 않음
+     */
+    public PipelineManager(NodeScheduler scheduler) {
+        this(scheduler, StallDetector.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * 멈춤 감지 기준 시간을 지정하여 매니저를 생성합니다.
+     *
+     * @param scheduler      노드를 실행할 스케줄러, null이면 스케줄러를 사용하지 않음
+     * @param stallThreshold 입력이 있는데 처리가 진행되지 않으면 멈춘 것으로 볼 시간
+     * @throws IllegalArgumentException 기준 시간이 null이거나 0 이하인 경우
+     */
+    public PipelineManager(NodeScheduler scheduler, Duration stallThreshold) {
+        this.scheduler = scheduler;
+        this.stallDetector = new StallDetector(stallThreshold);
+    }
+
+    /**
+     * 파이프라인을 등록합니다.
+     *
+     * @param pipeline 등록할 파이프라인
+     * @throws IllegalArgumentException 파이프라인이 null이거나 이미 등록된 경우
+     */
+    public void addPipeline(Pipeline pipeline) {
+        if (Objects.isNull(pipeline)) {
+            log.error("등록할 파이프라인이 null입니다");
+            throw new IllegalArgumentException("Pipeline cannot be null");
+        }
+        if (pipelines.putIfAbsent(pipeline.getId(), pipeline) != null) {
+            log.error("이미 등록된 파이프라인입니다. PipelineId: {}", pipeline.getId());
+            throw new IllegalArgumentException("Pipeline already registered: " + pipeline.getId());
+        }
+        log.info("Pipeline[{}] registered", pipeline.getId());
+    }
+
+    /**
+     * 파이프라인을 기본 제한 시간으로 정리하며 종료하고 등록을 해제합니다.
+     *
+     * @param pipelineId 해제할 파이프라인 ID
+     */
+    public void removePipeline(UUID pipelineId) {
+        Pipeline pipeline = pipelines.remove(pipelineId);
+        if (pipeline != null) {
+            shutdown(pipeline, DEFAULT_SHUTDOWN_TIMEOUT);
+            pipeline.getNodes().forEach(node -> stallDetector.forget(node.getId()));
+            quotas.remove(pipelineId);
+            sourceLimiters.remove(pipelineId);
+            if (scheduler != null) {
+                scheduler.removeGroup(pipelineId);
+            }
+            log.info("Pipeline[{}] removed", pipelineId);
+        }
+    }
+
+    /**
+     * 등록된 파이프라인을 시작합니다. 스케줄러가 있으면 노드를 먼저 등록하여,
+     * 소스가 메시지를 내보내기 전에 하류 노드가 받을 준비를 마치게 합니다.
+     * 노드는 파이프라인 ID를 그룹으로 하여 등록하므로 워커 시간이 파이프라인별로 세어집니다.
+     *
+     * @param pipelineId 시작할 파이프라인 ID
+     * @throws IllegalArgumentException 등록되지 않은 파이프라인인 경우
+     */
+    public void startPipeline(UUID pipelineId) {
+        Pipeline pipeline = getRequiredPipeline(pipelineId);
+        if (scheduler != null) {
+            for (Node node : pipeline.getNodes()) {
+                if (Pipeline.inPortOf(node) != null && !scheduler.isRegistered(node)) {
+                    scheduler.register(node, pipelineId);
+                }
+            }
+            scheduler.start();
+        }
+        pipeline.start();
+    }
+
+    /**
+     * 등록된 파이프라인을 기본 제한 시간으로 정리하며 중지합니다.
+     *
+     * @param pipelineId 중지할 파이프라인 ID
+     * @throws IllegalArgumentException 등록되지 않은 파이프라인인 경우
+     */
+    public void stopPipeline(UUID pipelineId) {
+        shutdownPipeline(pipelineId, DEFAULT_SHUTDOWN_TIMEOUT);
+    }
+
+    /**
+     * 파이프라인의 소스를 멈추고 남은 메시지를 하류까지 전달한 뒤 노드를 차례로 중지합니다.
+     *
+     * @param pipelineId 중지할 파이프라인 ID
+     * @param timeout    남은 메시지를 비우는 데 사용할 최대 시간
+     * @return 종료 결과
+     * @throws IllegalArgumentException 등록되지 않은 파이프라인이거나 제한 시간이 null 또는 음수인 경우
+     */
+    public ShutdownReport shutdownPipeline(UUID pipelineId, Duration timeout) {
+        return shutdown(getRequiredPipeline(pipelineId), timeout);
+    }
+
+    /**
+     * 등록된 모든 파이프라인을 정리하며 중지합니다. 제한 시간은 파이프라인마다 적용됩니다.
+     *
+     * @param timeout 파이프라인별 최대 종료 시간
+     * @return 파이프라인별 종료 결과
+     */
+    public List<ShutdownReport> shutdownAll(Duration timeout) {
+        List<ShutdownReport> reports = new ArrayList<>();
+        for (Pipeline pipeline : getPipelines()) {
+            reports.add(shutdown(pipeline, timeout));
+        }
+        return reports;
+    }
+
+    private ShutdownReport shutdown(Pipeline pipeline, Duration timeout) {
+        if (Objects.isNull(timeout) || timeout.isNegative()) {
+            log.error("종료 제한 시간이 유효하지 않습니다: {}", timeout);
+            throw new IllegalArgumentException("Timeout must not be null or negative");
+        }
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+        closeCoordinator(pipeline.getId());
+
+        // 1. 소스를 먼저 멈춰 새 메시지가 들어오지 않게 함
+        //    스케줄러의 차례나 소스 자신의 읽기가 진행 중이면 끝날 때까지 기다린 뒤 하류를 비움
+        List<Node> order = pipeline.getTopologicalOrder();
+        List<Node> consumers = new ArrayList<>();
+        for (Node node : order) {
+            InPort inPort = Pipeline.inPortOf(node);
+            if (inPort == null || inPort.getPipes().isEmpty()) {
+                stopNode(node);
+            } else {
+                consumers.add(node);
+            }
+        }
+
+        // 2. 상류부터 입력을 비운 뒤 중지하여, 중지하며 내보낸 메시지도 하류가 받게 함
+        //    재시도를 기다리던 메시지는 더 기다리지 않고 오류 출력으로 보냄
+        boolean completed = true;
+        for (Node node : consumers) {
+            if (node.getErrorRouter() != null) {
+                node.getErrorRouter().close();
+            }
+            if (completed && !drain(node, Pipeline.inPortOf(node), deadline)) {
+                completed = false;
+                log.warn("종료 제한 시간 초과, 남은 노드를 곧바로 중지합니다. PipelineId: {}, NodeId: {}",
+                        pipeline.getId(), node.getId());
+            }
+            stopNode(node);
+        }
+
+        // 3. 다른 런타임으로 가는 메시지를 모두 보낸 뒤 닫음
+        for (Pipe pipe : pipeline.getPipes()) {
+            if (pipe instanceof RemotePipe remote) {
+                while (completed && (!remote.isEmpty() || remote.getUnackedCount() > 0)) {
+                    if (System.nanoTime() - deadline > 0) {
+                        completed = false;
+                        break;
+                    }
+                    LockSupport.parkNanos(DRAIN_POLL_NANOS);
+                }
+                remote.close();
+            }
+        }
+
+        // 4. 남은 메시지를 알림
+        Map<UUID, Integer> undelivered = new LinkedHashMap<>();
+        for (Pipe pipe : pipeline.getPipes()) {
+            int remaining = pipe.size() + (pipe instanceof RemotePipe remote ? remote.getUnackedCount() : 0);
+            if (remaining > 0) {
+                undelivered.put(pipe.getId(), remaining);
+            }
+        }
+        ShutdownReport report = new ShutdownReport(pipeline.getId(), completed && undelivered.isEmpty(),
+                Duration.ofNanos(System.nanoTime() - startedAt), undelivered);
+        if (report.isCompleted()) {
+            log.info("Pipeline[{}] stopped. {}", pipeline.getId(), report);
+        } else {
+            log.warn("Pipeline[{}] stopped with undelivered messages. {}", pipeline.getId(), report);
+        }
+        return report;
+    }
+
+    /**
+     * 노드의 입력 파이프가 비고 처리 중인 메시지가 없을 때까지 기다립니다.
+     * 스케줄러가 없으면 이 스레드에서 남은 메시지를 직접 처리합니다.
+     *
+     * @return 제한 시간 안에 비웠으면 true
+     */
+    private boolean drain(Node node, InPort inPort, long deadline) {
+        boolean scheduled = scheduler != null && scheduler.isRegistered(node);
+        while (inPort.hasAvailableData() || (scheduled && !scheduler.isIdle(node))) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            if (scheduled) {
+                LockSupport.parkNanos(DRAIN_POLL_NANOS);
+                continue;
+            }
+            try {
+                if (node instanceof InOutNode inOutNode) {
+                    inOutNode.processNext();
+                } else if (node instanceof InNode inNode) {
+                    inNode.processNext();
+                }
+            } catch (RuntimeException e) {
+                log.error("종료 중 메시지 처리 실패. NodeId: {}", node.getId(), e);
+                node.handleError(e);
+            }
+        }
+        return true;
+    }
+
+    private void stopNode(Node node) {
+        if (scheduler != null) {
+            scheduler.unregister(node);
+        }
+        try {
+            node.stop();
+        } catch (RuntimeException e) {
+            log.error("노드 중지 실패. NodeId: {}", node.getId(), e);
+            node.handleError(e);
+        }
+    }
+
+    /**
+     * 파이프라인의 자원 한도를 정합니다. 파이프 연결을 마친 뒤에 호출해야 하며, 실행 중에도 바꿀 수 있습니다.
+     *
+     * <ul>
+     *   <li>CPU 몫은 파이프라인 ID를 그룹으로 하여 스케줄러에 지정합니다.</li>
+     *   <li>대기 바이트는 파이프들이 함께 쓰는 파이프라인의 메모리 예산 한도로 지정합니다.
+     *       예산은 파이프를 만들 때 연결되므로 메모리 예산을 지정해 만든 파이프라인이어야 합니다.</li>
+     *   <li>소스 속도는 입력 파이프가 없는 노드들의 출력 포트에 하나의 제한기를 지정하여, 소스들의 속도 합을 제한합니다.</li>
+     * </ul>
+     *
+     * @param pipelineId 대상 파이프라인 ID
+     * @param quota      적용할 한도, {@link PipelineQuota#NONE}이면 CPU 몫과 소스 속도의 제한을 풂
+     * @throws IllegalArgumentException 등록되지 않은 파이프라인이거나, 한도가 null이거나,
+     *                                  스케줄러 없이 CPU 몫을 제한하거나 메모리 예산 없이 대기 바이트를 제한하는 경우
+     */
+    public void setQuota(UUID pipelineId, PipelineQuota quota) {
+        Pipeline pipeline = getRequiredPipeline(pipelineId);
+        if (Objects.isNull(quota)) {
+            log.error("파이프라인 한도가 null입니다. PipelineId: {}", pipelineId);
+            throw new IllegalArgumentException("Quota cannot be null");
+        }
+        MemoryBudget budget = pipeline.getMemoryBudget();
+        if (quota.isCpuLimited() && scheduler == null) {
+            log.error("스케줄러 없이 CPU 몫을 제한할 수 없습니다. PipelineId: {}", pipelineId);
+            throw new IllegalArgumentException("CPU share requires a scheduler");
+        }
+        if (quota.isQueuedBytesLimited() && budget == null) {
+            log.error("메모리 예산이 없는 파이프라인의 대기 바이트를 제한할 수 없습니다. PipelineId: {}", pipelineId);
+            throw new IllegalArgumentException("Queued bytes quota requires a pipeline memory budget");
+        }
+
+        if (scheduler != null) {
+            scheduler.setCpuShare(pipelineId, quota.getCpuShare());
+        }
+        if (quota.isQueuedBytesLimited()) {
+            budget.setLimitBytes(quota.getMaxQueuedBytes());
+        }
+        RateLimiter limiter = quota.isRateLimited() ? new RateLimiter(quota.getMaxMessagesPerSecond()) : null;
+        for (Node node : pipeline.getNodes()) {
+            InPort inPort = Pipeline.inPortOf(node);
+            OutPort outPort = Pipeline.outPortOf(node);
+            if (outPort != null && (inPort == null || inPort.getPipes().isEmpty())) {
+                outPort.setRateLimiter(limiter);
+            }
+        }
+        if (limiter != null) {
+            sourceLimiters.put(pipelineId, limiter);
+        } else {
+            sourceLimiters.remove(pipelineId);
+        }
+        quotas.put(pipelineId, quota);
+        log.info("Pipeline[{}] quota set. {}", pipelineId, quota);
+    }
+
+    /**
+     * 파이프라인에 적용 중인 자원 한도를 반환합니다.
+     *
+     * @param pipelineId 대상 파이프라인 ID
+     * @return 한도, 정하지 않았으면 {@link PipelineQuota#NONE}
+     */
+    public PipelineQuota getQuota(UUID pipelineId) {
+        return quotas.getOrDefault(pipelineId, PipelineQuota.NONE);
+    }
+
+    /**
+     * 등록된 모든 파이프라인의 자원 사용량을 확인합니다. 누적 카운터만 읽으므로 주기적으로 수집해도 비용이 작습니다.
+     *
+     * @return 파이프라인별 사용량
+     */
+    public List<TenantUsage> getUsage() {
+        List<TenantUsage> usage = new ArrayList<>();
+        for (Pipeline pipeline : pipelines.values()) {
+            usage.add(collectUsage(pipeline));
+        }
+        return usage;
+    }
+
+    /**
+     * 파이프라인 하나의 자원 사용량을 확인합니다.
+     *
+     * @param pipelineId 대상 파이프라인 ID
+     * @return 사용량
+     * @throws IllegalArgumentException 등록되지 않은 파이프라인인 경우
+     */
+    public TenantUsage getUsage(UUID pipelineId) {
+        return collectUsage(getRequiredPipeline(pipelineId));
+    }
+
+    private TenantUsage collectUsage(Pipeline pipeline) {
+        UUID id = pipeline.getId();
+        int queued = 0;
+        for (Pipe pipe : pipeline.getPipes()) {
+            queued += pipe.size();
+        }
+        long processed = 0;
+        for (Node node : pipeline.getNodes()) {
+            processed += node.getProcessedCount();
+        }
+        MemoryBudget budget = pipeline.getMemoryBudget();
+        RateLimiter limiter = sourceLimiters.get(id);
+        return new TenantUsage(id, getQuota(id), scheduler == null ? 0 : scheduler.getCpuNanos(id),
+                scheduler == null ? 0 : scheduler.getThrottledCount(id), queued,
+                budget == null ? -1 : budget.getUsedBytes(), budget == null ? 0 : budget.getRejectedCount(),
+                limiter == null ? -1 : limiter.getAcquiredCount(), limiter == null ? 0 : limiter.getThrottledNanos(),
+                processed);
+    }
+
+    /**
+     * 파이프라인의 주기적인 체크포인트를 활성화합니다.
+     * 디렉터리에 이전 체크포인트가 있으면 먼저 상태 노드들을 복원하므로,
+     * 파이프라인을 시작하기 전에 호출해야 합니다.
+     *
+     * @param pipelineId     대상 파이프라인 ID
+     * @param directory      스냅샷을 저장할 디렉터리
+     * @param intervalMillis 체크포인트 주기(밀리초)
+     * @return 복원된 노드 수
+     * @throws IllegalArgumentException 등록되지 않은 파이프라인이거나 이미 체크포인트가 활성화된 경우
+     * @throws IOException              이전 체크포인트를 읽을 수 없는 경우
+     */
+    public int enableCheckpointing(UUID pipelineId, Path directory, long intervalMillis) throws IOException {
+        Pipeline pipeline = getRequiredPipeline(pipelineId);
+        if (coordinators.containsKey(pipelineId)) {
+            throw new IllegalArgumentException("Checkpointing already enabled: " + pipelineId);
+        }
+
+        CheckpointCoordinator coordinator = new CheckpointCoordinator(pipeline, new SnapshotStore(directory),
+                intervalMillis);
+        int restored;
+        try {
+            restored = coordinator.restore();
+        } catch (IOException | RuntimeException e) {
+            coordinator.close();
+            throw e;
+        }
+        coordinators.put(pipelineId, coordinator);
+        coordinator.start();
+        return restored;
+    }
+
+    /**
+     * 파이프라인의 체크포인트를 즉시 한 번 시작합니다.
+     *
+     * @param pipelineId 대상 파이프라인 ID
+     * @return 시작된 체크포인트 번호
+     * @throws IllegalArgumentException 체크포인트가 활성화되지 않은 경우
+     */
+    public long triggerCheckpoint(UUID pipelineId) {
+        CheckpointCoordinator coordinator = coordinators.get(pipelineId);
+        if (coordinator == null) {
+            throw new IllegalArgumentException("Checkpointing not enabled: " + pipelineId);
+        }
+        return coordinator.triggerCheckpoint();
+    }
+
+    /**
+     * 파이프라인의 체크포인트를 비활성화합니다. 진행 중인 스냅샷 쓰기는 끝까지 수행됩니다.
+     *
+     * @param pipelineId 대상 파이프라인 ID
+     */
+    public void disableCheckpointing(UUID pipelineId) {
+        closeCoordinator(pipelineId);
+    }
+
+    private void closeCoordinator(UUID pipelineId) {
+        CheckpointCoordinator coordinator = coordinators.remove(pipelineId);
+        if (coordinator != null) {
+            coordinator.close();
+        }
+    }
+
+    /**
+     * 등록된 모든 파이프라인의 노드 상태를 확인합니다.
+     * 노드의 상태와 처리 수, 파이프의 메시지 수만 읽고 잠금을 잡지 않으므로 감시 스레드에서 자주 호출해도 됩니다.
+     * 멈춤 감지는 호출 사이의 진행 여부로 판단하므로 주기적으로 호출해야 합니다.
+     *
+     * @return 노드별 확인 결과
+     */
+    public HealthSnapshot getHealth() {
+        long now = System.nanoTime();
+        List<NodeHealth> nodes = new ArrayList<>();
+        for (Pipeline pipeline : pipelines.values()) {
+            collectHealth(pipeline, now, nodes);
+        }
+        return new HealthSnapshot(now, nodes);
+    }
+
+    /**
+     * 파이프라인 하나의 노드 상태를 확인합니다.
+     *
+     * @param pipelineId 대상 파이프라인 ID
+     * @return 노드별 확인 결과
+     * @throws IllegalArgumentException 등록되지 않은 파이프라인인 경우
+     * @see #getHealth()
+     */
+    public HealthSnapshot getHealth(UUID pipelineId) {
+        long now = System.nanoTime();
+        List<NodeHealth> nodes = new ArrayList<>();
+        collectHealth(getRequiredPipeline(pipelineId), now, nodes);
+        return new HealthSnapshot(now, nodes);
+    }
+
+    private void collectHealth(Pipeline pipeline, long now, List<NodeHealth> result) {
+        for (Node node : pipeline.getNodes()) {
+            InPort inPort = Pipeline.inPortOf(node);
+            int backlog = inPort == null ? 0 : inPort.getQueuedCount();
+            NodeStatus status = node.getStatus();
+            // 실행 중인 노드만 감지하여 아직 시작하지 않았거나 중지한 노드를 멈춘 것으로 보지 않음
+            boolean stalled = status == NodeStatus.RUNNING && stallDetector.check(node, backlog, now);
+            long last = node.getLastMessageNanos();
+            result.add(new NodeHealth(pipeline.getId(), node.getId(), status, backlog, node.getProcessedCount(),
+                    last == 0 ? -1 : now - last, stalled));
+        }
+    }
+
+    public Pipeline getPipeline(UUID pipelineId) {
+        return pipelines.get(pipelineId);
+    }
+
+    /**
+     * 등록된 파이프라인 목록을 반환합니다.
+     *
+     * @return 파이프라인 목록의 복사본
+     */
+    public List<Pipeline> getPipelines() {
+        return new ArrayList<>(pipelines.values());
+    }
+
+    private Pipeline getRequiredPipeline(UUID pipelineId) {
+        Pipeline pipeline = pipelines.get(pipelineId);
+        if (pipeline == null) {
+            log.error("등록되지 않은 파이프라인입니다. PipelineId: {}", pipelineId);
+            throw new IllegalArgumentException("Unknown pipeline: " + pipelineId);
+        }
+        return pipeline;
+    }
 }
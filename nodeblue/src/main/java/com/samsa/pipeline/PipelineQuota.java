@@ -0,0 +1,81 @@
+package com.samsa.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 한 파이프라인이 사용할 수 있는 자원의 한도입니다. 여러 고객의 파이프라인을 한 프로세스에서 실행할 때
+ * 한 파이프라인이 워커 시간이나 메모리를 모두 차지하지 않도록 {@link PipelineManager#setQuota}로 지정합니다.
+ *
+ * <ul>
+ *   <li>CPU 몫: 스케줄러의 모든 워커 시간에 대한 비율입니다. 몫을 다 쓴 파이프라인의 노드는 다음 구간까지 실행되지 않습니다.</li>
+ *   <li>대기 바이트: 파이프라인의 파이프들에 쌓일 수 있는 메시지의 추정 크기 합입니다. 넘으면 파이프가 가득 찬 것으로 보여
+ *       상류 노드가 멈춥니다.</li>
+ *   <li>소스 속도: 입력이 없는 소스 노드들이 내보낼 수 있는 초당 메시지 수의 합입니다. 넘으면 소스가 허가를 기다립니다.</li>
+ * </ul>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public final class PipelineQuota {
+
+    /** 제한하지 않는 값 */
+    public static final long UNLIMITED = 0;
+
+    /** 아무것도 제한하지 않는 한도 */
+    public static final PipelineQuota NONE = new PipelineQuota(1.0, UNLIMITED, UNLIMITED);
+
+    private final double cpuShare;
+    private final long maxQueuedBytes;
+    private final long maxMessagesPerSecond;
+
+    /**
+     * 한도를 생성합니다.
+     *
+     * @param cpuShare             0보다 크고 1 이하인 워커 시간의 몫, 1이면 제한하지 않음
+     * @param maxQueuedBytes       파이프들에 쌓일 수 있는 최대 바이트 수, {@link #UNLIMITED}이면 제한하지 않음
+     * @param maxMessagesPerSecond 소스들이 내보낼 수 있는 초당 최대 메시지 수, {@link #UNLIMITED}이면 제한하지 않음
+     * @throws IllegalArgumentException 몫이 범위를 벗어나거나 최대값이 음수인 경우
+     */
+    public PipelineQuota(double cpuShare, long maxQueuedBytes, long maxMessagesPerSecond) {
+        if (!(cpuShare > 0 && cpuShare <= 1) || maxQueuedBytes < 0 || maxMessagesPerSecond < 0) {
+            log.error("파이프라인 한도가 유효하지 않습니다. CpuShare: {}, MaxQueuedBytes: {}, MaxMessagesPerSecond: {}",
+                    cpuShare, maxQueuedBytes, maxMessagesPerSecond);
+            throw new IllegalArgumentException("CPU share must be in (0, 1] and limits must not be negative");
+        }
+        this.cpuShare = cpuShare;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.maxMessagesPerSecond = maxMessagesPerSecond;
+    }
+
+    public double getCpuShare() {
+        return cpuShare;
+    }
+
+    public long getMaxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    public long getMaxMessagesPerSecond() {
+        return maxMessagesPerSecond;
+    }
+
+    public boolean isCpuLimited() {
+        return cpuShare < 1.0;
+    }
+
+    public boolean isQueuedBytesLimited() {
+        return maxQueuedBytes != UNLIMITED;
+    }
+
+    public boolean isRateLimited() {
+        return maxMessagesPerSecond != UNLIMITED;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PipelineQuota[cpuShare=%s, maxQueuedBytes=%s, maxMessagesPerSecond=%s]",
+                isCpuLimited() ? cpuShare : "unlimited", isQueuedBytesLimited() ? maxQueuedBytes : "unlimited",
+                isRateLimited() ? maxMessagesPerSecond : "unlimited");
+    }
+}
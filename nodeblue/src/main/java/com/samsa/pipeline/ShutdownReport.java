@@ -0,0 +1,77 @@
+package com.samsa.pipeline;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 파이프라인 종료 결과입니다. 제한 시간 안에 모든 파이프를 비웠는지와, 비우지 못한 파이프별 메시지 수를 담습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class ShutdownReport {
+
+    private final UUID pipelineId;
+    private final boolean completed;
+    private final Duration elapsed;
+    private final Map<UUID, Integer> undelivered;
+
+    /**
+     * 종료 결과를 생성합니다.
+     *
+     * @param pipelineId  종료한 파이프라인 ID
+     * @param completed   제한 시간 안에 모든 노드의 입력을 비웠는지 여부
+     * @param elapsed     종료에 걸린 시간
+     * @param undelivered 파이프 ID별로 전달되지 못한 메시지 수
+     */
+    public ShutdownReport(UUID pipelineId, boolean completed, Duration elapsed, Map<UUID, Integer> undelivered) {
+        this.pipelineId = pipelineId;
+        this.completed = completed;
+        this.elapsed = elapsed;
+        this.undelivered = Collections.unmodifiableMap(new LinkedHashMap<>(undelivered));
+    }
+
+    public UUID getPipelineId() {
+        return pipelineId;
+    }
+
+    /**
+     * 제한 시간 안에 모든 노드의 입력을 비우고 종료했는지 반환합니다.
+     *
+     * @return 제한 시간 안에 비웠으면 true
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * 파이프 ID별로 전달되지 못하고 남은 메시지 수를 반환합니다. 빈 파이프는 포함되지 않습니다.
+     *
+     * @return 파이프 ID별 남은 메시지 수
+     */
+    public Map<UUID, Integer> getUndelivered() {
+        return undelivered;
+    }
+
+    /**
+     * 전달되지 못한 메시지의 총 수를 반환합니다.
+     *
+     * @return 남은 메시지 수
+     */
+    public long getUndeliveredCount() {
+        return undelivered.values().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShutdownReport[pipelineId=%s, completed=%s, elapsed=%dms, undelivered=%d]",
+                pipelineId, completed, elapsed.toMillis(), getUndeliveredCount());
+    }
+}
@@ -0,0 +1,358 @@
+package com.samsa.pipeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 노드 스냅샷을 로컬 디렉터리에 저장하고 읽어오는 저장소입니다.
+ *
+ * <p>쓰기는 전용 스레드에서 비동기로 수행되어 메시지 처리 경로를 막지 않습니다.
+ * 이전 체크포인트와 내용이 같은 노드 상태는 다시 쓰지 않고 기존 파일을 참조하므로
+ * 체크포인트마다 변경된 노드의 상태만 디스크에 기록됩니다. 같은 내용인지는 길이와 SHA-256 요약으로 판단합니다.</p>
+ *
+ * <p>파일은 임시 파일에 쓰고 디스크에 내려 쓴 뒤 이름을 바꾸며, 상태 파일을 모두 내려 쓴 다음에 매니페스트를 씁니다.
+ * 따라서 전원 장애 뒤에 남은 매니페스트는 항상 온전한 상태 파일만 가리킵니다.</p>
+ *
+ * <p>디렉터리 구조는 다음과 같습니다.</p>
+ * <pre>
+ * checkpoint-{id}.manifest   노드 ID와 상태 파일 이름의 목록
+ * {nodeId}-{id}.state        체크포인트 {id}에서 기록된 노드 상태
+ * </pre>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class SnapshotStore implements AutoCloseable {
+
+    private static final String MANIFEST_PREFIX = "checkpoint-";
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final String STATE_SUFFIX = ".state";
+    private static final int DEFAULT_RETAINED_CHECKPOINTS = 2;
+
+    /** 스냅샷을 저장할 디렉터리 */
+    private final Path directory;
+
+    /** 유지할 체크포인트 수 */
+    private final int retainedCheckpoints;
+
+    /** 스냅샷 파일을 쓰는 전용 스레드 */
+    private final ExecutorService writer;
+
+    /** 노드별 마지막으로 기록된 상태의 요약 */
+    private final Map<UUID, Digest> lastDigests = new ConcurrentHashMap<>();
+
+    /** 노드별 마지막으로 기록된 상태 파일 이름 */
+    private final Map<UUID, String> lastFiles = new ConcurrentHashMap<>();
+
+    /**
+     * 최근 두 개의 체크포인트를 유지하는 저장소를 생성합니다.
+     *
+     * @param directory 스냅샷을 저장할 디렉터리
+     */
+    public SnapshotStore(Path directory) {
+        this(directory, DEFAULT_RETAINED_CHECKPOINTS);
+    }
+
+    /**
+     * 지정된 수의 체크포인트를 유지하는 저장소를 생성합니다.
+     *
+     * @param directory           스냅샷을 저장할 디렉터리
+     * @param retainedCheckpoints 유지할 체크포인트 수
+     * @throws IllegalArgumentException 디렉터리가 null이거나 생성할 수 없는 경우, 유지 개수가 1보다 작은 경우
+     */
+    public SnapshotStore(Path directory, int retainedCheckpoints) {
+        if (Objects.isNull(directory)) {
+            log.error("스냅샷 디렉터리가 null입니다");
+            throw new IllegalArgumentException("Snapshot directory cannot be null");
+        }
+        if (retainedCheckpoints < 1) {
+            throw new IllegalArgumentException("Retained checkpoints must be positive");
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.error("스냅샷 디렉터리를 생성할 수 없습니다: {}", directory, e);
+            throw new IllegalArgumentException("Cannot create snapshot directory", e);
+        }
+        this.directory = directory;
+        this.retainedCheckpoints = retainedCheckpoints;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 체크포인트를 비동기로 기록합니다.
+     *
+     * @param checkpointId 체크포인트 번호
+     * @param states       노드 ID별 직렬화된 상태
+     * @return 기록이 끝나면 완료되는 future
+     */
+    public CompletableFuture<Void> writeAsync(long checkpointId, Map<UUID, byte[]> states) {
+        Map<UUID, byte[]> copy = new HashMap<>(states);
+        return CompletableFuture.runAsync(() -> {
+            try {
+                write(checkpointId, copy);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writer);
+    }
+
+    private void write(long checkpointId, Map<UUID, byte[]> states) throws IOException {
+        StringBuilder manifest = new StringBuilder();
+        int written = 0;
+
+        for (Map.Entry<UUID, byte[]> entry : states.entrySet()) {
+            UUID nodeId = entry.getKey();
+            byte[] state = entry.getValue();
+
+            Digest digest = Digest.of(state);
+
+            String fileName = lastFiles.get(nodeId);
+            if (fileName == null || !digest.equals(lastDigests.get(nodeId))
+                    || !Files.exists(directory.resolve(fileName))) {
+                fileName = nodeId + "-" + checkpointId + STATE_SUFFIX;
+                writeAtomically(directory.resolve(fileName), state);
+                lastDigests.put(nodeId, digest);
+                lastFiles.put(nodeId, fileName);
+                written++;
+            }
+            manifest.append(nodeId).append('=').append(fileName).append('\n');
+        }
+        if (written > 0) {
+            // 매니페스트가 가리키기 전에 상태 파일의 이름 변경이 디스크에 남도록 함
+            forceDirectory();
+        }
+
+        writeAtomically(manifestPath(checkpointId), manifest.toString().getBytes(StandardCharsets.UTF_8));
+        forceDirectory();
+        log.info("체크포인트 기록 완료. CheckpointId: {}, 노드 수: {}, 새로 기록된 상태: {}",
+                checkpointId, states.size(), written);
+
+        removeExpired();
+    }
+
+    /**
+     * 임시 파일에 쓰고 디스크에 내려 쓴 뒤 이름을 바꿉니다. 이름 변경을 디스크에 남기려면 {@link #forceDirectory()}를 호출해야 합니다.
+     */
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 디렉터리를 디스크에 내려 써 이름 변경을 남깁니다. 디렉터리를 열 수 없는 운영체제에서는 건너뜁니다.
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("스냅샷 디렉터리를 내려 쓸 수 없습니다: {}", directory);
+        }
+    }
+
+    /**
+     * 유지 개수를 넘는 오래된 매니페스트와 더 이상 참조되지 않는 상태 파일을 삭제합니다.
+     */
+    private void removeExpired() throws IOException {
+        List<Long> checkpointIds = listCheckpointIds();
+        if (checkpointIds.size() <= retainedCheckpoints) {
+            return;
+        }
+
+        List<Long> retained = checkpointIds.subList(checkpointIds.size() - retainedCheckpoints, checkpointIds.size());
+        Set<String> referenced = new HashSet<>();
+        for (long checkpointId : retained) {
+            referenced.addAll(readManifest(checkpointId).values());
+        }
+
+        for (long checkpointId : checkpointIds.subList(0, checkpointIds.size() - retainedCheckpoints)) {
+            Files.deleteIfExists(manifestPath(checkpointId));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(STATE_SUFFIX) && !referenced.contains(name)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * 가장 최근 체크포인트의 번호를 반환합니다.
+     *
+     * @return 최근 체크포인트 번호, 기록된 체크포인트가 없으면 빈 값
+     * @throws IOException 디렉터리를 읽을 수 없는 경우
+     */
+    public OptionalLong latestCheckpointId() throws IOException {
+        List<Long> checkpointIds = listCheckpointIds();
+        return checkpointIds.isEmpty()
+                ? OptionalLong.empty()
+                : OptionalLong.of(checkpointIds.get(checkpointIds.size() - 1));
+    }
+
+    /**
+     * 가장 최근 체크포인트의 노드 상태를 읽어옵니다.
+     * 상태 파일은 병렬로 읽어 큰 상태도 빠르게 복원할 수 있도록 합니다.
+     *
+     * @return 노드 ID별 직렬화된 상태, 기록된 체크포인트가 없으면 빈 맵
+     * @throws IOException 매니페스트나 상태 파일을 읽을 수 없는 경우
+     */
+    public Map<UUID, byte[]> loadLatest() throws IOException {
+        OptionalLong latest = latestCheckpointId();
+        if (latest.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, String> manifest = readManifest(latest.getAsLong());
+        Map<UUID, byte[]> states = new ConcurrentHashMap<>();
+        try {
+            manifest.entrySet().parallelStream().forEach(entry -> {
+                try {
+                    states.put(entry.getKey(), Files.readAllBytes(directory.resolve(entry.getValue())));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // 재시작 후 첫 체크포인트도 변경분만 기록하도록 기준 상태를 채워둡니다.
+        for (Map.Entry<UUID, byte[]> entry : states.entrySet()) {
+            lastDigests.put(entry.getKey(), Digest.of(entry.getValue()));
+            lastFiles.put(entry.getKey(), manifest.get(entry.getKey()));
+        }
+
+        log.info("체크포인트 로드 완료. CheckpointId: {}, 노드 수: {}", latest.getAsLong(), states.size());
+        return states;
+    }
+
+    private List<Long> listCheckpointIds() throws IOException {
+        List<Long> checkpointIds = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(MANIFEST_PREFIX) && name.endsWith(MANIFEST_SUFFIX))
+                    .forEach(name -> {
+                        String number = name.substring(MANIFEST_PREFIX.length(),
+                                name.length() - MANIFEST_SUFFIX.length());
+                        try {
+                            checkpointIds.add(Long.parseLong(number));
+                        } catch (NumberFormatException e) {
+                            log.warn("알 수 없는 매니페스트 파일을 무시합니다: {}", name);
+                        }
+                    });
+        }
+        checkpointIds.sort(null);
+        return checkpointIds;
+    }
+
+    private Map<UUID, String> readManifest(long checkpointId) throws IOException {
+        Map<UUID, String> manifest = new HashMap<>();
+        for (String line : Files.readAllLines(manifestPath(checkpointId), StandardCharsets.UTF_8)) {
+            int separator = line.indexOf('=');
+            if (separator > 0) {
+                manifest.put(UUID.fromString(line.substring(0, separator)), line.substring(separator + 1));
+            }
+        }
+        return manifest;
+    }
+
+    private Path manifestPath(long checkpointId) {
+        return directory.resolve(MANIFEST_PREFIX + checkpointId + MANIFEST_SUFFIX);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 대기 중인 쓰기를 마친 뒤 쓰기 스레드를 종료합니다.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("스냅샷 쓰기가 제한 시간 내에 끝나지 않았습니다: {}", directory);
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+    }
+
+    /**
+     * 상태의 길이와 SHA-256 요약입니다. 체크섬과 달리 내용이 다른 상태가 같은 값으로 판단될 걱정이 없습니다.
+     */
+    private static final class Digest {
+        private final int length;
+        private final byte[] hash;
+
+        private Digest(int length, byte[] hash) {
+            this.length = length;
+            this.hash = hash;
+        }
+
+        private static Digest of(byte[] state) {
+            try {
+                return new Digest(state.length, MessageDigest.getInstance("SHA-256").digest(state));
+            } catch (NoSuchAlgorithmException e) {
+                // 모든 자바 런타임은 SHA-256을 제공해야 함
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Digest digest && length == digest.length
+                    && MessageDigest.isEqual(hash, digest.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(hash);
+        }
+    }
+}
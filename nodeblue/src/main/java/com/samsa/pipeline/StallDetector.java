@@ -0,0 +1,93 @@
+package com.samsa.pipeline;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.samsa.core.Node;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 입력에 메시지가 쌓여 있는데도 처리가 진행되지 않는 노드를 찾습니다.
+ *
+ * <p>확인할 때마다 노드가 처리한 메시지 수를 기록해 두고, 입력이 비어 있지 않은 채로 처리 수가 변하지 않은 시간이
+ * 기준 시간을 넘으면 멈춘 것으로 판단합니다. 입력이 비어 있는 노드는 한가한 것이므로 멈춘 것으로 보지 않습니다.
+ * 주기적으로 호출해야 하며, 판단의 정밀도는 호출 간격에 따릅니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class StallDetector {
+
+    /** 기본 기준 시간 */
+    public static final Duration DEFAULT_THRESHOLD = Duration.ofSeconds(10);
+
+    private final long thresholdNanos;
+
+    /** 노드별 마지막으로 확인한 처리 수와 그 수가 된 시각 */
+    private final Map<UUID, Progress> progress = new ConcurrentHashMap<>();
+
+    /**
+     * 기본 기준 시간으로 감지기를 생성합니다.
+     */
+    public StallDetector() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * 감지기를 생성합니다.
+     *
+     * @param threshold 처리가 진행되지 않으면 멈춘 것으로 볼 시간
+     * @throws IllegalArgumentException 시간이 null이거나 0 이하인 경우
+     */
+    public StallDetector(Duration threshold) {
+        if (Objects.isNull(threshold) || threshold.isNegative() || threshold.isZero()) {
+            log.error("멈춤 감지 기준 시간이 유효하지 않습니다: {}", threshold);
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    /**
+     * 노드가 멈췄는지 확인하고 진행 상황을 갱신합니다.
+     *
+     * @param node    확인할 노드
+     * @param backlog 노드의 입력에 쌓인 메시지 수
+     * @param now     현재 시각({@link System#nanoTime()})
+     * @return 기준 시간 넘게 처리가 진행되지 않았으면 true
+     */
+    public boolean check(Node node, int backlog, long now) {
+        Progress entry = progress.computeIfAbsent(node.getId(), id -> new Progress());
+        long processed = node.getProcessedCount();
+        synchronized (entry) {
+            if (backlog == 0 || processed != entry.processed) {
+                entry.processed = processed;
+                entry.since = now;
+                return false;
+            }
+            return now - entry.since >= thresholdNanos;
+        }
+    }
+
+    /**
+     * 노드의 진행 기록을 지웁니다. 파이프라인을 해제할 때 호출합니다.
+     *
+     * @param nodeId 노드 ID
+     */
+    public void forget(UUID nodeId) {
+        progress.remove(nodeId);
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    private static final class Progress {
+        private long processed = -1;
+        private long since;
+    }
+}
@@ -0,0 +1,103 @@
+package com.samsa.pipeline;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 런타임 기동 결과입니다. JVM 시작부터 첫 메시지를 처리할 때까지를 구간별로 담습니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class StartupReport {
+
+    private final UUID pipelineId;
+    private final boolean fromImage;
+    private final Duration jvmStartup;
+    private final Duration load;
+    private final Duration start;
+    private final Duration firstMessage;
+
+    /**
+     * 기동 결과를 생성합니다.
+     *
+     * @param pipelineId   기동한 파이프라인 ID
+     * @param fromImage    플로우를 이미지에서 읽었는지 여부
+     * @param jvmStartup   JVM 시작부터 플로우를 읽기 시작할 때까지 걸린 시간
+     * @param load         플로우를 읽어 파이프라인을 만드는 데 걸린 시간
+     * @param start        파이프라인을 시작하는 데 걸린 시간
+     * @param firstMessage 파이프라인을 시작한 뒤 첫 메시지를 처리할 때까지 걸린 시간, 처리하지 못했으면 null
+     */
+    public StartupReport(UUID pipelineId, boolean fromImage, Duration jvmStartup, Duration load, Duration start,
+            Duration firstMessage) {
+        this.pipelineId = pipelineId;
+        this.fromImage = fromImage;
+        this.jvmStartup = jvmStartup;
+        this.load = load;
+        this.start = start;
+        this.firstMessage = firstMessage;
+    }
+
+    public UUID getPipelineId() {
+        return pipelineId;
+    }
+
+    /**
+     * 플로우를 {@link FlowImage}에서 읽었는지 반환합니다.
+     *
+     * @return 이미지에서 읽었으면 true, JSON에서 읽었으면 false
+     */
+    public boolean isFromImage() {
+        return fromImage;
+    }
+
+    public Duration getJvmStartup() {
+        return jvmStartup;
+    }
+
+    public Duration getLoad() {
+        return load;
+    }
+
+    public Duration getStart() {
+        return start;
+    }
+
+    /**
+     * 파이프라인을 시작한 뒤 첫 메시지를 처리할 때까지 걸린 시간을 반환합니다.
+     *
+     * @return 걸린 시간, 제한 시간 안에 처리하지 못했으면 null
+     */
+    public Duration getFirstMessage() {
+        return firstMessage;
+    }
+
+    /**
+     * 첫 메시지를 처리했는지 반환합니다.
+     *
+     * @return 처리했으면 true
+     */
+    public boolean isFirstMessageProcessed() {
+        return firstMessage != null;
+    }
+
+    /**
+     * JVM 시작부터 첫 메시지를 처리할 때까지 걸린 시간을 반환합니다.
+     *
+     * @return 걸린 시간, 첫 메시지를 처리하지 못했으면 null
+     */
+    public Duration getTimeToFirstMessage() {
+        return firstMessage == null ? null : jvmStartup.plus(load).plus(start).plus(firstMessage);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StartupReport[pipelineId=%s, source=%s, jvm=%dms, load=%.3fms, start=%.3fms, "
+                + "firstMessage=%s, total=%s]", pipelineId, fromImage ? "image" : "json", jvmStartup.toMillis(),
+                load.toNanos() / 1e6, start.toNanos() / 1e6, format(firstMessage), format(getTimeToFirstMessage()));
+    }
+
+    private static String format(Duration duration) {
+        return duration == null ? "none" : String.format("%.3fms", duration.toNanos() / 1e6);
+    }
+}
@@ -0,0 +1,119 @@
+package com.samsa.pipeline;
+
+import java.util.UUID;
+
+/**
+ * 한 파이프라인(테넌트)의 자원 사용량과 한도에 걸린 횟수입니다. 누적값은 파이프라인을 등록한 뒤부터 센 값입니다.
+ *
+ * @author samsa
+ * @since 1.0
+ */
+public final class TenantUsage {
+
+    private final UUID pipelineId;
+    private final PipelineQuota quota;
+    private final long cpuNanos;
+    private final long cpuThrottledCount;
+    private final int queuedMessages;
+    private final long queuedBytes;
+    private final long memoryRejectedCount;
+    private final long sourceMessages;
+    private final long sourceThrottledNanos;
+    private final long processedCount;
+
+    /**
+     * 사용량을 생성합니다.
+     *
+     * @param pipelineId           파이프라인 ID
+     * @param quota                적용 중인 한도
+     * @param cpuNanos             노드들이 사용한 워커 시간(나노초)
+     * @param cpuThrottledCount    CPU 몫을 다 써서 노드의 차례를 미룬 횟수
+     * @param queuedMessages       파이프들에 쌓인 메시지 수
+     * @param queuedBytes          파이프들에 쌓인 메시지의 추정 크기 합, 메모리 예산이 없으면 -1
+     * @param memoryRejectedCount  메모리 예산이 부족해 파이프가 거절한 횟수
+     * @param sourceMessages       속도 제한을 거쳐 소스가 내보낸 메시지 수, 속도 제한이 없으면 -1
+     * @param sourceThrottledNanos 소스가 속도 제한 때문에 기다린 시간(나노초)
+     * @param processedCount       노드들이 처리한 메시지 수
+     */
+    public TenantUsage(UUID pipelineId, PipelineQuota quota, long cpuNanos, long cpuThrottledCount,
+            int queuedMessages, long queuedBytes, long memoryRejectedCount, long sourceMessages,
+            long sourceThrottledNanos, long processedCount) {
+        this.pipelineId = pipelineId;
+        this.quota = quota;
+        this.cpuNanos = cpuNanos;
+        this.cpuThrottledCount = cpuThrottledCount;
+        this.queuedMessages = queuedMessages;
+        this.queuedBytes = queuedBytes;
+        this.memoryRejectedCount = memoryRejectedCount;
+        this.sourceMessages = sourceMessages;
+        this.sourceThrottledNanos = sourceThrottledNanos;
+        this.processedCount = processedCount;
+    }
+
+    public UUID getPipelineId() {
+        return pipelineId;
+    }
+
+    public PipelineQuota getQuota() {
+        return quota;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getCpuThrottledCount() {
+        return cpuThrottledCount;
+    }
+
+    public int getQueuedMessages() {
+        return queuedMessages;
+    }
+
+    /**
+     * 파이프들에 쌓인 메시지의 추정 크기 합을 반환합니다.
+     *
+     * @return 바이트 수, 메모리 예산이 없는 파이프라인이면 -1
+     */
+    public long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    public long getMemoryRejectedCount() {
+        return memoryRejectedCount;
+    }
+
+    /**
+     * 속도 제한을 거쳐 소스가 내보낸 메시지 수를 반환합니다.
+     *
+     * @return 메시지 수, 속도 제한이 없는 파이프라인이면 -1
+     */
+    public long getSourceMessages() {
+        return sourceMessages;
+    }
+
+    public long getSourceThrottledNanos() {
+        return sourceThrottledNanos;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    /**
+     * 한도 때문에 느려진 적이 있는지 반환합니다.
+     *
+     * @return CPU 몫, 메모리 예산, 소스 속도 중 하나라도 걸린 적이 있으면 true
+     */
+    public boolean isThrottled() {
+        return cpuThrottledCount > 0 || memoryRejectedCount > 0 || sourceThrottledNanos > 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TenantUsage[pipelineId=%s, cpu=%dms, cpuThrottled=%d, queued=%d, queuedBytes=%d,"
+                + " memoryRejected=%d, sourceMessages=%d, sourceThrottled=%dms, processed=%d]", pipelineId,
+                cpuNanos / 1_000_000, cpuThrottledCount, queuedMessages, queuedBytes, memoryRejectedCount,
+                sourceMessages, sourceThrottledNanos / 1_000_000, processedCount);
+    }
+}
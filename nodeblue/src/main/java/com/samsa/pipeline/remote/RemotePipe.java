@@ -0,0 +1,408 @@
+package com.samsa.pipeline.remote;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.samsa.core.CheckpointBarrier;
+import com.samsa.core.Message;
+import com.samsa.core.Pipe;
+import com.samsa.core.codec.BinaryMessageCodec;
+import com.samsa.core.codec.MessageCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다른 런타임의 {@link RemotePipeServer}로 메시지를 보내는 송신 측 파이프입니다.
+ * 출력 포트에 일반 파이프처럼 연결하면, 넣은 메시지가 TCP로 묶음 전송되어
+ * 상대 런타임에서 같은 채널 이름으로 등록된 파이프에 들어갑니다.
+ *
+ * <p>넣은 메시지는 먼저 이 파이프의 큐에 쌓이고, 전송 스레드가 최대 {@code batchSize}개씩 묶어
+ * 하나의 프레임으로 보냅니다. 수신 측은 자기 파이프의 남은 용량을 크레딧으로 알려 주며,
+ * 확인되지 않은 메시지가 크레딧을 넘으면 전송을 멈추므로 수신 측 파이프가 가득 차면
+ * 이 파이프도 차례로 가득 차서 일반 파이프와 같은 배압이 걸립니다.</p>
+ *
+ * <p>전송한 배치는 수신 측이 확인할 때까지 보관합니다. 연결이 끊기면 지수적으로 간격을 늘리며
+ * 재연결하고, 수신 측이 마지막으로 받은 배치 번호 이후의 배치를 다시 보냅니다.
+ * 수신 측은 이미 받은 번호의 배치를 버리므로 재연결 중에도 메시지가 중복되거나 빠지지 않습니다.
+ * 다만 수신 측 런타임이 재시작되면 받은 번호를 잊으므로, 전달되었지만 확인되지 않았던 배치가 한 번 더 전달될 수 있습니다.</p>
+ *
+ * <p>송신 측 런타임이 재시작되어 새로 만든 파이프는 수신 측이 알려 준 마지막 번호 다음부터 번호를 매기므로,
+ * 새 배치가 이미 받은 것으로 잘못 버려지지 않습니다. 채널 하나에는 송신 측 파이프 하나만 연결해야 합니다.</p>
+ *
+ * <p>이 파이프의 큐는 전송 스레드만 소비해야 하므로 입력 포트에 연결하지 않습니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class RemotePipe extends Pipe implements AutoCloseable {
+
+    /** 기본 배치 크기(메시지 수) */
+    public static final int DEFAULT_BATCH_SIZE = 128;
+
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+    private static final long IDLE_WAIT_MILLIS = 50;
+
+    private final InetSocketAddress address;
+    private final String channel;
+    private final int batchSize;
+    private final MessageCodec codec;
+
+    /** 확인되지 않은 배치, 크레딧 상태를 보호하는 잠금 */
+    private final Object lock = new Object();
+
+    /** 전송했지만 아직 확인되지 않은 배치 */
+    private final Deque<Batch> unacked = new ArrayDeque<>();
+
+    /** 확인되지 않은 메시지 수 */
+    private int inFlight;
+
+    /** 수신 측이 마지막으로 알려 준 크레딧 */
+    private int credit;
+
+    private volatile SocketChannel connection;
+    private volatile boolean closed;
+    private final Thread sender;
+
+    // 이하 필드는 전송 스레드에서만 사용
+    private ByteBuffer frame = ByteBuffer.allocate(64 * 1024);
+    private long nextSequence = 1;
+    private Message carried;
+
+    /**
+     * 기본 용량, 배치 크기와 이진 코덱을 사용하는 원격 파이프를 생성하고 연결을 시작합니다.
+     *
+     * @param host    수신 측 호스트
+     * @param port    수신 측 포트
+     * @param channel 수신 측에 등록된 채널 이름
+     */
+    public RemotePipe(String host, int port, String channel) {
+        this(host, port, channel, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, new BinaryMessageCodec());
+    }
+
+    /**
+     * 원격 파이프를 생성하고 연결을 시작합니다.
+     *
+     * @param host      수신 측 호스트
+     * @param port      수신 측 포트
+     * @param channel   수신 측에 등록된 채널 이름
+     * @param capacity  전송을 기다리는 메시지를 담을 큐의 용량
+     * @param batchSize 한 번에 묶어 보낼 최대 메시지 수
+     * @param codec     메시지 코덱. 수신 측과 같은 형식이어야 하며 전송 스레드만 사용합니다.
+     * @throws IllegalArgumentException 인자가 올바르지 않은 경우
+     */
+    public RemotePipe(String host, int port, String channel, int capacity, int batchSize, MessageCodec codec) {
+        super(capacity);
+        if (host == null || channel == null || channel.isEmpty() || codec == null) {
+            log.error("원격 파이프의 호스트, 채널 이름 또는 코덱이 올바르지 않습니다");
+            throw new IllegalArgumentException("Host, channel and codec cannot be null or empty");
+        }
+        if (port < 1 || port > 65535 || batchSize < 1) {
+            log.error("원격 파이프의 포트 또는 배치 크기가 올바르지 않습니다. Port: {}, BatchSize: {}", port, batchSize);
+            throw new IllegalArgumentException("Invalid port or batch size");
+        }
+        this.address = new InetSocketAddress(host, port);
+        this.channel = channel;
+        this.batchSize = batchSize;
+        this.codec = codec;
+
+        this.sender = new Thread(this::runSender, "remote-pipe-" + channel);
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * 배리어의 통보는 이 런타임 안에서만 유효하므로 수신 측으로 보내지 않고 받은 것으로 처리합니다.
+     * 수신 측 런타임의 노드는 이 런타임의 체크포인트에 참여하지 않습니다.
+     */
+    @Override
+    public boolean offerBarrier(CheckpointBarrier barrier) {
+        log.debug("원격 파이프는 체크포인트 배리어를 보내지 않습니다. Channel: {}, CheckpointId: {}", channel,
+                barrier.getCheckpointId());
+        barrier.release();
+        return true;
+    }
+
+    /**
+     * 전송을 멈추고 연결을 닫습니다. 아직 전송되지 않은 메시지는 큐에 남습니다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        sender.interrupt();
+        disconnect(connection);
+        try {
+            sender.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("원격 파이프 종료. Channel: {}, 미확인 메시지: {}", channel, getUnackedCount());
+    }
+
+    /**
+     * 수신 측에 연결되어 있는지 확인합니다.
+     *
+     * @return 연결되어 있으면 true
+     */
+    public boolean isConnected() {
+        return connection != null;
+    }
+
+    /**
+     * 전송했지만 아직 수신 측이 확인하지 않은 메시지 수를 반환합니다.
+     *
+     * @return 미확인 메시지 수
+     */
+    public int getUnackedCount() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    private void runSender() {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (!closed) {
+            try {
+                if (connection == null) {
+                    connect();
+                    backoff = INITIAL_BACKOFF_MILLIS;
+                }
+                sendNextBatch();
+            } catch (IOException e) {
+                if (closed) {
+                    break;
+                }
+                log.warn("원격 파이프 연결 실패. {}ms 후 재연결합니다. Channel: {}, Address: {}, 원인: {}",
+                        backoff, channel, address, e.toString());
+                disconnect(connection);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        disconnect(connection);
+    }
+
+    /**
+     * 연결하고 채널 이름을 알린 뒤, 수신 측이 받지 못한 배치를 다시 보냅니다.
+     */
+    private void connect() throws IOException {
+        SocketChannel socket = SocketChannel.open();
+        try {
+            socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            socket.connect(address);
+
+            RemoteProtocol.begin(frame, RemoteProtocol.HELLO);
+            RemoteProtocol.putString(frame, channel);
+            RemoteProtocol.finish(frame);
+            RemoteProtocol.write(socket, frame);
+
+            ByteBuffer welcome = RemoteProtocol.read(socket, ByteBuffer.allocate(64));
+            if (welcome.get() != RemoteProtocol.WELCOME) {
+                throw new IOException("Unexpected handshake response");
+            }
+            long delivered = welcome.getLong();
+            int welcomeCredit = welcome.getInt();
+            List<Batch> resend;
+            synchronized (lock) {
+                acknowledge(delivered, welcomeCredit);
+                resend = new ArrayList<>(unacked);
+            }
+            // 재시작 전의 송신 측이 보낸 번호가 수신 측에 남아 있으면 그 다음부터 번호를 매김
+            if (nextSequence <= delivered) {
+                log.info("수신 측의 마지막 배치 번호 다음부터 전송합니다. Channel: {}, Sequence: {}", channel,
+                        delivered + 1);
+                nextSequence = delivered + 1;
+            }
+
+            // 재전송 중에 오는 확인 응답도 받을 수 있도록 응답 스레드를 먼저 시작
+            connection = socket;
+            Thread reader = new Thread(() -> readAcks(socket), "remote-pipe-ack-" + channel);
+            reader.setDaemon(true);
+            reader.start();
+
+            for (Batch batch : resend) {
+                RemoteProtocol.write(socket, batch.frame.duplicate());
+            }
+        } catch (IOException e) {
+            disconnect(socket);
+            throw e;
+        }
+        log.info("원격 파이프 연결됨. Channel: {}, Address: {}", channel, address);
+    }
+
+    /**
+     * 크레딧이 허용하는 만큼 큐의 메시지를 묶어 전송합니다.
+     */
+    private void sendNextBatch() throws IOException, InterruptedException {
+        SocketChannel socket = connection;
+        if (socket == null) {
+            return;
+        }
+
+        int allowance;
+        synchronized (lock) {
+            allowance = Math.min(batchSize, credit - inFlight);
+            if (allowance <= 0) {
+                lock.wait(IDLE_WAIT_MILLIS);
+                return;
+            }
+        }
+
+        Message message = carried != null ? carried : poll(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        carried = null;
+        if (message == null) {
+            return;
+        }
+
+        long sequence = nextSequence;
+        RemoteProtocol.begin(frame, RemoteProtocol.BATCH);
+        frame.putLong(sequence);
+        int countPosition = frame.position();
+        frame.putInt(0);
+
+        int count = 0;
+        while (message != null) {
+            int start = frame.position();
+            try {
+                codec.encode(message, frame);
+            } catch (BufferOverflowException e) {
+                frame.position(start);
+                if (count > 0) {
+                    carried = message;
+                    break;
+                }
+                if (!growFrame()) {
+                    log.error("최대 프레임 크기를 넘는 메시지를 버립니다. Channel: {}, MessageId: {}", channel,
+                            message.getId());
+                    message.release();
+                    message = poll();
+                }
+                continue;
+            } catch (RuntimeException e) {
+                // 코덱이 표현할 수 없는 메시지 하나 때문에 전송 스레드가 멈추지 않도록 버리고 다음 메시지를 보냄
+                frame.position(start);
+                log.error("인코딩할 수 없는 메시지를 버립니다. Channel: {}, MessageId: {}, 원인: {}", channel,
+                        message.getId(), e.toString());
+                message.release();
+                message = count < allowance ? poll() : null;
+                continue;
+            }
+            count++;
+            // 인코딩이 끝난 메시지는 더 이상 필요 없으므로 파이프가 가진 참조를 해제
+            message.release();
+            message = count < allowance ? poll() : null;
+        }
+
+        if (count == 0) {
+            // 보낼 수 있는 메시지가 없었으면 번호를 쓰지 않음
+            return;
+        }
+        frame.putInt(countPosition, count);
+        RemoteProtocol.finish(frame);
+        ByteBuffer copy = ByteBuffer.allocate(frame.remaining());
+        copy.put(frame.duplicate()).flip();
+
+        synchronized (lock) {
+            unacked.addLast(new Batch(sequence, count, copy));
+            inFlight += count;
+        }
+        nextSequence++;
+        RemoteProtocol.write(socket, frame);
+    }
+
+    private boolean growFrame() {
+        if (frame.capacity() >= RemoteProtocol.MAX_FRAME_BYTES) {
+            return false;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.min(RemoteProtocol.MAX_FRAME_BYTES, frame.capacity() * 2));
+        frame.flip();
+        larger.put(frame);
+        frame = larger;
+        return true;
+    }
+
+    private void readAcks(SocketChannel socket) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        try {
+            while (!closed) {
+                buffer = RemoteProtocol.read(socket, buffer);
+                if (buffer.get() != RemoteProtocol.ACK) {
+                    throw new IOException("Unexpected frame from receiver");
+                }
+                synchronized (lock) {
+                    acknowledge(buffer.getLong(), buffer.getInt());
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                log.warn("원격 파이프 응답 수신 실패. Channel: {}, 원인: {}", channel, e.toString());
+            }
+        }
+        disconnect(socket);
+    }
+
+    /**
+     * 지정된 번호까지의 배치를 확인 처리하고 크레딧을 갱신합니다. 잠금을 잡은 상태에서 호출해야 합니다.
+     */
+    private void acknowledge(long sequence, int newCredit) {
+        Batch head;
+        while ((head = unacked.peekFirst()) != null && head.sequence <= sequence) {
+            unacked.removeFirst();
+            inFlight -= head.count;
+        }
+        credit = newCredit;
+        lock.notifyAll();
+    }
+
+    private void disconnect(SocketChannel socket) {
+        if (socket == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (connection == socket) {
+                connection = null;
+            }
+            lock.notifyAll();
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.warn("원격 파이프 소켓을 닫는 중 오류 발생. Channel: {}", channel, e);
+        }
+    }
+
+    /**
+     * 전송한 배치 프레임과 확인 처리에 필요한 정보입니다.
+     */
+    private static class Batch {
+        private final long sequence;
+        private final int count;
+        private final ByteBuffer frame;
+
+        private Batch(long sequence, int count, ByteBuffer frame) {
+            this.sequence = sequence;
+            this.count = count;
+            this.frame = frame;
+        }
+    }
+}
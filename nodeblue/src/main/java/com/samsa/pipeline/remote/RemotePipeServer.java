@@ -0,0 +1,371 @@
+package com.samsa.pipeline.remote;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import com.samsa.core.Message;
+import com.samsa.core.Pipe;
+import com.samsa.core.codec.BinaryMessageCodec;
+import com.samsa.core.codec.MessageCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 다른 런타임의 {@link RemotePipe}가 보낸 메시지를 받아 로컬 파이프에 넣는 수신 측 서버입니다.
+ *
+ * <p>채널 이름마다 로컬 파이프를 등록해 두면, 같은 이름으로 연결한 송신 측의 배치를 풀어
+ * 그 파이프에 넣습니다. 배치를 받을 때마다, 그리고 파이프가 소비되어 남은 용량이 충분히 늘어날 때마다
+ * 남은 용량을 크레딧으로 알려 송신 측의 전송량을 조절합니다.</p>
+ *
+ * <p>채널별로 마지막으로 받은 배치 번호를 기억하므로 재연결한 송신 측이 같은 배치를 다시 보내도
+ * 한 번만 전달됩니다. 연결마다 하나의 스레드가 읽기를 담당합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class RemotePipeServer implements AutoCloseable {
+
+    /** 남은 용량 변화를 확인하여 크레딧을 알리는 주기 */
+    private static final long CREDIT_INTERVAL_MICROS = 500;
+
+    private final InetSocketAddress bindAddress;
+    private final Supplier<MessageCodec> codecFactory;
+
+    /** 채널 이름별 수신 상태 */
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    /** 열려 있는 연결 */
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    /** 풀 수 없어 거부한 배치 수 */
+    private final LongAdder rejectedBatches = new LongAdder();
+
+    private ServerSocketChannel server;
+    private Thread acceptor;
+    private ScheduledExecutorService creditTimer;
+    private volatile boolean closed;
+
+    /**
+     * 모든 주소의 지정된 포트에서 이진 코덱으로 수신하는 서버를 생성합니다.
+     *
+     * @param port 수신할 포트, 0이면 사용 가능한 포트를 자동으로 선택
+     */
+    public RemotePipeServer(int port) {
+        this(new InetSocketAddress(port), BinaryMessageCodec::new);
+    }
+
+    /**
+     * 지정된 주소에서 수신하는 서버를 생성합니다.
+     *
+     * @param bindAddress  수신할 주소
+     * @param codecFactory 연결마다 사용할 코덱을 만드는 함수. 송신 측과 같은 형식이어야 합니다.
+     * @throws IllegalArgumentException 인자가 null인 경우
+     */
+    public RemotePipeServer(InetSocketAddress bindAddress, Supplier<MessageCodec> codecFactory) {
+        if (Objects.isNull(bindAddress) || Objects.isNull(codecFactory)) {
+            log.error("수신 주소 또는 코덱이 null입니다");
+            throw new IllegalArgumentException("Bind address and codec factory cannot be null");
+        }
+        this.bindAddress = bindAddress;
+        this.codecFactory = codecFactory;
+    }
+
+    /**
+     * 채널 이름으로 수신한 메시지를 넣을 파이프를 등록합니다.
+     *
+     * @param channel 채널 이름
+     * @param pipe    메시지를 넣을 로컬 파이프
+     * @throws IllegalArgumentException 인자가 null이거나 이미 등록된 채널인 경우
+     */
+    public void register(String channel, Pipe pipe) {
+        if (Objects.isNull(channel) || Objects.isNull(pipe)) {
+            log.error("등록할 채널 이름 또는 파이프가 null입니다");
+            throw new IllegalArgumentException("Channel and pipe cannot be null");
+        }
+        if (channels.putIfAbsent(channel, new Channel(pipe)) != null) {
+            log.error("이미 등록된 채널입니다: {}", channel);
+            throw new IllegalArgumentException("Channel already registered: " + channel);
+        }
+        log.debug("원격 채널 등록됨. Channel: {}, PipeId: {}", channel, pipe.getId());
+    }
+
+    /**
+     * 포트를 열고 연결을 받기 시작합니다.
+     *
+     * @throws IOException 포트를 열 수 없는 경우
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        server = ServerSocketChannel.open();
+        server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        server.bind(bindAddress);
+
+        acceptor = new Thread(this::acceptLoop, "remote-pipe-server-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        creditTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "remote-pipe-credit-" + getPort());
+            thread.setDaemon(true);
+            return thread;
+        });
+        creditTimer.scheduleWithFixedDelay(this::refreshCredits, CREDIT_INTERVAL_MICROS, CREDIT_INTERVAL_MICROS,
+                TimeUnit.MICROSECONDS);
+        log.info("원격 파이프 서버 시작. Address: {}", server.socket().getLocalSocketAddress());
+    }
+
+    /**
+     * 서버가 수신 중인 포트를 반환합니다.
+     *
+     * @return 포트 번호, 시작 전이면 생성 시 지정한 포트
+     */
+    public int getPort() {
+        ServerSocketChannel current = server;
+        return current == null ? bindAddress.getPort() : current.socket().getLocalPort();
+    }
+
+    /**
+     * 풀 수 없어 통째로 거부한 배치 수를 반환합니다.
+     *
+     * @return 거부한 배치 수
+     */
+    public long getRejectedBatchCount() {
+        return rejectedBatches.sum();
+    }
+
+    /**
+     * 서버와 모든 연결을 닫습니다. 이미 로컬 파이프에 들어간 메시지는 그대로 남습니다.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (creditTimer != null) {
+            creditTimer.shutdownNow();
+        }
+        try {
+            if (server != null) {
+                server.close();
+            }
+        } catch (IOException e) {
+            log.warn("원격 파이프 서버 소켓을 닫는 중 오류 발생", e);
+        }
+        connections.forEach(Connection::close);
+        if (acceptor != null) {
+            // 수락 스레드가 빠져나가야 소켓이 실제로 닫혀 같은 포트를 다시 열 수 있음
+            try {
+                acceptor.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("원격 파이프 서버 종료. Port: {}", getPort());
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                SocketChannel socket = server.accept();
+                socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Thread reader = new Thread(() -> serve(socket), "remote-pipe-conn-" + socket.getRemoteAddress());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    log.error("원격 파이프 연결 수락 실패", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 하나의 연결에서 핸드셰이크 후 배치를 읽어 파이프에 넣습니다.
+     */
+    private void serve(SocketChannel socket) {
+        Connection connection = null;
+        try {
+            ByteBuffer buffer = RemoteProtocol.read(socket, ByteBuffer.allocate(64 * 1024));
+            if (buffer.get() != RemoteProtocol.HELLO) {
+                throw new IOException("Expected handshake");
+            }
+            String name = RemoteProtocol.getString(buffer);
+            Channel channel = channels.get(name);
+            if (channel == null) {
+                log.error("등록되지 않은 채널로의 연결을 거부합니다. Channel: {}, Remote: {}", name,
+                        socket.getRemoteAddress());
+                socket.close();
+                return;
+            }
+
+            connection = new Connection(socket, channel);
+            connections.add(connection);
+            connection.sendCredit(RemoteProtocol.WELCOME);
+            log.info("원격 채널 연결됨. Channel: {}, Remote: {}", name, socket.getRemoteAddress());
+
+            MessageCodec codec = codecFactory.get();
+            while (!closed) {
+                buffer = RemoteProtocol.read(socket, buffer);
+                if (buffer.get() != RemoteProtocol.BATCH) {
+                    throw new IOException("Unexpected frame from sender");
+                }
+                long sequence = buffer.getLong();
+                int count = buffer.getInt();
+                synchronized (channel) {
+                    if (sequence > channel.lastSequence) {
+                        List<Message> batch = decodeBatch(codec, buffer, count, name, sequence);
+                        if (batch != null) {
+                            for (Message message : batch) {
+                                deliver(channel.pipe, message);
+                            }
+                        }
+                        // 손상된 배치도 받은 것으로 기록하여 송신 측이 같은 배치를 되풀이해 보내지 않게 함
+                        channel.lastSequence = sequence;
+                    }
+                }
+                connection.sendCredit(RemoteProtocol.ACK);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            if (!closed) {
+                log.warn("원격 채널 연결 종료. Remote: {}, 원인: {}", socket.socket().getRemoteSocketAddress(),
+                        e.toString());
+            }
+        } finally {
+            if (connection != null) {
+                connections.remove(connection);
+                connection.close();
+            } else {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * 배치의 메시지를 모두 풉니다. 하나라도 풀 수 없으면 앞의 메시지도 전달하지 않도록 배치 전체를 거부합니다.
+     *
+     * @return 풀어낸 메시지, 배치를 거부했으면 null
+     */
+    private List<Message> decodeBatch(MessageCodec codec, ByteBuffer buffer, int count, String name, long sequence) {
+        List<Message> batch = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                batch.add(codec.decode(buffer));
+            }
+            return batch;
+        } catch (RuntimeException e) {
+            batch.forEach(Message::release);
+            rejectedBatches.increment();
+            log.error("풀 수 없는 배치를 거부합니다. Channel: {}, Sequence: {}, 메시지 수: {}, 풀어낸 수: {}, 원인: {}", name,
+                    sequence, count, batch.size(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 파이프에 메시지를 넣습니다. 다른 생산자 때문에 파이프가 가득 찬 경우 빈 자리가 생길 때까지 기다립니다.
+     */
+    private void deliver(Pipe pipe, Message message) {
+        while (!pipe.offer(message)) {
+            if (closed) {
+                return;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * 파이프가 소비되어 남은 용량이 충분히 늘어난 연결에 새 크레딧을 알립니다.
+     * 작은 변화마다 알리면 프레임만 늘어나므로, 알린 크레딧이 용량의 1/4보다 적었거나
+     * 그 이상 늘어난 경우에만 알립니다.
+     */
+    private void refreshCredits() {
+        for (Connection connection : connections) {
+            Pipe pipe = connection.channel.pipe;
+            int remaining = pipe.remainingCapacity();
+            int threshold = Math.max(1, (remaining + pipe.size()) / 4);
+            int lastCredit = connection.lastCredit;
+            if (remaining > lastCredit && (lastCredit < threshold || remaining - lastCredit >= threshold)) {
+                try {
+                    connection.sendCredit(RemoteProtocol.ACK);
+                } catch (IOException e) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(SocketChannel socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.warn("원격 파이프 연결을 닫는 중 오류 발생", e);
+        }
+    }
+
+    /**
+     * 채널 하나의 수신 상태입니다.
+     */
+    private static class Channel {
+        private final Pipe pipe;
+
+        /** 파이프에 전달한 마지막 배치 번호. 채널 객체를 잠근 상태에서만 사용합니다. */
+        private long lastSequence;
+
+        private Channel(Pipe pipe) {
+            this.pipe = pipe;
+        }
+    }
+
+    /**
+     * 송신 측과의 연결 하나입니다.
+     */
+    private static class Connection {
+        private final SocketChannel socket;
+        private final Channel channel;
+        private final ByteBuffer frame = ByteBuffer.allocate(32);
+        private volatile int lastCredit = -1;
+
+        private Connection(SocketChannel socket, Channel channel) {
+            this.socket = socket;
+            this.channel = channel;
+        }
+
+        /**
+         * 마지막으로 받은 배치 번호와 파이프의 남은 용량을 알립니다.
+         */
+        private synchronized void sendCredit(byte type) throws IOException {
+            long sequence;
+            synchronized (channel) {
+                sequence = channel.lastSequence;
+            }
+            int credit = channel.pipe.remainingCapacity();
+            RemoteProtocol.begin(frame, type);
+            frame.putLong(sequence);
+            frame.putInt(credit);
+            RemoteProtocol.finish(frame);
+            RemoteProtocol.write(socket, frame);
+            lastCredit = credit;
+        }
+
+        private void close() {
+            closeQuietly(socket);
+        }
+    }
+}
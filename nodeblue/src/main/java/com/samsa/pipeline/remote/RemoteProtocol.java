@@ -0,0 +1,109 @@
+package com.samsa.pipeline.remote;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 원격 파이프의 송신 측과 수신 측이 주고받는 프레임 형식입니다.
+ *
+ * <p>모든 프레임은 {@code int 길이 + byte 종류 + 본문} 형태이며 길이는 종류와 본문을 합한 바이트 수입니다.</p>
+ * <pre>
+ * HELLO   : int 이름 길이 + UTF-8 채널 이름
+ * WELCOME : long 마지막으로 받은 배치 번호 + int 크레딧
+ * BATCH   : long 배치 번호 + int 메시지 수 + 코덱으로 기록한 메시지들
+ * ACK     : long 마지막으로 받은 배치 번호 + int 크레딧
+ * </pre>
+ *
+ * <p>크레딧은 수신 측 파이프의 남은 용량이며, 송신 측은 확인되지 않은 메시지 수가
+ * 마지막으로 받은 크레딧을 넘지 않도록 전송합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+final class RemoteProtocol {
+
+    static final byte HELLO = 1;
+    static final byte WELCOME = 2;
+    static final byte BATCH = 3;
+    static final byte ACK = 4;
+
+    /** 허용하는 프레임의 최대 크기(바이트) */
+    static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    private RemoteProtocol() {
+    }
+
+    /**
+     * 버퍼를 비우고 길이 자리와 프레임 종류를 기록합니다.
+     */
+    static void begin(ByteBuffer buffer, byte type) {
+        buffer.clear();
+        buffer.putInt(0);
+        buffer.put(type);
+    }
+
+    /**
+     * 길이 자리를 채우고 버퍼를 전송할 수 있도록 뒤집습니다.
+     */
+    static void finish(ByteBuffer buffer) {
+        buffer.putInt(0, buffer.position() - Integer.BYTES);
+        buffer.flip();
+    }
+
+    static void putString(ByteBuffer buffer, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void write(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 프레임 하나를 읽습니다. 버퍼가 작으면 더 큰 버퍼를 만들어 반환하며,
+     * 반환된 버퍼는 프레임 종류부터 읽을 수 있는 상태입니다.
+     *
+     * @throws EOFException 상대가 연결을 닫은 경우
+     */
+    static ByteBuffer read(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        buffer.limit(Integer.BYTES);
+        readFully(channel, buffer);
+        int length = buffer.getInt(0);
+        if (length < 1 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(Math.max(length, Math.min(MAX_FRAME_BYTES, buffer.capacity() * 2)));
+        }
+        buffer.clear();
+        buffer.limit(length);
+        readFully(channel, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Connection closed by peer");
+            }
+        }
+    }
+}
@@ -0,0 +1,909 @@
+package com.samsa.pipeline.scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import com.samsa.core.AdaptiveBatchController;
+import com.samsa.core.InNode;
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Node;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.pipeline.Pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 입력 포트가 있는 노드들을 고정된 수의 워커 스레드에서 실행하는 작업 훔치기 스케줄러입니다.
+ *
+ * <p>노드는 입력 파이프에 메시지가 들어올 때만 실행 대기열에 오르며, 한 번 실행될 때
+ * 최대 {@code batchLimit}개 또는 {@code timeSlice} 동안 메시지를 처리한 뒤 다른 노드에 차례를 넘깁니다.
+ * 처리할 메시지가 남아 있으면 자기 워커 대기열의 맨 뒤로 돌아가므로, 메시지가 끝없이 들어오는
+ * 노드가 있어도 같은 워커의 다른 노드가 굶지 않습니다.</p>
+ *
+ * <p>워커에서 실행 중인 노드가 하류 노드의 파이프에 메시지를 넣으면, 하류 노드는 공유 대기열 대신
+ * 그 워커의 다음 실행 칸에 놓여 현재 노드의 차례가 끝나자마자 같은 스레드에서 실행됩니다.
+ * 방금 만든 메시지가 캐시에 남아 있는 코어에서 소비되므로 코어 사이를 오가는 비용이 줄어듭니다.
+ * 두 노드가 서로에게 계속 넘기며 대기열의 다른 노드를 막지 않도록 다음 실행 칸은 연속
+ * {@value #MAX_CONSECUTIVE_HANDOFFS}번까지만 사용합니다.</p>
+ *
+ * <p>{@link OutPort#propagate(com.samsa.core.Message)}는 가득 찬 파이프에 넣지 못한 메시지를 버리므로,
+ * 출력 파이프 중 하나라도 가득 찬 노드는 메시지를 처리하지 않고 차례를 넘겨 하류 노드가 먼저 소비하게 합니다.</p>
+ *
+ * <p>자기 대기열이 빈 워커는 공유 대기열을 확인한 뒤 다른 워커의 대기열 뒤쪽에서 노드를 훔쳐 옵니다.
+ * 할 일이 없으면 잠들었다가 새 노드가 대기열에 오르면 깨어납니다.</p>
+ *
+ * <p>지연 시간 목표를 지정하여 생성하면 노드마다 {@link AdaptiveBatchController}를 두어 한 차례에 처리할 메시지 수를
+ * 입력 파이프의 깊이와 도착 속도에 맞춰 조절합니다. 부하가 많으면 차례의 p99 길이가 목표를 넘지 않는 범위에서 크게 묶어
+ * 처리량을 높이고, 부하가 적으면 작게 묶어 다른 노드가 빨리 차례를 받게 합니다. 이때 차례의 최대 시간은 목표 시간입니다.</p>
+ *
+ * <p>노드를 그룹(보통 파이프라인 ID)과 함께 등록하면 그룹별로 워커 시간을 세며, {@link #setCpuShare(UUID, double)}로
+ * 그룹이 쓸 수 있는 워커 시간의 몫을 정할 수 있습니다. {@value #CPU_WINDOW_MILLIS}ms 구간마다 몫을 다 쓴 그룹의 노드는
+ * 실행하지 않고 따로 미뤄 두었다가 다음 구간에 대기열로 돌려보내므로, 한 그룹이 메시지를 쏟아내도 다른 그룹의 차례를 빼앗지 못합니다.
+ * 속도 제한이 걸린 출력 포트의 노드도 허가가 날 때까지 워커를 붙잡지 않고 차례를 넘깁니다.</p>
+ *
+ * <p>출력만 있는 소스 노드는 {@link Node#start()}에서 스스로 실행되므로 이 스케줄러의 대상이 아닙니다.
+ * 노드는 파이프 연결을 마친 뒤에 등록해야 합니다.</p>
+ *
+ * @author samsa
+ * @since 1.0
+ */
+@Slf4j
+public class NodeScheduler implements AutoCloseable {
+
+    /** 한 번의 차례에 처리할 기본 최대 메시지 수 */
+    public static final int DEFAULT_BATCH_LIMIT = 64;
+
+    /** 한 번의 차례에 사용할 기본 최대 시간(마이크로초) */
+    public static final long DEFAULT_TIME_SLICE_MICROS = 200;
+
+    /** 배치 크기를 조절할 때 한 번의 차례에 처리할 최대 메시지 수 */
+    public static final int MAX_ADAPTIVE_BATCH_LIMIT = 4096;
+
+    /** 다음 실행 칸을 연속으로 사용할 수 있는 횟수 */
+    static final int MAX_CONSECUTIVE_HANDOFFS = 3;
+
+    /** 그룹별 워커 시간의 몫을 세는 구간(밀리초) */
+    public static final long CPU_WINDOW_MILLIS = 10;
+
+    private static final long CPU_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(CPU_WINDOW_MILLIS);
+
+    /** 공유 대기열을 먼저 확인하는 주기. 자기 대기열만 돌며 공유 대기열을 굶기지 않도록 함 */
+    private static final int INJECT_CHECK_INTERVAL = 31;
+
+    /** 출력 파이프가 가득 차 진행하지 못한 워커가 다른 할 일이 없을 때 쉬는 시간 */
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /** 할 일이 없는 워커가 잠드는 최대 시간 */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** 등록 해제 시 실행 중인 차례가 끝나기를 확인하는 주기 */
+    private static final long UNREGISTER_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /** 등록 해제 시 실행 중인 차례가 끝나기를 기다리는 최대 시간 */
+    private static final long UNREGISTER_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Worker[] workers;
+    private final int batchLimit;
+    private final long timeSliceNanos;
+
+    /** 차례 길이의 p99 목표, 배치 크기를 조절하지 않으면 null */
+    private final Duration latencyTarget;
+
+    /** 워커가 아닌 스레드에서 대기열에 오른 노드 */
+    private final ConcurrentLinkedQueue<NodeTask> injectQueue = new ConcurrentLinkedQueue<>();
+
+    /** 등록된 노드별 실행 정보 */
+    private final Map<UUID, NodeTask> tasks = new ConcurrentHashMap<>();
+
+    /** 그룹별 워커 시간 사용량과 몫 */
+    private final Map<UUID, TaskGroup> groups = new ConcurrentHashMap<>();
+
+    /** 몫을 다 써서 다음 구간을 기다리는 노드 수 */
+    private final AtomicInteger deferredCount = new AtomicInteger();
+
+    /** 잠들어 있는 워커 수 */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder handoffs = new LongAdder();
+    private final LongAdder steals = new LongAdder();
+    private final LongAdder yields = new LongAdder();
+
+    private volatile boolean started;
+    private volatile boolean closed;
+
+    /**
+     * 지정된 수의 워커와 기본 차례 제한을 사용하는 스케줄러를 생성합니다.
+     *
+     * @param parallelism 워커 스레드 수
+     * @throws IllegalArgumentException 워커 수가 1보다 작은 경우
+     */
+    public NodeScheduler(int parallelism) {
+        this(parallelism, DEFAULT_BATCH_LIMIT, TimeUnit.MICROSECONDS.toNanos(DEFAULT_TIME_SLICE_MICROS));
+    }
+
+    /**
+     * 워커 수와 차례 제한을 지정하여 스케줄러를 생성합니다.
+     *
+     * @param parallelism    워커 스레드 수
+     * @param batchLimit     한 번의 차례에 처리할 최대 메시지 수
+     * @param timeSliceNanos 한 번의 차례에 사용할 최대 시간(나노초)
+     * @throws IllegalArgumentException 인자가 1보다 작은 경우
+     */
+    public NodeScheduler(int parallelism, int batchLimit, long timeSliceNanos) {
+        this(parallelism, batchLimit, timeSliceNanos, null);
+    }
+
+    /**
+     * 노드마다 한 차례에 처리할 메시지 수를 지연 시간 목표에 맞춰 조절하는 스케줄러를 생성합니다.
+     * 배치 크기는 {@value #DEFAULT_BATCH_LIMIT}개에서 시작하여 1개부터 {@value #MAX_ADAPTIVE_BATCH_LIMIT}개 사이에서 바뀝니다.
+     *
+     * @param parallelism   워커 스레드 수
+     * @param latencyTarget 한 차례 길이의 p99 목표, 차례의 최대 시간으로도 사용
+     * @throws IllegalArgumentException 워커 수가 1보다 작거나 목표가 null이거나 0 이하인 경우
+     */
+    public NodeScheduler(int parallelism, Duration latencyTarget) {
+        this(parallelism, MAX_ADAPTIVE_BATCH_LIMIT, latencyTarget == null ? 0 : latencyTarget.toNanos(),
+                requireTarget(latencyTarget));
+    }
+
+    private NodeScheduler(int parallelism, int batchLimit, long timeSliceNanos, Duration latencyTarget) {
+        if (parallelism < 1 || batchLimit < 1 || timeSliceNanos < 1) {
+            log.error("스케줄러 설정이 유효하지 않습니다. Parallelism: {}, BatchLimit: {}, TimeSlice: {}ns",
+                    parallelism, batchLimit, timeSliceNanos);
+            throw new IllegalArgumentException("Parallelism, batch limit and time slice must be positive");
+        }
+        this.batchLimit = batchLimit;
+        this.timeSliceNanos = timeSliceNanos;
+        this.latencyTarget = latencyTarget;
+        this.workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    private static Duration requireTarget(Duration latencyTarget) {
+        if (Objects.isNull(latencyTarget) || latencyTarget.isNegative() || latencyTarget.isZero()) {
+            log.error("지연 시간 목표가 유효하지 않습니다: {}", latencyTarget);
+            throw new IllegalArgumentException("Latency target must be positive");
+        }
+        return latencyTarget;
+    }
+
+    /**
+     * 파이프라인에서 입력 포트가 있는 모든 노드를 등록합니다.
+     *
+     * @param pipeline 등록할 파이프라인
+     * @return 등록된 노드 수
+     * @throws IllegalArgumentException 파이프라인이 null인 경우
+     */
+    public int schedule(Pipeline pipeline) {
+        if (Objects.isNull(pipeline)) {
+            log.error("스케줄할 파이프라인이 null입니다");
+            throw new IllegalArgumentException("Pipeline cannot be null");
+        }
+        int count = 0;
+        for (Node node : pipeline.getNodes()) {
+            if (node instanceof InOutNode || node instanceof InNode) {
+                register(node);
+                count++;
+            }
+        }
+        log.info("파이프라인 스케줄 등록. PipelineId: {}, 노드 수: {}", pipeline.getId(), count);
+        return count;
+    }
+
+    /**
+     * 노드를 등록합니다. 노드의 입력 파이프에 메시지가 들어오면 워커에서 실행됩니다.
+     *
+     * @param node 등록할 노드
+     * @throws IllegalArgumentException 노드가 null이거나 입력 포트가 없거나 이미 등록된 경우
+     */
+    public void register(Node node) {
+        register(node, null);
+    }
+
+    /**
+     * 노드를 그룹에 넣어 등록합니다. 노드가 사용한 워커 시간은 그룹의 사용량으로 세며 그룹의 몫으로 제한됩니다.
+     *
+     * @param node  등록할 노드
+     * @param group 노드가 속할 그룹 ID, null이면 그룹 없이 제한 없이 실행
+     * @throws IllegalArgumentException 노드가 null이거나 입력 포트가 없거나 이미 등록된 경우
+     */
+    public void register(Node node, UUID group) {
+        TaskGroup taskGroup = group == null ? null : groups.computeIfAbsent(group, TaskGroup::new);
+        AdaptiveBatchController batch = latencyTarget == null ? null
+                : new AdaptiveBatchController(latencyTarget, 1, MAX_ADAPTIVE_BATCH_LIMIT, DEFAULT_BATCH_LIMIT);
+        NodeTask task;
+        if (node instanceof InOutNode inOutNode) {
+            task = new NodeTask(node, inOutNode.getInPort(), inOutNode.getOutPort(), inOutNode::processNext,
+                    taskGroup, batch);
+        } else if (node instanceof InNode inNode) {
+            task = new NodeTask(node, inNode.getInPort(), null, inNode::processNext, taskGroup,
+                    batch);
+        } else {
+            log.error("입력 포트가 없는 노드는 스케줄할 수 없습니다. Node: {}", node);
+            throw new IllegalArgumentException("Only nodes with an input port can be scheduled");
+        }
+        if (tasks.putIfAbsent(node.getId(), task) != null) {
+            log.error("이미 등록된 노드입니다. NodeId: {}", node.getId());
+            throw new IllegalArgumentException("Node already scheduled: " + node.getId());
+        }
+
+        for (Pipe pipe : task.inPort.getPipes()) {
+            pipe.setReadyListener(task);
+        }
+        if (started && task.inPort.hasAvailableData()) {
+            task.run();
+        }
+    }
+
+    /**
+     * 노드의 등록을 해제하고 입력 파이프의 알림을 제거합니다.
+     *
+     * <p>대기열에 있거나 미뤄 둔 차례는 더 실행되지 않으며, 실행 중인 차례는 처리 중인 메시지까지만 처리하고 끝납니다.
+     * 이 메서드는 실행 중인 차례가 끝날 때까지 기다리므로, 반환된 뒤에 노드를 중지하면
+     * 중지한 노드에서 {@code processNext}가 다시 호출되지 않습니다. 노드 자신의 차례 안에서 호출하면 기다리지 않습니다.</p>
+     *
+     * @param node 해제할 노드
+     * @return 등록되어 있었으면 true
+     */
+    public boolean unregister(Node node) {
+        NodeTask task = node == null ? null : tasks.remove(node.getId());
+        if (task == null) {
+            return false;
+        }
+        task.removed = true;
+        for (Pipe pipe : task.inPort.getPipes()) {
+            pipe.setReadyListener(null);
+        }
+        awaitTurnEnd(task);
+        return true;
+    }
+
+    /**
+     * 노드의 실행 중인 차례가 끝날 때까지 기다립니다.
+     */
+    private void awaitTurnEnd(NodeTask task) {
+        if (Thread.currentThread() instanceof WorkerThread thread && thread.worker.current == task) {
+            return;
+        }
+        long deadline = System.nanoTime() + UNREGISTER_TIMEOUT_NANOS;
+        while (task.isRunning()) {
+            if (System.nanoTime() - deadline > 0) {
+                log.warn("실행 중인 차례가 끝나지 않아 기다리지 않고 등록을 해제합니다. NodeId: {}", task.node.getId());
+                return;
+            }
+            LockSupport.parkNanos(this, UNREGISTER_POLL_NANOS);
+        }
+    }
+
+    /**
+     * 그룹이 쓸 수 있는 워커 시간의 몫을 정합니다. 몫은 모든 워커의 시간에 대한 비율이며,
+     * 워커가 4개일 때 0.25이면 워커 하나만큼의 시간을 쓸 수 있습니다. 아직 노드가 등록되지 않은 그룹에도 미리 정할 수 있습니다.
+     *
+     * @param group 그룹 ID
+     * @param share 0보다 크고 1 이하인 몫, 1이면 제한하지 않음
+     * @throws IllegalArgumentException 그룹이 null이거나 몫이 범위를 벗어난 경우
+     */
+    public void setCpuShare(UUID group, double share) {
+        if (Objects.isNull(group) || !(share > 0 && share <= 1)) {
+            log.error("CPU 몫 설정이 유효하지 않습니다. Group: {}, Share: {}", group, share);
+            throw new IllegalArgumentException("Group must not be null and share must be in (0, 1]");
+        }
+        groups.computeIfAbsent(group, TaskGroup::new).share = share;
+        log.info("CPU 몫 설정. Group: {}, Share: {}", group, share);
+    }
+
+    /**
+     * 그룹의 워커 시간 몫을 반환합니다.
+     *
+     * @param group 그룹 ID
+     * @return 몫, 알 수 없는 그룹이면 1
+     */
+    public double getCpuShare(UUID group) {
+        TaskGroup taskGroup = group == null ? null : groups.get(group);
+        return taskGroup == null ? 1.0 : taskGroup.share;
+    }
+
+    /**
+     * 그룹의 노드들이 사용한 워커 시간의 합을 반환합니다.
+     *
+     * @param group 그룹 ID
+     * @return 사용한 시간(나노초), 알 수 없는 그룹이면 0
+     */
+    public long getCpuNanos(UUID group) {
+        TaskGroup taskGroup = group == null ? null : groups.get(group);
+        return taskGroup == null ? 0 : taskGroup.cpuNanos.sum();
+    }
+
+    /**
+     * 그룹이 몫을 다 써서 노드의 차례를 다음 구간으로 미룬 횟수를 반환합니다.
+     *
+     * @param group 그룹 ID
+     * @return 미룬 횟수, 알 수 없는 그룹이면 0
+     */
+    public long getThrottledCount(UUID group) {
+        TaskGroup taskGroup = group == null ? null : groups.get(group);
+        return taskGroup == null ? 0 : taskGroup.throttled.sum();
+    }
+
+    /**
+     * 그룹의 몫과 사용량을 지웁니다. 미뤄 둔 노드는 곧바로 대기열로 돌려보내며, 그룹의 노드는 이후 제한 없이 실행됩니다.
+     *
+     * @param group 그룹 ID
+     */
+    public void removeGroup(UUID group) {
+        TaskGroup taskGroup = group == null ? null : groups.remove(group);
+        if (taskGroup == null) {
+            return;
+        }
+        taskGroup.share = 1.0;
+        NodeTask task;
+        while ((task = taskGroup.deferred.poll()) != null) {
+            deferredCount.decrementAndGet();
+            injectQueue.add(task);
+        }
+        wakeOne();
+    }
+
+    /**
+     * 노드가 한 차례에 처리할 최대 메시지 수를 반환합니다.
+     *
+     * @param node 확인할 노드
+     * @return 배치 크기를 조절하면 노드의 현재 배치 크기, 아니면 고정된 최대 메시지 수
+     * @throws IllegalArgumentException 등록되지 않은 노드인 경우
+     */
+    public int getBatchSize(Node node) {
+        NodeTask task = node == null ? null : tasks.get(node.getId());
+        if (task == null) {
+            log.error("등록되지 않은 노드입니다. Node: {}", node);
+            throw new IllegalArgumentException("Node not scheduled");
+        }
+        return task.batch == null ? batchLimit : task.batch.getBatchSize();
+    }
+
+    /**
+     * 노드가 대기열에 있거나 실행 중이지 않은지 확인합니다. 종료 시 처리 중인 메시지가 끝났는지 확인하는 데 사용합니다.
+     *
+     * @param node 확인할 노드
+     * @return 쉬고 있거나 등록되지 않은 노드이면 true
+     */
+    public boolean isIdle(Node node) {
+        NodeTask task = node == null ? null : tasks.get(node.getId());
+        return task == null || task.state.get() == NodeTask.IDLE;
+    }
+
+    /**
+     * 노드가 등록되어 있는지 확인합니다.
+     *
+     * @param node 확인할 노드
+     * @return 등록되어 있으면 true
+     */
+    public boolean isRegistered(Node node) {
+        return node != null && tasks.containsKey(node.getId());
+    }
+
+    /**
+     * 워커 스레드를 시작하고, 이미 메시지가 쌓여 있는 노드를 대기열에 올립니다.
+     */
+    public synchronized void start() {
+        if (started || closed) {
+            return;
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+        started = true;
+        for (NodeTask task : tasks.values()) {
+            if (task.inPort.hasAvailableData()) {
+                task.run();
+            }
+        }
+        log.info("노드 스케줄러 시작. Workers: {}, BatchLimit: {}{}, TimeSlice: {}ns", workers.length, batchLimit,
+                latencyTarget == null ? "" : " (adaptive)", timeSliceNanos);
+    }
+
+    /**
+     * 워커를 멈추고 파이프의 알림을 해제합니다. 실행 중인 차례는 끝까지 수행되며, 파이프에 남은 메시지는 그대로 남습니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+        if (started) {
+            for (Worker worker : workers) {
+                try {
+                    worker.thread.join(TimeUnit.SECONDS.toMillis(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        for (NodeTask task : tasks.values()) {
+            for (Pipe pipe : task.inPort.getPipes()) {
+                pipe.setReadyListener(null);
+            }
+        }
+        log.info("노드 스케줄러 종료. 처리 메시지: {}, 핸드오프: {}, 훔치기: {}, 양보: {}", getProcessedCount(),
+                getHandoffCount(), getStealCount(), getYieldCount());
+    }
+
+    /**
+     * 대기열에 오른 노드를 넘깁니다. 워커 스레드에서 호출되면 그 워커의 다음 실행 칸에 놓습니다.
+     */
+    private void submit(NodeTask task) {
+        Thread current = Thread.currentThread();
+        if (current instanceof WorkerThread thread && thread.worker.owner() == this) {
+            Worker worker = thread.worker;
+            if (worker.next != null) {
+                worker.queue.addLast(worker.next);
+            }
+            worker.next = task;
+            if (idleCount.get() > 0 && !worker.queue.isEmpty()) {
+                wakeOne();
+            }
+            return;
+        }
+        injectQueue.add(task);
+        wakeOne();
+    }
+
+    private void wakeOne() {
+        if (idleCount.get() == 0) {
+            return;
+        }
+        for (Worker worker : workers) {
+            if (worker.parked.compareAndSet(true, false)) {
+                LockSupport.unpark(worker.thread);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 노드의 차례 하나를 실행하고, 처리할 메시지가 남았거나 실행 중 알림을 받았으면 다시 대기열에 올립니다.
+     * 등록이 해제되었거나 중지된 노드의 차례는 실행하지 않고 버립니다.
+     */
+    private void execute(Worker worker, NodeTask task) {
+        TaskGroup group = task.group;
+        long startedAt = System.nanoTime();
+        if (task.removed) {
+            task.state.set(NodeTask.IDLE);
+            return;
+        }
+        if (group != null && group.isOverBudget(startedAt)) {
+            // 상태는 대기열에 오른 그대로 두어 미뤄 둔 동안의 알림이 대기열에 다시 올리지 않게 함
+            group.throttled.increment();
+            group.deferred.add(task);
+            deferredCount.incrementAndGet();
+            return;
+        }
+        // 실행 중 상태를 먼저 기록한 뒤 해제 여부를 다시 확인하여, 해제하는 쪽이 이 차례를 기다리거나 이 차례가 해제를 보게 함
+        task.state.set(NodeTask.RUNNING);
+        if (task.isStale()) {
+            task.state.set(NodeTask.IDLE);
+            return;
+        }
+        worker.current = task;
+        long deadline = startedAt + timeSliceNanos;
+        int limit = task.batch == null ? batchLimit : task.batch.getBatchSize();
+        int count = 0;
+        boolean exhausted = false;
+        boolean blocked = false;
+        try {
+            while (count < limit) {
+                if (task.isStale()) {
+                    exhausted = true;
+                    break;
+                }
+                if (task.outPort != null && (!task.outPort.canAcceptAll() || task.outPort.isRateLimited())) {
+                    blocked = true;
+                    break;
+                }
+                if (!task.step.getAsBoolean()) {
+                    exhausted = true;
+                    break;
+                }
+                count++;
+                // 시간 확인 비용을 줄이기 위해 8개마다 확인
+                if ((count & 7) == 0 && System.nanoTime() - deadline > 0) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("노드 실행 중 오류 발생. NodeId: {}", task.node.getId(), e);
+            task.node.handleError(e);
+            exhausted = !task.inPort.hasAvailableData();
+        }
+        processed.add(count);
+        if (group != null || task.batch != null) {
+            long elapsed = System.nanoTime() - startedAt;
+            if (group != null) {
+                group.charge(elapsed);
+            }
+            if (task.batch != null && count > 0) {
+                task.batch.record(count, elapsed, task.inPort.getQueuedCount());
+            }
+        }
+
+        worker.current = null;
+        if (task.isStale()) {
+            task.state.set(NodeTask.IDLE);
+            return;
+        }
+        if (blocked && count == 0 && worker.next == null && worker.queue.isEmpty()) {
+            // 하류가 다른 워커에서 소비 중이므로 곧바로 다시 확인하지 않고 잠시 쉼
+            LockSupport.parkNanos(this, BACKPRESSURE_PARK_NANOS);
+        }
+        if (!exhausted) {
+            // 차례를 다 썼으므로 대기열 맨 뒤로 보내 다른 노드에 양보
+            yields.increment();
+            task.state.set(NodeTask.SCHEDULED);
+            worker.queue.addLast(task);
+        } else if (!task.state.compareAndSet(NodeTask.RUNNING, NodeTask.IDLE)) {
+            // 실행 중에 새 메시지가 들어옴
+            task.state.set(NodeTask.SCHEDULED);
+            worker.queue.addLast(task);
+        }
+    }
+
+    /**
+     * 몫을 다시 쓸 수 있게 된 그룹의 미뤄 둔 노드를 공유 대기열로 돌려보냅니다.
+     */
+    private void releaseDeferred(long now) {
+        boolean released = false;
+        for (TaskGroup group : groups.values()) {
+            if (group.deferred.isEmpty() || group.isOverBudget(now)) {
+                continue;
+            }
+            NodeTask task;
+            while ((task = group.deferred.poll()) != null) {
+                deferredCount.decrementAndGet();
+                injectQueue.add(task);
+                released = true;
+            }
+        }
+        if (released) {
+            wakeOne();
+        }
+    }
+
+    public int getParallelism() {
+        return workers.length;
+    }
+
+    /**
+     * 워커들이 처리한 메시지 수를 반환합니다.
+     *
+     * @return 처리한 메시지 수
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * 하류 노드를 같은 워커의 다음 실행 칸에서 실행한 횟수를 반환합니다.
+     *
+     * @return 핸드오프 횟수
+     */
+    public long getHandoffCount() {
+        return handoffs.sum();
+    }
+
+    /**
+     * 다른 워커의 대기열에서 노드를 훔쳐 실행한 횟수를 반환합니다.
+     *
+     * @return 훔치기 횟수
+     */
+    public long getStealCount() {
+        return steals.sum();
+    }
+
+    /**
+     * 처리할 메시지가 남았지만 차례 제한에 걸려 다른 노드에 양보한 횟수를 반환합니다.
+     *
+     * @return 양보 횟수
+     */
+    public long getYieldCount() {
+        return yields.sum();
+    }
+
+    /**
+     * 등록된 노드 목록을 반환합니다.
+     *
+     * @return 노드 목록의 복사본
+     */
+    public List<Node> getNodes() {
+        List<Node> nodes = new ArrayList<>();
+        tasks.values().forEach(task -> nodes.add(task.node));
+        return nodes;
+    }
+
+    /**
+     * 노드 하나의 실행 상태입니다. 파이프의 알림으로 등록되어 메시지가 들어올 때마다 {@link #run()}이 호출됩니다.
+     */
+    private final class NodeTask implements Runnable {
+        static final int IDLE = 0;
+        static final int SCHEDULED = 1;
+        static final int RUNNING = 2;
+
+        /** 실행 중에 새 메시지가 들어와 차례가 끝나면 다시 대기열에 올라야 하는 상태 */
+        static final int NOTIFIED = 3;
+
+        private final Node node;
+        private final InPort inPort;
+
+        /** 출력 포트, 출력이 없는 노드는 null */
+        private final OutPort outPort;
+        private final BooleanSupplier step;
+
+        /** 노드가 속한 그룹, 없으면 null */
+        private final TaskGroup group;
+
+        /** 한 차례의 메시지 수 조절기, 고정된 수를 쓰면 null */
+        private final AdaptiveBatchController batch;
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+
+        /** 등록이 해제되어 더 실행하지 않아야 하는지 여부 */
+        private volatile boolean removed;
+
+        private NodeTask(Node node, InPort inPort, OutPort outPort, BooleanSupplier step, TaskGroup group,
+                AdaptiveBatchController batch) {
+            this.node = node;
+            this.inPort = inPort;
+            this.outPort = outPort;
+            this.step = step;
+            this.group = group;
+            this.batch = batch;
+        }
+
+        /**
+         * 등록이 해제되었거나 노드가 중지되어 차례를 실행하지 않아야 하는지 확인합니다.
+         */
+        private boolean isStale() {
+            return removed || node.getStatus() == NodeStatus.STOPPED;
+        }
+
+        private boolean isRunning() {
+            int current = state.get();
+            return current == RUNNING || current == NOTIFIED;
+        }
+
+        /**
+         * 메시지가 들어왔음을 알립니다. 대기 중이던 노드만 대기열에 오르며, 이미 대기열에 있거나
+         * 실행 중인 노드는 상태만 바꾸므로 메시지마다 호출되어도 비용이 작습니다.
+         */
+        @Override
+        public void run() {
+            if (!started || closed) {
+                return;
+            }
+            while (true) {
+                int current = state.get();
+                if (current == IDLE) {
+                    if (state.compareAndSet(IDLE, SCHEDULED)) {
+                        submit(this);
+                        return;
+                    }
+                } else if (current == RUNNING) {
+                    if (state.compareAndSet(RUNNING, NOTIFIED)) {
+                        return;
+                    }
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 같은 그룹에 속한 노드들의 워커 시간 사용량과 몫입니다.
+     */
+    private final class TaskGroup {
+        private final UUID id;
+        private volatile double share = 1.0;
+
+        /** 현재 구간의 시작 시각과 그 구간에 사용한 시간 */
+        private volatile long windowStart = System.nanoTime();
+        private final AtomicLong windowUsed = new AtomicLong();
+
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+
+        /** 몫을 다 써서 다음 구간을 기다리는 노드 */
+        private final ConcurrentLinkedQueue<NodeTask> deferred = new ConcurrentLinkedQueue<>();
+
+        private TaskGroup(UUID id) {
+            this.id = id;
+        }
+
+        /**
+         * 현재 구간의 몫을 다 썼는지 확인합니다. 구간이 지났으면 새 구간을 시작합니다.
+         */
+        private boolean isOverBudget(long now) {
+            double current = share;
+            if (current >= 1.0) {
+                return false;
+            }
+            long budget = (long) (current * workers.length * CPU_WINDOW_NANOS);
+            long start = windowStart;
+            if (now - start >= CPU_WINDOW_NANOS) {
+                synchronized (this) {
+                    if (windowStart == start) {
+                        // 긴 차례 하나로 몫을 넘겨 쓴 시간은 지난 구간 수만큼만 덜어 다음 구간으로 넘김
+                        long elapsedWindows = (now - start) / CPU_WINDOW_NANOS;
+                        long credit = elapsedWindows > Long.MAX_VALUE / Math.max(1, budget)
+                                ? Long.MAX_VALUE : budget * elapsedWindows;
+                        windowUsed.updateAndGet(used -> Math.max(0, used - credit));
+                        windowStart = now;
+                    }
+                }
+            }
+            return windowUsed.get() >= budget;
+        }
+
+        private void charge(long nanos) {
+            windowUsed.addAndGet(nanos);
+            cpuNanos.add(nanos);
+        }
+
+        @Override
+        public String toString() {
+            return "TaskGroup[" + id + ", share=" + share + "]";
+        }
+    }
+
+    /**
+     * 워커 하나의 대기열과 실행 루프입니다.
+     */
+    private final class Worker implements Runnable {
+        private final int index;
+        private final WorkerThread thread;
+
+        /** 자기 워커는 앞에서 꺼내고 다른 워커는 뒤에서 훔쳐 감 */
+        private final ConcurrentLinkedDeque<NodeTask> queue = new ConcurrentLinkedDeque<>();
+        private final AtomicBoolean parked = new AtomicBoolean();
+
+        // 이하 필드는 이 워커의 스레드에서만 사용
+        private NodeTask next;
+
+        /** 이 워커에서 실행 중인 노드, 노드 자신의 차례 안에서 등록을 해제할 때 기다리지 않기 위해 사용 */
+        private NodeTask current;
+        private int consecutiveHandoffs;
+        private int tick;
+
+        private Worker(int index) {
+            this.index = index;
+            this.thread = new WorkerThread(this, "node-scheduler-" + index);
+        }
+
+        private NodeScheduler owner() {
+            return NodeScheduler.this;
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                NodeTask task = findTask();
+                if (task != null) {
+                    execute(this, task);
+                } else {
+                    idle();
+                }
+            }
+        }
+
+        private NodeTask findTask() {
+            if (next != null) {
+                NodeTask task = next;
+                next = null;
+                if (consecutiveHandoffs < MAX_CONSECUTIVE_HANDOFFS) {
+                    consecutiveHandoffs++;
+                    handoffs.increment();
+                    return task;
+                }
+                queue.addLast(task);
+            }
+            consecutiveHandoffs = 0;
+
+            NodeTask task;
+            if (++tick % INJECT_CHECK_INTERVAL == 0) {
+                if (deferredCount.get() > 0) {
+                    releaseDeferred(System.nanoTime());
+                }
+                if ((task = injectQueue.poll()) != null) {
+                    return task;
+                }
+            }
+            if ((task = queue.pollFirst()) != null || (task = injectQueue.poll()) != null) {
+                return task;
+            }
+            if (deferredCount.get() > 0) {
+                releaseDeferred(System.nanoTime());
+                if ((task = injectQueue.poll()) != null) {
+                    return task;
+                }
+            }
+            return steal();
+        }
+
+        private NodeTask steal() {
+            int start = ThreadLocalRandom.current().nextInt(workers.length);
+            for (int i = 0; i < workers.length; i++) {
+                Worker victim = workers[(start + i) % workers.length];
+                if (victim == this) {
+                    continue;
+                }
+                NodeTask task = victim.queue.pollLast();
+                if (task != null) {
+                    steals.increment();
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        private void idle() {
+            idleCount.incrementAndGet();
+            parked.set(true);
+            // 잠들기 전에 다시 확인하여 그사이 대기열에 오른 노드를 놓치지 않음
+            if (injectQueue.isEmpty() && !hasStealableWork() && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            parked.set(false);
+            idleCount.decrementAndGet();
+        }
+
+        private boolean hasStealableWork() {
+            for (Worker worker : workers) {
+                if (!worker.queue.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "Worker[" + index + "]";
+        }
+    }
+
+    /**
+     * 워커 스레드입니다. 메시지를 넣은 스레드가 어느 워커인지 알아내는 데 사용합니다.
+     */
+    private static final class WorkerThread extends Thread {
+        private final Worker worker;
+
+        private WorkerThread(Worker worker, String name) {
+            super(worker, name);
+            this.worker = worker;
+            setDaemon(true);
+        }
+    }
+}
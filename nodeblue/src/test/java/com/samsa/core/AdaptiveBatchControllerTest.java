@@ -0,0 +1,64 @@
+package com.samsa.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBatchControllerTest {
+
+    private static void feed(AdaptiveBatchController controller, int batches, long latencyNanos, int backlog) {
+        for (int i = 0; i < batches; i++) {
+            controller.record(controller.getBatchSize(), latencyNanos, backlog);
+        }
+    }
+
+    @Test
+    void testGrowsWhileBacklogAndLatencyAllow() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(Duration.ofMillis(1), 1, 512, 8);
+
+        // 입력이 계속 쌓여 있고 배치가 목표보다 훨씬 빨리 끝남
+        feed(controller, 2000, 10_000, 100_000);
+
+        assertEquals(512, controller.getBatchSize());
+        assertEquals(10_000, controller.getLatencyP99Nanos());
+    }
+
+    @Test
+    void testShrinksWhenP99MissesTarget() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(Duration.ofMillis(1), 4, 512, 512);
+
+        feed(controller, AdaptiveBatchController.DECISION_INTERVAL, 10_000, 100_000);
+        assertEquals(512, controller.getBatchSize());
+
+        // 느린 배치 하나만 섞여도 p99가 목표를 넘으므로 줄어듦
+        controller.record(512, 5_000_000, 100_000);
+        feed(controller, AdaptiveBatchController.DECISION_INTERVAL - 1, 10_000, 100_000);
+        assertEquals(256, controller.getBatchSize());
+
+        feed(controller, 200, 5_000_000, 100_000);
+        assertEquals(4, controller.getBatchSize());
+    }
+
+    @Test
+    void testShrinksWhenLoadIsLight() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(Duration.ofMillis(1), 1, 512, 256);
+
+        // 입력에 남은 메시지가 거의 없음
+        feed(controller, 500, 10_000, 0);
+
+        assertEquals(1, controller.getBatchSize());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchController(null, 1, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBatchController(Duration.ZERO, 1, 2, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveBatchController(Duration.ofMillis(1), 0, 2, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveBatchController(Duration.ofMillis(1), 4, 2, 1));
+        assertEquals(2, new AdaptiveBatchController(Duration.ofMillis(1), 1, 2, 100).getBatchSize());
+    }
+}
@@ -0,0 +1,255 @@
+package com.samsa.core;
+
+import com.samsa.core.error.CircuitBreaker;
+import com.samsa.core.error.ErrorRouter;
+import com.samsa.core.error.RetryPolicy;
+import com.samsa.pipeline.scheduler.NodeScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncInOutNodeTest {
+
+    /**
+     * 받은 메시지마다 직접 완료할 작업을 만들어 두는 노드
+     */
+    private static class ManualNode extends AsyncInOutNode {
+        private final List<CompletableFuture<Message>> futures = new ArrayList<>();
+
+        ManualNode(InPort inPort, OutPort outPort, int maxInFlight, boolean ordered) {
+            super(inPort, outPort, maxInFlight, ordered);
+        }
+
+        @Override
+        protected CompletionStage<Message> onMessageAsync(Message message) {
+            CompletableFuture<Message> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        }
+    }
+
+    private final Pipe input = new Pipe(64);
+    private final Pipe output = new Pipe(64);
+
+    private ManualNode node(int maxInFlight, boolean ordered) {
+        InPort in = new InPort();
+        OutPort out = new OutPort();
+        in.addPipe(input);
+        out.addPipe(output);
+        return new ManualNode(in, out, maxInFlight, ordered);
+    }
+
+    private List<Object> drainOutput() {
+        List<Object> payloads = new ArrayList<>();
+        Message message;
+        while ((message = output.poll()) != null) {
+            payloads.add(message.getPayload());
+        }
+        return payloads;
+    }
+
+    @Test
+    void testOrderedCompletionKeepsReceiveOrder() {
+        ManualNode node = node(8, true);
+        for (int i = 0; i < 3; i++) {
+            input.offer(new Message(i));
+            assertTrue(node.processNext());
+        }
+
+        // 뒤의 작업이 먼저 끝나도 앞선 작업이 끝날 때까지 전달하지 않음
+        node.futures.get(2).complete(new Message("r2"));
+        node.futures.get(1).complete(new Message("r1"));
+        assertTrue(output.isEmpty());
+        assertEquals(3, node.getInFlightCount());
+
+        node.futures.get(0).complete(new Message("r0"));
+        assertEquals(List.of("r0", "r1", "r2"), drainOutput());
+        assertEquals(0, node.getInFlightCount());
+        assertEquals(3, node.getCompletedCount());
+    }
+
+    @Test
+    void testUnorderedEmitsAsCompleted() {
+        ManualNode node = node(8, false);
+        input.offer(new Message(0));
+        input.offer(new Message(1));
+        node.processNext();
+        node.processNext();
+
+        node.futures.get(1).complete(new Message("r1"));
+        node.futures.get(0).complete(null);
+
+        // null 결과는 전달하지 않음
+        assertEquals(List.of("r1"), drainOutput());
+    }
+
+    @Test
+    void testMaxInFlightLeavesMessagesQueued() {
+        ManualNode node = node(2, false);
+        for (int i = 0; i < 4; i++) {
+            input.offer(new Message(i));
+        }
+        int[] signals = new int[1];
+        input.setReadyListener(() -> signals[0]++);
+
+        assertTrue(node.processNext());
+        assertTrue(node.processNext());
+        assertFalse(node.processNext());
+        assertEquals(2, input.size());
+
+        // 작업 하나가 끝나면 남은 메시지의 알림을 다시 보냄
+        node.futures.get(0).complete(new Message("r0"));
+        assertEquals(1, signals[0]);
+        assertTrue(node.processNext());
+    }
+
+    @Test
+    void testFullOutputLimitsInFlight() {
+        ManualNode node = node(8, false);
+        for (int i = 0; i < 63; i++) {
+            output.offer(new Message("filler"));
+        }
+        input.offer(new Message(0));
+        input.offer(new Message(1));
+
+        // 출력에 남은 자리가 하나이므로 결과 하나를 받을 작업만 시작함
+        assertTrue(node.processNext());
+        assertFalse(node.processNext());
+        node.futures.get(0).complete(new Message("r0"));
+        assertEquals(64, output.size());
+    }
+
+    @Test
+    void testFailureIsHandledAndOrderContinues() {
+        ManualNode node = node(8, true);
+        node.start();
+        input.offer(new Message(0));
+        input.offer(new Message(1));
+        node.processNext();
+        node.processNext();
+
+        node.futures.get(1).complete(new Message("r1"));
+        node.futures.get(0).completeExceptionally(new IllegalStateException("I/O 실패"));
+
+        assertEquals(List.of("r1"), drainOutput());
+        assertEquals(1, node.getFailedCount());
+        assertEquals(NodeStatus.ERROR, node.getStatus());
+    }
+
+    @Test
+    void testCircuitBreakerCountsCompletedResults() {
+        ManualNode node = node(8, false);
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+        node.setErrorRouter(new ErrorRouter(new OutPort(), RetryPolicy.NONE, breaker, null));
+
+        // 작업을 시작한 것만으로는 성공으로 기록하지 않으므로 앞선 실패가 초기화되지 않음
+        input.offer(new Message(0));
+        node.processNext();
+        node.futures.get(0).completeExceptionally(new IllegalStateException("I/O 실패"));
+        input.offer(new Message(1));
+        node.processNext();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        node.futures.get(1).completeExceptionally(new IllegalStateException("I/O 실패"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // 회로가 열리면 작업을 시작하지 않음
+        input.offer(new Message(2));
+        node.processNext();
+        assertEquals(2, node.futures.size());
+        assertEquals(0, node.getInFlightCount());
+    }
+
+    @Test
+    void testSuccessIsRecordedWhenTaskCompletes() {
+        ManualNode node = node(8, false);
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+        node.setErrorRouter(new ErrorRouter(new OutPort(), RetryPolicy.NONE, breaker, null));
+
+        input.offer(new Message(0));
+        node.processNext();
+        node.futures.get(0).completeExceptionally(new IllegalStateException("I/O 실패"));
+        input.offer(new Message(1));
+        node.processNext();
+
+        // 성공한 작업이 끝나야 연속 실패가 초기화됨
+        node.futures.get(1).complete(new Message("r1"));
+        input.offer(new Message(2));
+        node.processNext();
+        node.futures.get(2).completeExceptionally(new IllegalStateException("I/O 실패"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("r1"), drainOutput());
+    }
+
+    @Test
+    void testReleasesMessageAfterCompletion() {
+        MessagePool pool = new MessagePool();
+        ManualNode node = node(8, false);
+        PooledMessage message = pool.acquire("pooled", Map.of());
+        input.offer(message);
+
+        node.processNext();
+        // 입력 파이프의 참조는 해제됐지만 작업이 끝날 때까지 보관함
+        assertEquals(1, message.refCount());
+        node.futures.get(0).complete(null);
+        assertEquals(0, message.refCount());
+    }
+
+    @Test
+    void testWorkerRunsOtherNodesWhileIoIsOutstanding() throws Exception {
+        ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor();
+        CountDownLatch otherRan = new CountDownLatch(1);
+        Pipe asyncIn = new Pipe(64);
+        Pipe asyncOut = new Pipe(64);
+        Pipe otherIn = new Pipe(64);
+        AsyncInOutNode slow = new AsyncInOutNode(new InPort(), new OutPort(), 16, true) {
+            @Override
+            protected CompletionStage<Message> onMessageAsync(Message message) {
+                CompletableFuture<Message> future = new CompletableFuture<>();
+                io.schedule(() -> future.complete(new Message(message.getPayload())), 200, TimeUnit.MILLISECONDS);
+                return future;
+            }
+        };
+        slow.getInPort().addPipe(asyncIn);
+        slow.getOutPort().addPipe(asyncOut);
+        InNode other = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                otherRan.countDown();
+            }
+        };
+        other.getInPort().addPipe(otherIn);
+
+        try (NodeScheduler scheduler = new NodeScheduler(1)) {
+            scheduler.register(slow);
+            scheduler.register(other);
+            scheduler.start();
+            for (int i = 0; i < 10; i++) {
+                asyncIn.offer(new Message(i));
+            }
+            otherIn.offer(new Message("ping"));
+
+            // 워커 하나가 비동기 작업을 기다리지 않으므로 다른 노드가 곧바로 실행됨
+            assertTrue(otherRan.await(100, TimeUnit.MILLISECONDS));
+            assertEquals(10, slow.getInFlightCount());
+
+            slow.stop();
+            assertEquals(10, asyncOut.size());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, asyncOut.poll().getPayload());
+            }
+        } finally {
+            io.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.samsa.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarrierAlignmentTest {
+
+    private Pipe first;
+    private Pipe second;
+    private Pipe output;
+    private RelayNode relay;
+    private List<Long> acknowledged;
+    private List<byte[]> states;
+
+    /**
+     * 받은 메시지를 그대로 전달하고 처리한 메시지 수를 상태로 갖는 노드
+     */
+    private static class RelayNode extends InOutNode implements StatefulNode {
+        private int count;
+
+        RelayNode(InPort inPort, OutPort outPort) {
+            super(inPort, outPort);
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            count++;
+            emit(message);
+        }
+
+        @Override
+        public byte[] snapshot() {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(count).array();
+        }
+
+        @Override
+        public void restore(byte[] state) {
+            count = ByteBuffer.wrap(state).getInt();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        first = new Pipe(16);
+        second = new Pipe(16);
+        output = new Pipe(16);
+        InPort inPort = new InPort();
+        inPort.addPipe(first);
+        inPort.addPipe(second);
+        OutPort outPort = new OutPort();
+        outPort.addPipe(output);
+        relay = new RelayNode(inPort, outPort);
+        acknowledged = new ArrayList<>();
+        states = new ArrayList<>();
+    }
+
+    private CheckpointBarrier barrier(long checkpointId, long timeoutMillis) {
+        return new CheckpointBarrier(checkpointId, (id, node, state) -> {
+            acknowledged.add(id);
+            states.add(state);
+        }, timeoutMillis);
+    }
+
+    private List<Object> drain() {
+        List<Object> payloads = new ArrayList<>();
+        Message message;
+        while ((message = output.poll()) != null) {
+            payloads.add(message instanceof CheckpointBarrier ? "barrier" : message.getPayload());
+        }
+        return payloads;
+    }
+
+    @Test
+    void testBarrierBlocksItsInputUntilAllInputsArrive() {
+        CheckpointBarrier barrier = barrier(1, 0);
+        first.offer(new Message("a1"));
+        first.offer(barrier);
+        first.offer(new Message("a2"));
+        second.offer(new Message("b1"));
+        second.offer(new Message("b2"));
+        second.offer(barrier);
+        second.offer(new Message("b3"));
+
+        assertTrue(relay.processNext());
+        assertTrue(relay.processNext());
+        assertTrue(relay.processNext());
+
+        // 첫 입력의 배리어 뒤 메시지는 남아 있고 다른 입력만 읽음
+        assertEquals(1, relay.getInPort().getBlockedCount());
+        assertEquals(1, first.size());
+        assertTrue(acknowledged.isEmpty());
+
+        assertTrue(relay.processNext());
+        assertTrue(relay.processNext());
+        assertFalse(relay.processNext());
+
+        // 두 입력의 배리어가 모이면 한 번만 통보하고, 스냅샷은 배리어 앞의 메시지만 반영함
+        assertEquals(List.of(1L), acknowledged);
+        assertEquals(3, ByteBuffer.wrap(states.get(0)).getInt());
+        assertEquals(0, relay.getInPort().getBlockedCount());
+        assertEquals(List.of("a1", "b1", "b2", "barrier", "a2", "b3"), drain());
+    }
+
+    @Test
+    void testBlockedInputIsNotAvailable() {
+        first.offer(barrier(1, 0));
+        first.offer(new Message("a1"));
+
+        // 막힌 입력에만 메시지가 있으면 받을 메시지가 없는 것으로 봄
+        assertFalse(relay.processNext());
+        assertFalse(relay.getInPort().hasAvailableData());
+
+        second.offer(new Message("b1"));
+        assertTrue(relay.getInPort().hasAvailableData());
+        assertTrue(relay.processNext());
+        assertEquals(List.of("b1"), drain());
+    }
+
+    @Test
+    void testExpiredAlignmentReleasesBlockedInput() throws InterruptedException {
+        first.offer(barrier(1, 1));
+        first.offer(new Message("a1"));
+
+        assertFalse(relay.processNext());
+        assertEquals(1, relay.getInPort().getBlockedCount());
+
+        // 제한 시간이 지나면 정렬을 포기하고 막아 둔 입력을 다시 읽음
+        Thread.sleep(20);
+        assertTrue(relay.processNext());
+        assertEquals(0, relay.getInPort().getBlockedCount());
+        assertTrue(acknowledged.isEmpty());
+        assertEquals(List.of("a1"), drain());
+    }
+
+    @Test
+    void testSingleInputAlignsImmediately() {
+        InPort inPort = new InPort();
+        inPort.addPipe(first);
+        OutPort outPort = new OutPort();
+        outPort.addPipe(output);
+        RelayNode single = new RelayNode(inPort, outPort);
+        first.offer(new Message("a1"));
+        first.offer(barrier(7, 0));
+        first.offer(new Message("a2"));
+
+        assertTrue(single.processNext());
+        assertTrue(single.processNext());
+        assertFalse(single.processNext());
+
+        // 입력이 하나면 배리어를 받는 즉시 통보하고 전달함
+        assertEquals(List.of(7L), acknowledged);
+        assertEquals(1, ByteBuffer.wrap(states.get(0)).getInt());
+        assertEquals(List.of("a1", "barrier", "a2"), drain());
+    }
+
+    @Test
+    void testBarrierPassesFullPipeAndRateLimit() {
+        Pipe full = new Pipe(1);
+        OutPort outPort = new OutPort();
+        outPort.addPipe(full);
+        outPort.setRateLimiter(new RateLimiter(1, 1));
+        outPort.propagate(new Message("m1"));
+        assertTrue(full.isFull());
+        assertTrue(outPort.isRateLimited());
+
+        // 배리어는 허가를 기다리지 않고 가득 찬 파이프에도 들어감
+        long startedAt = System.nanoTime();
+        outPort.propagate(barrier(1, 0));
+        assertTrue(System.nanoTime() - startedAt < 500_000_000L);
+        assertEquals(2, full.size());
+        assertEquals(0, full.remainingCapacity());
+
+        // 일반 메시지는 여전히 배압을 받고, 배리어는 앞선 메시지 뒤에 놓임
+        assertFalse(full.offer(new Message("m2")));
+        assertEquals("m1", full.poll().getPayload());
+        assertTrue(full.poll() instanceof CheckpointBarrier);
+    }
+}
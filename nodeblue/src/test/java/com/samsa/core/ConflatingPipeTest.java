@@ -0,0 +1,164 @@
+package com.samsa.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflatingPipeTest {
+
+    private static Message reading(String device, Object value) {
+        return new Message(value, Map.of("device", device));
+    }
+
+    @Test
+    void testReplacementKeepsPlaceInLine() {
+        ConflatingPipe pipe = new ConflatingPipe("device");
+
+        pipe.offer(reading("a", 1));
+        pipe.offer(reading("b", 1));
+        pipe.offer(reading("c", 1));
+        pipe.offer(reading("a", 2));
+        pipe.offer(reading("b", 2));
+        pipe.offer(reading("a", 3));
+
+        // 키가 처음 들어온 순서대로 각 키의 최신 값만 나옴
+        assertEquals(3, pipe.size());
+        assertEquals(3, pipe.getConflatedCount());
+        assertEquals(3, pipe.poll().getPayload());
+        assertEquals(2, pipe.poll().getPayload());
+        assertEquals(1, pipe.poll().getPayload());
+        assertNull(pipe.poll());
+
+        // 꺼낸 뒤 다시 들어온 키는 대기열 끝에 섬
+        pipe.offer(reading("c", 9));
+        pipe.offer(reading("a", 9));
+        assertEquals("c", pipe.poll().getMetadata("device"));
+    }
+
+    @Test
+    void testReplacementDoesNotPassBarrier() {
+        ConflatingPipe pipe = new ConflatingPipe("device", 2, null);
+        CheckpointBarrier barrier = new CheckpointBarrier(1, (id, node, state) -> {
+        }, 0);
+
+        pipe.offer(reading("a", 1));
+        pipe.offer(reading("b", 1));
+        pipe.offerBarrier(barrier);
+        pipe.offer(reading("a", 2));
+        pipe.offer(reading("a", 3));
+
+        // 배리어 앞의 값은 그대로 남고, 배리어 뒤의 값은 배리어 다음 자리에서 합쳐짐
+        assertEquals(4, pipe.size());
+        assertEquals(1, pipe.getConflatedCount());
+        assertEquals(1, pipe.poll().getPayload());
+        assertEquals(1, pipe.poll().getPayload());
+        assertSame(barrier, pipe.poll());
+        assertTrue(pipe.isPending("a"));
+        assertEquals(3, pipe.poll().getPayload());
+        assertFalse(pipe.isPending("a"));
+        assertNull(pipe.poll());
+
+        // 배리어가 빠진 뒤에는 다시 같은 자리에서 바꿈
+        pipe.offer(reading("a", 4));
+        pipe.offer(reading("a", 5));
+        assertEquals(1, pipe.size());
+        assertEquals(5, pipe.poll().getPayload());
+    }
+
+    @Test
+    void testBoundedByKeysNotMessageRate() {
+        ConflatingPipe pipe = new ConflatingPipe("device", 2, null);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(pipe.offer(reading(i % 2 == 0 ? "a" : "b", i)));
+        }
+        assertEquals(2, pipe.size());
+        assertTrue(pipe.isFull());
+
+        // 새 키는 거절하지만 대기 중인 키의 새 값은 가득 차도 받음
+        assertFalse(pipe.offer(reading("c", 0)));
+        assertTrue(pipe.offer(reading("a", -1)));
+        assertEquals(-1, pipe.poll().getPayload());
+        assertEquals(9999, pipe.poll().getPayload());
+    }
+
+    @Test
+    void testMessagesWithoutKeyAreNotMerged() {
+        ConflatingPipe pipe = new ConflatingPipe("device");
+
+        pipe.offer(new Message("x"));
+        pipe.offer(new Message("y"));
+        pipe.offer(reading("a", 1));
+
+        assertEquals(3, pipe.size());
+        assertEquals("x", pipe.poll().getPayload());
+        assertEquals("y", pipe.poll().getPayload());
+    }
+
+    @Test
+    void testReplacedMessageIsReleased() {
+        MessagePool pool = new MessagePool();
+        ConflatingPipe pipe = new ConflatingPipe("device");
+        PooledMessage first = pool.acquire("old", Map.of("device", "a"));
+
+        pipe.offer(first);
+        pipe.offer(reading("a", "new"));
+
+        assertFalse(pipe.isPending("b"));
+        assertTrue(pipe.isPending("a"));
+        assertEquals(0, first.refCount());
+        assertEquals("new", pipe.poll().getPayload());
+    }
+
+    @Test
+    void testSignalsOnlyForNewKeys() {
+        ConflatingPipe pipe = new ConflatingPipe("device");
+        AtomicInteger signals = new AtomicInteger();
+        pipe.setReadyListener(signals::incrementAndGet);
+
+        pipe.offer(reading("a", 1));
+        pipe.offer(reading("a", 2));
+        pipe.offer(reading("b", 1));
+
+        assertEquals(2, signals.get());
+    }
+
+    @Test
+    void testBudgetFollowsLatestMessages() {
+        MemoryBudget budget = new MemoryBudget(1024 * 1024);
+        ConflatingPipe pipe = new ConflatingPipe("device", 16, budget);
+
+        pipe.offer(reading("a", "short"));
+        long small = budget.getUsedBytes();
+        pipe.offer(reading("a", "x".repeat(1000)));
+
+        assertTrue(budget.getUsedBytes() > small);
+        assertEquals(budget.getUsedBytes(), pipe.getReservedBytes());
+        pipe.poll();
+        assertEquals(0, budget.getUsedBytes());
+        assertEquals(0, pipe.getReservedBytes());
+    }
+
+    @Test
+    void testPollWithTimeout() throws InterruptedException {
+        ConflatingPipe pipe = new ConflatingPipe("device");
+
+        assertNull(pipe.poll(10, TimeUnit.MILLISECONDS));
+
+        Thread producer = new Thread(() -> pipe.offer(reading("a", 1)));
+        producer.start();
+        assertEquals(1, pipe.poll(5, TimeUnit.SECONDS).getPayload());
+        producer.join();
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ConflatingPipe(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConflatingPipe(""));
+        assertThrows(IllegalArgumentException.class, () -> new ConflatingPipe("device", 0, null));
+    }
+}
@@ -0,0 +1,137 @@
+package com.samsa.core;
+
+import com.samsa.core.codec.BinaryMessageCodec;
+import com.samsa.core.codec.JacksonMessageCodec;
+import com.samsa.core.codec.PayloadCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyPayloadTest {
+
+    private static final String JSON = "{\"device\":\"plc-1\",\"blob\":{\"deep\":[1,2,{\"x\":3}]},\"temp\":21.5}";
+
+    /** 값으로 바꾼 횟수를 세는 JSON 코덱 */
+    private static class CountingCodec implements PayloadCodec {
+        final AtomicInteger decodes = new AtomicInteger();
+
+        @Override
+        public Object decode(byte[] raw) {
+            decodes.incrementAndGet();
+            return Map.of("text", new String(raw, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String getName() {
+            return "counting";
+        }
+    }
+
+    @Test
+    void testDecodesOnceOnFirstRead() {
+        CountingCodec codec = new CountingCodec();
+        Message message = new Message(new LazyPayload("abc".getBytes(StandardCharsets.UTF_8), codec));
+
+        assertEquals(0, codec.decodes.get());
+        assertEquals(Map.of("text", "abc"), message.getPayload());
+        assertEquals(Map.of("text", "abc"), message.getPayload());
+        assertEquals(1, codec.decodes.get());
+    }
+
+    @Test
+    void testReadsSingleFieldWithoutDecoding() {
+        LazyPayload payload = LazyPayload.json(JSON);
+        Message message = new Message(payload);
+
+        assertEquals("plc-1", message.getPayloadField("device"));
+        assertEquals(21.5, message.getPayloadField("temp"));
+        assertEquals(Map.of("deep", List.of(1, 2, Map.of("x", 3))), message.getPayloadField("blob"));
+        assertNull(message.getPayloadField("missing"));
+        assertFalse(payload.isDecoded());
+
+        // 값으로 바뀐 뒤에는 값에서 읽음
+        message.getPayload();
+        assertTrue(payload.isDecoded());
+        assertEquals("plc-1", message.getPayloadField("device"));
+    }
+
+    @Test
+    void testPassThroughKeepsRawPayload() {
+        LazyPayload payload = LazyPayload.json(JSON);
+        Message message = new Message(payload, Map.of("k", "v"));
+
+        Message copy = new Message(message.getRawPayload(), message.getMetadata());
+
+        assertSame(payload, copy.getRawPayload());
+        assertEquals(JSON, payload.toText());
+        assertFalse(payload.isDecoded());
+    }
+
+    @Test
+    void testBinaryCodecRoundTripStaysLazy() {
+        BinaryMessageCodec codec = new BinaryMessageCodec();
+        LazyPayload payload = LazyPayload.json(JSON);
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+
+        codec.encode(new Message(payload, Map.of("device", "plc-1")), buffer);
+        buffer.flip();
+        Message decoded = codec.decode(buffer);
+
+        assertFalse(payload.isDecoded());
+        assertTrue(decoded.getRawPayload() instanceof LazyPayload);
+        LazyPayload restored = (LazyPayload) decoded.getRawPayload();
+        assertArrayEquals(payload.getRaw(), restored.getRaw());
+        assertEquals("plc-1", decoded.getPayloadField("device"));
+        assertEquals("plc-1", decoded.getMetadata("device"));
+    }
+
+    @Test
+    void testJacksonCodecWritesRawJson() {
+        JacksonMessageCodec codec = new JacksonMessageCodec();
+        LazyPayload payload = LazyPayload.json(JSON);
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+
+        codec.encode(new Message(payload), buffer);
+        buffer.flip();
+        Message decoded = codec.decode(buffer);
+
+        assertFalse(payload.isDecoded());
+        assertEquals(payload.get(), decoded.getPayload());
+    }
+
+    @Test
+    void testCborCodecEncodesDecodedValue() {
+        JacksonMessageCodec codec = JacksonMessageCodec.cbor();
+        LazyPayload payload = LazyPayload.json(JSON);
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+
+        // CBOR에는 JSON 원본을 그대로 쓸 수 없으므로 값으로 바꿔 기록
+        codec.encode(new Message(payload), buffer);
+        buffer.flip();
+
+        assertEquals(payload.get(), codec.decode(buffer).getPayload());
+    }
+
+    @Test
+    void testSizeEstimateUsesRawLength() {
+        LazyPayload payload = LazyPayload.json(JSON);
+        Message lazy = new Message(payload);
+
+        long estimate = MessageSizeEstimator.estimate(lazy);
+
+        assertTrue(estimate >= JSON.length());
+        assertFalse(payload.isDecoded());
+    }
+
+    @Test
+    void testRejectsNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LazyPayload(null, new CountingCodec()));
+        assertThrows(IllegalArgumentException.class, () -> new LazyPayload(new byte[0], null));
+    }
+}
@@ -0,0 +1,109 @@
+package com.samsa.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessagePoolTest {
+
+    @Test
+    void testReleasedMessageIsReused() {
+        MessagePool pool = new MessagePool(16, false);
+
+        PooledMessage first = pool.acquire("a", Map.of("key", "value"));
+        assertEquals("value", first.getMetadata("key"));
+        assertTrue(first.release());
+
+        PooledMessage second = pool.acquire("b");
+        assertSame(first, second);
+        assertEquals("b", second.getPayload());
+        assertTrue(second.getMetadataView().isEmpty());
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getReusedCount());
+    }
+
+    @Test
+    void testIdsAreUniquePerAcquire() {
+        MessagePool pool = new MessagePool(16, false);
+
+        PooledMessage message = pool.acquire("a");
+        Object firstId = message.getId();
+        message.release();
+
+        assertNotEquals(firstId, pool.acquire("b").getId());
+    }
+
+    @Test
+    void testFanOutReleasesAfterLastConsumer() {
+        MessagePool pool = new MessagePool(16, false);
+        OutPort outPort = new OutPort();
+        Pipe left = new Pipe();
+        Pipe right = new Pipe();
+        outPort.addPipe(left);
+        outPort.addPipe(right);
+
+        PooledMessage message = pool.acquire("reading");
+        outPort.propagate(message);
+        assertFalse(message.release());
+        assertEquals(2, message.refCount());
+
+        // 첫 번째 소비자가 해제해도 두 번째 소비자는 계속 사용할 수 있어야 함
+        assertFalse(left.poll().release());
+        Message remaining = right.poll();
+        assertEquals("reading", remaining.getPayload());
+        assertTrue(remaining.release());
+        assertEquals(0, message.refCount());
+    }
+
+    @Test
+    void testFullPipeDoesNotKeepReference() {
+        MessagePool pool = new MessagePool(16, false);
+        OutPort outPort = new OutPort();
+        Pipe pipe = new Pipe(1);
+        outPort.addPipe(pipe);
+        pipe.offer(new Message("occupied"));
+
+        PooledMessage message = pool.acquire("dropped");
+        outPort.propagate(message);
+
+        assertEquals(1, message.refCount());
+        assertTrue(message.release());
+    }
+
+    @Test
+    void testAccessAfterReleaseFails() {
+        MessagePool pool = new MessagePool(16, false);
+        PooledMessage message = pool.acquire("a");
+        message.release();
+
+        assertThrows(IllegalStateException.class, message::getPayload);
+        assertThrows(IllegalStateException.class, message::release);
+        assertThrows(IllegalStateException.class, message::retain);
+    }
+
+    @Test
+    void testPlainMessageIgnoresReferenceCounting() {
+        Message message = new Message("plain");
+
+        assertSame(message, message.retain());
+        assertFalse(message.release());
+        assertEquals("plain", message.getPayload());
+    }
+
+    @Test
+    void testLeakDetection() throws InterruptedException {
+        MessagePool pool = new MessagePool(16, true);
+
+        // 해제하지 않은 메시지를 버림
+        pool.acquire("leaked");
+        pool.acquire("released").release();
+
+        for (int i = 0; i < 50 && pool.getLeakCount() == 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(1, pool.getLeakCount());
+    }
+}
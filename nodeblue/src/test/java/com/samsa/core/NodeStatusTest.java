@@ -0,0 +1,165 @@
+package com.samsa.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeStatusTest {
+
+    private Pipe input;
+    private InNode node;
+
+    @BeforeEach
+    void setUp() {
+        input = new Pipe(16);
+        InPort inPort = new InPort();
+        inPort.addPipe(input);
+        node = new InNode(inPort) {
+            @Override
+            public void onMessage(Message message) {
+                // 아무것도 하지 않음
+            }
+        };
+    }
+
+    @Test
+    void testLifecycleNotifiesListeners() {
+        List<String> changes = new ArrayList<>();
+        node.addStatusListener((source, previous, current) -> changes.add(previous + "->" + current));
+
+        assertEquals(NodeStatus.CREATED, node.getStatus());
+        node.start();
+        node.start();
+        node.handleError(new IllegalStateException("boom"));
+        node.stop();
+
+        // 같은 상태로의 전이는 통보하지 않음
+        assertEquals(List.of("CREATED->RUNNING", "RUNNING->ERROR", "ERROR->STOPPED"), changes);
+        assertEquals(NodeStatus.STOPPED, node.getStatus());
+    }
+
+    @Test
+    void testCannotReturnToCreated() {
+        node.start();
+
+        assertFalse(node.transitionTo(NodeStatus.CREATED));
+        assertEquals(NodeStatus.RUNNING, node.getStatus());
+        assertFalse(NodeStatus.STOPPED.canTransitionTo(NodeStatus.CREATED));
+        assertTrue(NodeStatus.ERROR.canTransitionTo(NodeStatus.RUNNING));
+    }
+
+    @Test
+    void testStoppedIsTerminal() {
+        node.start();
+        node.stop();
+
+        // 중지한 뒤 늦게 보고된 오류나 시작 요청으로 상태가 바뀌지 않음
+        node.handleError(new IllegalStateException("late failure"));
+        assertEquals(NodeStatus.STOPPED, node.getStatus());
+        node.start();
+        assertEquals(NodeStatus.STOPPED, node.getStatus());
+        for (NodeStatus next : NodeStatus.values()) {
+            assertFalse(NodeStatus.STOPPED.canTransitionTo(next));
+        }
+    }
+
+    @Test
+    void testRejectedTransitions() {
+        assertFalse(NodeStatus.RUNNING.canTransitionTo(NodeStatus.CREATED));
+        assertFalse(NodeStatus.ERROR.canTransitionTo(NodeStatus.CREATED));
+        assertFalse(NodeStatus.CREATED.canTransitionTo(null));
+        assertTrue(NodeStatus.CREATED.canTransitionTo(NodeStatus.STOPPED));
+        assertTrue(NodeStatus.RUNNING.canTransitionTo(NodeStatus.ERROR));
+        assertTrue(NodeStatus.ERROR.canTransitionTo(NodeStatus.STOPPED));
+    }
+
+    @Test
+    void testRestartLeavesStopped() {
+        List<String> changes = new ArrayList<>();
+        node.start();
+        node.stop();
+        node.addStatusListener((source, previous, current) -> changes.add(previous + "->" + current));
+
+        node.restart();
+
+        assertEquals(NodeStatus.RUNNING, node.getStatus());
+        assertEquals(List.of("STOPPED->RUNNING"), changes);
+        // 다시 시작한 뒤에는 다시 표에 따라 바뀜
+        assertFalse(node.transitionTo(NodeStatus.CREATED));
+        node.handleError(new IllegalStateException("boom"));
+        assertEquals(NodeStatus.ERROR, node.getStatus());
+    }
+
+    @Test
+    void testFailingListenerDoesNotBreakTransition() {
+        AtomicInteger notified = new AtomicInteger();
+        node.addStatusListener((source, previous, current) -> {
+            throw new IllegalStateException("listener failure");
+        });
+        node.addStatusListener((source, previous, current) -> notified.incrementAndGet());
+
+        node.start();
+
+        assertEquals(NodeStatus.RUNNING, node.getStatus());
+        assertEquals(1, notified.get());
+    }
+
+    @Test
+    void testConcurrentTransitionsNotifyOncePerChange() throws Exception {
+        AtomicInteger toError = new AtomicInteger();
+        node.addStatusListener((source, previous, current) -> {
+            if (current == NodeStatus.ERROR) {
+                toError.incrementAndGet();
+            }
+        });
+        node.start();
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                node.handleError(new IllegalStateException("boom"));
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        ready.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // 여러 스레드가 동시에 에러로 바꿔도 전이는 한 번만 일어남
+        assertEquals(NodeStatus.ERROR, node.getStatus());
+        assertEquals(1, toError.get());
+    }
+
+    @Test
+    void testProcessingRecordsLiveness() {
+        assertEquals(0, node.getLastMessageNanos());
+        long before = System.nanoTime();
+        input.offer(new Message("a"));
+        input.offer(new Message("b"));
+
+        node.processNext();
+        node.processNext();
+
+        assertEquals(2, node.getProcessedCount());
+        assertTrue(node.getLastMessageNanos() - before >= 0);
+    }
+
+    @Test
+    void testRejectsNullListener() {
+        assertThrows(IllegalArgumentException.class, () -> node.addStatusListener(null));
+    }
+}
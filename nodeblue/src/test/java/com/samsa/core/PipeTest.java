@@ -0,0 +1,100 @@
+package com.samsa.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipeTest {
+
+    @Test
+    void testPreservesOrderAcrossChunks() {
+        Pipe pipe = new Pipe(Pipe.CHUNK_SIZE * 3);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < Pipe.CHUNK_SIZE * 2 + 5; i++) {
+                assertTrue(pipe.offer(new Message(i)));
+            }
+            for (int i = 0; i < Pipe.CHUNK_SIZE * 2 + 5; i++) {
+                assertEquals(i, pipe.poll().getPayload());
+            }
+            assertTrue(pipe.isEmpty());
+            assertNull(pipe.poll());
+        }
+    }
+
+    @Test
+    void testCapacityLimit() {
+        Pipe pipe = new Pipe(3);
+
+        assertTrue(pipe.offer(new Message("a")));
+        assertTrue(pipe.offer(new Message("b")));
+        assertTrue(pipe.offer(new Message("c")));
+        assertFalse(pipe.offer(new Message("d")));
+        assertTrue(pipe.isFull());
+        assertEquals(0, pipe.remainingCapacity());
+
+        pipe.poll();
+        assertEquals(1, pipe.remainingCapacity());
+    }
+
+    @Test
+    void testPollWithTimeout() throws InterruptedException {
+        Pipe pipe = new Pipe();
+        assertNull(pipe.poll(10, TimeUnit.MILLISECONDS));
+
+        Thread producer = new Thread(() -> pipe.offer(new Message("late")));
+        producer.start();
+        assertEquals("late", pipe.poll(5, TimeUnit.SECONDS).getPayload());
+        producer.join();
+    }
+
+    @Test
+    void testSharedBudgetAppliesBackpressure() {
+        int messageSize = MessageSizeEstimator.estimate(new Message("x"));
+        MemoryBudget budget = new MemoryBudget((long) messageSize * (Pipe.CHUNK_SIZE + 10));
+        Pipe hot = new Pipe(10_000, budget);
+        Pipe cold = new Pipe(10_000, budget);
+
+        // 뜨거운 파이프가 예산을 모두 사용하면 용량이 남아도 가득 찬 것으로 취급
+        int accepted = 0;
+        while (hot.offer(new Message("x"))) {
+            accepted++;
+        }
+        assertEquals(Pipe.CHUNK_SIZE + 10, accepted);
+        assertTrue(hot.isFull());
+        assertTrue(budget.isExhausted());
+
+        // 다른 파이프는 예산이 없어도 한 청크 분량까지는 받을 수 있음
+        for (int i = 0; i < Pipe.CHUNK_SIZE; i++) {
+            assertTrue(cold.offer(new Message("x")));
+        }
+        assertFalse(cold.offer(new Message("x")));
+
+        // 소비하면 예산이 돌아옴
+        hot.clear();
+        cold.clear();
+        assertEquals(0, budget.getUsedBytes());
+        assertEquals(0, hot.getReservedBytes());
+        assertTrue(hot.offer(new Message("x")));
+    }
+
+    @Test
+    void testRemainingCapacityFollowsBudget() {
+        int messageSize = MessageSizeEstimator.estimate(new Message("x"));
+        MemoryBudget budget = new MemoryBudget((long) messageSize * 200);
+        Pipe pipe = new Pipe(10_000, budget);
+
+        pipe.offer(new Message("x"));
+        assertEquals(199, pipe.remainingCapacity());
+    }
+
+    @Test
+    void testEstimateGrowsWithContent() {
+        Message small = new Message("a");
+        Message large = new Message("a".repeat(1000), java.util.Map.of("key", "value"));
+
+        assertTrue(MessageSizeEstimator.estimate(large) > MessageSizeEstimator.estimate(small) + 1000);
+    }
+}
@@ -0,0 +1,63 @@
+package com.samsa.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void testBurstThenLimited() {
+        RateLimiter limiter = new RateLimiter(10, 3);
+
+        // 쌓인 허가만큼은 곧바로 나감
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.isAvailable());
+        assertEquals(3, limiter.getAcquiredCount());
+    }
+
+    @Test
+    void testAcquireWaitsForRate() {
+        RateLimiter limiter = new RateLimiter(200, 1);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 21; i++) {
+            limiter.acquire();
+        }
+        long elapsed = System.nanoTime() - started;
+
+        // 첫 허가 뒤 20개는 5ms 간격으로 나가므로 적어도 100ms가 걸림
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(95), "elapsed " + elapsed);
+        assertEquals(21, limiter.getAcquiredCount());
+        assertTrue(limiter.getThrottledCount() >= 19);
+        assertTrue(limiter.getThrottledNanos() >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    void testOutPortWaitsForPermit() {
+        OutPort port = new OutPort();
+        Pipe pipe = new Pipe(64);
+        port.addPipe(pipe);
+        port.setRateLimiter(new RateLimiter(1000, 1));
+
+        port.propagate(new Message(1));
+        assertTrue(port.isRateLimited());
+        port.propagate(new Message(2));
+
+        assertEquals(2, pipe.size());
+        assertEquals(1, port.getRateLimiter().getThrottledCount());
+        port.setRateLimiter(null);
+        assertFalse(port.isRateLimited());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(10, 0));
+    }
+}
@@ -0,0 +1,82 @@
+package com.samsa.core.codec;
+
+import com.samsa.core.Message;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryMessageCodecTest {
+
+    private final BinaryMessageCodec codec = new BinaryMessageCodec(List.of("device", "ts"));
+
+    private static Map<String, Object> sampleMetadata() {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("device", "plc-17");
+        metadata.put("ts", 1760000000000L);
+        metadata.put("register", -40001);
+        metadata.put("quality", true);
+        metadata.put("scale", 0.1d);
+        metadata.put("ratio", 0.5f);
+        metadata.put("단위", "°C 😀");
+        metadata.put("tags", List.of("a", "b"));
+        return metadata;
+    }
+
+    @Test
+    void testRoundTripKeepsTypes() {
+        Message message = new Message("temperature=23.5", sampleMetadata());
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        codec.encode(message, buffer);
+        buffer.flip();
+        Message decoded = codec.decode(buffer);
+
+        assertEquals(message.getId(), decoded.getId());
+        assertEquals(message.getPayload(), decoded.getPayload());
+        assertEquals(sampleMetadata(), decoded.getMetadata());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testMultipleMessagesInDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        codec.encode(new Message(new byte[] { 1, 2, 3 }), buffer);
+        codec.encode(new Message(42L), buffer);
+        buffer.flip();
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) codec.decode(buffer).getPayload());
+        assertEquals(42L, codec.decode(buffer).getPayload());
+    }
+
+    @Test
+    void testDictionaryKeysAreSmallerThanInlineKeys() {
+        Message message = new Message("x", Map.of("device", "a"));
+        ByteBuffer withDictionary = ByteBuffer.allocate(256);
+        ByteBuffer withoutDictionary = ByteBuffer.allocate(256);
+
+        codec.encode(message, withDictionary);
+        new BinaryMessageCodec().encode(message, withoutDictionary);
+
+        assertTrue(withDictionary.position() < withoutDictionary.position());
+    }
+
+    @Test
+    void testDecodeTruncatedMessage() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        codec.encode(new Message("payload", sampleMetadata()), buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 3);
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(buffer));
+    }
+
+    @Test
+    void testConstructorWithDuplicateKeys() {
+        assertThrows(IllegalArgumentException.class, () -> new BinaryMessageCodec(List.of("a", "a")));
+    }
+}
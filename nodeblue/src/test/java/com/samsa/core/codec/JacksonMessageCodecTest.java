@@ -0,0 +1,50 @@
+package com.samsa.core.codec;
+
+import com.samsa.core.Message;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JacksonMessageCodecTest {
+
+    @Test
+    void testJsonRoundTrip() {
+        assertRoundTrip(new JacksonMessageCodec());
+    }
+
+    @Test
+    void testCborRoundTrip() {
+        assertRoundTrip(JacksonMessageCodec.cbor());
+    }
+
+    private void assertRoundTrip(MessageCodec codec) {
+        Message first = new Message("first", Map.of("device", "plc-17", "register", 40001));
+        Message second = new Message(Map.of("value", 23.5));
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        codec.encode(first, buffer);
+        codec.encode(second, buffer);
+        buffer.flip();
+
+        Message decodedFirst = codec.decode(buffer);
+        Message decodedSecond = codec.decode(buffer);
+
+        assertEquals(first.getId(), decodedFirst.getId());
+        assertEquals("first", decodedFirst.getPayload());
+        assertEquals(first.getMetadata(), decodedFirst.getMetadata());
+        assertEquals(Map.of("value", 23.5), decodedSecond.getPayload());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testDecodeInvalidLength() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.putInt(100);
+        buffer.flip();
+
+        assertThrows(IllegalArgumentException.class, () -> new JacksonMessageCodec().decode(buffer));
+    }
+}
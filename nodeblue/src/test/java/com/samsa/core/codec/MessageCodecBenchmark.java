@@ -0,0 +1,91 @@
+package com.samsa.core.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsa.core.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 코덱의 인코딩+디코딩 왕복 비용을 ObjectMapper를 직접 사용하는 경우와 비교합니다.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=MessageCodecBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCodecBenchmark {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private Message message;
+    private MessageCodec binary;
+    private MessageCodec json;
+    private MessageCodec cbor;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("device", "plc-17");
+        metadata.put("register", 40001);
+        metadata.put("ts", 1760000000000L);
+        metadata.put("quality", true);
+        metadata.put("scale", 0.1d);
+        message = new Message("temperature=23.5", metadata);
+
+        binary = new BinaryMessageCodec(List.of("device", "register", "ts"));
+        json = new JacksonMessageCodec();
+        cbor = JacksonMessageCodec.cbor();
+    }
+
+    @Benchmark
+    public Message binaryRoundTrip() {
+        return roundTrip(binary);
+    }
+
+    @Benchmark
+    public Message jsonCodecRoundTrip() {
+        return roundTrip(json);
+    }
+
+    @Benchmark
+    public Message cborCodecRoundTrip() {
+        return roundTrip(cbor);
+    }
+
+    @Benchmark
+    public Object plainJacksonRoundTrip() throws IOException {
+        Map<String, Object> value = new HashMap<>();
+        value.put("id", message.getId().toString());
+        value.put("payload", message.getPayload());
+        value.put("metadata", message.getMetadata());
+        return mapper.readValue(mapper.writeValueAsBytes(value), Map.class);
+    }
+
+    private Message roundTrip(MessageCodec codec) {
+        buffer.clear();
+        codec.encode(message, buffer);
+        buffer.flip();
+        return codec.decode(buffer);
+    }
+}
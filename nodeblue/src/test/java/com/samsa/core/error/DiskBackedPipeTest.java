@@ -0,0 +1,192 @@
+package com.samsa.core.error;
+
+import com.samsa.core.Message;
+import com.samsa.core.codec.BinaryMessageCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskBackedPipeTest {
+
+    private Path tempDir;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("deadletter");
+        file = tempDir.resolve("dlq.bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testMessagesAreReadInOrder() throws Exception {
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file)) {
+            Message first = new Message("a", Map.of(ErrorRouter.ATTEMPTS, 3));
+            assertTrue(pipe.offer(first));
+            assertTrue(pipe.offer(new Message("b")));
+            assertEquals(2, pipe.size());
+
+            Message polled = pipe.poll();
+            assertEquals(first.getId(), polled.getId());
+            assertEquals("a", polled.getPayload());
+            assertEquals(3, polled.getMetadata(ErrorRouter.ATTEMPTS));
+            assertEquals("b", pipe.poll(10, TimeUnit.MILLISECONDS).getPayload());
+            assertNull(pipe.poll());
+
+            // 모두 읽으면 파일을 비움
+            assertTrue(pipe.isEmpty());
+            assertEquals(0, pipe.getStoredBytes());
+            assertEquals(Long.BYTES, Files.size(file));
+        }
+    }
+
+    @Test
+    void testUnreadMessagesSurviveReopen() throws Exception {
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file)) {
+            for (int i = 0; i < 3; i++) {
+                pipe.offer(new Message(i));
+            }
+            assertEquals(0, pipe.poll().getPayload());
+        }
+
+        // 다시 열면 읽지 않은 메시지부터 이어서 읽음
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file)) {
+            assertEquals(2, pipe.size());
+            assertEquals(1, pipe.poll().getPayload());
+            assertEquals(2, pipe.poll().getPayload());
+        }
+    }
+
+    @Test
+    void testPartialTrailingRecordIsTruncated() throws Exception {
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file)) {
+            pipe.offer(new Message("kept"));
+        }
+        long intact = Files.size(file);
+        // 기록 도중 중단된 것처럼 길이만 쓰고 내용은 일부만 씀
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 100, 1, 2}));
+        }
+
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file)) {
+            assertEquals(1, pipe.size());
+            assertEquals(intact, Files.size(file));
+            assertEquals("kept", pipe.poll().getPayload());
+        }
+    }
+
+    @Test
+    void testRejectsWhenMaxBytesReached() throws Exception {
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file, 64, new BinaryMessageCodec())) {
+            int accepted = 0;
+            while (pipe.offer(new Message("payload"))) {
+                accepted++;
+            }
+
+            assertTrue(accepted > 0);
+            assertTrue(pipe.getStoredBytes() <= 64);
+            assertEquals(accepted, pipe.size());
+        }
+    }
+
+    @Test
+    void testRejectsUnsupportedPayload() throws Exception {
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file)) {
+            // 코덱으로 표현할 수 없는 페이로드는 기록하지 않음
+            assertFalse(pipe.offer(new Message(new Object())));
+            assertTrue(pipe.isEmpty());
+        }
+    }
+
+    @Test
+    void testPartialDrainingKeepsFileBounded() throws Exception {
+        long maxBytes = 4096;
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file, maxBytes, new BinaryMessageCodec())) {
+            int next = 0;
+            int expected = 0;
+            // 파이프가 빌 틈 없이 넣고 꺼내기를 반복
+            for (int round = 0; round < 200; round++) {
+                for (int i = 0; i < 5; i++) {
+                    assertTrue(pipe.offer(new Message("payload-" + next++)));
+                }
+                for (int i = 0; i < 4; i++) {
+                    assertEquals("payload-" + expected++, pipe.poll().getPayload());
+                }
+                if (pipe.getStoredBytes() > maxBytes / 2) {
+                    assertEquals("payload-" + expected++, pipe.poll().getPayload());
+                }
+                assertFalse(pipe.isEmpty());
+                assertTrue(Files.size(file) <= 2 * maxBytes + 64);
+            }
+            assertTrue(pipe.getCompactionCount() > 0);
+            assertEquals(pipe.getFileBytes(), Files.size(file));
+            assertFalse(Files.exists(tempDir.resolve("dlq.bin.compact")));
+        }
+    }
+
+    @Test
+    void testCompactedFileSurvivesReopen() throws Exception {
+        int next = 0;
+        int expected = 0;
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file, 256, new BinaryMessageCodec(), true)) {
+            assertTrue(pipe.isSync());
+            // 가득 채우고 하나만 남기고 꺼내기를 반복하여 읽은 앞부분을 쌓음
+            for (int round = 0; round < 3; round++) {
+                while (pipe.offer(new Message(next))) {
+                    next++;
+                }
+                while (pipe.size() > 1) {
+                    assertEquals(expected++, pipe.poll().getPayload());
+                }
+            }
+            assertTrue(pipe.getCompactionCount() > 0);
+            pipe.offer(new Message(next++));
+        }
+
+        // 교체한 파일로 다시 열어도 남은 메시지를 순서대로 읽음
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file, 256, new BinaryMessageCodec())) {
+            assertEquals(2, pipe.size());
+            assertEquals(expected, pipe.poll().getPayload());
+            assertEquals(next - 1, pipe.poll().getPayload());
+        }
+    }
+
+    @Test
+    void testLeftoverCompactFileIsDiscarded() throws Exception {
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file)) {
+            pipe.offer(new Message("kept"));
+        }
+        // 교체 도중 중단되어 새 파일만 남은 경우
+        Files.write(tempDir.resolve("dlq.bin.compact"), new byte[] {1, 2, 3});
+
+        try (DiskBackedPipe pipe = new DiskBackedPipe(file)) {
+            assertFalse(Files.exists(tempDir.resolve("dlq.bin.compact")));
+            assertEquals("kept", pipe.poll().getPayload());
+        }
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new DiskBackedPipe(null));
+        assertThrows(IllegalArgumentException.class, () -> new DiskBackedPipe(file, 0, new BinaryMessageCodec()));
+    }
+}
@@ -0,0 +1,238 @@
+package com.samsa.core.error;
+
+import com.samsa.core.InPort;
+import com.samsa.core.InOutNode;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorRouterTest {
+
+    private Pipe input;
+    private Pipe output;
+    private Pipe errors;
+    private OutPort errorPort;
+    private FlakyNode node;
+
+    /**
+     * 지정한 횟수만큼 실패한 뒤 메시지를 그대로 전달하는 노드
+     */
+    private static class FlakyNode extends InOutNode {
+        private int failuresLeft;
+        private final List<Object> attempts = new ArrayList<>();
+
+        FlakyNode(InPort inPort, OutPort outPort, int failures) {
+            super(inPort, outPort);
+            this.failuresLeft = failures;
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            attempts.add(message.getPayload());
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("sink unavailable");
+            }
+            emit(message);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        input = new Pipe(16);
+        output = new Pipe(16);
+        errors = new Pipe(16);
+        errorPort = new OutPort();
+        errorPort.addPipe(errors);
+    }
+
+    private FlakyNode createNode(int failures, ErrorRouter router) {
+        InPort inPort = new InPort();
+        inPort.addPipe(input);
+        OutPort outPort = new OutPort();
+        outPort.addPipe(output);
+        FlakyNode flaky = new FlakyNode(inPort, outPort, failures);
+        flaky.setErrorRouter(router);
+        return flaky;
+    }
+
+    /**
+     * 메시지를 처리할 때까지 재시도 파이프를 확인하며 노드를 실행
+     */
+    private void processUntil(Pipe target, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (target.size() < expected && System.nanoTime() < deadline) {
+            if (!node.processNext()) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    @Test
+    void testFailedMessageIsSentToErrorPortWithCause() throws Exception {
+        node = createNode(1, new ErrorRouter(errorPort));
+        input.offer(new Message("a"));
+
+        assertTrue(node.processNext());
+
+        // 재시도 없이 예외 정보를 붙여 오류 출력으로 보냄
+        Message failure = errors.poll();
+        assertNotNull(failure);
+        assertEquals("a", failure.getPayload());
+        assertEquals(IllegalStateException.class.getName(), failure.getMetadata(ErrorRouter.ERROR_TYPE));
+        assertEquals("sink unavailable", failure.getMetadata(ErrorRouter.ERROR_MESSAGE));
+        assertEquals(node.getId().toString(), failure.getMetadata(ErrorRouter.ERROR_NODE));
+        assertEquals(1, failure.getMetadata(ErrorRouter.ATTEMPTS));
+        assertTrue(output.isEmpty());
+    }
+
+    @Test
+    void testRetriesWithBackoffWithoutBlocking() throws Exception {
+        RetryPolicy policy = new RetryPolicy(3, Duration.ofMillis(20));
+        ErrorRouter router = new ErrorRouter(errorPort, policy, null, null);
+        node = createNode(2, router);
+        input.offer(new Message("a"));
+        input.offer(new Message("b"));
+
+        // 첫 메시지가 실패해도 재시도를 기다리지 않고 다음 메시지를 처리함
+        assertTrue(node.processNext());
+        assertTrue(node.processNext());
+        assertEquals(List.of("a", "b"), node.attempts);
+        assertEquals(2, router.getPendingRetryCount());
+
+        processUntil(output, 2);
+
+        assertEquals(2, output.size());
+        assertTrue(errors.isEmpty());
+        assertEquals(2, router.getRetriedCount());
+        assertEquals(0, router.getFailedCount());
+    }
+
+    @Test
+    void testExhaustedRetriesGoToErrorPort() throws Exception {
+        ErrorRouter router = new ErrorRouter(errorPort, new RetryPolicy(2, Duration.ofMillis(1)), null, null);
+        node = createNode(Integer.MAX_VALUE, router);
+        input.offer(new Message("a"));
+
+        processUntil(errors, 1);
+
+        Message failure = errors.poll();
+        assertNotNull(failure);
+        assertEquals(2, failure.getMetadata(ErrorRouter.ATTEMPTS));
+        assertEquals(List.of("a", "a"), node.attempts);
+        assertEquals(1, router.getFailedCount());
+    }
+
+    @Test
+    void testOpenCircuitShedsToDeadLetter() {
+        Pipe deadLetter = new Pipe(16);
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+        ErrorRouter router = new ErrorRouter(errorPort, RetryPolicy.NONE, breaker, deadLetter);
+        node = createNode(Integer.MAX_VALUE, router);
+        for (int i = 0; i < 5; i++) {
+            input.offer(new Message(i));
+        }
+        while (node.processNext()) {
+            // 모든 메시지 처리
+        }
+
+        // 두 번 실패한 뒤로는 노드를 호출하지 않고 데드레터로 보냄
+        assertEquals(List.of(0, 1), node.attempts);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(2, errors.size());
+        assertEquals(3, deadLetter.size());
+        assertEquals(3, router.getShedCount());
+        assertEquals(CircuitBreaker.class.getName(), deadLetter.poll().getMetadata(ErrorRouter.ERROR_TYPE));
+    }
+
+    @Test
+    void testHalfOpenCircuitClosesAfterSuccessfulTrial() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMillis(10));
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+
+        Thread.sleep(20);
+
+        // 시험 메시지 하나만 허용함
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2, breaker.getRejectedCount());
+    }
+
+    @Test
+    void testCloseRoutesPendingRetries() {
+        ErrorRouter router = new ErrorRouter(errorPort, new RetryPolicy(3, Duration.ofMinutes(1)), null, null);
+        node = createNode(1, router);
+        input.offer(new Message("a"));
+        node.processNext();
+        assertEquals(1, router.getPendingRetryCount());
+
+        router.close();
+
+        assertEquals(0, router.getPendingRetryCount());
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void testCloseDuringFailuresLeavesNoPendingRetry() throws Exception {
+        Pipe routed = new Pipe(1000);
+        OutPort routedPort = new OutPort();
+        routedPort.addPipe(routed);
+        ErrorRouter router = new ErrorRouter(routedPort, new RetryPolicy(3, Duration.ofMinutes(1)), null, null);
+        node = createNode(0, router);
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> reporters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reporter = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < 200; i++) {
+                    router.onFailure(node, new Message(i), new IllegalStateException("sink unavailable"));
+                }
+            });
+            reporters.add(reporter);
+            reporter.start();
+        }
+
+        // 실패를 보고하는 중에 닫아도 예약 중이던 재시도까지 모두 오류 출력으로 보내짐
+        started.await();
+        router.close();
+        for (Thread reporter : reporters) {
+            reporter.join(5_000);
+        }
+
+        assertEquals(0, router.getPendingRetryCount());
+        assertEquals(800, routed.size());
+    }
+
+    @Test
+    void testBackoffGrowsUpToMax() {
+        RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(100), Duration.ofMillis(500), 2.0);
+
+        assertEquals(Duration.ofMillis(100), policy.backoff(1));
+        assertEquals(Duration.ofMillis(200), policy.backoff(2));
+        assertEquals(Duration.ofMillis(400), policy.backoff(3));
+        assertEquals(Duration.ofMillis(500), policy.backoff(4));
+        assertTrue(policy.canRetry(9));
+        assertFalse(policy.canRetry(10));
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ErrorRouter(null));
+        assertThrows(IllegalArgumentException.class, () -> new ErrorRouter(errorPort, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, Duration.ZERO));
+    }
+}
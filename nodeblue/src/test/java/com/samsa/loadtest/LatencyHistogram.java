@@ -0,0 +1,122 @@
+package com.samsa.loadtest;
+
+/**
+ * 나노초 단위 지연 시간의 분포를 고정 크기 배열에 기록하는 히스토그램입니다.
+ *
+ * <p>128 미만의 값은 그대로, 그 이상은 2의 거듭제곱 구간마다 64칸으로 나누어 기록하므로 상대 오차는 약 1.6% 이하입니다.
+ * 기록할 때 메모리를 할당하지 않으며, 백분위는 해당 칸의 가장 큰 값으로 보고하여 실제보다 작게 나오지 않게 합니다.</p>
+ *
+ * <p>메서드는 모두 동기화되어 있어 기록하는 스레드와 보고하는 스레드가 달라도 됩니다.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+    private double sum;
+
+    /**
+     * 값을 기록합니다. 음수는 0으로 기록합니다.
+     *
+     * @param value 지연 시간(나노초)
+     */
+    public synchronized void record(long value) {
+        long clamped = Math.max(0, value);
+        counts[indexOf(clamped)]++;
+        totalCount++;
+        min = Math.min(min, clamped);
+        max = Math.max(max, clamped);
+        sum += clamped;
+    }
+
+    /**
+     * 다른 히스토그램의 기록을 더합니다.
+     *
+     * @param other 더할 히스토그램
+     */
+    public void add(LatencyHistogram other) {
+        long[] otherCounts;
+        long otherTotal;
+        long otherMin;
+        long otherMax;
+        double otherSum;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherTotal = other.totalCount;
+            otherMin = other.min;
+            otherMax = other.max;
+            otherSum = other.sum;
+        }
+        synchronized (this) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += otherCounts[i];
+            }
+            totalCount += otherTotal;
+            min = Math.min(min, otherMin);
+            max = Math.max(max, otherMax);
+            sum += otherSum;
+        }
+    }
+
+    /**
+     * 백분위 값을 반환합니다.
+     *
+     * @param percentile 0보다 크고 100 이하인 백분위
+     * @return 기록된 값 중 해당 백분위에 있는 값의 상한, 기록이 없으면 0
+     */
+    public synchronized long percentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, highestValueOf(i));
+            }
+        }
+        return max;
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public synchronized long getMax() {
+        return max;
+    }
+
+    public synchronized double getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
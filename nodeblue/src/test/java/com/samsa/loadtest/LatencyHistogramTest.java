@@ -0,0 +1,82 @@
+package com.samsa.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(50, histogram.percentile(50));
+        assertEquals(99, histogram.percentile(99));
+        assertEquals(100, histogram.percentile(100));
+        assertEquals(1, histogram.getMin());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void testLargeValuesStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = {1_000, 250_000, 7_000_000, 3_000_000_000L};
+        for (long value : values) {
+            LatencyHistogram single = new LatencyHistogram();
+            single.record(value);
+            long reported = single.percentile(50);
+            // 버킷 상한을 반환하되 기록된 최댓값을 넘지 않음
+            assertTrue(reported <= value);
+            assertTrue(value - reported <= value / 32, "value=" + value + ", reported=" + reported);
+            histogram.record(value);
+        }
+        assertEquals(3_000_000_000L, histogram.getMax());
+        assertEquals(3_000_000_000L, histogram.percentile(100));
+    }
+
+    @Test
+    void testPercentilesAreMonotonic() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            histogram.record((long) (Math.pow(i, 2) + 17));
+        }
+
+        long previous = 0;
+        for (double p : new double[] {1, 10, 50, 90, 99, 99.9, 100}) {
+            long value = histogram.percentile(p);
+            assertTrue(value >= previous);
+            previous = value;
+        }
+    }
+
+    @Test
+    void testAddMergesCounts() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(Duration.ofMillis(5).toNanos());
+        second.record(20);
+
+        first.add(second);
+
+        assertEquals(3, first.getTotalCount());
+        assertEquals(10, first.getMin());
+        assertEquals(Duration.ofMillis(5).toNanos(), first.getMax());
+        assertEquals(20, first.percentile(50));
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+}
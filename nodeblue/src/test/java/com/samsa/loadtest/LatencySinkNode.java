@@ -0,0 +1,71 @@
+package com.samsa.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.samsa.core.InNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+
+/**
+ * {@link LoadSourceNode}가 보낸 메시지의 지연 시간과 소스별 수신 수를 기록하는 싱크입니다.
+ * 지연 시간은 소스가 메시지를 보낼 예정이던 시각부터 이 노드가 받은 시각까지입니다.
+ */
+public class LatencySinkNode extends InNode {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /** 소스 ID별 수신 수 */
+    private final Map<String, Long> received = new HashMap<>();
+
+    /** 예정 시각이 없어 지연 시간을 재지 못한 메시지 수 */
+    private long unmeasured;
+
+    /**
+     * 싱크를 생성합니다.
+     *
+     * @param port 입력 포트
+     */
+    public LatencySinkNode(InPort port) {
+        super(port);
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        long now = System.nanoTime();
+        Object intended = message.getMetadata(LoadSourceNode.INTENDED);
+        Object source = message.getMetadata(LoadSourceNode.SOURCE);
+        if (!(intended instanceof Long start) || source == null) {
+            synchronized (this) {
+                unmeasured++;
+            }
+            return;
+        }
+        histogram.record(now - start);
+        synchronized (this) {
+            received.merge(source.toString(), 1L, Long::sum);
+        }
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * 소스 ID별 수신 수를 반환합니다.
+     *
+     * @return 소스 ID별 수신 수의 복사본
+     */
+    public synchronized Map<String, Long> getReceived() {
+        return new HashMap<>(received);
+    }
+
+    /**
+     * 예정 시각이 없어 지연 시간을 재지 못한 메시지 수를 반환합니다.
+     *
+     * @return 재지 못한 메시지 수
+     */
+    public synchronized long getUnmeasuredCount() {
+        return unmeasured;
+    }
+}
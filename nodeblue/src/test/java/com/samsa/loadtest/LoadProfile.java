@@ -0,0 +1,178 @@
+package com.samsa.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 부하 소스가 메시지를 보낼 시각과 내용을 정합니다.
+ *
+ * <p>보낼 시각은 시작 시각으로부터의 오프셋으로 미리 정해지며, 소스가 늦어져도 바뀌지 않습니다.
+ * 지연 시간은 이 예정 시각부터 재므로, 소스가 배압이나 GC로 멈춘 동안 보내지 못한 메시지의 대기 시간도
+ * 지연 시간에 포함됩니다(coordinated omission 보정).</p>
+ */
+public abstract class LoadProfile {
+
+    /** 보낼 메시지 수에 제한이 없음 */
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 시작 시각으로부터 메시지를 보낼 예정 시각까지의 간격을 반환합니다.
+     *
+     * @param sequence 0부터 시작하는 메시지 순번
+     * @return 예정 시각 오프셋(나노초)
+     */
+    public abstract long offsetNanos(long sequence);
+
+    /**
+     * 메시지의 페이로드를 반환합니다.
+     *
+     * @param sequence 메시지 순번
+     * @return 페이로드
+     */
+    public abstract Object payload(long sequence);
+
+    /**
+     * 보낼 메시지 수를 반환합니다.
+     *
+     * @return 메시지 수, 제한이 없으면 {@link #UNBOUNDED}
+     */
+    public long count() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * 일정한 간격으로 보내는 프로필을 생성합니다.
+     *
+     * @param perSecond 초당 메시지 수
+     * @param payload   모든 메시지에 담을 페이로드
+     * @return 고정 속도 프로필
+     * @throws IllegalArgumentException 속도가 0 이하이거나 페이로드가 null인 경우
+     */
+    public static LoadProfile fixedRate(double perSecond, Object payload) {
+        if (perSecond <= 0 || Objects.isNull(payload)) {
+            throw new IllegalArgumentException("Rate must be positive and payload cannot be null");
+        }
+        double intervalNanos = 1_000_000_000.0 / perSecond;
+        return new LoadProfile() {
+            @Override
+            public long offsetNanos(long sequence) {
+                return (long) (sequence * intervalNanos);
+            }
+
+            @Override
+            public Object payload(long sequence) {
+                return payload;
+            }
+
+            @Override
+            public String toString() {
+                return "fixedRate(" + perSecond + "/s)";
+            }
+        };
+    }
+
+    /**
+     * 일정한 간격마다 여러 메시지를 한꺼번에 보내는 프로필을 생성합니다.
+     *
+     * @param burstSize 한 번에 보낼 메시지 수
+     * @param interval  묶음 사이의 간격
+     * @param payload   모든 메시지에 담을 페이로드
+     * @return 버스트 프로필
+     * @throws IllegalArgumentException 묶음 크기가 1보다 작거나, 간격이 0 이하이거나, 페이로드가 null인 경우
+     */
+    public static LoadProfile burst(int burstSize, Duration interval, Object payload) {
+        if (burstSize < 1 || Objects.isNull(interval) || interval.isNegative() || interval.isZero()
+                || Objects.isNull(payload)) {
+            throw new IllegalArgumentException("Invalid burst profile");
+        }
+        long intervalNanos = interval.toNanos();
+        return new LoadProfile() {
+            @Override
+            public long offsetNanos(long sequence) {
+                return sequence / burstSize * intervalNanos;
+            }
+
+            @Override
+            public Object payload(long sequence) {
+                return payload;
+            }
+
+            @Override
+            public String toString() {
+                return "burst(" + burstSize + " every " + interval.toMillis() + "ms)";
+            }
+        };
+    }
+
+    /**
+     * 기록해 둔 트래픽을 같은 간격으로 다시 보내는 프로필을 생성합니다.
+     * 기록 파일은 한 줄에 {@code {"offsetMillis": 12, "payload": ...}} 하나씩인 NDJSON입니다.
+     *
+     * @param capture 기록 파일
+     * @param speed   재생 속도 배율, 2이면 두 배 빠르게 보냄
+     * @param loop    기록을 끝까지 보낸 뒤 처음부터 반복할지 여부
+     * @return 재생 프로필
+     * @throws IllegalArgumentException 배율이 0 이하이거나 기록이 비어 있는 경우
+     * @throws UncheckedIOException     기록 파일을 읽을 수 없는 경우
+     */
+    public static LoadProfile replay(Path capture, double speed, boolean loop) {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Speed must be positive");
+        }
+        List<Long> offsets = new ArrayList<>();
+        List<Object> payloads = new ArrayList<>();
+        try (Stream<String> lines = Files.lines(capture)) {
+            lines.filter(line -> !line.isBlank()).forEach(line -> {
+                try {
+                    JsonNode record = MAPPER.readTree(line);
+                    offsets.add((long) (record.path("offsetMillis").asDouble() * 1_000_000 / speed));
+                    payloads.add(MAPPER.treeToValue(record.path("payload"), Object.class));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (payloads.isEmpty()) {
+            throw new IllegalArgumentException("Capture is empty: " + capture);
+        }
+        int size = payloads.size();
+        long[] schedule = offsets.stream().mapToLong(Long::longValue).toArray();
+        // 반복할 때 마지막 메시지와 다음 회차의 첫 메시지 사이에 평균 간격만큼 둠
+        long period = schedule[size - 1] + Math.max(1, schedule[size - 1] / Math.max(1, size - 1));
+        return new LoadProfile() {
+            @Override
+            public long offsetNanos(long sequence) {
+                return sequence / size * period + schedule[(int) (sequence % size)];
+            }
+
+            @Override
+            public Object payload(long sequence) {
+                return payloads.get((int) (sequence % size));
+            }
+
+            @Override
+            public long count() {
+                return loop ? UNBOUNDED : size;
+            }
+
+            @Override
+            public String toString() {
+                return "replay(" + capture.getFileName() + ", " + size + " records, x" + speed + ")";
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.samsa.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 시험 한 번의 결과입니다.
+ */
+public final class LoadReport {
+
+    private final Duration elapsed;
+    private final long sent;
+    private final long received;
+    private final long dropped;
+    private final LatencyHistogram latency;
+    private final long gcCount;
+    private final long gcMillis;
+    private final long maxPauseNanos;
+
+    /**
+     * 결과를 생성합니다.
+     *
+     * @param elapsed       부하를 건 시간
+     * @param sent          소스가 보낸 메시지 수
+     * @param received      싱크가 받은 메시지 수
+     * @param dropped       보냈지만 받지 못한 메시지 수
+     * @param latency       예정 시각부터 받은 시각까지의 지연 시간 분포
+     * @param gcCount       GC 횟수
+     * @param gcMillis      GC 시간(밀리초)
+     * @param maxPauseNanos 가장 긴 멈춤 시간(나노초)
+     */
+    public LoadReport(Duration elapsed, long sent, long received, long dropped, LatencyHistogram latency,
+            long gcCount, long gcMillis, long maxPauseNanos) {
+        this.elapsed = elapsed;
+        this.sent = sent;
+        this.received = received;
+        this.dropped = dropped;
+        this.latency = latency;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.maxPauseNanos = maxPauseNanos;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    public long getMaxPauseNanos() {
+        return maxPauseNanos;
+    }
+
+    /**
+     * 초당 받은 메시지 수를 반환합니다.
+     *
+     * @return 처리량
+     */
+    public double getThroughput() {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds > 0 ? received / seconds : 0;
+    }
+
+    private static double micros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "elapsed=%.1fs, throughput=%.1f msg/s, sent=%d, received=%d, dropped=%d%n"
+                        + "latency(us) p50=%.1f, p99=%.1f, p999=%.1f, max=%.1f, mean=%.1f%n"
+                        + "gc count=%d, gc time=%dms, max pause=%.1fms",
+                elapsed.toNanos() / 1e9, getThroughput(), sent, received, dropped,
+                micros(latency.percentile(50)), micros(latency.percentile(99)), micros(latency.percentile(99.9)),
+                micros(latency.getMax()), latency.getMean() / 1e3,
+                gcCount, gcMillis, maxPauseNanos / 1e6);
+    }
+}
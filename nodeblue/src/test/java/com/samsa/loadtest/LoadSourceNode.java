@@ -0,0 +1,154 @@
+package com.samsa.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.samsa.core.Message;
+import com.samsa.core.OutNode;
+import com.samsa.core.OutPort;
+
+/**
+ * {@link LoadProfile}에 따라 메시지를 보내는 부하 소스입니다. 시작하면 전용 스레드에서 보내기 시작하고 중지하면 멈춥니다.
+ *
+ * <p>메시지마다 보낼 예정이던 시각, 순번, 소스 ID를 메타데이터에 담아 {@link LatencySinkNode}가 지연 시간과 손실을 계산하게 합니다.
+ * 하류 파이프가 가득 차면 보내지 않고 자리가 날 때까지 기다리며, 기다린 시간은 예정 시각부터 재는 지연 시간에 그대로 반영됩니다.
+ * 예정 시각은 {@link System#nanoTime()} 기준이므로 같은 프로세스 안의 플로우에서만 사용합니다.</p>
+ */
+public class LoadSourceNode extends OutNode {
+
+    /** 보낼 예정이던 시각({@link System#nanoTime()}) 메타데이터 키 */
+    public static final String INTENDED = "load.intended";
+
+    /** 소스 안에서의 순번 메타데이터 키 */
+    public static final String SEQUENCE = "load.sequence";
+
+    /** 보낸 소스 ID 메타데이터 키 */
+    public static final String SOURCE = "load.source";
+
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private final LoadProfile profile;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong backpressureNanos = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * 부하 소스를 생성합니다.
+     *
+     * @param port    출력 포트
+     * @param profile 보낼 시각과 내용
+     * @throws IllegalArgumentException 프로필이 null인 경우
+     */
+    public LoadSourceNode(OutPort port, LoadProfile profile) {
+        super(port);
+        if (Objects.isNull(profile)) {
+            throw new IllegalArgumentException("Profile cannot be null");
+        }
+        this.profile = profile;
+    }
+
+    @Override
+    public synchronized void start() {
+        super.start();
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::generate, "load-source-" + getId());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+            thread = null;
+        }
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.stop();
+    }
+
+    private void generate() {
+        long start = System.nanoTime();
+        String source = getId().toString();
+        long count = profile.count();
+        for (long sequence = 0; running && sequence < count; sequence++) {
+            long intended = start + profile.offsetNanos(sequence);
+            waitUntil(intended);
+            if (!awaitCapacity()) {
+                return;
+            }
+            Map<String, Object> metadata = new HashMap<>(4);
+            metadata.put(INTENDED, intended);
+            metadata.put(SEQUENCE, sequence);
+            metadata.put(SOURCE, source);
+            emit(new Message(profile.payload(sequence), metadata));
+            sent.incrementAndGet();
+        }
+    }
+
+    private void waitUntil(long deadline) {
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * 하류 파이프에 자리가 날 때까지 기다립니다. 중지되면 false를 반환합니다.
+     */
+    private boolean awaitCapacity() {
+        if (getOutPort().canAcceptAll()) {
+            return running;
+        }
+        long blockedAt = System.nanoTime();
+        while (running && !getOutPort().canAcceptAll()) {
+            LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+        }
+        backpressureNanos.addAndGet(System.nanoTime() - blockedAt);
+        return running;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * 보낸 메시지 수를 반환합니다.
+     *
+     * @return 보낸 메시지 수
+     */
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * 하류 파이프에 자리가 나기를 기다린 시간의 합을 반환합니다.
+     *
+     * @return 기다린 시간(나노초)
+     */
+    public long getBackpressureNanos() {
+        return backpressureNanos.get();
+    }
+}
@@ -0,0 +1,98 @@
+package com.samsa.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 측정 구간 동안의 GC 횟수와 시간, 그리고 JVM이 멈춘 가장 긴 시간을 잽니다.
+ *
+ * <p>멈춤 시간은 짧게 잠드는 스레드가 예정보다 늦게 깨어난 시간으로 추정하므로, GC뿐 아니라 세이프포인트나
+ * 운영체제 스케줄링으로 멈춘 시간도 포함됩니다.</p>
+ */
+public class PauseMonitor implements AutoCloseable {
+
+    private static final long RESOLUTION_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long gcCountAtStart;
+    private final long gcMillisAtStart;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile long maxPauseNanos;
+
+    /**
+     * 측정을 시작합니다.
+     */
+    public PauseMonitor() {
+        gcCountAtStart = gcCount();
+        gcMillisAtStart = gcMillis();
+        thread = new Thread(this::measure, "pause-monitor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void measure() {
+        while (running) {
+            long before = System.nanoTime();
+            try {
+                TimeUnit.NANOSECONDS.sleep(RESOLUTION_NANOS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long overshoot = System.nanoTime() - before - RESOLUTION_NANOS;
+            if (overshoot > maxPauseNanos) {
+                maxPauseNanos = overshoot;
+            }
+        }
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, bean.getCollectionTime());
+        }
+        return millis;
+    }
+
+    /**
+     * 측정을 시작한 뒤의 GC 횟수를 반환합니다.
+     *
+     * @return GC 횟수
+     */
+    public long getGcCount() {
+        return gcCount() - gcCountAtStart;
+    }
+
+    /**
+     * 측정을 시작한 뒤 GC에 쓴 시간을 반환합니다.
+     *
+     * @return GC 시간(밀리초)
+     */
+    public long getGcMillis() {
+        return gcMillis() - gcMillisAtStart;
+    }
+
+    /**
+     * 측정한 가장 긴 멈춤 시간을 반환합니다.
+     *
+     * @return 멈춤 시간(나노초)
+     */
+    public long getMaxPauseNanos() {
+        return maxPauseNanos;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,181 @@
+package com.samsa.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.samsa.core.Node;
+import com.samsa.pipeline.JsonToPipeline;
+import com.samsa.pipeline.Pipeline;
+import com.samsa.pipeline.PipelineManager;
+import com.samsa.pipeline.ShutdownReport;
+import com.samsa.pipeline.scheduler.NodeScheduler;
+
+/**
+ * JSON 플로우에 부하를 걸어 처리량, 지연 시간, 손실, GC 멈춤을 측정합니다.
+ *
+ * <p>플로우에는 {@link JsonToPipeline}의 노드 종류에 더해 다음 두 종류를 쓸 수 있습니다.</p>
+ * <ul>
+ *   <li>{@code LoadSourceNode}: {@code mode}가 {@code fixed}이면 {@code rate}(초당 메시지 수)로,
+ *       {@code burst}이면 {@code intervalMillis}마다 {@code burstSize}개씩, {@code replay}이면
+ *       {@code capture} 파일을 {@code speed} 배율로 보냅니다({@code loop}이면 반복). 페이로드는 {@code payload}입니다.</li>
+ *   <li>{@code LatencySinkNode}: 받은 메시지의 지연 시간과 소스별 수신 수를 기록합니다.</li>
+ * </ul>
+ *
+ * <p>지연 시간은 소스가 보낼 예정이던 시각부터 싱크가 받은 시각까지이며, 손실은 소스가 보냈지만 그 소스의 메시지를
+ * 받는 싱크에 닿지 않은 메시지 수입니다. 부하를 건 뒤에는 파이프라인을 정리하며 중지하므로, 남은 메시지도 싱크까지
+ * 전달된 뒤에 집계됩니다.</p>
+ *
+ * <pre>
+ * mvn -Psoak test-compile exec:exec -Dsoak.flow=src/test/resources/soak/burst.json -Dsoak.duration=PT30M
+ * </pre>
+ */
+public final class SoakRunner {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private SoakRunner() {
+    }
+
+    /**
+     * 부하 노드 종류가 등록된 변환기를 생성합니다.
+     *
+     * @return 변환기
+     */
+    public static JsonToPipeline converter() {
+        JsonToPipeline converter = new JsonToPipeline();
+        converter.register("LoadSourceNode", (in, out, p) -> new LoadSourceNode(out, profile(p)));
+        converter.register("LatencySinkNode", (in, out, p) -> new LatencySinkNode(in));
+        return converter;
+    }
+
+    private static LoadProfile profile(JsonNode p) {
+        Object payload = p.has("payload") ? p.get("payload").isTextual() ? p.get("payload").asText() : p.get("payload")
+                : "load";
+        String mode = p.path("mode").asText("fixed");
+        switch (mode) {
+            case "fixed":
+                return LoadProfile.fixedRate(p.path("rate").asDouble(1000), payload);
+            case "burst":
+                return LoadProfile.burst(p.path("burstSize").asInt(100),
+                        Duration.ofMillis(p.path("intervalMillis").asLong(100)), payload);
+            case "replay":
+                if (!p.hasNonNull("capture")) {
+                    throw new IllegalArgumentException("Missing required property: capture");
+                }
+                return LoadProfile.replay(Path.of(p.get("capture").asText()), p.path("speed").asDouble(1),
+                        p.path("loop").asBoolean(true));
+            default:
+                throw new IllegalArgumentException("Unknown load mode: " + mode);
+        }
+    }
+
+    /**
+     * 플로우에 정해진 시간 동안 부하를 걸고 결과를 반환합니다.
+     *
+     * @param flowJson 플로우 JSON
+     * @param duration 부하를 걸 시간
+     * @param threads  노드 스케줄러의 워커 수
+     * @return 결과
+     * @throws IllegalArgumentException 플로우에 부하 소스나 싱크가 없는 경우
+     */
+    public static LoadReport run(String flowJson, Duration duration, int threads) {
+        Pipeline pipeline = converter().convert(flowJson);
+        List<LoadSourceNode> sources = new ArrayList<>();
+        List<LatencySinkNode> sinks = new ArrayList<>();
+        for (Node node : pipeline.getNodes()) {
+            if (node instanceof LoadSourceNode source) {
+                sources.add(source);
+            } else if (node instanceof LatencySinkNode sink) {
+                sinks.add(sink);
+            }
+        }
+        if (sources.isEmpty() || sinks.isEmpty()) {
+            throw new IllegalArgumentException("Flow needs at least one LoadSourceNode and one LatencySinkNode");
+        }
+
+        try (NodeScheduler scheduler = new NodeScheduler(threads); PauseMonitor monitor = new PauseMonitor()) {
+            PipelineManager manager = new PipelineManager(scheduler);
+            manager.addPipeline(pipeline);
+            long startedAt = System.nanoTime();
+            manager.startPipeline(pipeline.getId());
+            sleep(duration);
+            ShutdownReport shutdown = manager.shutdownPipeline(pipeline.getId(), SHUTDOWN_TIMEOUT);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            manager.removePipeline(pipeline.getId());
+            if (!shutdown.isCompleted()) {
+                System.err.println("Pipeline did not drain completely: " + shutdown);
+            }
+            return summarize(elapsed, sources, sinks, monitor);
+        }
+    }
+
+    private static LoadReport summarize(Duration elapsed, List<LoadSourceNode> sources, List<LatencySinkNode> sinks,
+            PauseMonitor monitor) {
+        Map<String, Long> sentBySource = new HashMap<>();
+        long sent = 0;
+        for (LoadSourceNode source : sources) {
+            sentBySource.put(source.getId().toString(), source.getSentCount());
+            sent += source.getSentCount();
+        }
+        LatencyHistogram latency = new LatencyHistogram();
+        long received = 0;
+        long dropped = 0;
+        Map<String, Long> unseen = new HashMap<>(sentBySource);
+        for (LatencySinkNode sink : sinks) {
+            latency.add(sink.getHistogram());
+            // 싱크마다 자기가 받은 소스에 대해서만 손실을 셈. 여러 싱크로 나뉘어 가는 플로우는 합쳐서 봄
+            for (Map.Entry<String, Long> entry : sink.getReceived().entrySet()) {
+                received += entry.getValue();
+                dropped += Math.max(0, sentBySource.getOrDefault(entry.getKey(), 0L) - entry.getValue());
+                unseen.remove(entry.getKey());
+            }
+        }
+        // 어느 싱크에도 닿지 않은 소스는 보낸 메시지를 모두 잃은 것으로 봄
+        for (long lost : unseen.values()) {
+            dropped += lost;
+        }
+        return new LoadReport(elapsed, sent, received, dropped, latency, monitor.getGcCount(),
+                monitor.getGcMillis(), monitor.getMaxPauseNanos());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 시스템 속성 {@code soak.flow}, {@code soak.duration}(ISO-8601, 예: PT5M), {@code soak.threads},
+     * {@code soak.report}로 부하 시험을 실행하고 결과를 출력하여 파일에 씁니다.
+     *
+     * @param args 사용하지 않음
+     * @throws IOException 플로우를 읽거나 결과를 쓸 수 없는 경우
+     */
+    public static void main(String[] args) throws IOException {
+        Path flow = Path.of(System.getProperty("soak.flow", "src/test/resources/soak/fixed-rate.json"));
+        Duration duration = Duration.parse(System.getProperty("soak.duration", "PT1M"));
+        int threads = Integer.getInteger("soak.threads", 2);
+        String reportPath = System.getProperty("soak.report", "");
+
+        LoadReport report = run(Files.readString(flow), duration, threads);
+        String text = "flow=" + flow + System.lineSeparator() + report + System.lineSeparator();
+        System.out.print(text);
+        if (!reportPath.isBlank()) {
+            Path target = Path.of(reportPath);
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Files.writeString(target, text);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.samsa.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoakRunnerTest {
+
+    private static final String SOURCE = UUID.randomUUID().toString();
+    private static final String FUNCTION = UUID.randomUUID().toString();
+    private static final String SINK = UUID.randomUUID().toString();
+
+    private static String flow(String sourceProperties) {
+        return "{\"nodes\": ["
+                + "{\"id\": \"" + SOURCE + "\", \"type\": \"LoadSourceNode\", \"properties\": " + sourceProperties + "},"
+                + "{\"id\": \"" + FUNCTION + "\", \"type\": \"FunctionNode\", \"properties\": {\"expression\": \"payload\"}},"
+                + "{\"id\": \"" + SINK + "\", \"type\": \"LatencySinkNode\"}],"
+                + "\"wires\": [{\"from\": \"" + SOURCE + "\", \"to\": \"" + FUNCTION + "\", \"capacity\": 64},"
+                + "{\"from\": \"" + FUNCTION + "\", \"to\": \"" + SINK + "\", \"capacity\": 64}]}";
+    }
+
+    @Test
+    void testFixedRateFlowDeliversEveryMessage() {
+        LoadReport report = SoakRunner.run(flow("{\"mode\": \"fixed\", \"rate\": 2000}"), Duration.ofMillis(500), 2);
+
+        assertTrue(report.getSent() > 0);
+        // 정리하며 중지하므로 보낸 메시지는 모두 싱크에 도착함
+        assertEquals(report.getSent(), report.getReceived());
+        assertEquals(0, report.getDropped());
+        assertEquals(report.getReceived(), report.getLatency().getTotalCount());
+        long p50 = report.getLatency().percentile(50);
+        long p99 = report.getLatency().percentile(99);
+        assertTrue(p50 > 0 && p50 <= p99 && p99 <= report.getLatency().percentile(99.9));
+        assertTrue(report.toString().contains("p999="));
+    }
+
+    @Test
+    void testBurstExceedingPipeCapacityIsThrottledNotDropped() {
+        // 파이프 용량보다 큰 묶음도 배압으로 기다렸다가 보내므로 잃지 않고, 기다린 시간은 지연 시간에 남음
+        LoadReport report = SoakRunner.run(
+                flow("{\"mode\": \"burst\", \"burstSize\": 500, \"intervalMillis\": 100}"), Duration.ofMillis(350), 1);
+
+        assertTrue(report.getSent() >= 500);
+        assertEquals(0, report.getDropped());
+        assertTrue(report.getLatency().getMax() > report.getLatency().getMin());
+    }
+
+    @Test
+    void testFlowWithoutSinkIsRejected() {
+        String json = "{\"nodes\": [{\"id\": \"" + SOURCE + "\", \"type\": \"LoadSourceNode\"}], \"wires\": []}";
+
+        assertThrows(IllegalArgumentException.class, () -> SoakRunner.run(json, Duration.ofMillis(10), 1));
+    }
+}
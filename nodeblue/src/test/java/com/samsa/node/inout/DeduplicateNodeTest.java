@@ -0,0 +1,110 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeduplicateNodeTest {
+
+    @Mock
+    private InPort inPort;
+
+    @Mock
+    private OutPort outPort;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doNothing().when(outPort).propagate(any(Message.class));
+    }
+
+    @Test
+    void testConstructorWithInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DeduplicateNode(inPort, outPort, DeduplicateNode.Mode.EXACT, null, 0, Duration.ZERO));
+    }
+
+    @Test
+    void testConstructorWithNullMode() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DeduplicateNode(inPort, outPort, null, null, 10, Duration.ZERO));
+    }
+
+    @Test
+    void testExactModeDropsDuplicateId() {
+        DeduplicateNode node = new DeduplicateNode(inPort, outPort);
+        UUID id = UUID.randomUUID();
+
+        node.onMessage(new Message(id, "first", Map.of()));
+        node.onMessage(new Message(id, "retry", Map.of()));
+        node.onMessage(new Message("other"));
+
+        // 같은 ID의 재전송은 한 번만 전파되는지 검증
+        verify(outPort, times(2)).propagate(any(Message.class));
+        assertEquals(1, node.getHitCount());
+        assertEquals(2, node.getMissCount());
+    }
+
+    @Test
+    void testExactModeEvictsLeastRecentlyUsedKey() {
+        DeduplicateNode node = new DeduplicateNode(inPort, outPort, DeduplicateNode.Mode.EXACT, "device", 2,
+                Duration.ZERO);
+
+        node.onMessage(new Message(1, Map.of("device", "a")));
+        node.onMessage(new Message(2, Map.of("device", "b")));
+        node.onMessage(new Message(3, Map.of("device", "a")));
+        node.onMessage(new Message(4, Map.of("device", "c")));
+        node.onMessage(new Message(5, Map.of("device", "b")));
+
+        // 용량 2를 넘으면 가장 오래 사용되지 않은 "b"가 밀려나 다시 전파되는지 검증
+        assertEquals(1, node.getHitCount());
+        assertEquals(4, node.getMissCount());
+    }
+
+    @Test
+    void testMessageWithoutKeyMetadataPassesThrough() {
+        DeduplicateNode node = new DeduplicateNode(inPort, outPort, DeduplicateNode.Mode.EXACT, "device", 10,
+                Duration.ZERO);
+
+        node.onMessage(new Message("first"));
+        node.onMessage(new Message("second"));
+
+        verify(outPort, times(2)).propagate(any(Message.class));
+        assertEquals(2, node.getUnkeyedCount());
+    }
+
+    @Test
+    void testApproximateModeDropsDuplicateKey() {
+        DeduplicateNode node = new DeduplicateNode(inPort, outPort, DeduplicateNode.Mode.APPROXIMATE, "seq",
+                1_000, Duration.ofMinutes(5));
+
+        for (int i = 0; i < 100; i++) {
+            node.onMessage(new Message(i, Map.of("seq", i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            node.onMessage(new Message(i, Map.of("seq", i)));
+        }
+
+        assertEquals(100, node.getHitCount());
+        assertEquals(100, node.getMissCount());
+    }
+
+    @Test
+    void testOnMessageWithNullMessage() {
+        DeduplicateNode node = new DeduplicateNode(inPort, outPort);
+
+        assertThrows(NullPointerException.class, () -> node.onMessage(null));
+    }
+}
@@ -0,0 +1,228 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownsampleNodeTest {
+
+    private Pipe output;
+    private InPort inPort;
+    private OutPort outPort;
+
+    @BeforeEach
+    void setUp() {
+        output = new Pipe(4096);
+        inPort = new InPort();
+        inPort.addPipe(new Pipe(16));
+        outPort = new OutPort();
+        outPort.addPipe(output);
+    }
+
+    private static Message reading(String device, long timestamp, Object value) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("device", device);
+        metadata.put("timestamp", timestamp);
+        return new Message(value, metadata);
+    }
+
+    private List<Message> drain() {
+        List<Message> messages = new ArrayList<>();
+        Message message;
+        while ((message = output.poll()) != null) {
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    @Test
+    void testEveryNthPerKey() {
+        DownsampleNode node = new DownsampleNode(inPort, outPort, DownsampleNode.Mode.EVERY_NTH, 3, null, "device",
+                "timestamp", DownsampleNode.DEFAULT_MAX_WINDOW_POINTS);
+
+        for (int i = 0; i < 7; i++) {
+            node.onMessage(reading("a", i, "a" + i));
+            node.onMessage(reading("b", i, "b" + i));
+        }
+
+        // 키마다 0, 3, 6번째 메시지가 원래 페이로드 그대로 전달되는지 검증
+        List<Object> payloads = drain().stream().map(Message::getPayload).toList();
+        assertEquals(List.of("a0", "b0", "a3", "b3", "a6", "b6"), payloads);
+        assertEquals(14, node.getInputCount());
+        assertEquals(6, node.getOutputCount());
+    }
+
+    @Test
+    void testTimeBucketAverage() {
+        DownsampleNode node = new DownsampleNode(inPort, outPort, DownsampleNode.Mode.TIME_BUCKET_AVERAGE, 0,
+                Duration.ofSeconds(1));
+
+        node.onMessage(reading("a", 1_000, 1));
+        node.onMessage(reading("a", 1_500, 2.5));
+        node.onMessage(reading("a", 1_999, 3L));
+        assertTrue(drain().isEmpty());
+
+        // 다음 구간의 값이 들어오면 이전 구간의 평균이 구간 시작 시각으로 전달됨
+        node.onMessage(reading("a", 2_200, 10));
+        List<Message> averages = drain();
+        assertEquals(1, averages.size());
+        assertEquals(6.5 / 3, (double) averages.get(0).getPayload(), 1e-9);
+        assertEquals(1_000L, averages.get(0).getMetadata("timestamp"));
+        assertEquals(3L, averages.get(0).getMetadata(DownsampleNode.COUNT));
+
+        // 중지하면 진행 중인 구간도 전달됨
+        node.stop();
+        List<Message> last = drain();
+        assertEquals(1, last.size());
+        assertEquals(10.0, last.get(0).getPayload());
+        assertEquals(2_000L, last.get(0).getMetadata("timestamp"));
+    }
+
+    @Test
+    void testReservoirKeepsFixedSamplePerKey() {
+        DownsampleNode node = new DownsampleNode(inPort, outPort, DownsampleNode.Mode.RESERVOIR, 5,
+                Duration.ofSeconds(10), "device", "timestamp", DownsampleNode.DEFAULT_MAX_WINDOW_POINTS);
+
+        for (int i = 0; i < 1000; i++) {
+            node.onMessage(reading("a", i, i));
+            node.onMessage(reading("b", i, -i));
+        }
+        node.stop();
+
+        List<Message> samples = drain();
+        assertEquals(10, samples.size());
+        for (String device : List.of("a", "b")) {
+            List<Message> perKey = samples.stream().filter(m -> device.equals(m.getMetadata("device"))).toList();
+            assertEquals(5, perKey.size());
+            long previous = Long.MIN_VALUE;
+            for (Message sample : perKey) {
+                // 표본은 시각 순서로 전달되고 값은 같은 시각의 원래 값과 같음
+                long timestamp = (long) sample.getMetadata("timestamp");
+                assertTrue(timestamp > previous);
+                previous = timestamp;
+                double value = (double) sample.getPayload();
+                assertEquals(device.equals("a") ? timestamp : -timestamp, value, 0);
+            }
+        }
+    }
+
+    @Test
+    void testLttbKeepsPeaks() {
+        DownsampleNode node = new DownsampleNode(inPort, outPort, DownsampleNode.Mode.LTTB, 10,
+                Duration.ofSeconds(10));
+
+        // 평평한 신호에 봉우리 하나와 골짜기 하나
+        for (int i = 0; i < 1000; i++) {
+            double value = i == 300 ? 100 : i == 700 ? -100 : 0;
+            node.onMessage(new Message(value, Map.of("timestamp", (long) i)));
+        }
+        node.stop();
+
+        List<Message> points = drain();
+        assertEquals(10, points.size());
+        assertEquals(0L, points.get(0).getMetadata("timestamp"));
+        assertEquals(999L, points.get(9).getMetadata("timestamp"));
+        List<Object> values = points.stream().map(Message::getPayload).toList();
+        assertTrue(values.contains(100.0));
+        assertTrue(values.contains(-100.0));
+    }
+
+    @Test
+    void testLttbFlushesWhenWindowBufferIsFull() {
+        DownsampleNode node = new DownsampleNode(inPort, outPort, DownsampleNode.Mode.LTTB, 4,
+                Duration.ofHours(1), null, "timestamp", 100);
+
+        for (int i = 0; i < 250; i++) {
+            node.onMessage(new Message((double) i, Map.of("timestamp", (long) i)));
+        }
+
+        // 구간이 끝나기 전이라도 버퍼가 가득 찰 때마다 줄여서 전달됨
+        assertEquals(8, drain().size());
+        node.stop();
+        assertEquals(4, drain().size());
+    }
+
+    @Test
+    void testLttbSortsLatePoints() {
+        DownsampleNode node = new DownsampleNode(inPort, outPort, DownsampleNode.Mode.LTTB, 3,
+                Duration.ofSeconds(10));
+
+        // 늦게 도착한 첫 점과 마지막 점보다 앞선 점이 섞여 들어옴
+        long[] order = {5, 2, 9, 0, 7, 3, 1, 8, 4, 6};
+        for (long timestamp : order) {
+            node.onMessage(new Message(timestamp == 4 ? 50.0 : 0.0, Map.of("timestamp", timestamp)));
+        }
+        node.stop();
+
+        // 시각 순서로 정렬한 뒤 고르므로 양 끝은 가장 이른 점과 가장 늦은 점이고 봉우리가 남음
+        List<Object> timestamps = drain().stream().map(m -> m.getMetadata("timestamp")).toList();
+        assertEquals(List.of(0L, 4L, 9L), timestamps);
+    }
+
+    @Test
+    void testLttbBufferGrowsWithWindow() {
+        DownsampleNode node = new DownsampleNode(inPort, outPort, DownsampleNode.Mode.LTTB, 10,
+                Duration.ofSeconds(10), "device", "timestamp", DownsampleNode.DEFAULT_MAX_WINDOW_POINTS);
+
+        node.onMessage(reading("a", 0, 1));
+        // 키를 만들 때 최대 크기를 미리 잡지 않음
+        assertTrue(node.getWindowCapacity("a") < DownsampleNode.DEFAULT_MAX_WINDOW_POINTS);
+
+        for (int i = 1; i < 1000; i++) {
+            node.onMessage(reading("a", i, i));
+        }
+        int capacity = node.getWindowCapacity("a");
+        assertTrue(capacity >= 1000 && capacity <= DownsampleNode.DEFAULT_MAX_WINDOW_POINTS);
+        node.stop();
+        assertEquals(10, drain().size());
+    }
+
+    @Test
+    void testLttbSelection() {
+        long[] times = {0, 1, 2, 3, 4, 5, 6};
+        double[] values = {0, 0, 5, 0, 0, -5, 0};
+
+        assertEquals(List.of(0, 2, 5, 6), Arrays.stream(DownsampleNode.lttb(times, values, 7, 4)).boxed().toList());
+        assertEquals(List.of(0, 1, 2), Arrays.stream(DownsampleNode.lttb(times, values, 3, 4)).boxed().toList());
+    }
+
+    @Test
+    void testNonNumericPayloadIsRejected() {
+        DownsampleNode node = new DownsampleNode(inPort, outPort, DownsampleNode.Mode.TIME_BUCKET_AVERAGE, 0,
+                Duration.ofSeconds(1));
+
+        node.onMessage(reading("a", 0, "text"));
+        node.onMessage(reading("a", 100, 4));
+        node.stop();
+
+        List<Message> averages = drain();
+        assertEquals(1, averages.size());
+        assertEquals(4.0, averages.get(0).getPayload());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DownsampleNode(inPort, outPort, null, 1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DownsampleNode(inPort, outPort, DownsampleNode.Mode.EVERY_NTH, 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DownsampleNode(inPort, outPort, DownsampleNode.Mode.TIME_BUCKET_AVERAGE, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DownsampleNode(inPort, outPort, DownsampleNode.Mode.LTTB, 2, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new DownsampleNode(inPort, outPort,
+                DownsampleNode.Mode.LTTB, 10, Duration.ofSeconds(1), null, "timestamp", 5));
+    }
+}
@@ -0,0 +1,75 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FunctionNodeTest {
+
+    private Pipe input;
+    private Pipe output;
+    private InPort inPort;
+    private OutPort outPort;
+
+    @BeforeEach
+    void setUp() {
+        input = new Pipe(16);
+        output = new Pipe(16);
+        inPort = new InPort();
+        inPort.addPipe(input);
+        outPort = new OutPort();
+        outPort.addPipe(output);
+    }
+
+    @Test
+    void testResultBecomesPayload() {
+        FunctionNode node = new FunctionNode(inPort, outPort, "{celsius: payload.f - 32, unit: metadata.unit}");
+        input.offer(new Message(Map.of("f", 100), Map.of("unit", "C")));
+
+        node.processNext();
+
+        Message result = output.poll();
+        assertEquals(Map.of("celsius", 68L, "unit", "C"), result.getPayload());
+        // 입력 메시지의 메타데이터가 이어짐
+        assertEquals("C", result.getMetadata("unit"));
+    }
+
+    @Test
+    void testResultStoredInTargetMetadata() {
+        FunctionNode node = new FunctionNode(inPort, outPort, "payload.level > 3", "alert");
+        input.offer(new Message(Map.of("level", 5)));
+
+        node.processNext();
+
+        Message result = output.poll();
+        assertEquals(Map.of("level", 5), result.getPayload());
+        assertEquals(true, result.getMetadata("alert"));
+    }
+
+    @Test
+    void testNullResultDropsMessage() {
+        FunctionNode node = new FunctionNode(inPort, outPort, "payload.temp > 30 ? payload : null");
+        input.offer(new Message(Map.of("temp", 25)));
+        input.offer(new Message(Map.of("temp", 35)));
+
+        node.processNext();
+        node.processNext();
+
+        assertEquals(1, output.size());
+        assertEquals(Map.of("temp", 35), output.poll().getPayload());
+        assertEquals(1, node.getDroppedCount());
+    }
+
+    @Test
+    void testInvalidExpressionFailsAtConstruction() {
+        assertThrows(IllegalArgumentException.class, () -> new FunctionNode(inPort, outPort, "payload.("));
+        assertThrows(IllegalArgumentException.class, () -> new FunctionNode(inPort, outPort, null));
+    }
+}
@@ -0,0 +1,182 @@
+package com.samsa.node.inout;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsa.core.InPort;
+import com.samsa.core.LazyPayload;
+import com.samsa.core.Message;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonParseNodeTest {
+
+    private Pipe input;
+    private Pipe output;
+    private InPort inPort;
+    private OutPort outPort;
+
+    @BeforeEach
+    void setUp() {
+        input = new Pipe(16);
+        output = new Pipe(16);
+        inPort = new InPort();
+        inPort.addPipe(input);
+        outPort = new OutPort();
+        outPort.addPipe(output);
+    }
+
+    @Test
+    void testParsesStringPayload() {
+        JsonParseNode node = new JsonParseNode(inPort, outPort);
+        input.offer(new Message("{\"temp\":21.5,\"tags\":[\"a\",\"b\"]}", Map.of("source", "mqtt")));
+
+        node.processNext();
+
+        Message result = output.poll();
+        assertEquals(Map.of("temp", 21.5, "tags", List.of("a", "b")), result.getPayload());
+        assertEquals("mqtt", result.getMetadata("source"));
+    }
+
+    @Test
+    void testParsesByteInputWithoutMovingBuffer() {
+        JsonParseNode node = new JsonParseNode(inPort, outPort);
+        byte[] bytes = "xx[1,2,3]".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.position(2);
+        ByteBuffer direct = ByteBuffer.allocateDirect(7).put("{\"a\":1}".getBytes(StandardCharsets.UTF_8)).flip();
+        input.offer(new Message(buffer));
+        input.offer(new Message(direct));
+        input.offer(new Message("true".getBytes(StandardCharsets.UTF_8)));
+
+        node.processNext();
+        node.processNext();
+        node.processNext();
+
+        assertEquals(List.of(1, 2, 3), output.poll().getPayload());
+        assertEquals(2, buffer.position());
+        assertEquals(Map.of("a", 1), output.poll().getPayload());
+        assertEquals(0, direct.position());
+        assertEquals(true, output.poll().getPayload());
+    }
+
+    @Test
+    void testNdjsonEmitsEachRecordWithIndex() {
+        JsonParseNode node = new JsonParseNode(inPort, outPort, true, null);
+        input.offer(new Message("{\"n\":1}\n{\"n\":2}\nnull\n{\"n\":3}\n"));
+
+        node.processNext();
+
+        // null 값은 건너뛰지만 순번은 유지됨
+        assertEquals(3, output.size());
+        assertEquals(Map.of("n", 1), output.poll().getPayload());
+        Message second = output.poll();
+        assertEquals(Map.of("n", 2), second.getPayload());
+        assertEquals(1, second.getMetadata(JsonParseNode.INDEX));
+        assertEquals(3, output.poll().getMetadata(JsonParseNode.INDEX));
+        assertEquals(3, node.getParsedCount());
+    }
+
+    @Test
+    void testNdjsonLargerThanOutputResumesAcrossSteps() {
+        JsonParseNode node = new JsonParseNode(inPort, outPort, true, null);
+        StringBuilder batch = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            batch.append("{\"n\":").append(i).append("}\n");
+        }
+        input.offer(new Message(batch.toString()));
+        input.offer(new Message("{\"n\":40}"));
+
+        // 출력 파이프가 차면 남은 값을 버리지 않고 다음 차례로 넘기며, 다음 입력은 묶음이 끝난 뒤에 읽음
+        assertTrue(node.processNext());
+        assertTrue(output.isFull());
+        assertEquals(1, input.size());
+
+        List<Object> values = new ArrayList<>();
+        List<Object> indexes = new ArrayList<>();
+        while (node.processNext() || !output.isEmpty()) {
+            Message message;
+            while ((message = output.poll()) != null) {
+                values.add(((Map<?, ?>) message.getPayload()).get("n"));
+                indexes.add(message.getMetadata(JsonParseNode.INDEX));
+            }
+        }
+
+        assertEquals(41, values.size());
+        for (int i = 0; i < 41; i++) {
+            assertEquals(i, values.get(i));
+        }
+        assertEquals(39, indexes.get(39));
+        assertEquals(0, indexes.get(40));
+        assertEquals(41, node.getParsedCount());
+    }
+
+    @Test
+    void testProjectionKeepsOnlySelectedFields() throws Exception {
+        JsonParseNode node = new JsonParseNode(inPort, outPort, true, Set.of("id", "value"));
+        input.offer(new Message("{\"id\":1,\"blob\":{\"deep\":[1,2,{\"x\":3}]},\"value\":9}\n{\"value\":4,\"other\":\"s\"}"));
+        input.offer(new Message(new ObjectMapper().readTree("{\"id\":7,\"skip\":true}")));
+
+        node.processNext();
+        node.processNext();
+
+        assertEquals(Map.of("id", 1, "value", 9), output.poll().getPayload());
+        assertEquals(Map.of("value", 4), output.poll().getPayload());
+        assertEquals(Map.of("id", 7), output.poll().getPayload());
+    }
+
+    @Test
+    void testMalformedJsonIsReportedAndEarlierRecordsKept() {
+        JsonParseNode node = new JsonParseNode(inPort, outPort, true, null);
+        input.offer(new Message("{\"n\":1}\n{\"n\":"));
+
+        node.processNext();
+
+        assertEquals(1, output.size());
+        assertEquals(NodeStatus.ERROR, node.getStatus());
+    }
+
+    @Test
+    void testLazyModeDefersParsing() {
+        JsonParseNode node = new JsonParseNode(inPort, outPort, false, null, true);
+        input.offer(new Message("{\"id\":1,\"value\":9}"));
+        input.offer(new Message("{\"id\":2}".getBytes(StandardCharsets.UTF_8)));
+
+        node.processNext();
+        node.processNext();
+
+        Message first = output.poll();
+        assertTrue(first.getRawPayload() instanceof LazyPayload);
+        LazyPayload payload = (LazyPayload) first.getRawPayload();
+        assertEquals(1, first.getPayloadField("id"));
+        assertFalse(payload.isDecoded());
+        assertEquals(Map.of("id", 1, "value", 9), first.getPayload());
+        assertEquals(Map.of("id", 2), output.poll().getPayload());
+        assertEquals(2, node.getParsedCount());
+    }
+
+    @Test
+    void testLazyModeRejectsNdjsonAndFields() {
+        assertThrows(IllegalArgumentException.class, () -> new JsonParseNode(inPort, outPort, true, null, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> new JsonParseNode(inPort, outPort, false, Set.of("id"), true));
+    }
+
+    @Test
+    void testRejectsUnsupportedPayload() {
+        JsonParseNode node = new JsonParseNode(inPort, outPort);
+        input.offer(new Message(42));
+
+        assertThrows(IllegalArgumentException.class, node::processNext);
+    }
+}
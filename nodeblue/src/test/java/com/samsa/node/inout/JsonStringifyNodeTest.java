@@ -0,0 +1,95 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStringifyNodeTest {
+
+    private Pipe input;
+    private Pipe output;
+    private InPort inPort;
+    private OutPort outPort;
+
+    @BeforeEach
+    void setUp() {
+        input = new Pipe(16);
+        output = new Pipe(16);
+        inPort = new InPort();
+        inPort.addPipe(input);
+        outPort = new OutPort();
+        outPort.addPipe(output);
+    }
+
+    @Test
+    void testWritesJsonString() {
+        JsonStringifyNode node = new JsonStringifyNode(inPort, outPort);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("temp", 21.5);
+        payload.put("tags", List.of("a"));
+        input.offer(new Message(payload, Map.of("source", "file")));
+        input.offer(new Message("text"));
+
+        node.processNext();
+        node.processNext();
+
+        Message result = output.poll();
+        assertEquals("{\"temp\":21.5,\"tags\":[\"a\"]}", result.getPayload());
+        assertEquals("file", result.getMetadata("source"));
+        assertEquals("\"text\"", output.poll().getPayload());
+    }
+
+    @Test
+    void testWritesBytes() {
+        JsonStringifyNode node = new JsonStringifyNode(inPort, outPort, JsonStringifyNode.Output.BYTES, false);
+        input.offer(new Message(Map.of("k", "값")));
+
+        node.processNext();
+
+        byte[] bytes = (byte[]) output.poll().getPayload();
+        assertEquals("{\"k\":\"값\"}", new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testNdjsonWritesOneRecordPerLine() {
+        JsonStringifyNode node = new JsonStringifyNode(inPort, outPort, JsonStringifyNode.Output.STRING, true);
+        input.offer(new Message(List.of(Map.of("n", 1), Map.of("n", 2))));
+
+        node.processNext();
+
+        assertEquals("{\"n\":1}\n{\"n\":2}\n", output.poll().getPayload());
+    }
+
+    @Test
+    void testRoundTripWithParseNode() {
+        Pipe middle = new Pipe(16);
+        OutPort toMiddle = new OutPort();
+        toMiddle.addPipe(middle);
+        InPort fromMiddle = new InPort();
+        fromMiddle.addPipe(middle);
+        JsonStringifyNode stringify = new JsonStringifyNode(inPort, toMiddle, JsonStringifyNode.Output.BYTES, true);
+        JsonParseNode parse = new JsonParseNode(fromMiddle, outPort, true, null);
+        input.offer(new Message(List.of(Map.of("n", 1), Map.of("n", 2))));
+
+        stringify.processNext();
+        parse.processNext();
+
+        assertEquals(Map.of("n", 1), output.poll().getPayload());
+        assertEquals(Map.of("n", 2), output.poll().getPayload());
+    }
+
+    @Test
+    void testRejectsNullOutput() {
+        assertThrows(IllegalArgumentException.class, () -> new JsonStringifyNode(inPort, outPort, null, false));
+    }
+}
@@ -0,0 +1,72 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderedJoinNodeTest {
+
+    @Mock
+    private InPort inPort;
+
+    @Mock
+    private OutPort outPort;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doNothing().when(outPort).propagate(any(Message.class));
+    }
+
+    private static Message chunk(String splitId, int sequence, int count) {
+        return new Message("chunk-" + sequence, Map.of(SplitFileNode.SPLIT_ID, splitId,
+                SplitFileNode.SEQUENCE, sequence, SplitFileNode.COUNT, count));
+    }
+
+    @Test
+    void testRestoresOriginalOrder() {
+        OrderedJoinNode node = new OrderedJoinNode(inPort, outPort);
+
+        node.onMessage(chunk("a", 2, 3));
+        node.onMessage(chunk("a", 0, 3));
+        assertEquals(1, node.getWaitingCount());
+        node.onMessage(chunk("a", 1, 3));
+
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(outPort, times(3)).propagate(captor.capture());
+        List<Object> payloads = captor.getAllValues().stream().map(Message::getPayload).collect(Collectors.toList());
+        assertEquals(List.of("chunk-0", "chunk-1", "chunk-2"), payloads);
+        assertEquals(0, node.getWaitingCount());
+    }
+
+    @Test
+    void testUnorderedModePassesThrough() {
+        OrderedJoinNode node = new OrderedJoinNode(inPort, outPort, false);
+
+        node.onMessage(chunk("a", 1, 2));
+
+        verify(outPort, times(1)).propagate(any(Message.class));
+    }
+
+    @Test
+    void testMessageWithoutSequencePassesThrough() {
+        OrderedJoinNode node = new OrderedJoinNode(inPort, outPort);
+
+        node.onMessage(new Message("plain"));
+
+        verify(outPort, times(1)).propagate(any(Message.class));
+    }
+}
@@ -0,0 +1,127 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.pipeline.scheduler.NodeScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ParallelTransformNodeTest {
+
+    @Mock
+    private InPort inPort;
+
+    @Mock
+    private OutPort outPort;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doNothing().when(outPort).propagate(any(Message.class));
+    }
+
+    @Test
+    void testConstructorWithNullTransform() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelTransformNode(inPort, outPort, null));
+    }
+
+    @Test
+    void testConstructorWithInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelTransformNode(inPort, outPort, message -> message, 0));
+    }
+
+    @Test
+    void testTransformKeepsInputMetadata() {
+        ParallelTransformNode node = new ParallelTransformNode(inPort, outPort,
+                message -> new Message(String.valueOf(message.getPayload()).toUpperCase()), 4);
+
+        for (int i = 0; i < 20; i++) {
+            node.onMessage(new Message("item-" + i, Map.of(SplitFileNode.SEQUENCE, i)));
+        }
+        // stop은 진행 중인 변환이 끝날 때까지 기다림
+        node.stop();
+
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(outPort, times(20)).propagate(captor.capture());
+        Set<String> payloads = captor.getAllValues().stream()
+                .map(message -> message.getMetadata(SplitFileNode.SEQUENCE) + ":" + message.getPayload())
+                .collect(Collectors.toSet());
+        assertTrue(payloads.contains("0:ITEM-0"));
+        assertTrue(payloads.contains("19:ITEM-19"));
+    }
+
+    @Test
+    void testFailedTransformEmitsErrorMessage() {
+        ParallelTransformNode node = new ParallelTransformNode(inPort, outPort, message -> {
+            throw new IllegalStateException("boom");
+        }, 1);
+
+        node.onMessage(new Message("item", Map.of(SplitFileNode.SEQUENCE, 0)));
+        node.stop();
+
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(outPort).propagate(captor.capture());
+        assertEquals(IllegalStateException.class.getName(),
+                captor.getValue().getMetadata(ParallelTransformNode.ERROR));
+        assertEquals(0, captor.getValue().getMetadata(SplitFileNode.SEQUENCE));
+    }
+
+    @Test
+    void testSmallOutputPipeDropsNothing() throws Exception {
+        int count = 500;
+        Pipe input = new Pipe(count);
+        Pipe output = new Pipe(4);
+        ParallelTransformNode node = new ParallelTransformNode(new InPort(), new OutPort(),
+                message -> new Message(message.getPayload()), 4);
+        node.getInPort().addPipe(input);
+        node.getOutPort().addPipe(output);
+
+        List<Object> received = new CopyOnWriteArrayList<>();
+        InNode sink = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                received.add(message.getPayload());
+            }
+        };
+        sink.getInPort().addPipe(output);
+
+        for (int i = 0; i < count; i++) {
+            input.offer(new Message(i));
+        }
+        // 워커가 하나뿐이므로 변환 노드가 워커를 붙잡으면 싱크가 출력을 비우지 못함
+        try (NodeScheduler scheduler = new NodeScheduler(1)) {
+            scheduler.register(node);
+            scheduler.register(sink);
+            scheduler.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (received.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+        node.stop();
+
+        // 출력 파이프가 작아도 결과가 버려지지 않음
+        assertEquals(count, received.size());
+        assertEquals(count, received.stream().collect(Collectors.toSet()).size());
+    }
+}
@@ -0,0 +1,168 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReadDirectoryNodeTest {
+
+    @Mock
+    private InPort inPort;
+
+    @Mock
+    private OutPort outPort;
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        doNothing().when(outPort).propagate(any(Message.class));
+        when(outPort.canAcceptAll()).thenReturn(true);
+
+        // 임시 디렉터리와 파일 생성
+        tempDir = Files.createTempDirectory("batch");
+        Files.writeString(tempDir.resolve("a.csv"), "a1\na2\n", StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("b.csv"), "b1\r\nb2", StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("c.csv"), "c1", StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("ignored.txt"), "x", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testConstructorWithEmptyGlob() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReadDirectoryNode(inPort, outPort, tempDir.toString(), ""));
+    }
+
+    @Test
+    void testConstructorWithMoveWithoutTarget() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReadDirectoryNode(inPort, outPort, tempDir.toString(), "*.csv", StandardCharsets.UTF_8,
+                        1, ReadDirectoryNode.CompletionAction.MOVE, null));
+    }
+
+    @Test
+    void testOnMessageEmitsLinesWithFileBoundaries() {
+        ReadDirectoryNode node = new ReadDirectoryNode(inPort, outPort, tempDir.toString(), "*.csv");
+
+        node.onMessage(new Message("Trigger"));
+
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(outPort, times(5)).propagate(captor.capture());
+        List<Message> messages = captor.getAllValues();
+
+        List<Object> payloads = messages.stream().map(Message::getPayload).collect(Collectors.toList());
+        assertEquals(List.of("a1", "a2", "b1", "b2", "c1"), payloads);
+
+        // 파일 경계 메타데이터 검증
+        assertEquals(false, messages.get(0).getMetadata(ReadDirectoryNode.LAST_LINE));
+        assertEquals(true, messages.get(1).getMetadata(ReadDirectoryNode.LAST_LINE));
+        assertEquals(1, messages.get(2).getMetadata(ReadDirectoryNode.FILE_INDEX));
+        assertEquals(2L, messages.get(3).getMetadata(ReadDirectoryNode.LINE_NUMBER));
+        assertEquals(tempDir.resolve("c.csv").toString(), messages.get(4).getMetadata(ReadDirectoryNode.FILE_PATH));
+    }
+
+    @Test
+    void testDeleteAfterProcessing() {
+        ReadDirectoryNode node = new ReadDirectoryNode(inPort, outPort, tempDir.toString(), "*.csv",
+                StandardCharsets.UTF_8, 0, ReadDirectoryNode.CompletionAction.DELETE, null);
+
+        node.onMessage(new Message("Trigger"));
+
+        assertFalse(Files.exists(tempDir.resolve("a.csv")));
+        assertTrue(Files.exists(tempDir.resolve("ignored.txt")));
+    }
+
+    @Test
+    void testMoveAfterProcessing() {
+        Path done = tempDir.resolve("done");
+        ReadDirectoryNode node = new ReadDirectoryNode(inPort, outPort, tempDir.toString(), "*.csv",
+                StandardCharsets.UTF_8, 2, ReadDirectoryNode.CompletionAction.MOVE, done.toString());
+
+        node.onMessage(new Message("Trigger"));
+
+        assertFalse(Files.exists(tempDir.resolve("b.csv")));
+        assertTrue(Files.exists(done.resolve("b.csv")));
+    }
+
+    @Test
+    void testOnMessageWithNonExistentDirectory() {
+        ReadDirectoryNode node = new ReadDirectoryNode(inPort, outPort, "/non/existent/dir", "*.csv");
+
+        assertDoesNotThrow(() -> node.onMessage(new Message("Trigger")));
+        verify(outPort, never()).propagate(any(Message.class));
+    }
+
+    @Test
+    void testFullOutputYieldsBeforeDeletingFile() throws IOException {
+        Files.writeString(tempDir.resolve("d.csv"), "d1\nd2\nd3\nd4\nd5\nd6\n", StandardCharsets.UTF_8);
+        Pipe trigger = new Pipe(1);
+        Pipe output = new Pipe(2);
+        InPort triggerPort = new InPort();
+        triggerPort.addPipe(trigger);
+        OutPort smallPort = new OutPort();
+        smallPort.addPipe(output);
+        ReadDirectoryNode node = new ReadDirectoryNode(triggerPort, smallPort, tempDir.toString(), "*.csv",
+                StandardCharsets.UTF_8, 1, ReadDirectoryNode.CompletionAction.DELETE, null);
+
+        // 출력 파이프가 가득 차면 남은 라인을 버리지 않고 차례를 넘김
+        trigger.offer(new Message("Trigger"));
+        assertTrue(node.processNext());
+        assertEquals(2, output.size());
+        assertFalse(Files.exists(tempDir.resolve("a.csv")));
+        assertTrue(Files.exists(tempDir.resolve("b.csv")));
+
+        List<Object> payloads = new ArrayList<>();
+        do {
+            Message message;
+            while ((message = output.poll()) != null) {
+                payloads.add(message.getPayload());
+            }
+        } while (node.processNext());
+
+        // 모든 라인이 순서대로 전달되고, 모든 라인을 보낸 파일만 삭제됨
+        assertEquals(List.of("a1", "a2", "b1", "b2", "c1", "d1", "d2", "d3", "d4", "d5", "d6"), payloads);
+        assertFalse(Files.exists(tempDir.resolve("d.csv")));
+        assertTrue(Files.exists(tempDir.resolve("ignored.txt")));
+    }
+
+    @Test
+    void testStopKeepsPartiallySentFile() throws IOException {
+        Pipe trigger = new Pipe(1);
+        Pipe output = new Pipe(1);
+        InPort triggerPort = new InPort();
+        triggerPort.addPipe(trigger);
+        OutPort smallPort = new OutPort();
+        smallPort.addPipe(output);
+        ReadDirectoryNode node = new ReadDirectoryNode(triggerPort, smallPort, tempDir.toString(), "*.csv",
+                StandardCharsets.UTF_8, 0, ReadDirectoryNode.CompletionAction.DELETE, null);
+
+        trigger.offer(new Message("Trigger"));
+        assertTrue(node.processNext());
+        node.stop();
+
+        // 중지된 읽기는 이어지지 않고, 끝까지 보내지 못한 파일은 남아 있음
+        output.poll();
+        assertFalse(node.processNext());
+        assertTrue(output.isEmpty());
+        assertTrue(Files.exists(tempDir.resolve("a.csv")));
+    }
+}
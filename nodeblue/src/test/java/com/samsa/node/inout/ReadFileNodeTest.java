@@ -2,8 +2,13 @@ package com.samsa.node.inout;
 
 import com.samsa.core.InPort;
 import com.samsa.core.Message;
+import com.samsa.core.MessagePool;
 import com.samsa.core.Node;
+import com.samsa.core.InNode;
 import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.core.RateLimiter;
+import com.samsa.pipeline.scheduler.NodeScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -11,10 +16,16 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -91,4 +102,160 @@ class ReadFileNodeTest {
         // 출력 포트에 메시지가 전파되지 않았는지 검증
         verify(outPort, never()).propagate(any(Message.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRestoreResumesFromSnapshotPosition() {
+        readFileNode = new ReadFileNode(inPort, outPort, tempFile.toString());
+        doNothing().when(outPort).propagate(any(Message.class));
+
+        ReadFileNode checkpointed = new ReadFileNode(inPort, outPort, tempFile.toString());
+        checkpointed.restore(ByteBuffer.allocate(Long.BYTES).putLong(2).array());
+
+        // 복원된 위치(2번째 라인) 이후의 라인만 전송되는지 검증
+        readFileNode.restore(checkpointed.snapshot());
+        readFileNode.onMessage(new Message("Test"));
+        verify(outPort, times(1)).propagate(any(Message.class));
+
+        // 끝까지 읽은 뒤에는 보낸 라인 수와 완료 표시가 남는지 검증
+        ByteBuffer state = ByteBuffer.wrap(readFileNode.snapshot());
+        assertEquals(3L, state.getLong());
+        assertEquals(1, state.get());
+    }
+
+    @Test
+    void testRestoreFromCompletedReadDoesNotResend() {
+        doNothing().when(outPort).propagate(any(Message.class));
+        ReadFileNode finished = new ReadFileNode(inPort, outPort, tempFile.toString());
+        finished.onMessage(new Message("Test"));
+
+        // 끝까지 읽은 뒤의 상태로 복원하면 다음 읽기는 이미 보낸 라인을 다시 보내지 않음
+        ReadFileNode restored = new ReadFileNode(inPort, outPort, tempFile.toString());
+        restored.restore(finished.snapshot());
+        restored.onMessage(new Message("Test"));
+        verify(outPort, times(3)).propagate(any(Message.class));
+
+        // 그 뒤의 읽기는 처음부터 다시 읽음
+        restored.onMessage(new Message("Test"));
+        verify(outPort, times(6)).propagate(any(Message.class));
+    }
+
+    @Test
+    void testRestoreWithInvalidState() {
+        assertThrows(IllegalArgumentException.class, () -> readFileNode.restore(new byte[3]));
+    }
+
+    @Test
+    void testPooledLinesAreRecycled() {
+        MessagePool pool = new MessagePool(16, false);
+        readFileNode = new ReadFileNode(inPort, outPort, tempFile.toString(), StandardCharsets.UTF_8, pool);
+        doNothing().when(outPort).propagate(any(Message.class));
+
+        readFileNode.onMessage(new Message("Test"));
+
+        // 전송 직후 해제되므로 첫 라인의 메시지가 나머지 라인에 재사용되어야 함
+        verify(outPort, times(3)).propagate(any(Message.class));
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(2, pool.getReusedCount());
+    }
+
+    @Test
+    void testStopHaltsReadInProgress() throws Exception {
+        Path bigFile = Files.createTempFile("big", ".txt");
+        Files.write(bigFile, IntStream.range(0, 100_000).mapToObj(i -> "line " + i).toList());
+        AtomicInteger emitted = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        OutPort slowPort = new OutPort() {
+            @Override
+            public void propagate(Message message) {
+                emitted.incrementAndGet();
+                started.countDown();
+                LockSupport.parkNanos(10_000);
+            }
+        };
+        ReadFileNode reader = new ReadFileNode(new InPort(), slowPort, bigFile.toString());
+        Thread thread = new Thread(() -> reader.onMessage(new Message("Test")));
+        thread.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // 중지가 반환된 뒤에는 읽던 스레드가 더 보내지 않음
+        reader.stop();
+        int emittedAtStop = emitted.get();
+        thread.join(5_000);
+        assertFalse(thread.isAlive());
+        assertEquals(emittedAtStop, emitted.get());
+        assertTrue(emittedAtStop < 100_000);
+
+        // 멈춘 위치가 체크포인트 상태로 남음
+        assertEquals(emittedAtStop, ByteBuffer.wrap(reader.snapshot()).getLong());
+        Files.delete(bigFile);
+    }
+
+    @Test
+    void testRateLimitedReadYieldsAndResumes() {
+        Pipe trigger = new Pipe(1);
+        Pipe output = new Pipe(16);
+        InPort triggerPort = new InPort();
+        triggerPort.addPipe(trigger);
+        OutPort limitedPort = new OutPort();
+        limitedPort.addPipe(output);
+        limitedPort.setRateLimiter(new RateLimiter(1, 1));
+        ReadFileNode reader = new ReadFileNode(triggerPort, limitedPort, tempFile.toString());
+
+        // 첫 라인만 보내고 허가를 기다리지 않고 돌아옴
+        trigger.offer(new Message("Test"));
+        long startedAt = System.nanoTime();
+        assertTrue(reader.processNext());
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(1, output.size());
+        assertEquals(1L, ByteBuffer.wrap(reader.snapshot()).getLong());
+
+        // 허가가 나기 전에는 이어 읽어도 보내지 않지만 읽기는 남아 있음
+        assertTrue(reader.processNext());
+        assertEquals(1, output.size());
+
+        // 중지하면 남은 읽기를 버리고 입력을 다시 받음
+        reader.stop();
+        assertFalse(reader.processNext());
+        assertEquals(1, output.size());
+    }
+
+    @Test
+    void testRateLimitedReadDoesNotHoldSchedulerWorker() throws Exception {
+        Pipe trigger = new Pipe(1);
+        Pipe output = new Pipe(16);
+        InPort triggerPort = new InPort();
+        triggerPort.addPipe(trigger);
+        OutPort limitedPort = new OutPort();
+        limitedPort.addPipe(output);
+        limitedPort.setRateLimiter(new RateLimiter(10, 1));
+        ReadFileNode reader = new ReadFileNode(triggerPort, limitedPort, tempFile.toString());
+
+        AtomicInteger linesWhenPinged = new AtomicInteger(-1);
+        Pipe pingPipe = new Pipe(1);
+        InNode ping = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                linesWhenPinged.set(output.size());
+            }
+        };
+        ping.getInPort().addPipe(pingPipe);
+
+        try (NodeScheduler scheduler = new NodeScheduler(1)) {
+            scheduler.register(reader);
+            scheduler.register(ping);
+            scheduler.start();
+            trigger.offer(new Message("Test"));
+            Thread.sleep(20);
+            pingPipe.offer(new Message("ping"));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (output.size() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+
+        // 워커가 하나뿐이어도 속도 제한으로 읽기가 끝나기 전에 다른 노드가 차례를 받고, 라인은 모두 도착함
+        assertTrue(linesWhenPinged.get() >= 0 && linesWhenPinged.get() < 3, "lines " + linesWhenPinged.get());
+        assertEquals(3, output.size());
+    }
+}
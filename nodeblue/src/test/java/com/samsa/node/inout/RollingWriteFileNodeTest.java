@@ -0,0 +1,187 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RollingWriteFileNodeTest {
+
+    @Mock
+    private InPort inPort;
+
+    @Mock
+    private OutPort outPort;
+
+    private Path tempDir;
+    private RollingWriteFileNode node;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        doNothing().when(outPort).propagate(any(Message.class));
+
+        // 임시 디렉터리 생성
+        tempDir = Files.createTempDirectory("rolling");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (node != null) {
+            node.stop();
+        }
+    }
+
+    @Test
+    void testConstructorWithInvalidPattern() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "", 1024));
+    }
+
+    @Test
+    void testConstructorWithNegativeSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "data-{index}.log", -1));
+    }
+
+    @Test
+    void testOnMessageWritesAndEmits() throws IOException {
+        node = new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "data-{index}.log", 0);
+
+        node.onMessage(new Message("First Line"));
+        node.onMessage(new Message("Second Line"));
+        assertTrue(node.flush(Duration.ofSeconds(5)));
+
+        List<String> lines = Files.readAllLines(tempDir.resolve("data-0.log"), StandardCharsets.UTF_8);
+        assertEquals(List.of("First Line", "Second Line"), lines);
+        verify(outPort, times(2)).propagate(any(Message.class));
+    }
+
+    @Test
+    void testSizeRotationKeepsMaxFiles() throws IOException {
+        node = new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "data-{index}.log", 10,
+                Duration.ZERO, RollingWriteFileNode.Compression.NONE, 2, StandardCharsets.UTF_8, 16);
+
+        // 버퍼 크기(16바이트)를 넘길 때마다 기록되고, 10바이트를 넘은 파일은 교체됨
+        for (int i = 0; i < 10; i++) {
+            node.onMessage(new Message("line-" + i + "-0123456789"));
+            assertTrue(node.flush(Duration.ofSeconds(5)));
+        }
+        node.stop();
+
+        // 보관 개수 2개만 남는지 검증
+        List<String> names;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            names = files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+        assertEquals(List.of("data-8.log", "data-9.log"), names);
+        assertEquals(List.of("line-9-0123456789"), Files.readAllLines(tempDir.resolve("data-9.log")));
+    }
+
+    @Test
+    void testGzipCompression() throws IOException {
+        node = new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "data-{index}.log", 0,
+                Duration.ZERO, RollingWriteFileNode.Compression.GZIP, 0, StandardCharsets.UTF_8, 1024);
+
+        node.onMessage(new Message("Compressed Content"));
+        node.stop();
+
+        Path file = tempDir.resolve("data-0.log.gz");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            assertEquals("Compressed Content", reader.readLine());
+            assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    void testWriteFailureRecyclesBufferAndRotates() throws IOException {
+        node = new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "data-{index}.log", 1);
+
+        node.onMessage(new Message("first"));
+        assertTrue(node.flush(Duration.ofSeconds(5)));
+
+        // 디렉터리가 사라져 새 파일을 열지 못하는 동안의 기록은 실패함
+        try (Stream<Path> files = Files.list(tempDir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(tempDir);
+        node.onMessage(new Message("lost"));
+        // 실패한 버퍼도 돌려받으므로 flush가 끝남
+        assertTrue(node.flush(Duration.ofSeconds(5)));
+
+        // 디렉터리가 돌아오면 새 파일에 이어서 기록함
+        Files.createDirectories(tempDir);
+        node.onMessage(new Message("recovered"));
+        assertTrue(node.flush(Duration.ofSeconds(5)));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            List<Path> written = files.collect(Collectors.toList());
+            assertEquals(1, written.size());
+            assertEquals(List.of("recovered"), Files.readAllLines(written.get(0), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testOnMessageAfterStop() {
+        node = new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "data-{index}.log", 0);
+        node.stop();
+
+        assertThrows(IllegalStateException.class, () -> node.onMessage(new Message("Late")));
+    }
+
+    @Test
+    void testWriterRunsBetweenStartAndStop() throws IOException {
+        node = new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "data-{index}.log", 0);
+        String writerName = "rolling-writer-" + node.getId();
+
+        // 생성만 한 노드는 쓰기 스레드를 만들지 않음
+        assertFalse(isThreadAlive(writerName));
+
+        node.start();
+        assertTrue(isThreadAlive(writerName));
+        node.onMessage(new Message("first"));
+        node.stop();
+        assertFalse(isThreadAlive(writerName));
+
+        // 다시 시작한 노드는 메시지를 받아 새 파일에 기록함
+        node.restart();
+        node.onMessage(new Message("second"));
+        assertTrue(node.flush(Duration.ofSeconds(5)));
+        assertEquals(List.of("first"), Files.readAllLines(tempDir.resolve("data-0.log"), StandardCharsets.UTF_8));
+        assertEquals(List.of("second"), Files.readAllLines(tempDir.resolve("data-1.log"), StandardCharsets.UTF_8));
+    }
+
+    private static boolean isThreadAlive(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals(name) && thread.isAlive());
+    }
+
+    @Test
+    void testOnMessageWithNullMessage() {
+        node = new RollingWriteFileNode(inPort, outPort, tempDir.toString(), "data-{index}.log", 0);
+
+        assertThrows(NullPointerException.class, () -> node.onMessage(null));
+    }
+}
@@ -0,0 +1,125 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SplitFileNodeTest {
+
+    @Mock
+    private InPort inPort;
+
+    @Mock
+    private OutPort outPort;
+
+    private Path tempFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        doNothing().when(outPort).propagate(any(Message.class));
+        when(outPort.canAcceptAll()).thenReturn(true);
+
+        // 임시 파일 생성
+        tempFile = Files.createTempFile("split", ".csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("row-").append(i).append(",value\n");
+        }
+        Files.writeString(tempFile, content.toString(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testConstructorWithNullFilePath() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SplitFileNode(inPort, outPort, null));
+    }
+
+    @Test
+    void testConstructorWithInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SplitFileNode(inPort, outPort, tempFile.toString(), StandardCharsets.UTF_8, 0));
+    }
+
+    @Test
+    void testChunksAreAlignedToLines() throws IOException {
+        SplitFileNode node = new SplitFileNode(inPort, outPort, tempFile.toString(), StandardCharsets.UTF_8, 50);
+
+        node.onMessage(new Message("Trigger"));
+
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(outPort, atLeast(2)).propagate(captor.capture());
+
+        // 모든 구간을 순서대로 이어 붙이면 원본의 모든 라인이 빠짐없이 나오는지 검증
+        List<String> lines = new ArrayList<>();
+        List<Message> chunks = captor.getAllValues();
+        for (int i = 0; i < chunks.size(); i++) {
+            Message message = chunks.get(i);
+            FileChunk chunk = (FileChunk) message.getPayload();
+            assertEquals(i, message.getMetadata(SplitFileNode.SEQUENCE));
+            assertEquals(chunks.size(), message.getMetadata(SplitFileNode.COUNT));
+            lines.addAll(chunk.readLines());
+        }
+        assertEquals(Files.readAllLines(tempFile, StandardCharsets.UTF_8), lines);
+    }
+
+    @Test
+    void testChunksResumeWhenOutputIsFull() throws IOException {
+        Pipe input = new Pipe(4);
+        Pipe output = new Pipe(4);
+        InPort realInPort = new InPort();
+        realInPort.addPipe(input);
+        OutPort realOutPort = new OutPort();
+        realOutPort.addPipe(output);
+        SplitFileNode node = new SplitFileNode(realInPort, realOutPort, tempFile.toString(), StandardCharsets.UTF_8,
+                50);
+        input.offer(new Message("Trigger"));
+
+        // 출력 파이프가 차면 남은 구간을 버리지 않고 다음 차례로 넘김
+        assertTrue(node.processNext());
+        assertTrue(output.isFull());
+
+        List<Message> chunks = new ArrayList<>();
+        while (node.processNext() || !output.isEmpty()) {
+            Message message;
+            while ((message = output.poll()) != null) {
+                chunks.add(message);
+            }
+        }
+
+        // 구간이 빠짐없이 순서대로 나오는지 검증
+        assertTrue(chunks.size() > 4);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            assertEquals(i, chunks.get(i).getMetadata(SplitFileNode.SEQUENCE));
+            assertEquals(chunks.size(), chunks.get(i).getMetadata(SplitFileNode.COUNT));
+            lines.addAll(((FileChunk) chunks.get(i).getPayload()).readLines());
+        }
+        assertEquals(Files.readAllLines(tempFile, StandardCharsets.UTF_8), lines);
+    }
+
+    @Test
+    void testOnMessageWithNonExistentFile() {
+        SplitFileNode node = new SplitFileNode(inPort, outPort, "/non/existent/path.csv");
+
+        assertDoesNotThrow(() -> node.onMessage(new Message("Trigger")));
+        verify(outPort, never()).propagate(any(Message.class));
+    }
+}
@@ -0,0 +1,179 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamJoinNodeTest {
+
+    private Pipe input;
+    private Pipe output;
+    private InPort inPort;
+    private OutPort outPort;
+
+    @BeforeEach
+    void setUp() {
+        input = new Pipe(64);
+        output = new Pipe(64);
+        inPort = new InPort();
+        inPort.addPipe(input);
+        outPort = new OutPort();
+        outPort.addPipe(output);
+    }
+
+    private static Message message(String side, String device, Object payload) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(StreamJoinNode.SIDE, side);
+        metadata.put("device", device);
+        metadata.put(side + ".only", true);
+        return new Message(payload, metadata);
+    }
+
+    private void send(StreamJoinNode node, Message message) {
+        input.offer(message);
+        node.processNext();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> nextPayload() {
+        return (Map<String, Object>) output.poll().getPayload();
+    }
+
+    @Test
+    void testInnerJoinMatchesSameKeyWithinWindow() {
+        StreamJoinNode node = new StreamJoinNode(inPort, outPort, StreamJoinNode.Mode.INNER, "device",
+                Duration.ofMinutes(1));
+
+        send(node, message(StreamJoinNode.LEFT, "plc-1", 21.5));
+        send(node, message(StreamJoinNode.RIGHT, "plc-2", 30));
+        assertEquals(0, output.size());
+
+        send(node, message(StreamJoinNode.RIGHT, "plc-1", 22));
+
+        Message joined = output.poll();
+        assertEquals(Map.of("left", 21.5, "right", 22), joined.getPayload());
+        // 왼쪽 메타데이터에 오른쪽에만 있는 항목을 더하고 쪽 표시는 지움
+        assertEquals("plc-1", joined.getMetadata("device"));
+        assertEquals(true, joined.getMetadata("left.only"));
+        assertEquals(true, joined.getMetadata("right.only"));
+        assertNull(joined.getMetadata(StreamJoinNode.SIDE));
+
+        // 보관된 양쪽 메시지와 모두 짝지음
+        send(node, message(StreamJoinNode.LEFT, "plc-1", 23.0));
+        assertEquals(Map.of("left", 23.0, "right", 22), nextPayload());
+        assertEquals(4, node.getBufferedCount());
+        assertEquals(2, node.getJoinedCount());
+    }
+
+    @Test
+    void testExpiredMessagesAreNotJoined() throws InterruptedException {
+        StreamJoinNode node = new StreamJoinNode(inPort, outPort, StreamJoinNode.Mode.INNER, "device",
+                Duration.ofMillis(30));
+
+        send(node, message(StreamJoinNode.LEFT, "plc-1", 1));
+        Thread.sleep(60);
+        send(node, message(StreamJoinNode.RIGHT, "plc-1", 2));
+
+        assertEquals(0, output.size());
+        assertEquals(1, node.getExpiredCount());
+        assertEquals(1, node.getBufferedCount());
+    }
+
+    @Test
+    void testLeftJoinEmitsUnmatchedOnEvictionAndStop() throws InterruptedException {
+        StreamJoinNode node = new StreamJoinNode(inPort, outPort, StreamJoinNode.Mode.LEFT, "device",
+                Duration.ofMillis(30));
+
+        send(node, message(StreamJoinNode.LEFT, "plc-1", 1));
+        send(node, message(StreamJoinNode.LEFT, "plc-2", 2));
+        send(node, message(StreamJoinNode.RIGHT, "plc-2", 20));
+        assertEquals(Map.of("left", 2, "right", 20), nextPayload());
+
+        Thread.sleep(60);
+        send(node, message(StreamJoinNode.LEFT, "plc-3", 3));
+
+        // 짝이 없던 plc-1만 창이 지나며 내보내고, 짝이 있던 plc-2는 다시 내보내지 않음
+        Map<String, Object> unmatched = nextPayload();
+        assertEquals(1, unmatched.get("left"));
+        assertTrue(unmatched.containsKey("right"));
+        assertNull(unmatched.get("right"));
+        assertEquals(0, output.size());
+
+        node.stop();
+        assertEquals(3, nextPayload().get("left"));
+        assertEquals(2, node.getUnmatchedCount());
+        assertEquals(0, node.getBufferedCount());
+    }
+
+    @Test
+    void testLatestJoinUsesMostRecentRightValue() {
+        StreamJoinNode node = new StreamJoinNode(inPort, outPort, StreamJoinNode.Mode.LATEST, "device",
+                Duration.ZERO);
+
+        send(node, message(StreamJoinNode.LEFT, "plc-1", 21.0));
+        Map<String, Object> first = nextPayload();
+        assertEquals(21.0, first.get("left"));
+        assertNull(first.get("right"));
+
+        send(node, message(StreamJoinNode.RIGHT, "plc-1", 25));
+        send(node, message(StreamJoinNode.RIGHT, "plc-1", 26));
+        send(node, message(StreamJoinNode.LEFT, "plc-1", 22.0));
+
+        assertEquals(Map.of("left", 22.0, "right", 26), nextPayload());
+        // 왼쪽은 보관하지 않고 오른쪽은 키마다 최근 값 하나만 보관
+        assertEquals(1, node.getBufferedCount());
+        assertEquals(0, node.getOverflowCount());
+    }
+
+    @Test
+    void testBuffersStayBoundedUnderSkewedKeys() {
+        StreamJoinNode node = new StreamJoinNode(inPort, outPort, StreamJoinNode.Mode.INNER, "device",
+                StreamJoinNode.SIDE, Duration.ofMinutes(1), 4, 8);
+
+        // 한 키에 몰린 메시지는 키당 한도로, 많은 키는 키 수 한도로 제한됨
+        for (int i = 0; i < 100; i++) {
+            send(node, message(StreamJoinNode.LEFT, "hot", i));
+        }
+        for (int i = 0; i < 100; i++) {
+            send(node, message(StreamJoinNode.RIGHT, "cold-" + i, i));
+        }
+        assertEquals(4 + 8, node.getBufferedCount());
+        assertEquals(96 + 92, node.getOverflowCount());
+
+        // 남아 있는 것은 가장 최근 것
+        send(node, message(StreamJoinNode.RIGHT, "hot", -1));
+        assertEquals(4, output.size());
+        assertEquals(96, nextPayload().get("left"));
+    }
+
+    @Test
+    void testMessageWithoutSideOrKeyIsAnError() {
+        StreamJoinNode node = new StreamJoinNode(inPort, outPort, StreamJoinNode.Mode.INNER, "device",
+                Duration.ofSeconds(1));
+
+        send(node, new Message("x", Map.of("device", "plc-1")));
+
+        assertEquals(NodeStatus.ERROR, node.getStatus());
+        assertEquals(0, node.getBufferedCount());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamJoinNode(inPort, outPort,
+                StreamJoinNode.Mode.INNER, "device", Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new StreamJoinNode(inPort, outPort, null, "device",
+                Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new StreamJoinNode(inPort, outPort,
+                StreamJoinNode.Mode.LEFT, "device", StreamJoinNode.SIDE, Duration.ofSeconds(1), 0, 10));
+    }
+}
@@ -0,0 +1,173 @@
+package com.samsa.node.inout;
+
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesNodeTest {
+
+    @TempDir
+    Path directory;
+
+    private Pipe input;
+    private InPort inPort;
+
+    @BeforeEach
+    void setUp() {
+        input = new Pipe(64);
+        inPort = new InPort();
+        inPort.addPipe(input);
+    }
+
+    private static Message point(String series, long timestamp, Object payload) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("series", series);
+        metadata.put("timestamp", timestamp);
+        return new Message(payload, metadata);
+    }
+
+    @Test
+    void testWrittenPointsCanBeReplayed() {
+        TimeSeriesWriteNode writer = new TimeSeriesWriteNode(inPort, directory.toString());
+        input.offer(point("mqtt/room1", 1000, 21.5));
+        input.offer(point("mqtt/room1", 2000, 21.75));
+        input.offer(point("modbus/plc", 1500, Map.of("pressure", 3, "state", "ok")));
+        while (writer.processNext()) {
+        }
+        writer.stop();
+        assertEquals(3, writer.getWrittenCount());
+
+        Pipe trigger = new Pipe(4);
+        InPort readIn = new InPort();
+        readIn.addPipe(trigger);
+        Pipe output = new Pipe(16);
+        OutPort readOut = new OutPort();
+        readOut.addPipe(output);
+        TimeSeriesReadNode reader = new TimeSeriesReadNode(readIn, readOut, directory.toString());
+        trigger.offer(new Message("replay"));
+        reader.processNext();
+
+        // 시리즈를 섞어 시각 순으로 보내며, 맵의 숫자 항목은 별도 시리즈가 됨
+        Message first = output.poll();
+        assertEquals(21.5, first.getPayload());
+        assertEquals("mqtt/room1", first.getMetadata("series"));
+        assertEquals(1000L, first.getMetadata("timestamp"));
+        Message second = output.poll();
+        assertEquals("modbus/plc.pressure", second.getMetadata("series"));
+        assertEquals(3.0, second.getPayload());
+        assertEquals(21.75, output.poll().getPayload());
+        assertNull(output.poll());
+        assertEquals(3, reader.getReplayedCount());
+    }
+
+    @Test
+    void testReplayRangeFromTriggerMetadata() {
+        TimeSeriesWriteNode writer = new TimeSeriesWriteNode(inPort, directory.toString(), "topic", "ts", 8,
+                1 << 20, Duration.ZERO);
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("topic", i % 2 == 0 ? "even" : "odd");
+            metadata.put("ts", Instant.ofEpochMilli(i * 100L));
+            input.offer(new Message(i, metadata));
+            writer.processNext();
+        }
+        writer.stop();
+
+        Pipe trigger = new Pipe(4);
+        InPort readIn = new InPort();
+        readIn.addPipe(trigger);
+        Pipe output = new Pipe(32);
+        OutPort readOut = new OutPort();
+        readOut.addPipe(output);
+        TimeSeriesReadNode reader = new TimeSeriesReadNode(readIn, readOut, directory.toString(), Set.of("even"),
+                Long.MIN_VALUE, Long.MAX_VALUE);
+        trigger.offer(new Message("replay", Map.of(TimeSeriesReadNode.FROM, 400L, TimeSeriesReadNode.TO, 1000L)));
+        reader.processNext();
+
+        assertEquals(4, output.size());
+        assertEquals(4.0, output.poll().getPayload());
+        assertEquals(6.0, output.poll().getPayload());
+    }
+
+    @Test
+    void testReplayLargerThanOutputResumesAcrossSteps() {
+        TimeSeriesWriteNode writer = new TimeSeriesWriteNode(inPort, directory.toString(), "topic", "ts", 8,
+                1 << 20, Duration.ZERO);
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> metadata = new HashMap<>();
+            metadata.put("topic", i % 2 == 0 ? "even" : "odd");
+            metadata.put("ts", Instant.ofEpochMilli(i * 10L));
+            input.offer(new Message(i, metadata));
+            writer.processNext();
+        }
+        writer.stop();
+
+        Pipe trigger = new Pipe(4);
+        InPort readIn = new InPort();
+        readIn.addPipe(trigger);
+        Pipe output = new Pipe(16);
+        OutPort readOut = new OutPort();
+        readOut.addPipe(output);
+        TimeSeriesReadNode reader = new TimeSeriesReadNode(readIn, readOut, directory.toString());
+        trigger.offer(new Message("replay"));
+
+        // 출력 파이프가 차면 남은 점을 버리지 않고 차례를 넘김
+        assertTrue(reader.processNext());
+        assertEquals(16, output.size());
+        assertEquals(16, reader.getReplayedCount());
+
+        List<Object> values = new ArrayList<>();
+        do {
+            Message message;
+            while ((message = output.poll()) != null) {
+                values.add(message.getPayload());
+            }
+        } while (reader.processNext());
+
+        // 모든 점이 시각 순으로 빠짐없이 전달됨
+        assertEquals(100, values.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals((double) i, values.get(i));
+        }
+        assertEquals(100, reader.getReplayedCount());
+    }
+
+    @Test
+    void testNonNumericPayloadAndMissingSeriesAreErrors() {
+        TimeSeriesWriteNode writer = new TimeSeriesWriteNode(inPort, directory.toString());
+        input.offer(new Message(1.0));
+        writer.processNext();
+        assertEquals(NodeStatus.ERROR, writer.getStatus());
+
+        TimeSeriesWriteNode other = new TimeSeriesWriteNode(inPort, directory.resolve("other").toString());
+        input.offer(point("s", 0, "text"));
+        other.processNext();
+        assertEquals(NodeStatus.ERROR, other.getStatus());
+        assertEquals(0, other.getWrittenCount());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeSeriesWriteNode(inPort, " "));
+        assertThrows(IllegalArgumentException.class, () -> new TimeSeriesWriteNode(inPort, "dir", "s", "t", 0,
+                1 << 20, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new TimeSeriesReadNode(inPort, new OutPort(), "dir",
+                null, 10, 0));
+    }
+}
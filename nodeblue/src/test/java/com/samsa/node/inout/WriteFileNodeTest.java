@@ -4,6 +4,7 @@ import com.samsa.core.InPort;
 import com.samsa.core.Message;
 import com.samsa.core.Node;
 import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -13,6 +14,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -100,4 +102,51 @@ class WriteFileNodeTest {
 
         assertThrows(NullPointerException.class, () -> writeFileNode.onMessage(null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBatchedWriteEmitsAfterFlush() throws IOException {
+        Pipe input = new Pipe(16);
+        Pipe output = new Pipe(16);
+        InPort in = new InPort();
+        OutPort out = new OutPort();
+        in.addPipe(input);
+        out.addPipe(output);
+        writeFileNode = new WriteFileNode(in, out, tempFile.toString(), StandardCharsets.UTF_8, false,
+                Duration.ofMillis(50));
+        for (int i = 0; i < 3; i++) {
+            input.offer(new Message("line" + i));
+        }
+
+        // 입력에 메시지가 남아 있는 동안은 모아 둠
+        writeFileNode.processNext();
+        writeFileNode.processNext();
+        assertTrue(output.isEmpty());
+
+        // 입력이 비면 파일에 내보낸 뒤 모두 전달
+        writeFileNode.processNext();
+        assertEquals(3, output.size());
+        assertEquals(List.of("line0", "line1", "line2"), Files.readAllLines(tempFile, StandardCharsets.UTF_8));
+        assertNotNull(writeFileNode.getFlushBatch());
+        writeFileNode.stop();
+    }
+
+    @Test
+    void testBatchedWriteFlushesOnStop() throws IOException {
+        Pipe input = new Pipe(16);
+        Pipe output = new Pipe(16);
+        InPort in = new InPort();
+        OutPort out = new OutPort();
+        in.addPipe(input);
+        out.addPipe(output);
+        writeFileNode = new WriteFileNode(in, out, tempFile.toString(), StandardCharsets.UTF_8, false,
+                Duration.ofMillis(50));
+        input.offer(new Message("first"));
+        input.offer(new Message("second"));
+
+        writeFileNode.processNext();
+        writeFileNode.stop();
+
+        assertEquals("first", output.poll().getPayload());
+        assertEquals(List.of("first"), Files.readAllLines(tempFile, StandardCharsets.UTF_8));
+    }
+}
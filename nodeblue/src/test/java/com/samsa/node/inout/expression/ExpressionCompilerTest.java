@@ -0,0 +1,118 @@
+package com.samsa.node.inout.expression;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsa.core.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionCompilerTest {
+
+    private static Object eval(String source, Message message) {
+        return ExpressionCompiler.compile(source).evaluate(message);
+    }
+
+    @Test
+    void testArithmeticAndPrecedence() {
+        Message message = new Message(Map.of("t", 20, "rate", 1.5));
+
+        assertEquals(68.0, eval("payload.t * 1.8 + 32", message));
+        assertEquals(14L, eval("2 + 3 * 4", message));
+        assertEquals(20L, eval("(2 + 3) * 4", message));
+        assertEquals(2.5, eval("5 / 2", message));
+        assertEquals(1L, eval("7 % 3", message));
+        assertEquals(-20L, eval("-payload.t", message));
+        assertEquals(30.0, eval("payload.t * payload.rate", message));
+    }
+
+    @Test
+    void testPathsOverMapsListsAndMetadata() {
+        Message message = new Message(Map.of("device", Map.of("name", "sensor-1"), "values", List.of(3, 5, 7)),
+                Map.of("x-site", "seoul", "priority", 2));
+
+        assertEquals("sensor-1", eval("payload.device.name", message));
+        assertEquals(7, eval("$.values[2]", message));
+        assertEquals(5, eval("payload.values[metadata.priority - 1]", message));
+        assertEquals("seoul", eval("metadata['x-site']", message));
+        assertEquals(message.getId().toString(), eval("id", message));
+        assertNull(eval("payload.missing.deeper", message));
+        assertNull(eval("payload.values[10]", message));
+    }
+
+    @Test
+    void testJsonNodePayload() throws Exception {
+        Message message = new Message(new ObjectMapper().readTree("{\"a\":{\"b\":[1,2.5,\"x\"]},\"ok\":true}"));
+
+        assertEquals(1L, eval("payload.a.b[0]", message));
+        assertEquals(2.5, eval("payload.a.b[1]", message));
+        assertEquals("x", eval("payload.a.b[2]", message));
+        assertEquals(true, eval("payload.ok", message));
+        assertEquals(3L, eval("length(payload.a.b)", message));
+    }
+
+    @Test
+    void testComparisonLogicAndTernary() {
+        Message message = new Message(Map.of("temp", 31, "unit", "C"));
+
+        assertEquals(true, eval("payload.temp > 30 && payload.unit == 'C'", message));
+        assertEquals(false, eval("payload.temp <= 30 || !exists(payload.unit)", message));
+        assertEquals("hot", eval("payload.temp >= 30 ? 'hot' : 'ok'", message));
+        assertEquals(true, eval("payload.temp == 31.0", message));
+        assertEquals(false, eval("payload.missing > 1", message));
+        assertEquals(true, eval("'abc' < 'abd'", message));
+    }
+
+    @Test
+    void testObjectListAndFunctions() {
+        Message message = new Message(Map.of("name", "  Pump ", "values", List.of(4, 9, 2)));
+
+        Object result = eval("{name: upper(trim(payload.name)), 'max': max(payload.values[0], payload.values[1]),"
+                + " tags: [lower('A'), substring('sensor', 0, 3)]}", message);
+
+        assertEquals(Map.of("name", "PUMP", "max", 9, "tags", List.of("a", "sen")), result);
+        assertEquals(42L, eval("number('42')", message));
+        assertEquals("fallback", eval("coalesce(payload.missing, 'fallback')", message));
+        assertEquals(3L, eval("round(2.6)", message));
+        assertEquals("n=3", eval("'n=' + length(payload.values)", message));
+    }
+
+    @Test
+    void testCompiledFormsAreCachedBySource() {
+        String source = "payload.cacheCheck + 1";
+        Expression first = ExpressionCompiler.compile(source);
+        Expression second = ExpressionCompiler.compile(new String(source.toCharArray()));
+
+        assertSame(first, second);
+        assertTrue(ExpressionCompiler.getCacheSize() >= 1);
+    }
+
+    @Test
+    void testConstantsAreFolded() {
+        // 상수만으로 된 표현식은 메시지 없이도 평가됨
+        assertEquals(7L, ExpressionCompiler.compile("1 + 2 * 3").evaluate(null));
+        assertEquals("yes", ExpressionCompiler.compile("1 < 2 ? 'yes' : 'no'").evaluate(null));
+    }
+
+    @Test
+    void testSyntaxErrorsReportPosition() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ExpressionCompiler.compile("payload.a +"));
+        assertTrue(error.getMessage().contains("position"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("unknown.a"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("nope(1)"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("upper(1, 2)"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("'open"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile("1 + true"));
+        assertThrows(IllegalArgumentException.class, () -> ExpressionCompiler.compile(" "));
+    }
+
+    @Test
+    void testTypeErrorsAtEvaluation() {
+        Expression expression = ExpressionCompiler.compile("payload * 2");
+
+        assertThrows(IllegalArgumentException.class, () -> expression.evaluate(new Message(List.of(1))));
+    }
+}
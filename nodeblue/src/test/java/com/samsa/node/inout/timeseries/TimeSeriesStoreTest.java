@@ -0,0 +1,143 @@
+package com.samsa.node.inout.timeseries;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<double[]> scan(TimeSeriesStore store, Set<String> series, long from, long to) {
+        List<double[]> points = new ArrayList<>();
+        store.scan(series, from, to, (key, timestamp, value) -> points.add(new double[] {timestamp, value}));
+        return points;
+    }
+
+    @Test
+    void testRoundTripPreservesTimestampsAndValuesExactly() throws IOException {
+        Random random = new Random(42);
+        long[] timestamps = new long[20_000];
+        double[] values = new double[timestamps.length];
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < timestamps.length; i++) {
+            // 대부분 일정한 주기이고 가끔 지터, 큰 공백, 같은 시각이 섞임
+            timestamp += i % 97 == 0 ? 3_600_000 : i % 13 == 0 ? random.nextInt(300) : i % 31 == 0 ? 0 : 1000;
+            timestamps[i] = timestamp;
+            values[i] = i % 7 == 0 ? values[Math.max(0, i - 1)] : i % 11 == 0 ? Double.NaN
+                    : random.nextGaussian() * 1e6;
+        }
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory, 256, TimeSeriesStore.MIN_SEGMENT_BYTES)) {
+            for (int i = 0; i < timestamps.length; i++) {
+                store.append("plc-1/temp", timestamps[i], values[i]);
+            }
+        }
+
+        try (TimeSeriesStore store = TimeSeriesStore.openReadOnly(directory)) {
+            List<double[]> points = scan(store, null, Long.MIN_VALUE, Long.MAX_VALUE);
+            assertEquals(timestamps.length, points.size());
+            for (int i = 0; i < timestamps.length; i++) {
+                assertEquals(timestamps[i], (long) points.get(i)[0]);
+                assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(points.get(i)[1]));
+            }
+            // 작은 세그먼트 크기로 여러 세그먼트에 나뉘어 기록됨
+            assertTrue(store.getSegmentCount() > 1);
+        }
+    }
+
+    @Test
+    void testRegularSeriesCompressesWell() throws IOException {
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory)) {
+            for (int i = 0; i < 10_000; i++) {
+                store.append("modbus/40001", 1_000L * i, 20.0 + (i / 100) * 0.5);
+            }
+            store.flush();
+
+            // 일정한 주기와 천천히 바뀌는 값은 점당 2바이트보다 작게 저장됨
+            assertEquals(10_000, store.getPointCount());
+            assertTrue(store.getStoredBytes() < 20_000, "stored " + store.getStoredBytes());
+        }
+    }
+
+    @Test
+    void testScanMergesSeriesInTimeOrderWithinRange() throws IOException {
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory, 4, TimeSeriesStore.DEFAULT_SEGMENT_BYTES)) {
+            for (int i = 0; i < 20; i++) {
+                store.append("a", i * 10L, i);
+                store.append("b", i * 10L + 5, -i);
+            }
+            store.append("c", 1000, 1);
+            store.flush();
+
+            List<String> order = new ArrayList<>();
+            long count = store.scan(Set.of("a", "b"), 50, 100, (key, timestamp, value) -> order.add(key + timestamp));
+
+            assertEquals(List.of("a50", "b55", "a60", "b65", "a70", "b75", "a80", "b85", "a90", "b95", "a100"), order);
+            assertEquals(11, count);
+            assertEquals(Set.of("a", "b", "c"), store.getSeries());
+        }
+    }
+
+    @Test
+    void testUnflushedBlocksAreNotVisibleAndReopenAppends() throws IOException {
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory, 100, TimeSeriesStore.DEFAULT_SEGMENT_BYTES)) {
+            store.append("s", 1, 1.5);
+            assertEquals(0, scan(store, null, 0, 10).size());
+        }
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory, 100, TimeSeriesStore.DEFAULT_SEGMENT_BYTES)) {
+            store.append("s", 2, 2.5);
+        }
+
+        try (TimeSeriesStore store = TimeSeriesStore.openReadOnly(directory)) {
+            assertEquals(2, store.getPointCount());
+            assertEquals(1, store.getSegmentCount());
+            List<double[]> points = scan(store, Set.of("s"), 0, 10);
+            assertEquals(2.5, points.get(1)[1]);
+        }
+    }
+
+    @Test
+    void testTornBlockIsIgnoredOnOpen() throws IOException {
+        try (TimeSeriesStore store = TimeSeriesStore.open(directory, 10, TimeSeriesStore.MIN_SEGMENT_BYTES)) {
+            for (int i = 0; i < 25; i++) {
+                store.append("s", i, i);
+            }
+        }
+        // 끝 위치를 블록 중간으로 되돌려 마지막 블록을 쓰다 끊긴 것처럼 만듦
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        java.nio.ByteBuffer buffer = java.nio.ByteBuffer.wrap(bytes);
+        buffer.putLong(8, buffer.getLong(8) - 3);
+        Files.write(segment, bytes);
+
+        try (TimeSeriesStore store = TimeSeriesStore.openReadOnly(directory)) {
+            assertEquals(20, store.getPointCount());
+        }
+    }
+
+    @Test
+    void testRejectsInvalidUse() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> TimeSeriesStore.open(null));
+        assertThrows(IllegalArgumentException.class, () -> TimeSeriesStore.open(directory, 0, 1 << 20));
+        assertThrows(IllegalArgumentException.class, () -> TimeSeriesStore.open(directory, 10, 1024));
+
+        TimeSeriesStore.open(directory).close();
+        try (TimeSeriesStore store = TimeSeriesStore.openReadOnly(directory)) {
+            assertThrows(IllegalStateException.class, () -> store.append("s", 0, 0));
+            assertThrows(IllegalArgumentException.class, () -> store.scan(null, 0, 1, null));
+        }
+    }
+}
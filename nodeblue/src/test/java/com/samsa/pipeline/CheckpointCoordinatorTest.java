@@ -0,0 +1,250 @@
+package com.samsa.pipeline;
+
+import com.samsa.core.CheckpointBarrier;
+import com.samsa.core.InNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.core.StatefulNode;
+import com.samsa.node.inout.ReadFileNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointCoordinatorTest {
+
+    private static final String SOURCE_ID = "00000000-0000-0000-0000-000000000001";
+    private static final String SINK_ID = "00000000-0000-0000-0000-000000000002";
+
+    private Path directory;
+    private Path file;
+
+    /**
+     * 받은 라인을 모으고 받은 수를 상태로 갖는 싱크
+     */
+    private static class CollectingSink extends InNode implements StatefulNode {
+        private final List<Object> received = new ArrayList<>();
+        private int count;
+
+        CollectingSink(InPort inPort) {
+            super(inPort);
+            setId(SINK_ID);
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            received.add(message.getPayload());
+            count++;
+        }
+
+        @Override
+        public byte[] snapshot() {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(count).array();
+        }
+
+        @Override
+        public void restore(byte[] state) {
+            count = ByteBuffer.wrap(state).getInt();
+        }
+
+        void drain() {
+            while (processNext()) {
+                // 받을 메시지가 없을 때까지 처리
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("checkpoints");
+        file = Files.createTempFile("lines", ".txt");
+        Files.write(file, IntStream.rangeClosed(1, 10).mapToObj(i -> "line " + i).toList());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static long position(byte[] state) {
+        return ByteBuffer.wrap(state).getLong();
+    }
+
+    private static int count(byte[] state) {
+        return ByteBuffer.wrap(state).getInt();
+    }
+
+    @Test
+    void testSnapshotRestartRestoreResumesAfterBarrier() throws Exception {
+        CountDownLatch reached = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        OutPort gatedPort = new OutPort() {
+            @Override
+            public void propagate(Message message) {
+                super.propagate(message);
+                if ("line 4".equals(message.getPayload())) {
+                    // 네 번째 라인을 보낸 뒤 체크포인트가 시작될 때까지 읽기를 멈춤
+                    reached.countDown();
+                    try {
+                        resume.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        Pipeline pipeline = new Pipeline();
+        ReadFileNode source = new ReadFileNode(new InPort(), gatedPort, file.toString());
+        source.setId(SOURCE_ID);
+        CollectingSink sink = new CollectingSink(new InPort());
+        pipeline.addNode(source);
+        pipeline.addNode(sink);
+        pipeline.connect(gatedPort, sink.getInPort(), new Pipe(64));
+
+        CheckpointCoordinator coordinator = new CheckpointCoordinator(pipeline, new SnapshotStore(directory), 60_000);
+        Thread reader = new Thread(() -> source.onMessage(new Message("go")));
+        reader.start();
+        assertTrue(reached.await(5, TimeUnit.SECONDS));
+
+        // 읽는 중에 시작한 체크포인트는 읽는 스레드가 다음 라인을 보내기 전에 주입함
+        assertEquals(1, coordinator.triggerCheckpoint());
+        resume.countDown();
+        reader.join(5_000);
+        assertFalse(reader.isAlive());
+        sink.drain();
+        coordinator.close();
+
+        List<Object> expected = IntStream.rangeClosed(1, 10).mapToObj(i -> (Object) ("line " + i)).toList();
+        assertEquals(expected, sink.received);
+
+        // 소스의 위치와 싱크가 받은 수는 모두 배리어 앞의 네 라인을 가리킴
+        SnapshotStore store = new SnapshotStore(directory);
+        assertEquals(1L, store.latestCheckpointId().getAsLong());
+        Map<UUID, byte[]> states = store.loadLatest();
+        assertEquals(4L, position(states.get(UUID.fromString(SOURCE_ID))));
+        assertEquals(4, count(states.get(UUID.fromString(SINK_ID))));
+
+        // 같은 ID로 다시 만든 파이프라인은 체크포인트 이후의 라인만 다시 읽음
+        Pipeline restarted = new Pipeline();
+        OutPort outPort = new OutPort();
+        ReadFileNode restartedSource = new ReadFileNode(new InPort(), outPort, file.toString());
+        restartedSource.setId(SOURCE_ID);
+        CollectingSink restartedSink = new CollectingSink(new InPort());
+        restarted.addNode(restartedSource);
+        restarted.addNode(restartedSink);
+        restarted.connect(outPort, restartedSink.getInPort(), new Pipe(64));
+
+        CheckpointCoordinator restartedCoordinator = new CheckpointCoordinator(restarted, store, 60_000);
+        assertEquals(2, restartedCoordinator.restore());
+        restartedSource.onMessage(new Message("go"));
+        restartedSink.drain();
+
+        assertEquals(expected.subList(4, 10), restartedSink.received);
+        assertEquals(10, count(restartedSink.snapshot()));
+
+        // 복원한 뒤의 체크포인트 번호는 이전 번호에 이어짐
+        assertEquals(2, restartedCoordinator.triggerCheckpoint());
+        restartedSink.drain();
+        restartedCoordinator.close();
+    }
+
+    @Test
+    void testCheckpointAfterCompletedReadIsNotReplayed() throws Exception {
+        Pipeline pipeline = new Pipeline();
+        OutPort outPort = new OutPort();
+        ReadFileNode source = new ReadFileNode(new InPort(), outPort, file.toString());
+        source.setId(SOURCE_ID);
+        CollectingSink sink = new CollectingSink(new InPort());
+        pipeline.addNode(source);
+        pipeline.addNode(sink);
+        pipeline.connect(outPort, sink.getInPort(), new Pipe(64));
+        CheckpointCoordinator coordinator = new CheckpointCoordinator(pipeline, new SnapshotStore(directory), 60_000);
+
+        // 한 번 끝까지 읽은 뒤에 체크포인트
+        source.onMessage(new Message("go"));
+        coordinator.triggerCheckpoint();
+        sink.drain();
+        coordinator.close();
+        assertEquals(10, sink.received.size());
+
+        // 다시 만든 파이프라인의 첫 읽기는 끝난 읽기를 다시 보내지 않음
+        Pipeline restarted = new Pipeline();
+        OutPort restartedOut = new OutPort();
+        ReadFileNode restartedSource = new ReadFileNode(new InPort(), restartedOut, file.toString());
+        restartedSource.setId(SOURCE_ID);
+        restarted.addNode(restartedSource);
+        Pipe pipe = restarted.connect(restartedOut, new Pipe(64));
+        CheckpointCoordinator restartedCoordinator = new CheckpointCoordinator(restarted,
+                new SnapshotStore(directory), 60_000);
+        assertEquals(1, restartedCoordinator.restore());
+        restartedSource.onMessage(new Message("go"));
+        assertTrue(pipe.isEmpty());
+        restartedCoordinator.close();
+    }
+
+    @Test
+    void testIdleSourceInjectsBarrierOnCallerThread() throws Exception {
+        Pipeline pipeline = new Pipeline();
+        OutPort outPort = new OutPort();
+        ReadFileNode source = new ReadFileNode(new InPort(), outPort, file.toString());
+        source.setId(SOURCE_ID);
+        CollectingSink sink = new CollectingSink(new InPort());
+        pipeline.addNode(source);
+        pipeline.addNode(sink);
+        Pipe pipe = pipeline.connect(outPort, sink.getInPort(), new Pipe(64));
+        SnapshotStore store = new SnapshotStore(directory);
+        CheckpointCoordinator coordinator = new CheckpointCoordinator(pipeline, store, 60_000);
+
+        // 읽는 중이 아니면 호출한 스레드에서 곧바로 배리어를 보냄
+        coordinator.triggerCheckpoint();
+        assertEquals(1, pipe.size());
+        assertTrue(pipe.poll() instanceof CheckpointBarrier);
+        assertTrue(store.latestCheckpointId().isEmpty());
+        coordinator.close();
+    }
+
+    @Test
+    void testTimedOutCheckpointIsNotWritten() throws Exception {
+        Pipeline pipeline = new Pipeline();
+        OutPort outPort = new OutPort();
+        ReadFileNode source = new ReadFileNode(new InPort(), outPort, file.toString());
+        source.setId(SOURCE_ID);
+        CollectingSink sink = new CollectingSink(new InPort());
+        pipeline.addNode(source);
+        pipeline.addNode(sink);
+        pipeline.connect(outPort, sink.getInPort(), new Pipe(64));
+        CheckpointCoordinator coordinator = new CheckpointCoordinator(pipeline, new SnapshotStore(directory), 60_000,
+                10);
+
+        // 싱크가 통보하기 전에 제한 시간이 지난 체크포인트는 버려짐
+        coordinator.triggerCheckpoint();
+        Thread.sleep(50);
+        coordinator.triggerCheckpoint();
+        sink.drain();
+        coordinator.close();
+
+        SnapshotStore store = new SnapshotStore(directory);
+        assertEquals(2L, store.latestCheckpointId().getAsLong());
+        store.close();
+    }
+}
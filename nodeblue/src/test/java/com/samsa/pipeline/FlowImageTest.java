@@ -0,0 +1,134 @@
+package com.samsa.pipeline;
+
+import com.samsa.node.inout.FunctionNode;
+import com.samsa.node.inout.JsonParseNode;
+import com.samsa.node.inout.WriteFileNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowImageTest {
+
+    private static final String PARSE = "11111111-1111-1111-1111-111111111111";
+    private static final String FUNCTION = "22222222-2222-2222-2222-222222222222";
+    private static final String SINK = "33333333-3333-3333-3333-333333333333";
+
+    @TempDir
+    Path tempDir;
+
+    private String flow() {
+        String output = tempDir.resolve("out.txt").toString().replace("\\", "\\\\");
+        return "{\"id\": \"44444444-4444-4444-4444-444444444444\", \"memoryBudgetBytes\": 1048576,"
+                + "\"workers\": {\"edge\": {\"host\": \"10.0.0.2\", \"port\": 7100}, \"broken\": {\"host\": \"x\"}},"
+                + "\"nodes\": ["
+                + "{\"id\": \"" + PARSE + "\", \"type\": \"JsonParseNode\","
+                + " \"properties\": {\"fields\": [\"temp\", \"device\"], \"lazy\": false}},"
+                + "{\"id\": \"" + FUNCTION + "\", \"type\": \"FunctionNode\", \"worker\": \"edge\","
+                + " \"properties\": {\"expression\": \"payload.temp * 1.5\", \"limit\": 12345678901,"
+                + " \"big\": 123456789012345678901234567890, \"nested\": {\"a\": [1, null, \"s\", 2.5]}}},"
+                + "{\"id\": \"" + SINK + "\", \"type\": \"WriteFileNode\", \"properties\": {\"filePath\": \"" + output
+                + "\"}}],"
+                + "\"wires\": [{\"from\": \"" + PARSE + "\", \"to\": \"" + FUNCTION + "\", \"capacity\": 8},"
+                + "{\"from\": \"" + FUNCTION + "\", \"to\": \"" + SINK + "\"}]"
+                + "}";
+    }
+
+    private static FlowImage roundTrip(FlowImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        image.write(out);
+        return FlowImage.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    void testRoundTripKeepsGraphAndProperties() throws IOException {
+        FlowImage image = new JsonToPipeline().compile(flow());
+
+        FlowImage restored = roundTrip(image);
+
+        assertEquals(UUID.fromString("44444444-4444-4444-4444-444444444444"), restored.getId());
+        assertEquals(Long.valueOf(1048576L), restored.getMemoryBudgetBytes());
+        // 주소가 불완전한 워커는 담지 않음
+        assertEquals(1, restored.getWorkers().size());
+        assertEquals(7100, restored.getWorkers().get("edge").getPort());
+        assertEquals(3, restored.getNodes().size());
+        for (int i = 0; i < 3; i++) {
+            FlowImage.NodeSpec expected = image.getNodes().get(i);
+            FlowImage.NodeSpec actual = restored.getNodes().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getWorker(), actual.getWorker());
+            assertEquals(expected.getProperties(), actual.getProperties());
+        }
+        assertTrue(restored.getNodes().get(1).getProperties().get("limit").isLong());
+        assertTrue(restored.getNodes().get(1).getProperties().get("big").isBigInteger());
+        assertEquals(2, restored.getWires().size());
+        assertEquals(8, restored.getWires().get(0).getCapacity());
+        assertEquals(UUID.fromString(SINK), restored.getWires().get(1).getTo());
+    }
+
+    @Test
+    void testLoadBuildsSamePipelineFromImageAndJson() throws IOException {
+        JsonToPipeline converter = new JsonToPipeline();
+        Path json = tempDir.resolve("flow.json");
+        Path image = tempDir.resolve("flow.img");
+        Files.writeString(json, flow());
+        FlowImageCompiler.compile(converter, json, image);
+
+        Pipeline fromJson = converter.load(json);
+        Pipeline fromImage = converter.load(image);
+
+        assertFalse(FlowImage.isImage(json));
+        assertTrue(FlowImage.isImage(image));
+        assertTrue(Files.size(image) < Files.size(json));
+        assertEquals(fromJson.getId(), fromImage.getId());
+        assertEquals(3, fromImage.getNodes().size());
+        assertTrue(fromImage.getNodes().get(0) instanceof JsonParseNode);
+        assertTrue(fromImage.getNodes().get(1) instanceof FunctionNode);
+        assertTrue(fromImage.getNodes().get(2) instanceof WriteFileNode);
+        assertEquals("payload.temp * 1.5", ((FunctionNode) fromImage.getNodes().get(1)).getExpression());
+        assertEquals(fromJson.getPipes().size(), fromImage.getPipes().size());
+        assertEquals(8, fromImage.getPipes().get(0).getCapacity());
+    }
+
+    @Test
+    void testCompileRejectsInvalidFlows() {
+        JsonToPipeline converter = new JsonToPipeline();
+
+        // 노드 종류는 로컬에 생성하지 않는 노드까지 모두 확인
+        assertThrows(IllegalArgumentException.class, () -> converter.compile(
+                "{\"nodes\": [{\"id\": \"" + PARSE + "\", \"type\": \"UnknownNode\", \"worker\": \"b\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> converter.compile(
+                "{\"nodes\": [{\"id\": \"not-a-uuid\", \"type\": \"JsonParseNode\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> converter.compile(
+                "{\"nodes\": [{\"id\": \"" + PARSE + "\", \"type\": \"JsonParseNode\"},"
+                        + "{\"id\": \"" + PARSE + "\", \"type\": \"JsonParseNode\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> converter.compile(
+                "{\"nodes\": [{\"id\": \"" + PARSE + "\", \"type\": \"JsonParseNode\"},"
+                        + "{\"id\": \"" + SINK + "\", \"type\": \"JsonParseNode\"}],"
+                        + "\"wires\": [{\"from\": \"" + PARSE + "\", \"to\": \"" + SINK + "\", \"capacity\": 0}]}"));
+    }
+
+    @Test
+    void testRejectsCorruptImage() throws IOException {
+        Path file = tempDir.resolve("bad.img");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5});
+
+        assertFalse(FlowImage.isImage(file));
+        assertThrows(IOException.class, () -> FlowImage.read(file));
+
+        // 잘린 이미지
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JsonToPipeline().compile(flow()).write(out);
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() / 2);
+        assertThrows(IOException.class, () -> FlowImage.read(new ByteArrayInputStream(truncated)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.samsa.pipeline;
+
+import com.samsa.pipeline.scheduler.NodeScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlowLauncherTest {
+
+    private static final String READ = "11111111-1111-1111-1111-111111111111";
+    private static final String WRITE = "22222222-2222-2222-2222-222222222222";
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeFlow() throws Exception {
+        Path input = tempDir.resolve("in.txt");
+        Files.write(input, List.of("a", "b", "c"));
+        String json = "{\"nodes\": ["
+                + "{\"id\": \"" + READ + "\", \"type\": \"ReadFileNode\", \"properties\": {\"filePath\": \""
+                + escape(input) + "\"}},"
+                + "{\"id\": \"" + WRITE + "\", \"type\": \"WriteFileNode\", \"properties\": {\"filePath\": \""
+                + escape(tempDir.resolve("out.txt")) + "\", \"append\": true}}],"
+                + "\"wires\": [{\"from\": \"" + READ + "\", \"to\": \"" + WRITE + "\"}]}";
+        Path flow = tempDir.resolve("flow.json");
+        Files.writeString(flow, json);
+        return flow;
+    }
+
+    private static String escape(Path path) {
+        return path.toString().replace("\\", "\\\\");
+    }
+
+    @Test
+    void testTriggeredImageLaunchReportsFirstMessage() throws Exception {
+        JsonToPipeline converter = new JsonToPipeline();
+        Path image = tempDir.resolve("flow.img");
+        FlowImageCompiler.compile(converter, writeFlow(), image);
+
+        try (NodeScheduler scheduler = new NodeScheduler(1)) {
+            PipelineManager manager = new PipelineManager(scheduler);
+            StartupReport report = new FlowLauncher(converter, manager).launch(image, true, Duration.ofSeconds(5));
+
+            assertTrue(report.isFromImage());
+            assertTrue(report.isFirstMessageProcessed());
+            assertTrue(report.getTimeToFirstMessage().compareTo(report.getJvmStartup()) >= 0);
+            manager.shutdownAll(Duration.ofSeconds(5));
+        }
+        // 시작 메시지로 읽은 세 줄이 모두 기록되어야 함
+        assertEquals(List.of("a", "b", "c"), Files.readAllLines(tempDir.resolve("out.txt")));
+    }
+
+    @Test
+    void testUntriggeredLaunchTimesOut() throws Exception {
+        try (NodeScheduler scheduler = new NodeScheduler(1)) {
+            PipelineManager manager = new PipelineManager(scheduler);
+            StartupReport report = new FlowLauncher(new JsonToPipeline(), manager).launch(writeFlow(), false,
+                    Duration.ofMillis(50));
+
+            assertFalse(report.isFromImage());
+            assertFalse(report.isFirstMessageProcessed());
+            assertNull(report.getTimeToFirstMessage());
+            assertTrue(report.toString().contains("firstMessage=none"));
+            manager.shutdownAll(Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.samsa.pipeline;
+
+import com.samsa.core.ConflatingPipe;
+import com.samsa.core.InOutNode;
+import com.samsa.core.Message;
+import com.samsa.node.inout.OrderedJoinNode;
+import com.samsa.node.inout.WriteFileNode;
+import com.samsa.pipeline.remote.RemotePipe;
+import com.samsa.pipeline.remote.RemotePipeServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonToPipelineTest {
+
+    private static final String SOURCE = "11111111-1111-1111-1111-111111111111";
+    private static final String SINK = "22222222-2222-2222-2222-222222222222";
+
+    @TempDir
+    Path tempDir;
+
+    private String flow(int port) {
+        String output = tempDir.resolve("out.txt").toString().replace("\\", "\\\\");
+        return "{"
+                + "\"workers\": {\"a\": {\"host\": \"127.0.0.1\", \"port\": 1}, "
+                + "\"b\": {\"host\": \"127.0.0.1\", \"port\": " + port + "}},"
+                + "\"nodes\": ["
+                + "{\"id\": \"" + SOURCE + "\", \"type\": \"OrderedJoinNode\", \"worker\": \"a\"},"
+                + "{\"id\": \"" + SINK + "\", \"type\": \"WriteFileNode\", \"worker\": \"b\","
+                + " \"properties\": {\"filePath\": \"" + output + "\"}}],"
+                + "\"wires\": [{\"from\": \"" + SOURCE + "\", \"to\": \"" + SINK + "\", \"capacity\": 16}]"
+                + "}";
+    }
+
+    @Test
+    void testConvertsWholeFlowLocally() {
+        Pipeline pipeline = new JsonToPipeline().convert(flow(2));
+
+        assertEquals(2, pipeline.getNodes().size());
+        assertEquals(1, pipeline.getPipes().size());
+        assertEquals(UUID.fromString(SOURCE), pipeline.getNodes().get(0).getId());
+        assertTrue(pipeline.getNodes().get(1) instanceof WriteFileNode);
+
+        // 생성된 노드의 포트가 파이프로 연결되어 있어야 함
+        InOutNode source = (InOutNode) pipeline.getNodes().get(0);
+        source.onMessage(new Message("hello"));
+        assertEquals(1, pipeline.getPipes().get(0).size());
+        assertSame(source, source.getOutPort().getOwner());
+    }
+
+    @Test
+    void testSplitsFlowBetweenWorkers() throws Exception {
+        try (RemotePipeServer server = new RemotePipeServer(0)) {
+            server.start();
+            String json = flow(server.getPort());
+            JsonToPipeline converter = new JsonToPipeline();
+
+            Pipeline receiving = converter.convert(json, "b", server);
+            Pipeline sending = converter.convert(json, "a", null);
+
+            assertEquals(1, receiving.getNodes().size());
+            assertTrue(receiving.getNodes().get(0) instanceof WriteFileNode);
+            assertEquals(1, sending.getNodes().size());
+            assertTrue(sending.getNodes().get(0) instanceof OrderedJoinNode);
+            assertTrue(sending.getPipes().get(0) instanceof RemotePipe);
+
+            ((InOutNode) sending.getNodes().get(0)).onMessage(new Message("remote"));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (receiving.getPipes().get(0).isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("remote", receiving.getPipes().get(0).poll().getPayload());
+            sending.stop();
+        }
+    }
+
+    @Test
+    void testConflateByCreatesConflatingPipe() {
+        String json = flow(2).replace("\"capacity\": 16}", "\"capacity\": 16, \"conflateBy\": \"device\"}");
+
+        Pipeline pipeline = new JsonToPipeline().convert(json);
+
+        assertTrue(pipeline.getPipes().get(0) instanceof ConflatingPipe);
+        assertEquals("device", ((ConflatingPipe) pipeline.getPipes().get(0)).getKeyMetadata());
+        assertEquals(16, pipeline.getPipes().get(0).getCapacity());
+    }
+
+    @Test
+    void testRejectsInvalidFlows() {
+        JsonToPipeline converter = new JsonToPipeline();
+
+        assertThrows(IllegalArgumentException.class, () -> converter.convert("not json"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convert(
+                "{\"nodes\": [{\"id\": \"" + SOURCE + "\", \"type\": \"UnknownNode\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convert(
+                "{\"nodes\": [], \"wires\": [{\"from\": \"" + SOURCE + "\", \"to\": \"" + SINK + "\"}]}"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convert(
+                "{\"nodes\": [{\"id\": \"" + SOURCE + "\", \"type\": \"OrderedJoinNode\"}]}", "a", null));
+    }
+}
@@ -0,0 +1,367 @@
+package com.samsa.pipeline;
+
+import com.samsa.core.InNode;
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.MemoryBudget;
+import com.samsa.core.Message;
+import com.samsa.core.Node;
+import com.samsa.core.NodeStatus;
+import com.samsa.core.OutNode;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.pipeline.scheduler.NodeScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineManagerTest {
+
+    private List<String> events;
+    private Pipeline pipeline;
+    private SourceNode source;
+    private RelayNode relay;
+    private SinkNode sink;
+    private Pipe sourceToRelay;
+    private Pipe relayToSink;
+
+    private class SourceNode extends OutNode {
+        SourceNode(OutPort port) {
+            super(port);
+        }
+
+        @Override
+        public void start() {
+            events.add("start:source");
+            super.start();
+        }
+
+        @Override
+        public void stop() {
+            events.add("stop:source");
+            super.stop();
+        }
+    }
+
+    /**
+     * 받은 메시지를 그대로 전달하며, 중지할 때 보관하던 메시지 하나를 내보내는 노드
+     */
+    private class RelayNode extends InOutNode {
+        RelayNode(InPort inPort, OutPort outPort) {
+            super(inPort, outPort);
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            emit(message);
+        }
+
+        @Override
+        public void start() {
+            events.add("start:relay");
+            super.start();
+        }
+
+        @Override
+        public void stop() {
+            emit(new Message("flushed"));
+            events.add("stop:relay");
+            super.stop();
+        }
+    }
+
+    private class SinkNode extends InNode {
+        private final List<Object> payloads = new CopyOnWriteArrayList<>();
+
+        SinkNode(InPort port) {
+            super(port);
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            payloads.add(message.getPayload());
+        }
+
+        @Override
+        public void start() {
+            events.add("start:sink");
+            super.start();
+        }
+
+        @Override
+        public void stop() {
+            events.add("stop:sink");
+            super.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        events = new CopyOnWriteArrayList<>();
+        pipeline = new Pipeline();
+        // 추가 순서와 관계없이 연결 순서대로 정렬되는지 확인하기 위해 역순으로 추가
+        sink = new SinkNode(new InPort());
+        relay = new RelayNode(new InPort(), new OutPort());
+        source = new SourceNode(new OutPort());
+        pipeline.addNode(sink);
+        pipeline.addNode(relay);
+        pipeline.addNode(source);
+        sourceToRelay = pipeline.connect(source.getOutPort(), relay.getInPort());
+        relayToSink = pipeline.connect(relay.getOutPort(), sink.getInPort());
+    }
+
+    @Test
+    void testTopologicalOrderFollowsWires() {
+        List<Node> order = pipeline.getTopologicalOrder();
+        assertEquals(List.of(source, relay, sink), order);
+    }
+
+    @Test
+    void testStartsSinksBeforeSources() {
+        PipelineManager manager = new PipelineManager();
+        manager.addPipeline(pipeline);
+        manager.startPipeline(pipeline.getId());
+
+        assertEquals(List.of("start:sink", "start:relay", "start:source"), events);
+    }
+
+    @Test
+    void testShutdownDrainsPipesBeforeStopping() {
+        PipelineManager manager = new PipelineManager();
+        manager.addPipeline(pipeline);
+        for (int i = 0; i < 10; i++) {
+            sourceToRelay.offer(new Message(i));
+        }
+
+        ShutdownReport report = manager.shutdownPipeline(pipeline.getId(), Duration.ofSeconds(5));
+
+        // 소스를 먼저 멈추고, 상류부터 비운 뒤 중지하며 내보낸 메시지까지 싱크가 받음
+        assertEquals(List.of("stop:source", "stop:relay", "stop:sink"), events);
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add(i);
+        }
+        expected.add("flushed");
+        assertEquals(expected, sink.payloads);
+        assertTrue(report.isCompleted());
+        assertEquals(0, report.getUndeliveredCount());
+    }
+
+    @Test
+    void testShutdownWithSchedulerWaitsForInFlightMessages() throws Exception {
+        AtomicBoolean release = new AtomicBoolean();
+        Pipeline slowPipeline = new Pipeline();
+        Pipe input = new Pipe(16);
+        List<Object> handled = new CopyOnWriteArrayList<>();
+        InNode slow = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                while (!release.get()) {
+                    Thread.onSpinWait();
+                }
+                handled.add(message.getPayload());
+            }
+        };
+        slowPipeline.addNode(slow);
+        slowPipeline.connect(input, slow.getInPort());
+
+        try (NodeScheduler scheduler = new NodeScheduler(1)) {
+            PipelineManager manager = new PipelineManager(scheduler);
+            manager.addPipeline(slowPipeline);
+            manager.startPipeline(slowPipeline.getId());
+            input.offer(new Message("a"));
+            input.offer(new Message("b"));
+
+            Thread releaser = new Thread(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.set(true);
+            });
+            releaser.start();
+            ShutdownReport report = manager.shutdownPipeline(slowPipeline.getId(), Duration.ofSeconds(5));
+            releaser.join();
+
+            // 처리 중이던 메시지와 남은 메시지가 모두 처리된 뒤 종료됨
+            assertTrue(report.isCompleted());
+            assertEquals(List.of("a", "b"), handled);
+        }
+    }
+
+    @Test
+    void testShutdownReportsUndeliveredAfterTimeout() {
+        Pipeline stuckPipeline = new Pipeline();
+        Pipe input = new Pipe(16);
+        InNode stuck = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stuckPipeline.addNode(stuck);
+        stuckPipeline.connect(input, stuck.getInPort());
+        for (int i = 0; i < 10; i++) {
+            input.offer(new Message(i));
+        }
+
+        PipelineManager manager = new PipelineManager();
+        manager.addPipeline(stuckPipeline);
+        ShutdownReport report = manager.shutdownPipeline(stuckPipeline.getId(), Duration.ofMillis(30));
+
+        // 제한 시간 안에 처리하지 못한 메시지가 파이프별로 보고됨
+        assertFalse(report.isCompleted());
+        assertTrue(report.getUndeliveredCount() > 0);
+        assertEquals(report.getUndeliveredCount(), (long) report.getUndelivered().get(input.getId()));
+    }
+
+    @Test
+    void testHealthReportsBacklogAndStatus() {
+        PipelineManager manager = new PipelineManager();
+        manager.addPipeline(pipeline);
+        manager.startPipeline(pipeline.getId());
+        sourceToRelay.offer(new Message("a"));
+        sourceToRelay.offer(new Message("b"));
+        relay.processNext();
+
+        HealthSnapshot snapshot = manager.getHealth();
+
+        assertEquals(3, snapshot.getNodes().size());
+        assertEquals(2, snapshot.getTotalBacklog());
+        assertTrue(snapshot.isHealthy());
+        NodeHealth relayHealth = snapshot.getNodes().stream()
+                .filter(health -> health.getNodeId().equals(relay.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(NodeStatus.RUNNING, relayHealth.getStatus());
+        assertEquals(1, relayHealth.getBacklog());
+        assertEquals(1, relayHealth.getProcessedCount());
+        assertTrue(relayHealth.getIdleNanos() >= 0);
+
+        sink.handleError(new IllegalStateException("boom"));
+        assertEquals(1, manager.getHealth(pipeline.getId()).getErrorCount());
+    }
+
+    @Test
+    void testHealthDetectsStalledNode() throws Exception {
+        PipelineManager manager = new PipelineManager(null, Duration.ofMillis(20));
+        manager.addPipeline(pipeline);
+        manager.startPipeline(pipeline.getId());
+        sourceToRelay.offer(new Message("a"));
+
+        // 처음 확인할 때는 진행 기록이 없으므로 멈춘 것으로 보지 않음
+        assertEquals(0, manager.getHealth().getStalledCount());
+        Thread.sleep(30);
+        HealthSnapshot stalled = manager.getHealth();
+        assertEquals(1, stalled.getStalledCount());
+        assertFalse(stalled.isHealthy());
+
+        // 처리가 진행되면 다시 정상
+        relay.processNext();
+        sourceToRelay.offer(new Message("b"));
+        assertEquals(0, manager.getHealth().getStalledCount());
+    }
+
+    @Test
+    void testShutdownRejectsNegativeTimeout() {
+        PipelineManager manager = new PipelineManager();
+        manager.addPipeline(pipeline);
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.shutdownPipeline(pipeline.getId(), Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void testQuotaThrottlesSourceAndBoundsQueuedBytes() {
+        Pipeline limited = new Pipeline(UUID.randomUUID(), new MemoryBudget(64 * 1024 * 1024));
+        SourceNode producer = new SourceNode(new OutPort());
+        SinkNode consumer = new SinkNode(new InPort());
+        limited.addNode(producer);
+        limited.addNode(consumer);
+        Pipe pipe = limited.connect(producer.getOutPort(), consumer.getInPort(), limited.createPipe(100_000));
+
+        PipelineManager manager = new PipelineManager();
+        manager.addPipeline(limited);
+        manager.setQuota(limited.getId(), new PipelineQuota(1.0, 4096, 100));
+
+        // 소스의 출력 포트에만 제한이 걸림
+        assertNotNull(producer.getOutPort().getRateLimiter());
+        assertEquals(4096, limited.getMemoryBudget().getLimitBytes());
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 30; i++) {
+            producer.getOutPort().propagate(new Message("x".repeat(100)));
+        }
+        long elapsed = System.nanoTime() - started;
+        for (int i = 0; i < 1000; i++) {
+            pipe.offer(new Message("x".repeat(100)));
+        }
+
+        // 초당 100개이므로 처음 10개 뒤 20개는 기다려서 나감
+        assertTrue(elapsed >= Duration.ofMillis(150).toNanos(), "elapsed " + elapsed);
+        assertTrue(pipe.isFull());
+        TenantUsage usage = manager.getUsage(limited.getId());
+        assertEquals(30, usage.getSourceMessages());
+        assertTrue(usage.getSourceThrottledNanos() > 0);
+        assertTrue(usage.getMemoryRejectedCount() > 0);
+        assertEquals(pipe.getReservedBytes(), usage.getQueuedBytes());
+        assertEquals(pipe.size(), usage.getQueuedMessages());
+        assertTrue(usage.isThrottled());
+        assertEquals(1, manager.getUsage().size());
+
+        // 한도를 풀면 소스 제한기도 제거됨
+        manager.setQuota(limited.getId(), PipelineQuota.NONE);
+        assertNull(producer.getOutPort().getRateLimiter());
+        assertEquals(-1, manager.getUsage(limited.getId()).getSourceMessages());
+    }
+
+    @Test
+    void testQuotaCpuShareGoesToScheduler() {
+        try (NodeScheduler scheduler = new NodeScheduler(2)) {
+            PipelineManager manager = new PipelineManager(scheduler);
+            manager.addPipeline(pipeline);
+            manager.setQuota(pipeline.getId(),
+                    new PipelineQuota(0.5, PipelineQuota.UNLIMITED, PipelineQuota.UNLIMITED));
+            manager.startPipeline(pipeline.getId());
+            source.getOutPort().propagate(new Message("a"));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (sink.payloads.isEmpty() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(List.of("a"), sink.payloads);
+            assertEquals(0.5, scheduler.getCpuShare(pipeline.getId()));
+            assertTrue(manager.getUsage(pipeline.getId()).getCpuNanos() > 0);
+            assertEquals(-1, manager.getUsage(pipeline.getId()).getQueuedBytes());
+
+            manager.removePipeline(pipeline.getId());
+            assertEquals(1.0, scheduler.getCpuShare(pipeline.getId()));
+        }
+    }
+
+    @Test
+    void testQuotaRequiresSchedulerAndBudget() {
+        PipelineManager manager = new PipelineManager();
+        manager.addPipeline(pipeline);
+
+        assertThrows(IllegalArgumentException.class, () -> manager.setQuota(pipeline.getId(),
+                new PipelineQuota(0.5, PipelineQuota.UNLIMITED, PipelineQuota.UNLIMITED)));
+        assertThrows(IllegalArgumentException.class, () -> manager.setQuota(pipeline.getId(),
+                new PipelineQuota(1.0, 1024, PipelineQuota.UNLIMITED)));
+        assertThrows(IllegalArgumentException.class, () -> new PipelineQuota(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PipelineQuota(1.0, -1, 0));
+        assertEquals(PipelineQuota.NONE, manager.getQuota(pipeline.getId()));
+    }
+}
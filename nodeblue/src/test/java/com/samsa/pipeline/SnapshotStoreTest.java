@@ -0,0 +1,115 @@
+package com.samsa.pipeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    private Path directory;
+    private SnapshotStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshots");
+        store = new SnapshotStore(directory);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<String> stateFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".state"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void testUnchangedStateIsNotRewritten() throws Exception {
+        UUID source = UUID.randomUUID();
+        UUID sink = UUID.randomUUID();
+
+        store.writeAsync(1, Map.of(source, bytes("offset=10"), sink, bytes("count=1"))).get();
+        store.writeAsync(2, Map.of(source, bytes("offset=20"), sink, bytes("count=1"))).get();
+
+        // 바뀐 소스 상태만 새로 기록하고 싱크는 첫 체크포인트의 파일을 계속 참조함
+        assertEquals(Set.of(source + "-1.state", source + "-2.state", sink + "-1.state"),
+                new HashSet<>(stateFiles()));
+        assertEquals(2L, store.latestCheckpointId().getAsLong());
+        Map<UUID, byte[]> latest = store.loadLatest();
+        assertArrayEquals(bytes("offset=20"), latest.get(source));
+        assertArrayEquals(bytes("count=1"), latest.get(sink));
+    }
+
+    @Test
+    void testChecksumCollisionIsStillWritten() throws Exception {
+        UUID node = UUID.randomUUID();
+
+        // 두 문자열은 CRC32가 같지만 내용이 다름
+        store.writeAsync(1, Map.of(node, bytes("plumless"))).get();
+        store.writeAsync(2, Map.of(node, bytes("buckeroo"))).get();
+
+        assertArrayEquals(bytes("buckeroo"), store.loadLatest().get(node));
+    }
+
+    @Test
+    void testLoadedStateIsBaseForNextCheckpoint() throws Exception {
+        UUID node = UUID.randomUUID();
+        store.writeAsync(1, Map.of(node, bytes("same"))).get();
+        store.close();
+
+        // 재시작한 저장소도 같은 상태는 다시 쓰지 않음
+        store = new SnapshotStore(directory);
+        assertArrayEquals(bytes("same"), store.loadLatest().get(node));
+        store.writeAsync(2, Map.of(node, bytes("same"))).get();
+
+        assertEquals(List.of(node + "-1.state"), stateFiles());
+    }
+
+    @Test
+    void testOldCheckpointsAreRemoved() throws Exception {
+        UUID node = UUID.randomUUID();
+        for (long id = 1; id <= 4; id++) {
+            store.writeAsync(id, Map.of(node, bytes("state-" + id))).get();
+        }
+
+        // 최근 두 체크포인트와 그 상태 파일만 남고 임시 파일도 남지 않음
+        try (Stream<Path> files = Files.list(directory)) {
+            Set<String> names = files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+            assertEquals(Set.of("checkpoint-3.manifest", "checkpoint-4.manifest", node + "-3.state",
+                    node + "-4.state"), names);
+        }
+    }
+
+    @Test
+    void testEmptyDirectoryHasNoCheckpoint() throws Exception {
+        assertTrue(store.latestCheckpointId().isEmpty());
+        assertTrue(store.loadLatest().isEmpty());
+    }
+}
@@ -0,0 +1,231 @@
+package com.samsa.pipeline.remote;
+
+import com.samsa.core.Message;
+import com.samsa.core.Pipe;
+import com.samsa.core.codec.BinaryMessageCodec;
+import com.samsa.core.codec.MessageCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemotePipeTest {
+
+    private RemotePipeServer server;
+    private RemotePipe remote;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new RemotePipeServer(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (remote != null) {
+            remote.close();
+        }
+        server.close();
+    }
+
+    private static List<Object> drain(Pipe pipe, int expected) throws InterruptedException {
+        List<Object> payloads = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (payloads.size() < expected && System.currentTimeMillis() < deadline) {
+            Message message = pipe.poll();
+            if (message == null) {
+                Thread.sleep(1);
+                continue;
+            }
+            payloads.add(message.getPayload());
+        }
+        return payloads;
+    }
+
+    @Test
+    void testDeliversMessagesInOrder() throws Exception {
+        Pipe target = new Pipe(64);
+        server.register("a->b", target);
+        server.start();
+        remote = new RemotePipe("127.0.0.1", server.getPort(), "a->b");
+
+        // 수신 측 파이프보다 많은 메시지를 보내 크레딧 갱신을 거치게 함
+        int count = 5000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                Message message = new Message(i, Map.of("source", "a"));
+                while (!remote.offer(message)) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        producer.start();
+
+        List<Object> payloads = drain(target, count);
+        producer.join();
+
+        assertEquals(count, payloads.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, payloads.get(i));
+        }
+    }
+
+    @Test
+    void testCreditLimitsMessagesInFlight() throws Exception {
+        Pipe target = new Pipe(10);
+        server.register("a->b", target);
+        server.start();
+        remote = new RemotePipe("127.0.0.1", server.getPort(), "a->b");
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(remote.offer(new Message(i)));
+        }
+        Thread.sleep(300);
+
+        // 수신 측이 소비하지 않으면 용량만큼만 전달되고 나머지는 송신 측에 남음
+        assertTrue(target.isFull());
+        assertEquals(40, remote.size());
+        assertEquals(50, drain(target, 50).size());
+    }
+
+    @Test
+    void testResendsAfterReconnect() throws Exception {
+        Pipe target = new Pipe();
+        server.register("a->b", target);
+        server.start();
+        int port = server.getPort();
+        remote = new RemotePipe("127.0.0.1", port, "a->b");
+        assertTrue(remote.offer(new Message("before")));
+        assertEquals(List.of("before"), drain(target, 1));
+
+        server.close();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(remote.offer(new Message(i)));
+        }
+
+        // 같은 포트에서 수신 측이 다시 시작되면 남은 메시지가 모두 전달됨
+        server = new RemotePipeServer(port);
+        Pipe restarted = new Pipe();
+        server.register("a->b", restarted);
+        server.start();
+
+        List<Object> payloads = drain(restarted, 100);
+        assertEquals(100, new HashSet<>(payloads).size());
+        assertTrue(payloads.containsAll(List.of(0, 50, 99)));
+    }
+
+    @Test
+    void testRestartedSenderIsNotTreatedAsDuplicate() throws Exception {
+        Pipe target = new Pipe(64);
+        server.register("a->b", target);
+        server.start();
+
+        RemotePipe first = new RemotePipe("127.0.0.1", server.getPort(), "a->b");
+        for (int i = 0; i < 10; i++) {
+            assertTrue(first.offer(new Message("first-" + i)));
+        }
+        assertEquals(10, drain(target, 10).size());
+        first.close();
+
+        // 재시작한 송신 측은 번호를 1부터 다시 매기지 않고 수신 측이 받은 번호 다음부터 보냄
+        remote = new RemotePipe("127.0.0.1", server.getPort(), "a->b");
+        for (int i = 0; i < 5; i++) {
+            assertTrue(remote.offer(new Message("second-" + i)));
+        }
+
+        List<Object> payloads = drain(target, 5);
+        assertEquals(List.of("second-0", "second-1", "second-2", "second-3", "second-4"), payloads);
+    }
+
+    @Test
+    void testUnencodableMessageIsSkipped() throws Exception {
+        Pipe target = new Pipe();
+        server.register("a->b", target);
+        server.start();
+        remote = new RemotePipe("127.0.0.1", server.getPort(), "a->b");
+
+        // 인코딩할 수 없는 메시지만 버리고 뒤의 메시지는 그대로 전달됨
+        assertTrue(remote.offer(new Message(new Object())));
+        assertTrue(remote.offer(new Message("after")));
+
+        assertEquals(List.of("after"), drain(target, 1));
+        assertTrue(target.isEmpty());
+    }
+
+    @Test
+    void testCorruptBatchIsRejectedWhole() throws Exception {
+        server.start();
+        int port = server.getPort();
+        server.close();
+
+        // 수신 측이 없는 동안 쌓인 메시지는 연결되면 한 배치로 전송됨
+        remote = new RemotePipe("127.0.0.1", port, "a->b");
+        assertTrue(remote.offer(new Message("first")));
+        assertTrue(remote.offer(new Message("bad")));
+
+        server = new RemotePipeServer(new InetSocketAddress(port), RejectingCodec::new);
+        Pipe target = new Pipe();
+        server.register("a->b", target);
+        server.start();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (server.getRejectedBatchCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+
+        // 풀 수 없는 메시지가 섞인 배치는 앞의 메시지도 전달하지 않고, 연결은 유지되어 다음 배치를 받음
+        assertEquals(1, server.getRejectedBatchCount());
+        assertTrue(remote.offer(new Message("next")));
+        assertEquals(List.of("next"), drain(target, 1));
+        assertTrue(target.isEmpty());
+    }
+
+    /**
+     * "bad" 페이로드를 풀 수 없는 메시지로 취급하는 코덱
+     */
+    private static class RejectingCodec implements MessageCodec {
+        private final BinaryMessageCodec delegate = new BinaryMessageCodec();
+
+        @Override
+        public void encode(Message message, ByteBuffer target) {
+            delegate.encode(message, target);
+        }
+
+        @Override
+        public Message decode(ByteBuffer source) {
+            Message message = delegate.decode(source);
+            if ("bad".equals(message.getPayload())) {
+                throw new IllegalArgumentException("Corrupt message");
+            }
+            return message;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+    }
+
+    @Test
+    void testUnknownChannelIsRejected() throws Exception {
+        server.start();
+        remote = new RemotePipe("127.0.0.1", server.getPort(), "missing");
+        remote.offer(new Message("lost"));
+        Thread.sleep(200);
+
+        assertFalse(remote.isConnected());
+        assertEquals(1, remote.size());
+    }
+
+    @Test
+    void testDuplicateChannelRegistration() {
+        server.register("a->b", new Pipe());
+        assertThrows(IllegalArgumentException.class, () -> server.register("a->b", new Pipe()));
+    }
+}
@@ -0,0 +1,298 @@
+package com.samsa.pipeline.scheduler;
+
+import com.samsa.core.InNode;
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.Node;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 노드 스케줄러와, 메시지가 들어올 때마다 노드를 스레드 풀에 넘기는 단순한 ExecutorService 방식을 비교합니다.
+ *
+ * <ul>
+ *   <li>{@code chainThroughput}: 4단 중계 노드 체인으로 메시지 10만 개를 흘려보내는 시간</li>
+ *   <li>{@code lightLatencyUnderLoad}: 다른 파이프라인이 워커를 계속 점유하는 동안 가벼운 체인에 메시지 하나가 전달되는 시간</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=NodeSchedulerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeSchedulerBenchmark {
+
+    private static final int STAGES = 4;
+    private static final int MESSAGES = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class ChainState {
+        @Param({"scheduler", "executor"})
+        public String dispatcher;
+
+        @Param({"4"})
+        public int parallelism;
+
+        Pipe source;
+        CountingNode sink;
+        Dispatcher runtime;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            runtime = Dispatcher.create(dispatcher, parallelism);
+            source = new Pipe(1024);
+            sink = chain(runtime, source, STAGES, 0);
+            runtime.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            runtime.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FairnessState {
+        @Param({"scheduler", "executor"})
+        public String dispatcher;
+
+        @Param({"2"})
+        public int parallelism;
+
+        Pipe lightSource;
+        CountingNode lightSink;
+        Dispatcher runtime;
+        Thread feeder;
+        volatile boolean running;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            runtime = Dispatcher.create(dispatcher, parallelism);
+            // 소비보다 빠르게 채워지는 무거운 체인이 워커 수만큼 있음
+            List<Pipe> hotSources = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                Pipe hotSource = new Pipe(1024);
+                chain(runtime, hotSource, 2, 1_000);
+                hotSources.add(hotSource);
+            }
+            lightSource = new Pipe(16);
+            lightSink = chain(runtime, lightSource, 2, 0);
+            runtime.start();
+
+            running = true;
+            feeder = new Thread(() -> {
+                Message message = new Message("hot");
+                while (running) {
+                    for (Pipe hotSource : hotSources) {
+                        hotSource.offer(message);
+                    }
+                }
+            });
+            feeder.setDaemon(true);
+            feeder.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            running = false;
+            feeder.join();
+            runtime.close();
+        }
+    }
+
+    @Benchmark
+    public long chainThroughput(ChainState state) {
+        long target = state.sink.count.get() + MESSAGES;
+        Message message = new Message("payload");
+        for (int i = 0; i < MESSAGES; i++) {
+            while (!state.source.offer(message)) {
+                Thread.onSpinWait();
+            }
+        }
+        while (state.sink.count.get() < target) {
+            Thread.onSpinWait();
+        }
+        return target;
+    }
+
+    @Benchmark
+    public long lightLatencyUnderLoad(FairnessState state) {
+        long target = state.lightSink.count.get() + 1;
+        state.lightSource.offer(new Message("light"));
+        while (state.lightSink.count.get() < target) {
+            Thread.onSpinWait();
+        }
+        return target;
+    }
+
+    /**
+     * source에서 시작하는 중계 노드 체인을 만들어 등록하고 마지막 노드를 반환합니다.
+     */
+    private static CountingNode chain(Dispatcher runtime, Pipe source, int relays, long sinkWorkNanos) {
+        Pipe input = source;
+        for (int i = 0; i < relays; i++) {
+            RelayNode relay = new RelayNode(new InPort(), new OutPort());
+            Pipe output = new Pipe(1024);
+            relay.getInPort().addPipe(input);
+            relay.getOutPort().addPipe(output);
+            runtime.register(relay);
+            input = output;
+        }
+        CountingNode sink = new CountingNode(new InPort(), sinkWorkNanos);
+        sink.getInPort().addPipe(input);
+        runtime.register(sink);
+        return sink;
+    }
+
+    private static class RelayNode extends InOutNode {
+        RelayNode(InPort inPort, OutPort outPort) {
+            super(inPort, outPort);
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            emit(message);
+        }
+    }
+
+    private static class CountingNode extends InNode {
+        private final AtomicLong count = new AtomicLong();
+        private final long workNanos;
+
+        CountingNode(InPort inPort, long workNanos) {
+            super(inPort);
+            this.workNanos = workNanos;
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            if (workNanos > 0) {
+                long until = System.nanoTime() + workNanos;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * 비교 대상 실행 방식
+     */
+    private interface Dispatcher extends AutoCloseable {
+        void register(Node node);
+
+        void start();
+
+        @Override
+        void close();
+
+        static Dispatcher create(String name, int parallelism) {
+            return "scheduler".equals(name) ? new SchedulerDispatcher(parallelism) : new ExecutorDispatcher(parallelism);
+        }
+    }
+
+    private static class SchedulerDispatcher implements Dispatcher {
+        private final NodeScheduler scheduler;
+
+        SchedulerDispatcher(int parallelism) {
+            scheduler = new NodeScheduler(parallelism);
+        }
+
+        @Override
+        public void register(Node node) {
+            scheduler.register(node);
+        }
+
+        @Override
+        public void start() {
+            scheduler.start();
+        }
+
+        @Override
+        public void close() {
+            scheduler.close();
+        }
+    }
+
+    /**
+     * 메시지가 들어오면 노드를 고정 크기 스레드 풀에 넘겨 입력을 모두 비울 때까지 실행하는 방식입니다.
+     * 출력 파이프가 가득 차면 메시지를 버리지 않도록 풀의 맨 뒤로 다시 넘깁니다.
+     */
+    private static class ExecutorDispatcher implements Dispatcher {
+        private final ExecutorService executor;
+
+        ExecutorDispatcher(int parallelism) {
+            executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        @Override
+        public void register(Node node) {
+            InPort inPort = node instanceof InOutNode inOut ? inOut.getInPort() : ((InNode) node).getInPort();
+            OutPort outPort = node instanceof InOutNode inOut ? inOut.getOutPort() : null;
+            AtomicBoolean scheduled = new AtomicBoolean();
+            Runnable[] drain = new Runnable[1];
+            drain[0] = () -> {
+                while (true) {
+                    if (outPort != null && !outPort.canAcceptAll()) {
+                        executor.execute(drain[0]);
+                        return;
+                    }
+                    boolean processed = node instanceof InOutNode inOut ? inOut.processNext()
+                            : ((InNode) node).processNext();
+                    if (!processed) {
+                        scheduled.set(false);
+                        if (!inPort.hasAvailableData() || !scheduled.compareAndSet(false, true)) {
+                            return;
+                        }
+                    }
+                }
+            };
+            Runnable signal = () -> {
+                if (scheduled.compareAndSet(false, true)) {
+                    executor.execute(drain[0]);
+                }
+            };
+            inPort.getPipes().forEach(pipe -> pipe.setReadyListener(signal));
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+}
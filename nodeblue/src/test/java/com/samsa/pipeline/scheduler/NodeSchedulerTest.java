@@ -0,0 +1,421 @@
+package com.samsa.pipeline.scheduler;
+
+import com.samsa.core.InNode;
+import com.samsa.core.InOutNode;
+import com.samsa.core.InPort;
+import com.samsa.core.Message;
+import com.samsa.core.OutNode;
+import com.samsa.core.OutPort;
+import com.samsa.core.Pipe;
+import com.samsa.pipeline.Pipeline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeSchedulerTest {
+
+    private NodeScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    /**
+     * 받은 메시지를 처리한 스레드를 기록하고 그대로 전달하는 노드
+     */
+    private static class RelayNode extends InOutNode {
+        private final ConcurrentHashMap<Object, String> threads = new ConcurrentHashMap<>();
+
+        RelayNode(InPort inPort, OutPort outPort) {
+            super(inPort, outPort);
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            threads.put(message.getPayload(), Thread.currentThread().getName());
+            emit(message);
+        }
+    }
+
+    /**
+     * 받은 메시지와 처리한 스레드를 기록하는 노드
+     */
+    private static class CollectNode extends InNode {
+        private final List<Object> payloads = new CopyOnWriteArrayList<>();
+        private final ConcurrentHashMap<Object, String> threads = new ConcurrentHashMap<>();
+
+        CollectNode(InPort inPort) {
+            super(inPort);
+        }
+
+        @Override
+        public void onMessage(Message message) {
+            threads.put(message.getPayload(), Thread.currentThread().getName());
+            payloads.add(message.getPayload());
+        }
+    }
+
+    private static void feed(Pipe pipe, int count) {
+        for (int i = 0; i < count; i++) {
+            Message message = new Message(i);
+            while (!pipe.offer(message)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static void awaitSize(List<?> list, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (list.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testChainDeliversAllMessagesInOrder() throws Exception {
+        Pipeline pipeline = new Pipeline();
+        Pipe source = new Pipe(256);
+        RelayNode first = new RelayNode(new InPort(), new OutPort());
+        RelayNode second = new RelayNode(new InPort(), new OutPort());
+        CollectNode sink = new CollectNode(new InPort());
+        pipeline.addNode(first);
+        pipeline.addNode(second);
+        pipeline.addNode(sink);
+        pipeline.connect(source, first.getInPort());
+        pipeline.connect(first.getOutPort(), second.getInPort(), new Pipe(256));
+        pipeline.connect(second.getOutPort(), sink.getInPort(), new Pipe(256));
+
+        scheduler = new NodeScheduler(4);
+        assertEquals(3, scheduler.schedule(pipeline));
+        scheduler.start();
+
+        int count = 20_000;
+        feed(source, count);
+        awaitSize(sink.payloads, count);
+
+        // 노드는 한 번에 한 워커에서만 실행되므로 순서가 유지됨
+        assertEquals(count, sink.payloads.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, sink.payloads.get(i));
+        }
+        assertEquals(3L * count, scheduler.getProcessedCount());
+    }
+
+    @Test
+    void testDownstreamRunsOnSameWorker() throws Exception {
+        Pipe source = new Pipe(1024);
+        Pipe link = new Pipe(1024);
+        RelayNode relay = new RelayNode(new InPort(), new OutPort());
+        CollectNode sink = new CollectNode(new InPort());
+        relay.getInPort().addPipe(source);
+        relay.getOutPort().addPipe(link);
+        sink.getInPort().addPipe(link);
+
+        scheduler = new NodeScheduler(2);
+        scheduler.register(relay);
+        scheduler.register(sink);
+        scheduler.start();
+
+        // 모든 노드가 쉬고 있을 때 하나씩 넣어, 상류를 실행한 워커가 하류를 이어 받는지 확인
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            source.offer(new Message(i));
+            awaitSize(sink.payloads, i + 1);
+        }
+
+        assertEquals(count, sink.payloads.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(relay.threads.get(i), sink.threads.get(i));
+        }
+        assertTrue(scheduler.getHandoffCount() >= count);
+    }
+
+    @Test
+    void testHotNodeYieldsToOtherNodes() throws Exception {
+        int backlog = 20_000;
+        AtomicInteger hotProcessed = new AtomicInteger();
+        AtomicInteger hotProcessedWhenLightRan = new AtomicInteger(-1);
+
+        Pipe hotPipe = new Pipe(backlog);
+        InNode hot = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                hotProcessed.incrementAndGet();
+                long until = System.nanoTime() + 2_000;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+        };
+        hot.getInPort().addPipe(hotPipe);
+
+        Pipe lightPipe = new Pipe(16);
+        InNode light = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                hotProcessedWhenLightRan.set(hotProcessed.get());
+            }
+        };
+        light.getInPort().addPipe(lightPipe);
+
+        // 워커 하나에 밀린 메시지가 많은 노드를 먼저 올림
+        feed(hotPipe, backlog);
+        scheduler = new NodeScheduler(1, 16, TimeUnit.MILLISECONDS.toNanos(1));
+        scheduler.register(hot);
+        scheduler.register(light);
+        scheduler.start();
+        Thread.sleep(5);
+        lightPipe.offer(new Message("ping"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (hotProcessedWhenLightRan.get() < 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        // 가벼운 노드는 밀린 메시지가 모두 처리되기 전에 차례를 받음
+        assertTrue(hotProcessedWhenLightRan.get() >= 0);
+        assertTrue(hotProcessedWhenLightRan.get() < backlog);
+        assertTrue(scheduler.getYieldCount() > 0);
+    }
+
+    /**
+     * 메시지마다 지정된 시간 동안 바쁘게 도는 노드
+     */
+    private static InNode busyNode(Pipe pipe, long nanosPerMessage) {
+        InNode node = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                long until = System.nanoTime() + nanosPerMessage;
+                while (System.nanoTime() < until) {
+                    Thread.onSpinWait();
+                }
+            }
+        };
+        node.getInPort().addPipe(pipe);
+        return node;
+    }
+
+    @Test
+    void testCpuShareLimitsGroup() throws Exception {
+        UUID noisy = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        Pipe noisyPipe = new Pipe(100_000);
+        Pipe quietPipe = new Pipe(100_000);
+        feed(noisyPipe, 100_000);
+        feed(quietPipe, 100_000);
+
+        scheduler = new NodeScheduler(1);
+        scheduler.register(busyNode(noisyPipe, 10_000), noisy);
+        scheduler.register(busyNode(quietPipe, 10_000), quiet);
+        scheduler.setCpuShare(noisy, 0.2);
+        scheduler.start();
+        Thread.sleep(300);
+        scheduler.close();
+
+        // 몫을 다 쓴 그룹은 미뤄지고, 남은 워커 시간은 다른 그룹이 사용
+        long noisyNanos = scheduler.getCpuNanos(noisy);
+        long quietNanos = scheduler.getCpuNanos(quiet);
+        assertTrue(scheduler.getThrottledCount(noisy) > 0);
+        assertEquals(0, scheduler.getThrottledCount(quiet));
+        assertTrue(noisyNanos * 2 < quietNanos, "noisy " + noisyNanos + ", quiet " + quietNanos);
+        assertEquals(0.2, scheduler.getCpuShare(noisy));
+        assertEquals(1.0, scheduler.getCpuShare(quiet));
+    }
+
+    @Test
+    void testRemovedGroupRunsUnlimited() throws Exception {
+        UUID group = UUID.randomUUID();
+        Pipe pipe = new Pipe(1024);
+        AtomicInteger processed = new AtomicInteger();
+        InNode node = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                processed.incrementAndGet();
+            }
+        };
+        node.getInPort().addPipe(pipe);
+
+        scheduler = new NodeScheduler(1);
+        scheduler.register(node, group);
+        scheduler.setCpuShare(group, 0.01);
+        scheduler.start();
+        feed(pipe, 1000);
+        scheduler.removeGroup(group);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (processed.get() < 1000 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1000, processed.get());
+        assertEquals(0, scheduler.getCpuNanos(group));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setCpuShare(group, 0));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.setCpuShare(group, 1.5));
+    }
+
+    @Test
+    void testAdaptiveBatchGrowsUnderBacklog() throws Exception {
+        int count = 200_000;
+        Pipe pipe = new Pipe(count);
+        AtomicInteger processed = new AtomicInteger();
+        InNode node = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                processed.incrementAndGet();
+            }
+        };
+        node.getInPort().addPipe(pipe);
+        feed(pipe, count);
+
+        scheduler = new NodeScheduler(1, Duration.ofMillis(5));
+        scheduler.register(node);
+        assertEquals(NodeScheduler.DEFAULT_BATCH_LIMIT, scheduler.getBatchSize(node));
+        scheduler.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (processed.get() < count / 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        // 밀린 메시지가 많고 차례가 목표보다 짧으므로 한 차례에 더 많이 처리함
+        assertTrue(scheduler.getBatchSize(node) > NodeScheduler.DEFAULT_BATCH_LIMIT,
+                "batch " + scheduler.getBatchSize(node));
+        assertThrows(IllegalArgumentException.class, () -> new NodeScheduler(1, Duration.ZERO));
+    }
+
+    @Test
+    void testFailingMessageDoesNotStopNode() throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        List<Object> payloads = new CopyOnWriteArrayList<>();
+        Pipe pipe = new Pipe(16);
+        InNode node = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                if ("bad".equals(message.getPayload())) {
+                    throw new IllegalStateException("처리 실패");
+                }
+                payloads.add(message.getPayload());
+            }
+
+            @Override
+            public void handleError(Throwable error) {
+                errors.incrementAndGet();
+            }
+        };
+        node.getInPort().addPipe(pipe);
+
+        scheduler = new NodeScheduler(1);
+        scheduler.register(node);
+        scheduler.start();
+        pipe.offer(new Message("a"));
+        pipe.offer(new Message("bad"));
+        pipe.offer(new Message("b"));
+        awaitSize(payloads, 2);
+
+        assertEquals(List.of("a", "b"), payloads);
+        assertEquals(1, errors.get());
+    }
+
+    @Test
+    void testUnregisterWaitsForRunningTurn() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> payloads = new CopyOnWriteArrayList<>();
+        Pipe pipe = new Pipe(16);
+        InNode node = new InNode(new InPort()) {
+            @Override
+            public void onMessage(Message message) {
+                payloads.add(message.getPayload());
+                entered.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        node.getInPort().addPipe(pipe);
+        feed(pipe, 3);
+
+        scheduler = new NodeScheduler(1);
+        scheduler.register(node);
+        scheduler.start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        CountDownLatch unregistered = new CountDownLatch(1);
+        Thread stopper = new Thread(() -> {
+            scheduler.unregister(node);
+            unregistered.countDown();
+        });
+        stopper.start();
+
+        // 처리 중인 메시지가 끝날 때까지 해제가 반환되지 않음
+        assertFalse(unregistered.await(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(unregistered.await(10, TimeUnit.SECONDS));
+
+        // 해제된 뒤에는 남은 메시지를 처리하지 않음
+        Thread.sleep(50);
+        assertEquals(List.of(0), payloads);
+        assertEquals(2, pipe.size());
+        assertFalse(scheduler.isRegistered(node));
+    }
+
+    @Test
+    void testStoppedNodeIsNotExecuted() throws Exception {
+        CollectNode stopped = new CollectNode(new InPort());
+        Pipe stoppedPipe = new Pipe(16);
+        stopped.getInPort().addPipe(stoppedPipe);
+        CollectNode running = new CollectNode(new InPort());
+        Pipe runningPipe = new Pipe(16);
+        running.getInPort().addPipe(runningPipe);
+
+        scheduler = new NodeScheduler(1);
+        scheduler.register(stopped);
+        scheduler.register(running);
+        scheduler.start();
+        stopped.stop();
+        stoppedPipe.offer(new Message("late"));
+        runningPipe.offer(new Message("ok"));
+        awaitSize(running.payloads, 1);
+
+        // 등록된 채로 중지된 노드의 차례는 실행하지 않고 버림
+        Thread.sleep(50);
+        assertEquals(List.of("ok"), running.payloads);
+        assertTrue(stopped.payloads.isEmpty());
+        assertTrue(scheduler.isIdle(stopped));
+    }
+
+    @Test
+    void testRegisterRejectsNodeWithoutInPort() {
+        scheduler = new NodeScheduler(1);
+        OutNode source = new OutNode(new OutPort()) {
+        };
+        assertThrows(IllegalArgumentException.class, () -> scheduler.register(source));
+    }
+
+    @Test
+    void testRegisterRejectsDuplicateNode() {
+        scheduler = new NodeScheduler(1);
+        CollectNode sink = new CollectNode(new InPort());
+        scheduler.register(sink);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.register(sink));
+    }
+
+    @Test
+    void testInvalidSettingsThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new NodeScheduler(0));
+        assertThrows(IllegalArgumentException.class, () -> new NodeScheduler(1, 0, 1));
+    }
+}